@@ -0,0 +1,310 @@
+package io.github.programmerjide.javadump.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a reflection-free {@code GeneratedDumper} for every {@code @Dumpable} class.
+ *
+ * <p>For {@code com.acme.User} the processor emits {@code com.acme.UserDumper},
+ * which reads each field directly, or through a {@code VarHandle} when the
+ * field is private, and hands the values to the analyzer. Getters are never
+ * called: like the reflective path, the dumper reads the raw field, so a
+ * getter that copies, computes lazily or has side effects cannot change
+ * the output. All generated dumpers are
+ * listed in one {@code DumperRegistry} per compilation, registered in
+ * {@code META-INF/services}, where {@code ObjectAnalyzer} picks them up.
+ *
+ * <p>Annotation rules ({@code @DumpIgnore}, {@code @DumpLabel},
+ * {@code @DumpOrder}, {@code @DumpRedact}, {@code @Dumpable} include/exclude
+ * and {@code includePrivate}) are resolved here. Configuration rules stay
+ * with the analyzer, so generated and reflective dumps are identical.
+ *
+ * <p>Private and local classes are skipped with a note, since generated
+ * code cannot name them; they keep using reflection at runtime.
+ *
+ * <p>Each private field's {@code VarHandle} is looked up once, in the
+ * dumper's static initializer, with the field's name and type as literals.
+ * Under GraalVM native-image that lookup is still reflective access: the
+ * private fields of {@code @Dumpable} types must be listed in the image's
+ * reflection configuration. Non-private fields are read with plain field
+ * accesses and need no configuration.
+ *
+ * <p>Options:
+ * <ul>
+ *   <li>{@code -Ajavadump.registry=com.acme.DumpRegistry} - fully qualified name
+ *       of the generated registry (default: {@code JavaDumpRegistry} in the
+ *       package of the first generated dumper)</li>
+ * </ul>
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+@SupportedAnnotationTypes(DumpableProcessor.DUMPABLE)
+@SupportedOptions(DumpableProcessor.REGISTRY_OPTION)
+public class DumpableProcessor extends AbstractProcessor {
+
+    static final String ANNOTATIONS = "io.github.programmerjide.javadump.annotation.";
+    static final String DUMPABLE = ANNOTATIONS + "Dumpable";
+    static final String DUMP_IGNORE = ANNOTATIONS + "DumpIgnore";
+    static final String DUMP_LABEL = ANNOTATIONS + "DumpLabel";
+    static final String DUMP_ORDER = ANNOTATIONS + "DumpOrder";
+    static final String DUMP_REDACT = ANNOTATIONS + "DumpRedact";
+
+    static final String REGISTRY_OPTION = "javadump.registry";
+    static final String REGISTRY_SERVICE =
+            "META-INF/services/io.github.programmerjide.javadump.analyzer.DumperRegistry";
+
+    private static final String DEFAULT_REGISTRY = "JavaDumpRegistry";
+
+    private final List<String> dumpers = new ArrayList<>();
+    private String registry;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (registry != null) {
+                writeService();
+            }
+            return false;
+        }
+
+        TypeElement dumpable = processingEnv.getElementUtils().getTypeElement(DUMPABLE);
+        Set<? extends Element> types = dumpable != null
+                ? roundEnv.getElementsAnnotatedWith(dumpable)
+                : Set.of();
+
+        if (types.isEmpty()) {
+            // Dumpers of earlier rounds are complete; list them once
+            if (registry == null && !dumpers.isEmpty()) {
+                writeRegistry();
+            }
+            return false;
+        }
+
+        for (Element element : types) {
+            if (element.getKind() == ElementKind.CLASS || element.getKind() == ElementKind.RECORD) {
+                generate((TypeElement) element);
+            }
+        }
+        return false;
+    }
+
+    // ==================== Dumpers ====================
+
+    private void generate(TypeElement type) {
+        if (registry != null) {
+            error(type, "@Dumpable type found after the dumper registry was written");
+            return;
+        }
+        if (!isReachable(type)) {
+            note(type, "private or local class; it will be dumped reflectively");
+            return;
+        }
+
+        AnnotationMirror dumpable = find(type, DUMPABLE);
+        boolean includePrivate = (Boolean) value(dumpable, "includePrivate");
+        List<String> include = strings(value(dumpable, "include"));
+        List<String> exclude = strings(value(dumpable, "exclude"));
+
+        List<DumperSource.Field> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            String name = field.getSimpleName().toString();
+            boolean isPrivate = field.getModifiers().contains(Modifier.PRIVATE);
+
+            if (find(field, DUMP_IGNORE) != null
+                    || (!include.isEmpty() ? !include.contains(name) : exclude.contains(name))
+                    || (isPrivate && !includePrivate)) {
+                continue;
+            }
+
+            // Redacted values are never shown, so they need not be read
+            String redaction = redaction(field);
+            String handleType = redaction == null && isPrivate
+                    ? processingEnv.getTypeUtils().erasure(field.asType()).toString()
+                    : null;
+            String read = redaction != null ? "null" : readExpression(type, field, handleType);
+            fields.add(new DumperSource.Field(field, read, label(field), order(field), redaction, handleType));
+        }
+
+        // Stable sort: fields without @DumpOrder keep their declaration order
+        fields.sort(Comparator.comparingInt(DumperSource.Field::order));
+
+        DumperSource source = new DumperSource(type, fields,
+                (Boolean) value(dumpable, "includeStatic"));
+        try {
+            JavaFileObject file = processingEnv.getFiler()
+                    .createSourceFile(source.qualifiedName(), type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.render());
+            }
+            dumpers.add(source.qualifiedName());
+        } catch (IOException e) {
+            error(type, "could not write " + source.qualifiedName() + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean isReachable(TypeElement type) {
+        for (Element current = type; current instanceof TypeElement;
+             current = current.getEnclosingElement()) {
+            TypeElement enclosing = (TypeElement) current;
+            if (enclosing.getModifiers().contains(Modifier.PRIVATE)
+                    || enclosing.getNestingKind() == NestingKind.LOCAL
+                    || enclosing.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the expression reading the field from {@code value}: a plain
+     * field access, or, for private fields, a read through the field's
+     * {@code VarHandle} of type {@code handleType}.
+     */
+    private static String readExpression(TypeElement type, VariableElement field, String handleType) {
+        String name = field.getSimpleName().toString();
+        boolean isStatic = field.getModifiers().contains(Modifier.STATIC);
+
+        if (handleType == null) {
+            return (isStatic ? type.getQualifiedName() : "value") + "." + name;
+        }
+        return "(" + handleType + ") " + DumperSource.handleName(field)
+                + (isStatic ? ".get()" : ".get(value)");
+    }
+
+    private static String label(VariableElement field) {
+        AnnotationMirror label = find(field, DUMP_LABEL);
+        return label != null ? (String) value(label, "value") : field.getSimpleName().toString();
+    }
+
+    private static int order(VariableElement field) {
+        AnnotationMirror order = find(field, DUMP_ORDER);
+        return order != null ? (Integer) value(order, "value") : Integer.MAX_VALUE;
+    }
+
+    private static String redaction(VariableElement field) {
+        AnnotationMirror redact = find(field, DUMP_REDACT);
+        return redact != null ? (String) value(redact, "value") : null;
+    }
+
+    // ==================== Registry ====================
+
+    private void writeRegistry() {
+        String name = processingEnv.getOptions().get(REGISTRY_OPTION);
+        if (name == null || name.isBlank()) {
+            String first = dumpers.get(0);
+            int dot = first.lastIndexOf('.');
+            name = dot < 0 ? DEFAULT_REGISTRY : first.substring(0, dot + 1) + DEFAULT_REGISTRY;
+        }
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(name);
+            try (Writer writer = file.openWriter()) {
+                writer.write(DumperSource.renderRegistry(name, dumpers));
+            }
+            registry = name;
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "javadump: could not write registry " + name + ": " + e.getMessage());
+        }
+    }
+
+    private void writeService() {
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", REGISTRY_SERVICE);
+            try (Writer writer = file.openWriter()) {
+                writer.write(registry + "\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "javadump: could not write " + REGISTRY_SERVICE + ": " + e.getMessage());
+        }
+    }
+
+    // ==================== Annotation Values ====================
+
+    private static AnnotationMirror find(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(annotation)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static Object value(AnnotationMirror mirror, String name) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                mirror.getElementValues();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+
+        // Not set explicitly: fall back to the declared default
+        for (ExecutableElement method : ElementFilter.methodsIn(
+                mirror.getAnnotationType().asElement().getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals(name) && method.getDefaultValue() != null) {
+                return method.getDefaultValue().getValue();
+            }
+        }
+        throw new IllegalStateException("No value for " + name + " on " + mirror);
+    }
+
+    private static List<String> strings(Object value) {
+        List<String> result = new ArrayList<>();
+        for (Object item : (List<?>) value) {
+            result.add((String) ((AnnotationValue) item).getValue());
+        }
+        return result;
+    }
+
+    private void note(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "javadump: " + message, element);
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "javadump: " + message, element);
+    }
+
+    static String packageOf(TypeElement type) {
+        Element current = type;
+        while (!(current instanceof PackageElement)) {
+            current = current.getEnclosingElement();
+        }
+        return ((PackageElement) current).getQualifiedName().toString();
+    }
+}
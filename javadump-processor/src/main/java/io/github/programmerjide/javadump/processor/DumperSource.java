@@ -0,0 +1,230 @@
+package io.github.programmerjide.javadump.processor;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renders the Java source of a generated dumper and of the registry.
+ *
+ * <p>Generated code refers to every type by its fully qualified name so it
+ * cannot clash with names in the user's package.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+final class DumperSource {
+
+    private static final String HEADER = "// Generated by javadump-processor. Do not edit.\n";
+    private static final String GENERATED_DUMPER =
+            "io.github.programmerjide.javadump.analyzer.GeneratedDumper";
+    private static final String FIELD_SINK = "io.github.programmerjide.javadump.analyzer.FieldSink";
+    private static final String DUMPER_REGISTRY =
+            "io.github.programmerjide.javadump.analyzer.DumperRegistry";
+
+    /**
+     * A field as resolved by the processor.
+     *
+     * @param handleType erased type of a private field read through a
+     *                   {@code VarHandle}, or null when read directly
+     */
+    record Field(VariableElement element, String read, String label, int order, String redaction,
+                 String handleType) {
+    }
+
+    private final TypeElement type;
+    private final List<Field> fields;
+    private final boolean includeStatic;
+    private final String packageName;
+    private final String simpleName;
+
+    DumperSource(TypeElement type, List<Field> fields, boolean includeStatic) {
+        this.type = type;
+        this.fields = fields;
+        this.includeStatic = includeStatic;
+        this.packageName = DumpableProcessor.packageOf(type);
+        this.simpleName = dumperName(type);
+    }
+
+    String qualifiedName() {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    String render() {
+        String target = type.getQualifiedName().toString();
+        StringBuilder sb = new StringBuilder();
+
+        if (!packageName.isEmpty()) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append(HEADER);
+        if (!type.getTypeParameters().isEmpty()) {
+            sb.append("@SuppressWarnings(\"rawtypes\")\n");
+        }
+        sb.append("public final class ").append(simpleName)
+                .append(" implements ").append(GENERATED_DUMPER).append('<').append(target).append("> {\n\n");
+
+        sb.append("    private static final java.util.List<").append(GENERATED_DUMPER)
+                .append(".FieldInfo> FIELDS = java.util.List.of(");
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            sb.append(i == 0 ? "\n" : ",\n")
+                    .append("            ").append(GENERATED_DUMPER).append(".FieldInfo.of(")
+                    .append(literal(field.element().getSimpleName().toString())).append(", ")
+                    .append(literal(field.label())).append(", ")
+                    .append(modifiers(field.element())).append(", ")
+                    .append(field.redaction() != null ? literal(field.redaction()) : "null")
+                    .append(')');
+        }
+        sb.append(fields.isEmpty() ? ");\n\n" : "\n    );\n\n");
+
+        // Private fields are read through VarHandles resolved once, as the
+        // reflective path reads them, never through their getters. Each one
+        // is looked up with literal arguments, so native-image can fold it
+        List<Field> handled = new ArrayList<>();
+        for (Field field : fields) {
+            if (field.handleType() != null) {
+                handled.add(field);
+                sb.append("    private static final java.lang.invoke.VarHandle ")
+                        .append(handleName(field.element())).append(";\n");
+            }
+        }
+        if (!handled.isEmpty()) {
+            sb.append("\n    static {\n")
+                    .append("        try {\n")
+                    .append("            java.lang.invoke.MethodHandles.Lookup lookup = java.lang.invoke.MethodHandles.privateLookupIn(\n")
+                    .append("                    ").append(target).append(".class, java.lang.invoke.MethodHandles.lookup());\n");
+            for (Field field : handled) {
+                boolean isStatic = field.element().getModifiers().contains(Modifier.STATIC);
+                sb.append("            ").append(handleName(field.element()))
+                        .append(isStatic ? " = lookup.findStaticVarHandle(" : " = lookup.findVarHandle(")
+                        .append(target).append(".class, ")
+                        .append(literal(field.element().getSimpleName().toString())).append(", ")
+                        .append(field.handleType()).append(".class);\n");
+            }
+            sb.append("        } catch (ReflectiveOperationException e) {\n")
+                    .append("            throw new ExceptionInInitializerError(e);\n")
+                    .append("        }\n")
+                    .append("    }\n\n");
+        }
+
+        sb.append("    @Override\n")
+                .append("    public Class<").append(target).append("> type() {\n")
+                .append("        return ").append(target).append(".class;\n")
+                .append("    }\n\n");
+
+        sb.append("    @Override\n")
+                .append("    public java.util.List<").append(GENERATED_DUMPER).append(".FieldInfo> fields() {\n")
+                .append("        return FIELDS;\n")
+                .append("    }\n\n");
+
+        if (includeStatic) {
+            sb.append("    @Override\n")
+                    .append("    public boolean includeStatic() {\n")
+                    .append("        return true;\n")
+                    .append("    }\n\n");
+        }
+
+        sb.append("    @Override\n")
+                .append("    public void write(").append(target).append(" value, ")
+                .append(FIELD_SINK).append(" sink) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            sb.append("        sink.").append(sinkMethod(field.element()))
+                    .append('(').append(i).append(", ").append(field.read()).append(");\n");
+        }
+        sb.append("    }\n}\n");
+        return sb.toString();
+    }
+
+    static String renderRegistry(String qualifiedName, List<String> dumpers) {
+        int dot = qualifiedName.lastIndexOf('.');
+        StringBuilder sb = new StringBuilder();
+
+        if (dot > 0) {
+            sb.append("package ").append(qualifiedName, 0, dot).append(";\n\n");
+        }
+        sb.append(HEADER)
+                .append("public final class ").append(qualifiedName.substring(dot + 1))
+                .append(" implements ").append(DUMPER_REGISTRY).append(" {\n\n")
+                .append("    @Override\n")
+                .append("    public java.util.List<").append(GENERATED_DUMPER).append("<?>> dumpers() {\n")
+                .append("        return java.util.List.of(");
+        for (int i = 0; i < dumpers.size(); i++) {
+            sb.append(i == 0 ? "\n" : ",\n")
+                    .append("                new ").append(dumpers.get(i)).append("()");
+        }
+        sb.append("\n        );\n    }\n}\n");
+        return sb.toString();
+    }
+
+    // ==================== Helpers ====================
+
+    /**
+     * Name of the constant holding a private field's {@code VarHandle}.
+     */
+    static String handleName(VariableElement field) {
+        return "HANDLE_" + field.getSimpleName();
+    }
+
+    private static String dumperName(TypeElement type) {
+        List<String> names = new ArrayList<>();
+        for (Element current = type; current instanceof TypeElement;
+             current = current.getEnclosingElement()) {
+            names.add(0, current.getSimpleName().toString());
+        }
+        return String.join("_", names) + "Dumper";
+    }
+
+    private static String modifiers(VariableElement field) {
+        List<String> bits = new ArrayList<>();
+        if (field.getModifiers().contains(Modifier.PRIVATE)) {
+            bits.add("java.lang.reflect.Modifier.PRIVATE");
+        }
+        if (field.getModifiers().contains(Modifier.STATIC)) {
+            bits.add("java.lang.reflect.Modifier.STATIC");
+        }
+        if (field.getModifiers().contains(Modifier.TRANSIENT)) {
+            bits.add("java.lang.reflect.Modifier.TRANSIENT");
+        }
+        return bits.isEmpty() ? "0" : String.join(" | ", bits);
+    }
+
+    private static String sinkMethod(VariableElement field) {
+        switch (field.asType().getKind()) {
+            case BOOLEAN: return "writeBoolean";
+            case BYTE: return "writeByte";
+            case CHAR: return "writeChar";
+            case SHORT: return "writeShort";
+            case INT: return "writeInt";
+            case LONG: return "writeLong";
+            case FLOAT: return "writeFloat";
+            case DOUBLE: return "writeDouble";
+            default: return "writeObject";
+        }
+    }
+
+    static String literal(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
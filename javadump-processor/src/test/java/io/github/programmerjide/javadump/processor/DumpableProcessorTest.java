@@ -0,0 +1,199 @@
+package io.github.programmerjide.javadump.processor;
+
+import io.github.programmerjide.javadump.analyzer.ObjectAnalyzer;
+import io.github.programmerjide.javadump.config.DumperConfig;
+import io.github.programmerjide.javadump.model.DumpNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DumpableProcessorTest {
+
+    @TempDir
+    Path output;
+
+    private static final String USER = String.join("\n",
+            "package com.acme;",
+            "",
+            "import io.github.programmerjide.javadump.annotation.*;",
+            "",
+            "@Dumpable(exclude = \"internal\")",
+            "public class User {",
+            "    @DumpOrder(1) @DumpLabel(\"User ID\")",
+            "    private long id = 7L;",
+            "    String name = \"ada\";",
+            "    @DumpRedact(\"****\")",
+            "    private String password = \"secret\";",
+            "    @DumpIgnore",
+            "    int ignored = 1;",
+            "    int internal = 2;",
+            "    private boolean active = true;",
+            "    static int COUNT = 3;",
+            "",
+            "    public long getId() { return id; }",
+            "    public boolean isActive() { return active; }",
+            "}");
+
+    @Test
+    void process_dumpableClass_generatesDumperAndRegistry() throws Exception {
+        List<String> notes = compile(source("com.acme.User", USER));
+
+        assertThat(notes).isEmpty();
+        assertThat(output.resolve("com/acme/UserDumper.class")).exists();
+        assertThat(output.resolve("com/acme/JavaDumpRegistry.class")).exists();
+        assertThat(Files.readString(output.resolve(DumpableProcessor.REGISTRY_SERVICE)).trim())
+                .isEqualTo("com.acme.JavaDumpRegistry");
+    }
+
+    @Test
+    void analyze_generatedDumper_matchesReflectiveOutput() throws Exception {
+        compile(source("com.acme.User", USER));
+
+        try (URLClassLoader loader = load()) {
+            Object user = loader.loadClass("com.acme.User").getDeclaredConstructor().newInstance();
+            ObjectAnalyzer generated = new ObjectAnalyzer(DumperConfig.builder()
+                    .showStaticFields(true)
+                    .build());
+            ObjectAnalyzer reflective = new ObjectAnalyzer(DumperConfig.builder()
+                    .showStaticFields(true)
+                    .useGeneratedDumpers(false)
+                    .build());
+
+            DumpNode expected = reflective.analyze(user);
+            DumpNode actual = generated.analyze(user);
+
+            assertThat(generated.planFor(user.getClass()).isGenerated()).isTrue();
+            assertThat(actual).isEqualTo(expected);
+            assertThat(actual.getFields()).containsOnlyKeys("User ID", "name", "password", "active", "COUNT");
+            assertThat(actual.getFields().get("password").getValue()).isEqualTo("****");
+        }
+    }
+
+    @Test
+    void process_privateFieldWithoutGetter_readsFieldThroughHandle() throws Exception {
+        List<String> notes = compile(source("com.acme.Opaque", String.join("\n",
+                "package com.acme;",
+                "@io.github.programmerjide.javadump.annotation.Dumpable(includeStatic = true)",
+                "public class Opaque {",
+                "    private int hidden = 1;",
+                "    private static String SHARED = \"shared\";",
+                "}")));
+
+        assertThat(notes).isEmpty();
+        assertThat(Files.readString(output.resolve("com/acme/OpaqueDumper.java")))
+                .contains("HANDLE_hidden = lookup.findVarHandle(com.acme.Opaque.class, \"hidden\", int.class);")
+                .contains("HANDLE_SHARED = lookup.findStaticVarHandle(com.acme.Opaque.class, \"SHARED\", java.lang.String.class);");
+        try (URLClassLoader loader = load()) {
+            Object opaque = loader.loadClass("com.acme.Opaque").getDeclaredConstructor().newInstance();
+            ObjectAnalyzer generated = new ObjectAnalyzer(DumperConfig.builder().build());
+
+            assertThat(generated.planFor(opaque.getClass()).isGenerated()).isTrue();
+            assertThat(generated.analyze(opaque)).isEqualTo(reflective().analyze(opaque));
+            assertThat(generated.analyze(opaque).getFields()).containsOnlyKeys("hidden", "SHARED");
+        }
+    }
+
+    @Test
+    void analyze_getterReturningCopy_readsRawField() throws Exception {
+        compile(source("com.acme.Cart", String.join("\n",
+                "package com.acme;",
+                "import java.util.*;",
+                "@io.github.programmerjide.javadump.annotation.Dumpable",
+                "public class Cart {",
+                "    public static int getterCalls;",
+                "    private List<String> items = new LinkedList<>(List.of(\"tea\"));",
+                "    private Cart self = this;",
+                "    public List<String> getItems() { getterCalls++; return new ArrayList<>(items); }",
+                "    public Cart getSelf() { getterCalls++; return new Cart(); }",
+                "}")));
+
+        try (URLClassLoader loader = load()) {
+            Class<?> type = loader.loadClass("com.acme.Cart");
+            Object cart = type.getDeclaredConstructor().newInstance();
+            ObjectAnalyzer generated = new ObjectAnalyzer(DumperConfig.builder().build());
+
+            DumpNode actual = generated.analyze(cart);
+
+            assertThat(generated.planFor(type).isGenerated()).isTrue();
+            assertThat(actual).isEqualTo(reflective().analyze(cart));
+            assertThat(actual.getFields().get("items").getTypeName()).isEqualTo("LinkedList");
+            assertThat(actual.getFields().get("self").isCircular()).isTrue();
+            assertThat(type.getField("getterCalls").getInt(null)).isZero();
+        }
+    }
+
+    @Test
+    void process_recordAndNestedClass_useJoinedNames() throws Exception {
+        compile(source("com.acme.Shapes", String.join("\n",
+                "package com.acme;",
+                "import io.github.programmerjide.javadump.annotation.Dumpable;",
+                "public class Shapes {",
+                "    @Dumpable public record Point(int x, int y) {}",
+                "    @Dumpable public static class Circle { double radius = 1.5; }",
+                "}")));
+
+        assertThat(output.resolve("com/acme/Shapes_PointDumper.class")).exists();
+        assertThat(output.resolve("com/acme/Shapes_CircleDumper.class")).exists();
+    }
+
+    @Test
+    void literal_escapesSpecialCharacters() {
+        assertThat(DumperSource.literal("a\"b\\c\né")).isEqualTo("\"a\\\"b\\\\c\\n\\u00e9\"");
+    }
+
+    // ==================== Helpers ====================
+
+    private List<String> compile(JavaFileObject... sources) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, null)) {
+            List<String> options = List.of(
+                    "-d", output.toString(),
+                    "-classpath", System.getProperty("java.class.path"));
+            JavaCompiler.CompilationTask task = compiler.getTask(
+                    null, files, diagnostics, options, null, List.of(sources));
+            task.setProcessors(List.of(new DumpableProcessor()));
+
+            boolean success = task.call();
+            assertThat(success).as(diagnostics.getDiagnostics().toString()).isTrue();
+        }
+
+        List<String> notes = new ArrayList<>();
+        diagnostics.getDiagnostics().forEach(d -> notes.add(d.getMessage(null)));
+        return notes;
+    }
+
+    private static ObjectAnalyzer reflective() {
+        return new ObjectAnalyzer(DumperConfig.builder().useGeneratedDumpers(false).build());
+    }
+
+    private URLClassLoader load() throws Exception {
+        return new URLClassLoader(new URL[] {output.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    private static JavaFileObject source(String className, String code) {
+        URI uri = URI.create("string:///" + className.replace('.', '/') + ".java");
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import io.github.programmerjide.javadump.model.DumpSnapshot;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Mutable state of a single {@code analyze}, {@code walk} or {@code capture}
+ * call: visited objects, the frame stacks of the iterative engine and of the
+ * walker, and the snapshot recorder.
+ *
+ * <p>Contexts are pooled rather than kept per thread, so virtual threads do
+ * not each pin one. The pool is a small array of slots claimed with atomic
+ * swaps, starting from a slot picked by the calling thread: threads rarely
+ * touch the same slot and never wait for each other. When every probed slot
+ * is empty a fresh context is allocated; when every probed slot is full on
+ * release the context is dropped.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+final class AnalysisContext {
+
+    private static final int POOL_SIZE = poolSize();
+    private static final int PROBES = 4;
+    private static final AtomicReferenceArray<AnalysisContext> POOL =
+            new AtomicReferenceArray<>(POOL_SIZE);
+
+    final IdentitySet visited = new IdentitySet();
+    final ArrayDeque<AnalysisFrame> stack = new ArrayDeque<>();
+    final ArrayDeque<AnalysisFrame> walk = new ArrayDeque<>();
+
+    /** Kind of the container the analyzer is about to open. */
+    TypeProfile.Kind container;
+
+    private DumpSnapshot.Recorder recorder;
+
+    private AnalysisContext() {
+    }
+
+    /**
+     * The recorder of {@code capture} calls, kept with the context so its
+     * buffers are reused.
+     */
+    DumpSnapshot.Recorder recorder() {
+        if (recorder == null) {
+            recorder = DumpSnapshot.recorder();
+        }
+        return recorder;
+    }
+
+    /**
+     * Takes a context from the pool, or creates one.
+     */
+    static AnalysisContext acquire() {
+        int start = slotFor(Thread.currentThread());
+        for (int i = 0; i < PROBES; i++) {
+            AnalysisContext context = POOL.getAndSet((start + i) & (POOL_SIZE - 1), null);
+            if (context != null) {
+                return context;
+            }
+        }
+        return new AnalysisContext();
+    }
+
+    /**
+     * Resets a context and returns it to the pool.
+     */
+    static void release(AnalysisContext context) {
+        context.visited.reset();
+        context.stack.clear();
+        context.walk.clear();
+        if (context.recorder != null) {
+            context.recorder.reset();
+        }
+
+        int start = slotFor(Thread.currentThread());
+        for (int i = 0; i < PROBES; i++) {
+            if (POOL.compareAndSet((start + i) & (POOL_SIZE - 1), null, context)) {
+                return;
+            }
+        }
+    }
+
+    private static int slotFor(Thread thread) {
+        long id = thread.getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int poolSize() {
+        int target = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+        return Integer.highestOneBit(target - 1) << 1;
+    }
+}
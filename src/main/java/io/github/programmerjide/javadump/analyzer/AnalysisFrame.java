@@ -0,0 +1,394 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import io.github.programmerjide.javadump.model.DumpNode;
+import io.github.programmerjide.javadump.model.DumpVisitor;
+
+import java.lang.reflect.Array;
+import java.util.*;
+
+/**
+ * A container being analyzed: it hands out its children one at a time and
+ * collects their nodes until it can build its own.
+ *
+ * <p>Both traversal engines of {@link ObjectAnalyzer} drive the same frames.
+ * The recursive engine analyzes each child with a nested call; the iterative
+ * engine pushes a new frame onto an explicit stack instead. Children are
+ * visited in the same order either way, so the output is identical.
+ *
+ * <p>{@link ObjectAnalyzer#walk} drives the same frames without building
+ * nodes: {@link #begin}, {@link #advance} and {@link #end} report the
+ * container to a {@link DumpVisitor} instead of {@link #accept} and
+ * {@link #finish}.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+abstract class AnalysisFrame {
+
+    /** Depth of the container itself; its children live at {@code depth + 1}. */
+    final int depth;
+
+    AnalysisFrame(int depth) {
+        this.depth = depth;
+    }
+
+    /**
+     * Whether a child still has to be analyzed.
+     */
+    abstract boolean hasNext();
+
+    /**
+     * Returns the next child value to analyze.
+     */
+    abstract Object next();
+
+    /**
+     * Receives the node for the child last returned by {@link #next()}.
+     */
+    abstract void accept(DumpNode child);
+
+    /**
+     * Builds the container node once all children were accepted.
+     */
+    abstract DumpNode finish();
+
+    /**
+     * Walk mode: opens the container on the visitor.
+     */
+    abstract void begin(DumpVisitor visitor);
+
+    /**
+     * Walk mode: announces the next child that needs analysis, emitting
+     * children that are already nodes on the way. Its value is then
+     * returned by {@link #next()}.
+     *
+     * @return false once all children were emitted
+     */
+    abstract boolean advance(DumpVisitor visitor, Keys keys);
+
+    /**
+     * Walk mode: closes the container on the visitor.
+     */
+    abstract void end(DumpVisitor visitor);
+
+    /**
+     * Hash map capacity that holds {@code size} entries without resizing.
+     */
+    static int capacity(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+    /**
+     * Analyzes map keys into complete nodes while walking.
+     */
+    @FunctionalInterface
+    interface Keys {
+        DumpNode analyze(Object key, int depth);
+    }
+
+    // ==================== Arrays ====================
+
+    static final class ArrayFrame extends AnalysisFrame {
+        private final Object array;
+        private final int length;
+        private final int max;
+        private List<DumpNode> elements;
+        private int index;
+
+        ArrayFrame(Object array, int depth, int maxItems) {
+            super(depth);
+            this.array = array;
+            this.length = Array.getLength(array);
+            this.max = Math.min(length, maxItems);
+        }
+
+        @Override
+        boolean hasNext() {
+            return index < max;
+        }
+
+        @Override
+        Object next() {
+            return Array.get(array, index++);
+        }
+
+        @Override
+        void accept(DumpNode child) {
+            if (elements == null) {
+                elements = new ArrayList<>(max);
+            }
+            elements.add(child);
+        }
+
+        @Override
+        DumpNode finish() {
+            return DumpNode.ofArray(array.getClass(), elements, length, length > max);
+        }
+
+        @Override
+        void begin(DumpVisitor visitor) {
+            visitor.beginArray(array.getClass().getComponentType().getSimpleName() + "[]", length, max);
+        }
+
+        @Override
+        boolean advance(DumpVisitor visitor, Keys keys) {
+            if (index >= max) {
+                return false;
+            }
+            visitor.element(index);
+            return true;
+        }
+
+        @Override
+        void end(DumpVisitor visitor) {
+            visitor.end(length - max);
+        }
+    }
+
+    // ==================== Collections ====================
+
+    static final class CollectionFrame extends AnalysisFrame {
+        private final Collection<?> collection;
+        private final Iterator<?> iterator;
+        private final int size;
+        private final int max;
+        private List<DumpNode> elements;
+        private int count;
+
+        CollectionFrame(Collection<?> collection, int depth, int maxItems) {
+            super(depth);
+            this.collection = collection;
+            this.iterator = collection.iterator();
+            this.size = collection.size();
+            this.max = Math.min(size, maxItems);
+        }
+
+        @Override
+        boolean hasNext() {
+            return count < max && iterator.hasNext();
+        }
+
+        @Override
+        Object next() {
+            count++;
+            return iterator.next();
+        }
+
+        @Override
+        void accept(DumpNode child) {
+            if (elements == null) {
+                elements = new ArrayList<>(max);
+            }
+            elements.add(child);
+        }
+
+        @Override
+        DumpNode finish() {
+            return DumpNode.ofCollection(collection.getClass(), elements, size, size > max);
+        }
+
+        @Override
+        void begin(DumpVisitor visitor) {
+            visitor.beginArray(collection.getClass().getSimpleName(), size, max);
+        }
+
+        @Override
+        boolean advance(DumpVisitor visitor, Keys keys) {
+            if (!hasNext()) {
+                return false;
+            }
+            visitor.element(count);
+            return true;
+        }
+
+        @Override
+        void end(DumpVisitor visitor) {
+            visitor.end(size - max);
+        }
+    }
+
+    // ==================== Maps ====================
+
+    /**
+     * Hands out each entry's key, then its value.
+     */
+    static final class MapFrame extends AnalysisFrame {
+        private final Map<?, ?> map;
+        private final Iterator<? extends Map.Entry<?, ?>> iterator;
+        private final int size;
+        private final int max;
+        private Map<DumpNode, DumpNode> entries;
+        private Map.Entry<?, ?> current;
+        private DumpNode key;
+        private boolean valueNext;
+        private int count;
+
+        MapFrame(Map<?, ?> map, int depth, int maxItems) {
+            super(depth);
+            this.map = map;
+            this.iterator = map.entrySet().iterator();
+            this.size = map.size();
+            this.max = Math.min(size, maxItems);
+        }
+
+        @Override
+        boolean hasNext() {
+            return valueNext || (count < max && iterator.hasNext());
+        }
+
+        @Override
+        Object next() {
+            if (valueNext) {
+                return current.getValue();
+            }
+            current = iterator.next();
+            count++;
+            return current.getKey();
+        }
+
+        @Override
+        void accept(DumpNode child) {
+            if (valueNext) {
+                if (entries == null) {
+                    entries = new LinkedHashMap<>(capacity(max));
+                }
+                entries.put(key, child);
+                current = null;
+                key = null;
+            } else {
+                key = child;
+            }
+            valueNext = !valueNext;
+        }
+
+        @Override
+        DumpNode finish() {
+            return DumpNode.ofMap(map.getClass(), entries, size, size > max);
+        }
+
+        @Override
+        void begin(DumpVisitor visitor) {
+            visitor.beginMap(map.getClass().getSimpleName(), size, max);
+        }
+
+        /**
+         * Emits the key of the next entry as a complete node; the value is
+         * the child to analyze.
+         */
+        @Override
+        boolean advance(DumpVisitor visitor, Keys keys) {
+            if (count >= max || !iterator.hasNext()) {
+                return false;
+            }
+            current = iterator.next();
+            count++;
+            visitor.key(keys.analyze(current.getKey(), depth + 1));
+            valueNext = true;
+            return true;
+        }
+
+        @Override
+        void end(DumpVisitor visitor) {
+            visitor.end(size - max);
+        }
+    }
+
+    // ==================== Objects ====================
+
+    /**
+     * Fields of an object, read up front when the frame is opened.
+     *
+     * <p>Slots that already have a node (primitives, redactions, access
+     * errors) are skipped; the others hold the raw value to analyze.
+     */
+    static final class ObjectFrame extends AnalysisFrame {
+        private final Class<?> type;
+        private final String[] labels;
+        private final DumpNode[] nodes;
+        private final Object[] values;
+        private int index;
+        private boolean announced;
+
+        ObjectFrame(Class<?> type, int depth, ClassPlan.FieldPlan[] fields) {
+            super(depth);
+            this.type = type;
+            this.labels = new String[fields.length];
+            this.nodes = new DumpNode[fields.length];
+            this.values = new Object[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                labels[i] = fields[i].getLabel();
+            }
+        }
+
+        /**
+         * Buffer for raw field values, indexed like the plan's fields.
+         */
+        Object[] values() {
+            return values;
+        }
+
+        void setNode(int slot, DumpNode node) {
+            nodes[slot] = node;
+        }
+
+        void setValue(int slot, Object value) {
+            values[slot] = value;
+        }
+
+        @Override
+        boolean hasNext() {
+            while (index < nodes.length && nodes[index] != null) {
+                index++;
+            }
+            return index < nodes.length;
+        }
+
+        @Override
+        Object next() {
+            Object value = values[index];
+            values[index] = null;
+            return value;
+        }
+
+        @Override
+        void accept(DumpNode child) {
+            nodes[index++] = child;
+        }
+
+        @Override
+        DumpNode finish() {
+            Map<String, DumpNode> fields = new LinkedHashMap<>(capacity(labels.length));
+            for (int i = 0; i < labels.length; i++) {
+                fields.put(labels[i], nodes[i]);
+            }
+            return DumpNode.ofObject(type, fields);
+        }
+
+        @Override
+        void begin(DumpVisitor visitor) {
+            visitor.beginObject(type.getSimpleName(), labels.length);
+        }
+
+        @Override
+        boolean advance(DumpVisitor visitor, Keys keys) {
+            if (announced) {
+                index++;
+                announced = false;
+            }
+            while (index < labels.length) {
+                visitor.field(labels[index]);
+                if (nodes[index] == null) {
+                    announced = true;
+                    return true;
+                }
+                visitor.value(nodes[index++]);
+            }
+            return false;
+        }
+
+        @Override
+        void end(DumpVisitor visitor) {
+            visitor.end(0);
+        }
+    }
+}
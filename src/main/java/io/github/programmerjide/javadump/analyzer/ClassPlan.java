@@ -0,0 +1,391 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import io.github.programmerjide.javadump.cache.ReflectionCache;
+import io.github.programmerjide.javadump.config.DumperConfig;
+import io.github.programmerjide.javadump.model.DumpNode;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Precompiled analysis plan for a single class under a single configuration.
+ *
+ * <p>Compiling a plan resolves everything about a class that does not depend
+ * on the instance being dumped:
+ * <ul>
+ *   <li>Which declared fields are visible (modifiers, include/exclude rules)</li>
+ *   <li>Annotation decisions ({@code @DumpIgnore}, {@code @DumpRedact},
+ *       {@code @DumpLabel}, {@code @DumpOrder}, {@code @Dumpable})</li>
+ *   <li>Redaction, including the shared placeholder node</li>
+ *   <li>Field accessors for the configured backend</li>
+ * </ul>
+ *
+ * <p>The analyzer then only reads values and recurses for each instance.
+ *
+ * <p>Plans also tier up: when {@link DumperConfig#getExtractorThreshold()} is
+ * positive, a class analyzed that many times gets a generated
+ * {@link FieldExtractor} that reads all fields with direct field instructions.
+ * If generation is not possible the plan keeps using its field accessors.
+ *
+ * <p>For types with a compile-time {@link GeneratedDumper} the plan is built
+ * from the dumper's field descriptions instead, without reflection.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+public final class ClassPlan {
+
+    private static final String CONFIG_REDACTION = "***REDACTED***";
+
+    private final Class<?> type;
+    private final FieldPlan[] fields;
+    private final int extractorThreshold;
+    private final GeneratedDumper<Object> generated;
+    private final FieldPlan[] slots;
+
+    // Tiering state; the counter is intentionally unsynchronized
+    private int invocations;
+    private volatile FieldExtractor extractor;
+    private volatile boolean extractorUnavailable;
+
+    private ClassPlan(Class<?> type, FieldPlan[] fields, int extractorThreshold) {
+        this.type = type;
+        this.fields = fields;
+        this.extractorThreshold = extractorThreshold;
+        this.generated = null;
+        this.slots = null;
+    }
+
+    private ClassPlan(Class<?> type, FieldPlan[] fields, GeneratedDumper<Object> generated,
+                      FieldPlan[] slots) {
+        this.type = type;
+        this.fields = fields;
+        this.extractorThreshold = 0;
+        this.generated = generated;
+        this.slots = slots;
+    }
+
+    /**
+     * Compiles the plan for a class.
+     *
+     * @param type the class to compile
+     * @param config the configuration the plan is bound to
+     * @param annotations annotation reader used to resolve field annotations
+     * @return the compiled plan
+     */
+    static ClassPlan compile(Class<?> type, DumperConfig config, AnnotationProcessor annotations) {
+        Optional<AnnotationProcessor.DumpableConfig> dumpable = annotations.getDumpableConfig(type);
+
+        List<Field> visible = new ArrayList<>();
+        for (Field field : ReflectionCache.getDeclaredFields(type)) {
+            if (isVisible(field, config, annotations, dumpable)) {
+                visible.add(field);
+            }
+        }
+
+        // Stable sort: fields without @DumpOrder keep their declaration order
+        visible.sort(Comparator.comparingInt(annotations::getFieldOrder));
+
+        FieldPlan[] plans = new FieldPlan[visible.size()];
+        for (int i = 0; i < plans.length; i++) {
+            plans[i] = compileField(visible.get(i), config, annotations);
+        }
+
+        return new ClassPlan(type, plans, config.getExtractorThreshold());
+    }
+
+    /**
+     * Compiles the plan for a type with a generated dumper.
+     *
+     * <p>Annotation rules were applied by the processor; only the
+     * configuration-dependent rules are evaluated here.
+     *
+     * @param dumper the generated dumper for the type
+     * @param config the configuration the plan is bound to
+     * @return the compiled plan
+     */
+    @SuppressWarnings("unchecked")
+    static ClassPlan compile(GeneratedDumper<?> dumper, DumperConfig config) {
+        List<GeneratedDumper.FieldInfo> infos = dumper.fields();
+        FieldPlan[] slots = new FieldPlan[infos.size()];
+        List<FieldPlan> visible = new ArrayList<>();
+
+        for (int i = 0; i < slots.length; i++) {
+            GeneratedDumper.FieldInfo info = infos.get(i);
+            if (!isVisible(info.getModifiers(), info.getName(), config, true, dumper.includeStatic())) {
+                continue;
+            }
+
+            String redaction = info.getRedaction();
+            if (redaction == null && config.shouldRedactField(info.getName())) {
+                redaction = CONFIG_REDACTION;
+            }
+            slots[i] = new FieldPlan(info.getLabel(),
+                    redaction != null ? DumpNode.ofString(redaction) : null);
+            visible.add(slots[i]);
+        }
+
+        return new ClassPlan(dumper.type(), visible.toArray(new FieldPlan[0]),
+                (GeneratedDumper<Object>) dumper, slots);
+    }
+
+    private static boolean isVisible(Field field, DumperConfig config,
+                                     AnnotationProcessor annotations,
+                                     Optional<AnnotationProcessor.DumpableConfig> dumpable) {
+        boolean includePrivate = dumpable.map(AnnotationProcessor.DumpableConfig::isIncludePrivate)
+                .orElse(true);
+        boolean includeStatic = dumpable.map(AnnotationProcessor.DumpableConfig::isIncludeStatic)
+                .orElse(false);
+
+        if (annotations.isIgnored(field)) {
+            return false;
+        }
+
+        String fieldName = field.getName();
+        if (dumpable.isPresent() && !dumpable.get().shouldIncludeField(fieldName)) {
+            return false;
+        }
+        return isVisible(field.getModifiers(), fieldName, config, includePrivate, includeStatic);
+    }
+
+    private static boolean isVisible(int modifiers, String fieldName, DumperConfig config,
+                                     boolean includePrivate, boolean includeStatic) {
+        if (Modifier.isPrivate(modifiers)
+                && (!config.isShowPrivateFields() || !includePrivate)) {
+            return false;
+        }
+        if (Modifier.isStatic(modifiers)
+                && !config.isShowStaticFields() && !includeStatic) {
+            return false;
+        }
+        if (!config.isShowTransientFields() && Modifier.isTransient(modifiers)) {
+            return false;
+        }
+        return config.shouldIncludeField(fieldName);
+    }
+
+    private static FieldPlan compileField(Field field, DumperConfig config,
+                                          AnnotationProcessor annotations) {
+        String redaction = null;
+        if (annotations.isRedacted(field)) {
+            redaction = annotations.getRedactionText(field);
+        } else if (config.shouldRedactField(field.getName())) {
+            redaction = CONFIG_REDACTION;
+        }
+
+        return new FieldPlan(
+                field,
+                annotations.getFieldLabel(field),
+                redaction != null ? DumpNode.ofString(redaction) : null,
+                FieldAccessor.of(field, config.getFieldAccessMode())
+        );
+    }
+
+    // ==================== Accessors ====================
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the compiled fields in display order.
+     */
+    public List<FieldPlan> getFields() {
+        return Collections.unmodifiableList(Arrays.asList(fields));
+    }
+
+    /**
+     * Whether a generated extractor is currently in use.
+     */
+    public boolean isExtractorActive() {
+        return extractor != null;
+    }
+
+    /**
+     * Whether this plan was built from a compile-time {@link GeneratedDumper}.
+     */
+    public boolean isGenerated() {
+        return generated != null;
+    }
+
+    /**
+     * Returns the generated dumper, or null for reflective plans.
+     */
+    GeneratedDumper<Object> generated() {
+        return generated;
+    }
+
+    /**
+     * Returns the field plan for a generated field index, or null if the
+     * configuration hides that field.
+     */
+    FieldPlan slot(int index) {
+        return slots[index];
+    }
+
+    /**
+     * Direct access to the compiled fields for the analyzer hot loop.
+     */
+    FieldPlan[] fields() {
+        return fields;
+    }
+
+    /**
+     * Records an invocation and returns the generated extractor once the
+     * class has passed the configured threshold, or null while it has not.
+     * The analyzer has it fill the value array of each object's frame.
+     */
+    FieldExtractor extractor() {
+        FieldExtractor current = extractor;
+        if (current != null || extractorThreshold <= 0 || extractorUnavailable) {
+            return current;
+        }
+        if (++invocations < extractorThreshold) {
+            return null;
+        }
+        return promote();
+    }
+
+    private synchronized FieldExtractor promote() {
+        if (extractor == null && !extractorUnavailable) {
+            Field[] readable = new Field[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                if (!fields[i].isRedacted()) {
+                    readable[i] = fields[i].getField();
+                }
+            }
+
+            FieldExtractor generated = ExtractorGenerator.tryGenerate(type, readable);
+            if (generated == null) {
+                extractorUnavailable = true;
+            }
+            extractor = generated;
+        }
+        return extractor;
+    }
+
+    /**
+     * A single compiled field: its accessor, display label and redaction decision.
+     */
+    public static final class FieldPlan {
+
+        /**
+         * Storage kind of the field, selecting the typed getter that reads it.
+         */
+        private enum Kind {
+            REFERENCE(null),
+            BOOLEAN(Boolean.class),
+            BYTE(Byte.class),
+            CHAR(Character.class),
+            SHORT(Short.class),
+            INT(Integer.class),
+            LONG(Long.class),
+            FLOAT(Float.class),
+            DOUBLE(Double.class);
+
+            private final Class<?> boxedType;
+
+            Kind(Class<?> boxedType) {
+                this.boxedType = boxedType;
+            }
+        }
+
+        private final Field field;
+        private final String label;
+        private final DumpNode redactedNode;
+        private final FieldAccessor accessor;
+        private final Kind kind;
+
+        FieldPlan(Field field, String label, DumpNode redactedNode, FieldAccessor accessor) {
+            this.field = field;
+            this.label = label;
+            this.redactedNode = redactedNode;
+            this.accessor = accessor;
+            this.kind = kindOf(field.getType());
+        }
+
+        // Fields of generated plans are read by the dumper, not by an accessor
+        FieldPlan(String label, DumpNode redactedNode) {
+            this.field = null;
+            this.label = label;
+            this.redactedNode = redactedNode;
+            this.accessor = null;
+            this.kind = Kind.REFERENCE;
+        }
+
+        /**
+         * Returns the reflected field, or null for generated plans.
+         */
+        public Field getField() { return field; }
+        public String getLabel() { return label; }
+        public FieldAccessor getAccessor() { return accessor; }
+        public boolean isRedacted() { return redactedNode != null; }
+        public boolean isAccessible() { return accessor == null || accessor.isAccessible(); }
+        public boolean isPrimitive() { return kind != Kind.REFERENCE; }
+
+        /**
+         * Returns the wrapper class for primitive fields, or null.
+         */
+        Class<?> boxedType() {
+            return kind.boxedType;
+        }
+
+        /**
+         * Returns the shared placeholder node for redacted fields, or null.
+         */
+        DumpNode redactedNode() {
+            return redactedNode;
+        }
+
+        /**
+         * Reads the field value from the given instance, boxing primitives.
+         */
+        public Object read(Object target) throws IllegalAccessException {
+            return accessor.get(target);
+        }
+
+        /**
+         * Reads a primitive field straight into a PRIMITIVE node.
+         *
+         * <p>The node has the same wrapper class and type name that analyzing
+         * the boxed value would produce, without {@code Field.get} or type
+         * dispatch. The value is still boxed once, for the node, which holds
+         * it as an {@code Object}.
+         */
+        public DumpNode readPrimitive(Object target) throws IllegalAccessException {
+            switch (kind) {
+                case INT:
+                    return DumpNode.ofPrimitive(accessor.getInt(target), Integer.class);
+                case LONG:
+                    return DumpNode.ofPrimitive(accessor.getLong(target), Long.class);
+                case DOUBLE:
+                    return DumpNode.ofPrimitive(accessor.getDouble(target), Double.class);
+                case BOOLEAN:
+                    return DumpNode.ofPrimitive(accessor.getBoolean(target), Boolean.class);
+                case FLOAT:
+                    return DumpNode.ofPrimitive(accessor.getFloat(target), Float.class);
+                case CHAR:
+                    return DumpNode.ofPrimitive(accessor.getChar(target), Character.class);
+                case SHORT:
+                    return DumpNode.ofPrimitive(accessor.getShort(target), Short.class);
+                case BYTE:
+                    return DumpNode.ofPrimitive(accessor.getByte(target), Byte.class);
+                default:
+                    throw new IllegalStateException(field.getName() + " is not a primitive field");
+            }
+        }
+
+        private static Kind kindOf(Class<?> type) {
+            if (!type.isPrimitive()) return Kind.REFERENCE;
+            if (type == int.class) return Kind.INT;
+            if (type == long.class) return Kind.LONG;
+            if (type == double.class) return Kind.DOUBLE;
+            if (type == boolean.class) return Kind.BOOLEAN;
+            if (type == float.class) return Kind.FLOAT;
+            if (type == char.class) return Kind.CHAR;
+            if (type == short.class) return Kind.SHORT;
+            return Kind.BYTE;
+        }
+    }
+}
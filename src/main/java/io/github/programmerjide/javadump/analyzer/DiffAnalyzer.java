@@ -1,5 +1,6 @@
 package io.github.programmerjide.javadump.analyzer;
 
+import io.github.programmerjide.javadump.cache.ReflectionCache;
 import io.github.programmerjide.javadump.config.DumperConfig;
 import io.github.programmerjide.javadump.model.DumpNode;
 
@@ -9,13 +10,29 @@ import java.util.*;
  * Analyzes differences between two objects.
  *
  * <p>Compares two DumpNode trees and identifies added, removed,
- * and changed nodes for visualization in diff output.
+ * and changed nodes for visualization in diff output. Fields, elements
+ * and map entries are reported by name, index or key; nodes are compared
+ * by {@link DumpNode#structuralHash()}, so an unchanged subtree costs one
+ * comparison however large it is.
+ *
+ * <p>Arrays and collections are diffed as sequences (see
+ * {@link SequenceDiff}): an element inserted at the head of a list is one
+ * addition, not a change of every element after it. An element removed in
+ * one place and inserted in another is reported as a move.
+ *
+ * <p>Two maps are diffed directly, without building node trees for them
+ * (see {@link #compareMaps}).
  *
  * @author Olaldejo Olajide
  * @since 1.0.0
  */
 public class DiffAnalyzer {
 
+    /** Returned by {@link #lookup} for a key the map does not contain. */
+    private static final Object ABSENT = new Object();
+    /** Returned by {@link #lookup} for a key the map cannot look up. */
+    private static final Object INCOMPATIBLE = new Object();
+
     private final DumperConfig config;
     private final ObjectAnalyzer analyzer;
 
@@ -32,103 +49,395 @@ public class DiffAnalyzer {
      * @return a DiffResult containing the comparison
      */
     public DiffResult analyze(Object before, Object after) {
+        if (before instanceof Map && after instanceof Map) {
+            DiffResult result = new DiffResult();
+            if (compareMaps((Map<?, ?>) before, (Map<?, ?>) after, result)) {
+                return result;
+            }
+        }
+
+        DiffResult result = new DiffResult();
         DumpNode beforeNode = analyzer.analyze(before, 0);
         DumpNode afterNode = analyzer.analyze(after, 0);
+        compareTrees(beforeNode, afterNode, result);
+        return result;
+    }
+
+    /**
+     * Diffs two live maps entry by entry. Entries are paired by looking
+     * their keys up in the other map, so each map's own key semantics
+     * apply: equality for a {@code HashMap}, identity for an
+     * {@code IdentityHashMap}, the comparator for a {@code TreeMap}.
+     *
+     * <p>A value is only analyzed when it is reported, or when its key is in
+     * both maps and the two values are neither the same instance nor equal
+     * simple values; then the two are compared by structural hash and
+     * dropped unless they differ. Memory grows with the number of
+     * differences, not with the size of the maps: unchanged entries are
+     * counted in {@link DiffResult#getComparedNodes()} but not listed. All
+     * entries are compared, not only the first {@code maxItems}. Values are
+     * analyzed with their own map visited, so one that refers back to it
+     * shows as cyclic. Keys that are not simple values are labelled with
+     * their type and the structural hash of their dump, so distinct keys of
+     * one type are told apart.
+     *
+     * @return false if a key could not be looked up in the other map (a
+     *         null key in a map that rejects nulls, or a key the other map's
+     *         comparator cannot compare); the maps must then be diffed as trees
+     */
+    private boolean compareMaps(Map<?, ?> before, Map<?, ?> after, DiffResult result) {
+        result.comparedNodes++;
+        if (before == after) {
+            return true;
+        }
 
-        return compareTrees(beforeNode, afterNode);
+        try (ObjectAnalyzer.Scope beforeScope = analyzer.scope(before);
+             ObjectAnalyzer.Scope afterScope = analyzer.scope(after)) {
+            for (Map.Entry<?, ?> entry : before.entrySet()) {
+                Object key = entry.getKey();
+                Object afterValue = lookup(after, key);
+                if (afterValue == INCOMPATIBLE) {
+                    return false;
+                }
+                if (afterValue == ABSENT) {
+                    result.addFieldRemoval(keyLabel(key, beforeScope), beforeScope.analyze(entry.getValue(), 1));
+                    continue;
+                }
+
+                Object beforeValue = entry.getValue();
+                result.comparedNodes++;
+                if (sameValue(beforeValue, afterValue)) {
+                    continue;
+                }
+                DumpNode beforeNode = beforeScope.analyze(beforeValue, 1);
+                DumpNode afterNode = afterScope.analyze(afterValue, 1);
+                if (beforeNode.structuralHash() != afterNode.structuralHash()) {
+                    result.addFieldChange(keyLabel(key, beforeScope), beforeNode, afterNode);
+                }
+            }
+
+            for (Map.Entry<?, ?> entry : after.entrySet()) {
+                Object key = entry.getKey();
+                Object beforeValue = lookup(before, key);
+                if (beforeValue == INCOMPATIBLE) {
+                    return false;
+                }
+                if (beforeValue == ABSENT) {
+                    result.addFieldAddition(keyLabel(key, afterScope), afterScope.analyze(entry.getValue(), 1));
+                }
+            }
+            return true;
+        }
     }
 
     /**
-     * Compares two DumpNode trees.
+     * Looks a key up in a map with possibly different key semantics.
+     *
+     * @return the value, {@link #ABSENT}, or {@link #INCOMPATIBLE} if the
+     *         map rejects the key: a null key in a map that forbids nulls,
+     *         or a key its comparator cannot compare
      */
-    private DiffResult compareTrees(DumpNode before, DumpNode after) {
-        DiffResult result = new DiffResult();
+    private static Object lookup(Map<?, ?> map, Object key) {
+        try {
+            Object value = map.get(key);
+            return value != null || map.containsKey(key) ? value : ABSENT;
+        } catch (NullPointerException | ClassCastException e) {
+            return INCOMPATIBLE;
+        }
+    }
 
+    /**
+     * Checks, without analyzing them, whether two values are known to dump
+     * the same: the same instance, or equal values of a simple type.
+     */
+    private static boolean sameValue(Object before, Object after) {
+        if (before == after) {
+            return true;
+        }
+        if (before == null || after == null || before.getClass() != after.getClass()) {
+            return false;
+        }
+        TypeProfile.Kind kind = TypeProfile.of(before.getClass()).getKind();
+        return (kind == TypeProfile.Kind.PRIMITIVE
+                || kind == TypeProfile.Kind.STRING
+                || kind == TypeProfile.Kind.ENUM)
+                && before.equals(after);
+    }
+
+    /**
+     * Compares two DumpNode trees.
+     */
+    private void compareTrees(DumpNode before, DumpNode after, DiffResult result) {
         // Both null
         if (before == null && after == null) {
-            return result;
+            return;
         }
 
         // One is null
         if (before == null) {
             result.addAddition(after);
-            return result;
+            return;
         }
 
         if (after == null) {
             result.addRemoval(before);
-            return result;
+            return;
+        }
+
+        // Identical subtrees, whatever their size
+        if (same(before, after, result)) {
+            result.addUnchanged(before);
+            return;
         }
 
-        // Different types
-        if (before.getType() != after.getType()) {
+        // Different types, or different values
+        if (before.getType() != after.getType() || !isContainer(before)) {
             result.addRemoval(before);
             result.addAddition(after);
-            return result;
+            return;
         }
 
-        // Simple types - compare values
-        if (isSimpleType(before)) {
-            if (!Objects.equals(before.getValue(), after.getValue())) {
-                result.addRemoval(before);
-                result.addAddition(after);
+        // Containers - compare children
+        compareComplexNodes(before, after, result);
+    }
+
+    /**
+     * Compares complex nodes (objects, collections, maps) child by child.
+     * Each child is compared by its structural hash alone, so unchanged
+     * branches are never walked.
+     */
+    private void compareComplexNodes(DumpNode before, DumpNode after, DiffResult result) {
+        switch (before.getType()) {
+            case ARRAY:
+            case COLLECTION:
+                compareElements(elementsOf(before), elementsOf(after), result);
+                break;
+            case MAP:
+                if (!before.getEntries().isEmpty() || !after.getEntries().isEmpty()) {
+                    compareEntries(before.getEntries(), after.getEntries(), result);
+                } else {
+                    compareFields(before.getChildren(), after.getChildren(), result);
+                }
+                break;
+            default:
+                compareFields(fieldsOf(before), fieldsOf(after), result);
+        }
+    }
+
+    private void compareFields(Map<String, DumpNode> before, Map<String, DumpNode> after,
+                               DiffResult result) {
+        for (Map.Entry<String, DumpNode> entry : before.entrySet()) {
+            String key = entry.getKey();
+            if (after.containsKey(key)) {
+                compareChild(key, entry.getValue(), after.get(key), result);
             } else {
-                result.addUnchanged(before);
+                result.addFieldRemoval(key, entry.getValue());
+            }
+        }
+        for (Map.Entry<String, DumpNode> entry : after.entrySet()) {
+            if (!before.containsKey(entry.getKey())) {
+                result.addFieldAddition(entry.getKey(), entry.getValue());
             }
-            return result;
         }
-
-        // Complex types - compare children
-        return compareComplexNodes(before, after, result);
     }
 
     /**
-     * Compares complex nodes (objects, collections, maps).
+     * Compares elements as sequences by a shortest edit script, or by
+     * position when they need more edits than the configured cost limit.
      */
-    private DiffResult compareComplexNodes(DumpNode before, DumpNode after,
-                                           DiffResult result) {
-        Map<String, DumpNode> beforeChildren = before.getChildren();
-        Map<String, DumpNode> afterChildren = after.getChildren();
-
-        Set<String> allKeys = new HashSet<>();
-        allKeys.addAll(beforeChildren.keySet());
-        allKeys.addAll(afterChildren.keySet());
-
-        for (String key : allKeys) {
-            DumpNode beforeChild = beforeChildren.get(key);
-            DumpNode afterChild = afterChildren.get(key);
-
-            if (beforeChild == null) {
-                // Added
-                result.addFieldAddition(key, afterChild);
-            } else if (afterChild == null) {
-                // Removed
-                result.addFieldRemoval(key, beforeChild);
+    private void compareElements(List<DumpNode> before, List<DumpNode> after, DiffResult result) {
+        long[] beforeHashes = hashes(before);
+        long[] afterHashes = hashes(after);
+        List<SequenceDiff.Edit> edits = SequenceDiff.diff(beforeHashes, afterHashes,
+                config.getDiffCostLimit());
+        if (edits == null) {
+            compareByPosition(before, after, result);
+            return;
+        }
+
+        boolean[] deleted = new boolean[before.size()];
+        boolean[] inserted = new boolean[after.size()];
+        Map<Long, ArrayDeque<Integer>> deletedByHash = new HashMap<>();
+        for (SequenceDiff.Edit edit : edits) {
+            if (edit.insert) {
+                inserted[edit.index] = true;
             } else {
-                // Compare
-                DiffResult childResult = compareTrees(beforeChild, afterChild);
-                if (childResult.hasChanges()) {
-                    result.addFieldChange(key, beforeChild, afterChild);
-                } else {
-                    result.addFieldUnchanged(key, beforeChild);
+                deleted[edit.index] = true;
+                deletedByHash.computeIfAbsent(beforeHashes[edit.index], hash -> new ArrayDeque<>())
+                        .add(edit.index);
+            }
+        }
+
+        // An element deleted in one place and inserted in another moved
+        boolean[] moved = new boolean[after.size()];
+        boolean[] movedAway = new boolean[before.size()];
+        for (SequenceDiff.Edit edit : edits) {
+            if (edit.insert) {
+                ArrayDeque<Integer> sources = deletedByHash.get(afterHashes[edit.index]);
+                if (sources != null && !sources.isEmpty()) {
+                    int from = sources.poll();
+                    moved[edit.index] = true;
+                    movedAway[from] = true;
+                    result.comparedNodes++;
+                    result.addFieldMove(indexLabel(from), indexLabel(edit.index), after.get(edit.index));
                 }
             }
         }
 
-        return result;
+        // Within a run of edits, deletions and insertions pair up as changes
+        int next = 0;
+        while (next < edits.size()) {
+            int hunk = edits.get(next).hunk;
+            List<Integer> removals = new ArrayList<>();
+            List<Integer> additions = new ArrayList<>();
+            for (; next < edits.size() && edits.get(next).hunk == hunk; next++) {
+                SequenceDiff.Edit edit = edits.get(next);
+                if (edit.insert && !moved[edit.index]) {
+                    additions.add(edit.index);
+                } else if (!edit.insert && !movedAway[edit.index]) {
+                    removals.add(edit.index);
+                }
+            }
+            int paired = Math.min(removals.size(), additions.size());
+            for (int p = 0; p < paired; p++) {
+                int j = additions.get(p);
+                result.comparedNodes++;
+                result.addFieldChange(indexLabel(j), before.get(removals.get(p)), after.get(j));
+            }
+            for (int p = paired; p < removals.size(); p++) {
+                result.addFieldRemoval(indexLabel(removals.get(p)), before.get(removals.get(p)));
+            }
+            for (int p = paired; p < additions.size(); p++) {
+                result.addFieldAddition(indexLabel(additions.get(p)), after.get(additions.get(p)));
+            }
+        }
+
+        // Everything else matched, in order
+        int i = 0;
+        for (int j = 0; j < after.size(); j++) {
+            if (inserted[j]) {
+                continue;
+            }
+            while (deleted[i]) {
+                i++;
+            }
+            result.comparedNodes++;
+            result.addFieldUnchanged(indexLabel(j), before.get(i++));
+        }
+    }
+
+    private void compareByPosition(List<DumpNode> before, List<DumpNode> after, DiffResult result) {
+        int common = Math.min(before.size(), after.size());
+        for (int i = 0; i < common; i++) {
+            compareChild(indexLabel(i), before.get(i), after.get(i), result);
+        }
+        for (int i = common; i < before.size(); i++) {
+            result.addFieldRemoval(indexLabel(i), before.get(i));
+        }
+        for (int i = common; i < after.size(); i++) {
+            result.addFieldAddition(indexLabel(i), after.get(i));
+        }
+    }
+
+    private void compareEntries(Map<DumpNode, DumpNode> before, Map<DumpNode, DumpNode> after,
+                                DiffResult result) {
+        for (Map.Entry<DumpNode, DumpNode> entry : before.entrySet()) {
+            String key = keyLabel(entry.getKey());
+            if (after.containsKey(entry.getKey())) {
+                compareChild(key, entry.getValue(), after.get(entry.getKey()), result);
+            } else {
+                result.addFieldRemoval(key, entry.getValue());
+            }
+        }
+        for (Map.Entry<DumpNode, DumpNode> entry : after.entrySet()) {
+            if (!before.containsKey(entry.getKey())) {
+                result.addFieldAddition(keyLabel(entry.getKey()), entry.getValue());
+            }
+        }
+    }
+
+    private void compareChild(String key, DumpNode before, DumpNode after, DiffResult result) {
+        if (same(before, after, result)) {
+            result.addFieldUnchanged(key, before);
+        } else {
+            result.addFieldChange(key, before, after);
+        }
+    }
+
+    /**
+     * Compares two subtrees by their structural hashes, counting the
+     * comparison.
+     */
+    private boolean same(DumpNode before, DumpNode after, DiffResult result) {
+        result.comparedNodes++;
+        if (before == after) {
+            return true;
+        }
+        if (before == null || after == null) {
+            return false;
+        }
+        return before.structuralHash() == after.structuralHash();
+    }
+
+    private static long[] hashes(List<DumpNode> nodes) {
+        long[] hashes = new long[nodes.size()];
+        for (int i = 0; i < hashes.length; i++) {
+            DumpNode node = nodes.get(i);
+            hashes[i] = node != null ? node.structuralHash() : 0;
+        }
+        return hashes;
+    }
+
+    private static List<DumpNode> elementsOf(DumpNode node) {
+        return !node.getElements().isEmpty()
+                ? node.getElements() : new ArrayList<>(node.getChildren().values());
+    }
+
+    private static Map<String, DumpNode> fieldsOf(DumpNode node) {
+        return !node.getFields().isEmpty() ? node.getFields() : node.getChildren();
+    }
+
+    private static String indexLabel(int index) {
+        return "[" + index + "]";
     }
 
     /**
-     * Checks if a node represents a simple type.
+     * Labels a live map key: simple values by their text, other keys by
+     * their type and the structural hash of their dump.
      */
-    private boolean isSimpleType(DumpNode node) {
+    private static String keyLabel(Object key, ObjectAnalyzer.Scope scope) {
+        if (key == null) {
+            return "null";
+        }
+        if (key instanceof Enum) {
+            return ((Enum<?>) key).name();
+        }
+        TypeProfile profile = TypeProfile.of(key.getClass());
+        if (profile.getKind() == TypeProfile.Kind.PRIMITIVE || profile.getKind() == TypeProfile.Kind.STRING) {
+            return String.valueOf(key);
+        }
+        long hash = scope.analyze(key, 1).structuralHash();
+        return ReflectionCache.getMetadata(key.getClass()).getSimpleName()
+                + "#" + Integer.toHexString((int) (hash ^ hash >>> 32));
+    }
+
+    private static String keyLabel(DumpNode key) {
+        if (key == null) {
+            return "null";
+        }
+        return key.getValue() != null ? String.valueOf(key.getValue()) : key.getTypeName();
+    }
+
+    /**
+     * Checks if a node has children to compare one by one.
+     */
+    private boolean isContainer(DumpNode node) {
         switch (node.getType()) {
-            case NULL:
-            case STRING:
-            case NUMBER:
-            case BOOLEAN:
-            case ENUM:
-                return true;
+            case ARRAY:
+            case COLLECTION:
+            case MAP:
+            case OBJECT:
+                return !node.isCircular() && !node.isMaxDepthReached();
             default:
                 return false;
         }
@@ -141,7 +450,9 @@ public class DiffAnalyzer {
         private final List<DiffEntry> additions = new ArrayList<>();
         private final List<DiffEntry> removals = new ArrayList<>();
         private final List<DiffEntry> changes = new ArrayList<>();
+        private final List<DiffEntry> moves = new ArrayList<>();
         private final List<DiffEntry> unchanged = new ArrayList<>();
+        private long comparedNodes;
 
         public void addAddition(DumpNode node) {
             additions.add(new DiffEntry(null, null, node));
@@ -167,12 +478,17 @@ public class DiffAnalyzer {
             changes.add(new DiffEntry(field, before, after));
         }
 
+        public void addFieldMove(String from, String to, DumpNode node) {
+            moves.add(new DiffEntry(from, node, node, to));
+        }
+
         public void addFieldUnchanged(String field, DumpNode node) {
             unchanged.add(new DiffEntry(field, node, node));
         }
 
         public boolean hasChanges() {
-            return !additions.isEmpty() || !removals.isEmpty() || !changes.isEmpty();
+            return !additions.isEmpty() || !removals.isEmpty() || !changes.isEmpty()
+                    || !moves.isEmpty();
         }
 
         public List<DiffEntry> getAdditions() {
@@ -187,9 +503,29 @@ public class DiffAnalyzer {
             return Collections.unmodifiableList(changes);
         }
 
+        /**
+         * Elements that were removed at one index and inserted, unchanged,
+         * at another.
+         */
+        public List<DiffEntry> getMoves() {
+            return Collections.unmodifiableList(moves);
+        }
+
+        /**
+         * Unchanged fields and elements. Diffs of two maps do not list
+         * their unchanged entries.
+         */
         public List<DiffEntry> getUnchanged() {
             return Collections.unmodifiableList(unchanged);
         }
+
+        /**
+         * Number of node pairs that were compared. Identical subtrees are
+         * compared once, by their structural hash, however large they are.
+         */
+        public long getComparedNodes() {
+            return comparedNodes;
+        }
     }
 
     /**
@@ -199,11 +535,17 @@ public class DiffAnalyzer {
         private final String field;
         private final DumpNode before;
         private final DumpNode after;
+        private final String movedTo;
 
         public DiffEntry(String field, DumpNode before, DumpNode after) {
+            this(field, before, after, null);
+        }
+
+        public DiffEntry(String field, DumpNode before, DumpNode after, String movedTo) {
             this.field = field;
             this.before = before;
             this.after = after;
+            this.movedTo = movedTo;
         }
 
         public String getField() {
@@ -218,6 +560,18 @@ public class DiffAnalyzer {
             return after;
         }
 
+        /**
+         * Where a moved element went; {@link #getField()} is where it was.
+         * Null for entries that are not moves.
+         */
+        public String getMovedTo() {
+            return movedTo;
+        }
+
+        public boolean isMove() {
+            return movedTo != null;
+        }
+
         public boolean isAddition() {
             return before == null && after != null;
         }
@@ -227,7 +581,7 @@ public class DiffAnalyzer {
         }
 
         public boolean isChange() {
-            return before != null && after != null &&
+            return before != null && after != null && movedTo == null &&
                     !Objects.equals(before, after);
         }
     }
@@ -0,0 +1,21 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import java.util.List;
+
+/**
+ * Service interface listing the {@link GeneratedDumper}s of one compilation unit.
+ *
+ * <p>The annotation processor generates one implementation per module and
+ * registers it in {@code META-INF/services}, so registries are found with
+ * {@link java.util.ServiceLoader} (which native images support as well).
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+public interface DumperRegistry {
+
+    /**
+     * Returns the generated dumpers this registry provides.
+     */
+    List<GeneratedDumper<?>> dumpers();
+}
@@ -0,0 +1,313 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Generates {@link FieldExtractor} implementations as hidden classes.
+ *
+ * <p>For a class {@code com.acme.User} the generated class is equivalent to:
+ * <pre>{@code
+ * final class User$JavaDumpExtractor implements FieldExtractor {
+ *     public void extract(Object target, Object[] values) {
+ *         User user = (User) target;
+ *         values[0] = user.name;
+ *         values[1] = Integer.valueOf(user.age);
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>{@code values} is the value array of the object's analysis frame, one
+ * per analyzed object: the extractor saves the per-field accessor calls,
+ * not that allocation.
+ *
+ * <p>The class is defined with {@code Lookup.defineHiddenClass} as a nestmate
+ * of the dumped type, so it reads private fields directly with
+ * {@code getfield}. Generation fails (and the caller keeps using its field
+ * accessors) when the type does not grant private access, when its class
+ * loader cannot see {@link FieldExtractor}, or when the type is itself hidden.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+final class ExtractorGenerator {
+
+    private static final int CLASS_VERSION = 61; // Java 17
+    private static final String OBJECT = "java/lang/Object";
+    private static final String EXTRACTOR = FieldExtractor.class.getName().replace('.', '/');
+    private static final String EXTRACT_DESCRIPTOR = "(Ljava/lang/Object;[Ljava/lang/Object;)V";
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    private ExtractorGenerator() {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * Generates and instantiates an extractor for the given fields.
+     *
+     * @param type the class declaring every non-null field
+     * @param fields fields in buffer order; null slots are skipped
+     * @return the extractor, or null if generation is not possible
+     */
+    static FieldExtractor tryGenerate(Class<?> type, Field[] fields) {
+        if (type.isHidden() || type.isArray() || type.isPrimitive() || type.isInterface()) {
+            return null;
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            MethodHandles.Lookup hidden = lookup.defineHiddenClass(
+                    generate(type, fields), true, MethodHandles.Lookup.ClassOption.NESTMATE);
+            return (FieldExtractor) hidden
+                    .findConstructor(hidden.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (VirtualMachineError e) {
+            throw e;
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    /**
+     * Emits the class file for an extractor.
+     */
+    static byte[] generate(Class<?> type, Field[] fields) {
+        ConstantPool pool = new ConstantPool();
+        String owner = internalName(type);
+
+        int thisClass = pool.classRef(owner + "$JavaDumpExtractor");
+        int superClass = pool.classRef(OBJECT);
+        int extractorInterface = pool.classRef(EXTRACTOR);
+        int code = pool.utf8("Code");
+        int objectInit = pool.methodRef(OBJECT, "<init>", "()V");
+
+        byte[] init = {
+                0x2a,                                  // aload_0
+                (byte) 0xb7, hi(objectInit), lo(objectInit), // invokespecial Object.<init>
+                (byte) 0xb1                            // return
+        };
+
+        ByteArrayOutputStream extract = new ByteArrayOutputStream();
+        int ownerClass = pool.classRef(owner);
+        extract.write(0x2b);                           // aload_1
+        extract.write(0xc0);                           // checkcast owner
+        writeShort(extract, ownerClass);
+        extract.write(0x4e);                           // astore_3
+
+        for (int i = 0; i < fields.length; i++) {
+            Field field = fields[i];
+            if (field == null) {
+                continue;
+            }
+
+            extract.write(0x2c);                       // aload_2
+            pushInt(extract, i);
+
+            int fieldRef = pool.fieldRef(owner, field.getName(), descriptor(field.getType()));
+            if (Modifier.isStatic(field.getModifiers())) {
+                extract.write(0xb2);                   // getstatic
+            } else {
+                extract.write(0x2d);                   // aload_3
+                extract.write(0xb4);                   // getfield
+            }
+            writeShort(extract, fieldRef);
+
+            if (field.getType().isPrimitive()) {
+                Class<?> wrapper = wrapperOf(field.getType());
+                int valueOf = pool.methodRef(internalName(wrapper), "valueOf",
+                        "(" + descriptor(field.getType()) + ")" + descriptor(wrapper));
+                extract.write(0xb8);                   // invokestatic Wrapper.valueOf
+                writeShort(extract, valueOf);
+            }
+            extract.write(0x53);                       // aastore
+        }
+        extract.write(0xb1);                           // return
+
+        int initName = pool.utf8("<init>");
+        int initDescriptor = pool.utf8("()V");
+        int extractName = pool.utf8("extract");
+        int extractDescriptor = pool.utf8(EXTRACT_DESCRIPTOR);
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(CLASS_VERSION);
+            pool.writeTo(out);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(extractorInterface);
+            out.writeShort(0);                         // fields
+            out.writeShort(2);                         // methods
+            writeMethod(out, initName, initDescriptor, code, 1, 1, init);
+            writeMethod(out, extractName, extractDescriptor, code, 4, 4, extract.toByteArray());
+            out.writeShort(0);                         // attributes
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeMethod(DataOutputStream out, int name, int descriptor, int code,
+                                    int maxStack, int maxLocals, byte[] bytecode) throws IOException {
+        out.writeShort(ACC_PUBLIC);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(code);
+        out.writeInt(12 + bytecode.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(bytecode.length);
+        out.write(bytecode);
+        out.writeShort(0);                             // exception table
+        out.writeShort(0);                             // attributes
+    }
+
+    private static void pushInt(ByteArrayOutputStream out, int value) {
+        if (value <= 5) {
+            out.write(0x03 + value);                   // iconst_<n>
+        } else if (value <= Byte.MAX_VALUE) {
+            out.write(0x10);                           // bipush
+            out.write(value);
+        } else {
+            out.write(0x11);                           // sipush
+            writeShort(out, value);
+        }
+    }
+
+    private static void writeShort(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static byte hi(int value) {
+        return (byte) (value >>> 8);
+    }
+
+    private static byte lo(int value) {
+        return (byte) value;
+    }
+
+    private static String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    private static String descriptor(Class<?> type) {
+        if (type == int.class) return "I";
+        if (type == long.class) return "J";
+        if (type == double.class) return "D";
+        if (type == boolean.class) return "Z";
+        if (type == float.class) return "F";
+        if (type == char.class) return "C";
+        if (type == short.class) return "S";
+        if (type == byte.class) return "B";
+        if (type.isArray()) return internalName(type);
+        return "L" + internalName(type) + ";";
+    }
+
+    private static Class<?> wrapperOf(Class<?> primitive) {
+        if (primitive == int.class) return Integer.class;
+        if (primitive == long.class) return Long.class;
+        if (primitive == double.class) return Double.class;
+        if (primitive == boolean.class) return Boolean.class;
+        if (primitive == float.class) return Float.class;
+        if (primitive == char.class) return Character.class;
+        if (primitive == short.class) return Short.class;
+        return Byte.class;
+    }
+
+    /**
+     * Minimal constant pool with de-duplicated entries.
+     */
+    private static final class ConstantPool {
+        private static final int UTF8 = 1;
+        private static final int CLASS = 7;
+        private static final int FIELD_REF = 9;
+        private static final int METHOD_REF = 10;
+        private static final int NAME_AND_TYPE = 12;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> entries = new HashMap<>();
+        private int count = 1;
+
+        int utf8(String value) {
+            return entry("U" + value, () -> {
+                out.writeByte(UTF8);
+                out.writeUTF(value);
+            });
+        }
+
+        int classRef(String internalName) {
+            int name = utf8(internalName);
+            return entry("C" + internalName, () -> {
+                out.writeByte(CLASS);
+                out.writeShort(name);
+            });
+        }
+
+        int fieldRef(String owner, String name, String descriptor) {
+            return memberRef(FIELD_REF, owner, name, descriptor);
+        }
+
+        int methodRef(String owner, String name, String descriptor) {
+            return memberRef(METHOD_REF, owner, name, descriptor);
+        }
+
+        private int memberRef(int tag, String owner, String name, String descriptor) {
+            int ownerClass = classRef(owner);
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            int nameAndType = entry("N" + name + ":" + descriptor, () -> {
+                out.writeByte(NAME_AND_TYPE);
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+            });
+            return entry(tag + owner + "." + name + ":" + descriptor, () -> {
+                out.writeByte(tag);
+                out.writeShort(ownerClass);
+                out.writeShort(nameAndType);
+            });
+        }
+
+        private int entry(String key, EntryWriter writer) {
+            Integer existing = entries.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            try {
+                writer.write();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            entries.put(key, count);
+            return count++;
+        }
+
+        void writeTo(DataOutputStream target) throws IOException {
+            target.writeShort(count);
+            target.write(bytes.toByteArray());
+        }
+
+        @FunctionalInterface
+        private interface EntryWriter {
+            void write() throws IOException;
+        }
+    }
+}
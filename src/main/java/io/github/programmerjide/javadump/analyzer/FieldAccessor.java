@@ -0,0 +1,66 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import io.github.programmerjide.javadump.config.DumperConfig;
+
+import java.lang.reflect.Field;
+
+/**
+ * Reads the value of a single field.
+ *
+ * <p>Accessors are created once per field when a {@link ClassPlan} is compiled.
+ * The typed getters return primitive fields as primitives, leaving it to the
+ * caller to box them; calling a typed getter that does not match the field
+ * type is an error.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+public interface FieldAccessor {
+
+    /**
+     * Whether values can be read through this accessor.
+     */
+    boolean isAccessible();
+
+    /**
+     * Reads the field value, boxing primitives.
+     */
+    Object get(Object target) throws IllegalAccessException;
+
+    boolean getBoolean(Object target) throws IllegalAccessException;
+
+    byte getByte(Object target) throws IllegalAccessException;
+
+    char getChar(Object target) throws IllegalAccessException;
+
+    short getShort(Object target) throws IllegalAccessException;
+
+    int getInt(Object target) throws IllegalAccessException;
+
+    long getLong(Object target) throws IllegalAccessException;
+
+    float getFloat(Object target) throws IllegalAccessException;
+
+    double getDouble(Object target) throws IllegalAccessException;
+
+    /**
+     * Creates an accessor for a field using the requested backend.
+     *
+     * <p>{@link DumperConfig.FieldAccessMode#VAR_HANDLE} falls back to reflection
+     * when the declaring class does not grant private access (for example,
+     * classes in modules that are not open to JavaDump).
+     *
+     * @param field the field to read
+     * @param mode the preferred backend
+     * @return an accessor for the field
+     */
+    static FieldAccessor of(Field field, DumperConfig.FieldAccessMode mode) {
+        if (mode == DumperConfig.FieldAccessMode.VAR_HANDLE) {
+            FieldAccessor accessor = VarHandleFieldAccessor.tryCreate(field);
+            if (accessor != null) {
+                return accessor;
+            }
+        }
+        return new ReflectiveFieldAccessor(field);
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.programmerjide.javadump.analyzer;
+
+/**
+ * Reads all included fields of an instance in a single call.
+ *
+ * <p>Implementations are generated at runtime as hidden classes by
+ * {@link ExtractorGenerator} once a class becomes hot. The interface has to
+ * stay public so the generated classes, which live in the dumped type's
+ * package, can implement it.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+public interface FieldExtractor {
+
+    /**
+     * Copies the field values of {@code target} into {@code values}, in
+     * {@link ClassPlan} field order. Primitives are boxed; skipped slots
+     * (redacted fields) are left untouched.
+     *
+     * @param target the instance to read
+     * @param values the value array of the object's analysis frame, at least as
+     *               long as the plan's field count
+     */
+    void extract(Object target, Object[] values);
+}
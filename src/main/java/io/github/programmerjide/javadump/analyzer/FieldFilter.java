@@ -1,5 +1,6 @@
 package io.github.programmerjide.javadump.analyzer;
 
+import io.github.programmerjide.javadump.cache.ReflectionCache;
 import io.github.programmerjide.javadump.config.DumperConfig;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
@@ -46,7 +47,7 @@ public class FieldFilter {
             return result;
         }
 
-        for (Field field : clazz.getDeclaredFields()) {
+        for (Field field : ReflectionCache.getDeclaredFields(clazz)) {
             if (shouldSkip(field)) {
                 continue;
             }
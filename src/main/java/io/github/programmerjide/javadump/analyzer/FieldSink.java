@@ -0,0 +1,32 @@
+package io.github.programmerjide.javadump.analyzer;
+
+/**
+ * Receives field values from a {@link GeneratedDumper}.
+ *
+ * <p>Primitive fields use the typed methods, so the values of fields that
+ * are hidden or redacted are never boxed; the others are boxed when their
+ * node is created.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+public interface FieldSink {
+
+    void writeObject(int index, Object value);
+
+    void writeBoolean(int index, boolean value);
+
+    void writeByte(int index, byte value);
+
+    void writeChar(int index, char value);
+
+    void writeShort(int index, short value);
+
+    void writeInt(int index, int value);
+
+    void writeLong(int index, long value);
+
+    void writeFloat(int index, float value);
+
+    void writeDouble(int index, double value);
+}
@@ -0,0 +1,88 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A dumper generated at compile time for a {@code @Dumpable} type.
+ *
+ * <p>Implementations are emitted by the {@code javadump-processor} annotation
+ * processor and discovered through a {@link DumperRegistry}. They read
+ * accessible fields with plain field accesses and private fields through
+ * {@code VarHandle}s resolved once, with {@code privateLookupIn}, in the
+ * dumper's static initializer. The analyzer needs no reflection for the
+ * type and has nothing to warm up.
+ *
+ * <p>Annotation decisions ({@code @DumpIgnore}, {@code @DumpLabel},
+ * {@code @DumpOrder}, {@code @DumpRedact} and {@code @Dumpable} rules) are
+ * resolved by the processor. Configuration-dependent decisions (private,
+ * static and transient visibility, field filters and redaction) are applied by
+ * the analyzer from {@link #fields()}.
+ *
+ * @param <T> the dumped type
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+public interface GeneratedDumper<T> {
+
+    /**
+     * Returns the exact class this dumper handles.
+     */
+    Class<T> type();
+
+    /**
+     * Returns the dumpable fields in display order.
+     */
+    List<FieldInfo> fields();
+
+    /**
+     * Whether static fields are shown regardless of configuration
+     * ({@code @Dumpable(includeStatic = true)}).
+     */
+    default boolean includeStatic() {
+        return false;
+    }
+
+    /**
+     * Writes every field of {@code value} to the sink, in {@link #fields()} order.
+     *
+     * @param value the instance to dump
+     * @param sink receives one call per field, keyed by its index
+     */
+    void write(T value, FieldSink sink);
+
+    /**
+     * Compile-time description of a single field.
+     */
+    final class FieldInfo {
+        private final String name;
+        private final String label;
+        private final int modifiers;
+        private final String redaction;
+
+        private FieldInfo(String name, String label, int modifiers, String redaction) {
+            this.name = Objects.requireNonNull(name, "name");
+            this.label = Objects.requireNonNull(label, "label");
+            this.modifiers = modifiers;
+            this.redaction = redaction;
+        }
+
+        /**
+         * Creates a field description.
+         *
+         * @param name the declared field name
+         * @param label the display label
+         * @param modifiers {@link java.lang.reflect.Modifier} bits of the field
+         * @param redaction {@code @DumpRedact} text, or null if not redacted
+         * @return the field description
+         */
+        public static FieldInfo of(String name, String label, int modifiers, String redaction) {
+            return new FieldInfo(name, label, modifiers, redaction);
+        }
+
+        public String getName() { return name; }
+        public String getLabel() { return label; }
+        public int getModifiers() { return modifiers; }
+        public String getRedaction() { return redaction; }
+    }
+}
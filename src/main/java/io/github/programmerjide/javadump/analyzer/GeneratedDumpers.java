@@ -0,0 +1,89 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Finds the {@link GeneratedDumper} for a class, if one was generated.
+ *
+ * <p>Both caches are {@link ClassValue}s: the per-class answer is attached
+ * to the class, and each registry's dumpers to the registry's own class.
+ * Nothing is held in a static map, so a class loader and everything it
+ * defined can still be unloaded. Finding a class's dumper lists the
+ * registry classes visible to its loader; each registry is instantiated
+ * once.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+final class GeneratedDumpers {
+
+    private static final ClassValue<Map<Class<?>, GeneratedDumper<?>>> REGISTRIES = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, GeneratedDumper<?>> computeValue(Class<?> registryType) {
+            return load(registryType);
+        }
+    };
+
+    private static final ClassValue<GeneratedDumper<?>> DUMPERS = new ClassValue<>() {
+        @Override
+        protected GeneratedDumper<?> computeValue(Class<?> type) {
+            ClassLoader loader = type.getClassLoader();
+            return loader != null ? lookup(loader, type) : null;
+        }
+    };
+
+    private GeneratedDumpers() {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * Returns the generated dumper for exactly this class, or null.
+     */
+    static GeneratedDumper<?> find(Class<?> type) {
+        return DUMPERS.get(type);
+    }
+
+    private static GeneratedDumper<?> lookup(ClassLoader loader, Class<?> type) {
+        Iterator<ServiceLoader.Provider<DumperRegistry>> providers =
+                ServiceLoader.load(DumperRegistry.class, loader).stream().iterator();
+
+        while (hasNext(providers)) {
+            try {
+                GeneratedDumper<?> dumper = REGISTRIES.get(providers.next().type()).get(type);
+                if (dumper != null) {
+                    return dumper;
+                }
+            } catch (ServiceConfigurationError e) {
+                // A broken registry only disables its own dumpers
+            }
+        }
+        return null;
+    }
+
+    private static Map<Class<?>, GeneratedDumper<?>> load(Class<?> registryType) {
+        Map<Class<?>, GeneratedDumper<?>> dumpers = new HashMap<>();
+        try {
+            DumperRegistry registry = (DumperRegistry) registryType.getConstructor().newInstance();
+            for (GeneratedDumper<?> dumper : registry.dumpers()) {
+                dumpers.putIfAbsent(dumper.type(), dumper);
+            }
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            // A broken registry only disables its own dumpers
+            return Collections.emptyMap();
+        }
+        return dumpers;
+    }
+
+    private static boolean hasNext(Iterator<?> providers) {
+        try {
+            return providers.hasNext();
+        } catch (ServiceConfigurationError e) {
+            return false;
+        }
+    }
+}
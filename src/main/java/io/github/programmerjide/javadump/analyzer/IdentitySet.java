@@ -0,0 +1,107 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing set of object identities.
+ *
+ * <p>Replaces {@code IdentityHashMap<Object, Boolean>} for cycle tracking:
+ * references live directly in one {@code Object[]} with linear probing, so
+ * there are no values, no entry objects and no boxing. An instance is meant
+ * to be reused: {@link #reset()} empties it in place and drops tables that
+ * grew large, so a single huge dump does not pin memory afterwards.
+ *
+ * <p>Not thread-safe.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+final class IdentitySet {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MAX_RETAINED_CAPACITY = 1 << 12;
+
+    private Object[] table = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adds an object.
+     *
+     * @return true if it was not already present
+     */
+    boolean add(Object obj) {
+        Object[] tab = table;
+        int mask = tab.length - 1;
+        int i = indexFor(obj, mask);
+
+        Object current;
+        while ((current = tab[i]) != null) {
+            if (current == obj) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+
+        tab[i] = obj;
+        // Keep the load factor at or below 1/2 so probe sequences stay short
+        if (++size > tab.length >>> 1) {
+            resize();
+        }
+        return true;
+    }
+
+    boolean contains(Object obj) {
+        Object[] tab = table;
+        int mask = tab.length - 1;
+        int i = indexFor(obj, mask);
+
+        Object current;
+        while ((current = tab[i]) != null) {
+            if (current == obj) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes all objects, keeping the table unless it grew past the
+     * retention limit.
+     */
+    void reset() {
+        if (table.length > MAX_RETAINED_CAPACITY) {
+            table = new Object[INITIAL_CAPACITY];
+        } else if (size > 0) {
+            Arrays.fill(table, null);
+        }
+        size = 0;
+    }
+
+    private void resize() {
+        Object[] old = table;
+        Object[] tab = new Object[old.length << 1];
+        int mask = tab.length - 1;
+
+        for (Object obj : old) {
+            if (obj != null) {
+                int i = indexFor(obj, mask);
+                while (tab[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                tab[i] = obj;
+            }
+        }
+        table = tab;
+    }
+
+    private static int indexFor(Object obj, int mask) {
+        // Fibonacci hashing spreads identity hash codes across the table
+        int h = System.identityHashCode(obj) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -2,20 +2,25 @@ package io.github.programmerjide.javadump.analyzer;
 
 import io.github.programmerjide.javadump.config.DumperConfig;
 import io.github.programmerjide.javadump.model.DumpNode;
-import io.github.programmerjide.javadump.util.TypeNameUtil;
+import io.github.programmerjide.javadump.model.DumpSnapshot;
+import io.github.programmerjide.javadump.model.DumpVisitor;
 
-import java.lang.reflect.Array;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.util.*;
 
 public class ObjectAnalyzer {
 
     private final DumperConfig config;
-    private final IdentityHashMap<Object, Boolean> visited = new IdentityHashMap<>();
+    private final AnnotationProcessor annotations;
+    private final ClassValue<ClassPlan> plans = new ClassValue<>() {
+        @Override
+        protected ClassPlan computeValue(Class<?> type) {
+            return compilePlan(type);
+        }
+    };
 
     public ObjectAnalyzer(DumperConfig config) {
         this.config = config;
+        this.annotations = new AnnotationProcessor(config);
     }
 
     public DumpNode analyze(Object obj) {
@@ -23,190 +28,436 @@ public class ObjectAnalyzer {
     }
 
     public DumpNode analyze(Object obj, int depth) {
+        // Per-call state keeps the analyzer safe to share between threads
+        AnalysisContext context = AnalysisContext.acquire();
+        try {
+            return analyzeValue(obj, depth, context);
+        } finally {
+            AnalysisContext.release(context);
+        }
+    }
 
-        // ===== NULL =====
-        if (obj == null) {
-            return DumpNode.ofNull();
+    /**
+     * Opens a scope for analyzing values that are reached from {@code root}
+     * without analyzing the root itself. Each value is analyzed with the
+     * root already visited, so a value that refers back to it shows as
+     * cyclic. Close the scope to return its context.
+     */
+    Scope scope(Object root) {
+        return new Scope(root);
+    }
+
+    /**
+     * One {@link AnalysisContext} held across several {@link #analyze}
+     * calls, with the root of the values in its visited set. Not thread-safe.
+     */
+    final class Scope implements AutoCloseable {
+        private final Object root;
+        private final AnalysisContext context = AnalysisContext.acquire();
+
+        private Scope(Object root) {
+            this.root = root;
         }
 
-        // ===== MAX DEPTH =====
-        if (depth >= config.getMaxDepth()) {
-            return DumpNode.builder()
-                    .type(DumpNode.NodeType.TRUNCATED)
-                    .maxDepthReached(true)
-                    .truncated(true)
-                    .build();
+        /**
+         * Analyzes a value on its own: only the root is visited beforehand,
+         * whatever values this scope analyzed earlier.
+         */
+        DumpNode analyze(Object value, int depth) {
+            context.visited.reset();
+            context.visited.add(root);
+            return analyzeValue(value, depth, context);
         }
 
-        // ===== CYCLE =====
-        if (visited.containsKey(obj)) {
-            return DumpNode.cyclic(obj.getClass());
+        @Override
+        public void close() {
+            AnalysisContext.release(context);
         }
+    }
 
-        Class<?> clazz = obj.getClass();
+    /**
+     * Walks a value and reports it to the visitor as it goes, without
+     * building a {@link DumpNode} tree. {@code maxDepth}, {@code maxItems},
+     * redaction and cycle detection apply exactly as in {@link #analyze}, and
+     * replaying the analyzed tree with {@link DumpNode#accept} yields the same
+     * events.
+     *
+     * <p>Only leaf nodes are created, plus the nodes of map keys. Walking
+     * always uses an explicit stack, whatever the configured traversal mode.
+     */
+    public void walk(Object obj, DumpVisitor visitor) {
+        walk(obj, 0, visitor);
+    }
 
-        // ===== PRIMITIVE & WRAPPER =====
-        if (TypeNameUtil.isPrimitiveOrWrapper(clazz)) {
-            return DumpNode.ofPrimitive(obj, clazz);
+    public void walk(Object obj, int depth, DumpVisitor visitor) {
+        AnalysisContext context = AnalysisContext.acquire();
+        try {
+            walkValue(obj, depth, visitor, context);
+        } finally {
+            AnalysisContext.release(context);
         }
+    }
 
-        // ===== STRING =====
-        if (TypeNameUtil.isString(clazz)) {
-            String value = (String) obj;
-            if (value.length() > config.getMaxStringLen()) {
-                value = value.substring(0, config.getMaxStringLen());
-            }
-            return DumpNode.ofString(value);
+    /**
+     * Captures a value as an immutable {@link DumpSnapshot}: the events of
+     * {@link #walk} stored in flat arrays, with no {@link DumpNode} tree.
+     * The snapshot can be rendered later, on another thread, after the
+     * value has changed.
+     */
+    public DumpSnapshot capture(Object obj) {
+        AnalysisContext context = AnalysisContext.acquire();
+        try {
+            DumpSnapshot.Recorder recorder = context.recorder();
+            walkValue(obj, 0, recorder, context);
+            return recorder.build();
+        } finally {
+            AnalysisContext.release(context);
         }
+    }
 
-        // ===== ENUM =====
-        if (TypeNameUtil.isEnum(clazz)) {
-            return DumpNode.ofEnum((Enum<?>) obj);
+    private void walkValue(Object obj, int depth, DumpVisitor visitor, AnalysisContext context) {
+        DumpNode leaf = analyzeLeaf(obj, depth, context);
+        if (leaf != null) {
+            visitor.value(leaf);
+            return;
         }
 
-        // ===== SAFE toString SHORTCUT =====
-        if (!config.isDisableStringer()
-                && !TypeNameUtil.isArrayType(clazz)
-                && !TypeNameUtil.isCollectionType(clazz)
-                && !TypeNameUtil.isMapType(clazz)
-                && hasCustomToString(clazz)) {
-            try {
-                return DumpNode.ofString(obj.toString());
-            } catch (Exception ignored) {
+        AnalysisFrame.Keys keys = (key, keyDepth) -> analyzeValue(key, keyDepth, context);
+        Deque<AnalysisFrame> stack = context.walk;
+        AnalysisFrame root = openFrame(obj, depth, context.container);
+        root.begin(visitor);
+        stack.push(root);
+
+        while (!stack.isEmpty()) {
+            AnalysisFrame frame = stack.peek();
+
+            if (frame.advance(visitor, keys)) {
+                Object child = frame.next();
+                DumpNode childLeaf = analyzeLeaf(child, frame.depth + 1, context);
+                if (childLeaf != null) {
+                    visitor.value(childLeaf);
+                } else {
+                    AnalysisFrame opened = openFrame(child, frame.depth + 1, context.container);
+                    opened.begin(visitor);
+                    stack.push(opened);
+                }
+                continue;
             }
+
+            frame.end(visitor);
+            stack.pop();
         }
+    }
 
-        visited.put(obj, Boolean.TRUE);
+    private DumpNode analyzeValue(Object obj, int depth, AnalysisContext context) {
+        DumpNode leaf = analyzeLeaf(obj, depth, context);
+        if (leaf != null) {
+            return leaf;
+        }
+
+        AnalysisFrame frame = openFrame(obj, depth, context.container);
+        return config.getTraversalMode() == DumperConfig.TraversalMode.RECURSIVE
+                ? traverseRecursive(frame, context)
+                : traverseIterative(frame, context);
+    }
 
-        // ===== ARRAY =====
-        if (TypeNameUtil.isArrayType(clazz)) {
-            return analyzeArray(obj, depth);
+    /**
+     * Analyzes a value that needs no traversal, or returns null if it is a
+     * container (array, collection, map or object) to open as a frame.
+     * Containers are marked as visited here, before their children, and
+     * their kind is left in {@link AnalysisContext#container}.
+     *
+     * <p>Dispatch is one {@link TypeProfile} lookup and a switch.
+     */
+    private DumpNode analyzeLeaf(Object obj, int depth, AnalysisContext context) {
+
+        // ===== NULL =====
+        if (obj == null) {
+            return DumpNode.ofNull();
         }
 
-        // ===== COLLECTION =====
-        if (TypeNameUtil.isCollectionType(clazz)) {
-            return analyzeCollection((Collection<?>) obj, depth);
+        // ===== MAX DEPTH =====
+        if (depth >= config.getMaxDepth()) {
+            return DumpNode.maxDepth();
         }
 
-        // ===== MAP =====
-        if (TypeNameUtil.isMapType(clazz)) {
-            return analyzeMap((Map<?, ?>) obj, depth);
+        // ===== CYCLE =====
+        if (context.visited.contains(obj)) {
+            return DumpNode.cyclic(obj.getClass());
         }
 
-        // ===== OBJECT =====
-        return analyzeObject(obj, depth);
-    }
+        Class<?> clazz = obj.getClass();
+        TypeProfile profile = TypeProfile.of(clazz);
 
-    // ------------------------------------------------------------------------
+        switch (profile.getKind()) {
+            case PRIMITIVE:
+                return DumpNode.ofPrimitive(obj, clazz);
 
-    private DumpNode analyzeArray(Object array, int depth) {
-        int length = Array.getLength(array);
-        int max = Math.min(length, config.getMaxItems());
+            case STRING:
+                String value = (String) obj;
+                if (value.length() > config.getMaxStringLen()) {
+                    value = value.substring(0, config.getMaxStringLen());
+                }
+                return DumpNode.ofString(value);
+
+            case ENUM:
+                return DumpNode.ofEnum((Enum<?>) obj);
+
+            case OBJECT:
+                // ===== SAFE toString SHORTCUT =====
+                if (profile.hasCustomToString() && !config.isDisableStringer()) {
+                    try {
+                        return DumpNode.ofString(obj.toString());
+                    } catch (Exception ignored) {
+                    }
+                }
+                break;
 
-        List<DumpNode> elements = new ArrayList<>(max);
-        for (int i = 0; i < max; i++) {
-            elements.add(analyze(Array.get(array, i), depth + 1));
+            default:
+                break;
         }
 
-        return DumpNode.ofArray(
-                array.getClass(),
-                elements,
-                length,
-                length > config.getMaxItems()
-        );
+        context.visited.add(obj);
+        context.container = profile.getKind();
+        return null;
     }
 
-    private DumpNode analyzeCollection(Collection<?> collection, int depth) {
-        int size = collection.size();
-        int max = Math.min(size, config.getMaxItems());
+    // ------------------------------------------------------------------------
 
-        List<DumpNode> elements = new ArrayList<>(max);
-        int count = 0;
-        for (Object item : collection) {
-            if (count++ >= max) break;
-            elements.add(analyze(item, depth + 1));
+    /**
+     * Analyzes children with nested calls; stack usage grows with depth.
+     */
+    private DumpNode traverseRecursive(AnalysisFrame frame, AnalysisContext context) {
+        while (frame.hasNext()) {
+            frame.accept(analyzeValue(frame.next(), frame.depth + 1, context));
         }
+        return frame.finish();
+    }
 
-        return DumpNode.ofCollection(
-                collection.getClass(),
-                elements,
-                size,
-                size > config.getMaxItems()
-        );
+    /**
+     * Analyzes children with an explicit stack of open frames, so the depth
+     * of the structure is bounded by heap rather than by the thread stack.
+     */
+    private DumpNode traverseIterative(AnalysisFrame root, AnalysisContext context) {
+        Deque<AnalysisFrame> stack = context.stack;
+        stack.push(root);
+
+        while (true) {
+            AnalysisFrame frame = stack.peek();
+
+            if (frame.hasNext()) {
+                Object child = frame.next();
+                DumpNode leaf = analyzeLeaf(child, frame.depth + 1, context);
+                if (leaf != null) {
+                    frame.accept(leaf);
+                } else {
+                    stack.push(openFrame(child, frame.depth + 1, context.container));
+                }
+                continue;
+            }
+
+            DumpNode node = frame.finish();
+            stack.pop();
+            if (stack.isEmpty()) {
+                return node;
+            }
+            stack.peek().accept(node);
+        }
     }
 
-    private DumpNode analyzeMap(Map<?, ?> map, int depth) {
-        int size = map.size();
-        int max = Math.min(size, config.getMaxItems());
+    /**
+     * Opens a frame for a container that {@link #analyzeLeaf} has just
+     * declined, using the kind it looked up.
+     */
+    private AnalysisFrame openFrame(Object obj, int depth, TypeProfile.Kind kind) {
+        switch (kind) {
+            case ARRAY:
+                return new AnalysisFrame.ArrayFrame(obj, depth, config.getMaxItems());
+            case COLLECTION:
+                return new AnalysisFrame.CollectionFrame((Collection<?>) obj, depth, config.getMaxItems());
+            case MAP:
+                return new AnalysisFrame.MapFrame((Map<?, ?>) obj, depth, config.getMaxItems());
+            default:
+                return openObject(obj, depth);
+        }
+    }
 
-        Map<DumpNode, DumpNode> entries = new LinkedHashMap<>();
-        int count = 0;
+    /**
+     * Reads all fields of an object into a frame. Primitives (while within
+     * the depth limit), redactions and access errors become nodes right away;
+     * the remaining values are analyzed as the frame's children.
+     */
+    private AnalysisFrame openObject(Object obj, int depth) {
+        ClassPlan plan = planFor(obj.getClass());
+        ClassPlan.FieldPlan[] fieldPlans = plan.fields();
+        AnalysisFrame.ObjectFrame frame = new AnalysisFrame.ObjectFrame(plan.getType(), depth, fieldPlans);
+        boolean primitivesInline = depth + 1 < config.getMaxDepth();
+
+        if (plan.isGenerated()) {
+            plan.generated().write(obj, new GeneratedFieldSink(plan, frame, primitivesInline));
+            return frame;
+        }
 
-        for (Map.Entry<?, ?> entry : map.entrySet()) {
-            if (count++ >= max) break;
-            DumpNode key = analyze(entry.getKey(), depth + 1);
-            DumpNode value = analyze(entry.getValue(), depth + 1);
-            entries.put(key, value);
+        FieldExtractor extractor = plan.extractor();
+        if (extractor != null) {
+            Object[] values = frame.values();
+            extractor.extract(obj, values);
+
+            for (int i = 0; i < fieldPlans.length; i++) {
+                ClassPlan.FieldPlan field = fieldPlans[i];
+                if (field.isRedacted()) {
+                    frame.setNode(i, field.redactedNode());
+                } else if (field.isPrimitive() && primitivesInline) {
+                    frame.setNode(i, DumpNode.ofPrimitive(values[i], field.boxedType()));
+                    values[i] = null;
+                }
+            }
+            return frame;
         }
 
-        return DumpNode.ofMap(
-                map.getClass(),
-                entries,
-                size,
-                size > config.getMaxItems()
-        );
+        for (int i = 0; i < fieldPlans.length; i++) {
+            ClassPlan.FieldPlan field = fieldPlans[i];
+            if (field.isRedacted()) {
+                frame.setNode(i, field.redactedNode());
+                continue;
+            }
+
+            try {
+                if (field.isPrimitive() && primitivesInline) {
+                    frame.setNode(i, field.readPrimitive(obj));
+                } else {
+                    frame.setValue(i, field.read(obj));
+                }
+            } catch (IllegalAccessException e) {
+                frame.setNode(i, DumpNode.ofError("access denied"));
+            }
+        }
+        return frame;
     }
 
-    private DumpNode analyzeObject(Object obj, int depth) {
-        Map<String, DumpNode> fields = new LinkedHashMap<>();
-        Class<?> clazz = obj.getClass();
+    /**
+     * Returns the compiled plan for a class, compiling it on first use.
+     * Plans are kept in a {@link ClassValue}, so they never keep a class
+     * from being unloaded.
+     */
+    public ClassPlan planFor(Class<?> clazz) {
+        return plans.get(clazz);
+    }
 
-        for (Field field : clazz.getDeclaredFields()) {
+    private ClassPlan compilePlan(Class<?> type) {
+        if (config.isUseGeneratedDumpers()) {
+            GeneratedDumper<?> dumper = GeneratedDumpers.find(type);
+            if (dumper != null) {
+                return ClassPlan.compile(dumper, config);
+            }
+        }
+        return ClassPlan.compile(type, config, annotations);
+    }
 
-            int modifiers = field.getModifiers();
+    /**
+     * Stores the values written by a generated dumper into an object frame.
+     *
+     * <p>Calls arrive in field order, one per slot; slots hidden by the
+     * configuration are dropped.
+     */
+    private static final class GeneratedFieldSink implements FieldSink {
+        private final ClassPlan plan;
+        private final AnalysisFrame.ObjectFrame frame;
+        private final boolean primitivesInline;
+        private int position;
+
+        GeneratedFieldSink(ClassPlan plan, AnalysisFrame.ObjectFrame frame, boolean primitivesInline) {
+            this.plan = plan;
+            this.frame = frame;
+            this.primitivesInline = primitivesInline;
+        }
 
-            if (!config.isShowPrivateFields() && Modifier.isPrivate(modifiers)) {
-                continue;
+        @Override
+        public void writeObject(int index, Object value) {
+            if (shows(index)) {
+                frame.setValue(position++, value);
             }
-            if (!config.isShowStaticFields() && Modifier.isStatic(modifiers)) {
-                continue;
+        }
+
+        @Override
+        public void writeBoolean(int index, boolean value) {
+            if (shows(index)) {
+                writePrimitive(value, Boolean.class);
             }
-            if (!config.isShowTransientFields() && Modifier.isTransient(modifiers)) {
-                continue;
+        }
+
+        @Override
+        public void writeByte(int index, byte value) {
+            if (shows(index)) {
+                writePrimitive(value, Byte.class);
             }
+        }
 
-            String fieldName = field.getName();
+        @Override
+        public void writeChar(int index, char value) {
+            if (shows(index)) {
+                writePrimitive(value, Character.class);
+            }
+        }
 
-            if (!config.shouldIncludeField(fieldName)) {
-                continue;
+        @Override
+        public void writeShort(int index, short value) {
+            if (shows(index)) {
+                writePrimitive(value, Short.class);
             }
+        }
 
-            field.setAccessible(true);
+        @Override
+        public void writeInt(int index, int value) {
+            if (shows(index)) {
+                writePrimitive(value, Integer.class);
+            }
+        }
 
-            try {
-                Object value = field.get(obj);
+        @Override
+        public void writeLong(int index, long value) {
+            if (shows(index)) {
+                writePrimitive(value, Long.class);
+            }
+        }
 
-                if (config.shouldRedactField(fieldName)) {
-                    fields.put(fieldName, DumpNode.ofString("***REDACTED***"));
-                } else {
-                    fields.put(fieldName, analyze(value, depth + 1));
-                }
+        @Override
+        public void writeFloat(int index, float value) {
+            if (shows(index)) {
+                writePrimitive(value, Float.class);
+            }
+        }
 
-            } catch (IllegalAccessException e) {
-                fields.put(fieldName, DumpNode.ofError("access denied"));
+        @Override
+        public void writeDouble(int index, double value) {
+            if (shows(index)) {
+                writePrimitive(value, Double.class);
             }
         }
 
-        return DumpNode.ofObject(clazz, fields);
-    }
+        /**
+         * Skips a hidden field or fills the slot of a redacted one, or
+         * returns true if the value is to be written; primitives are boxed
+         * only then.
+         */
+        private boolean shows(int index) {
+            ClassPlan.FieldPlan field = plan.slot(index);
+            if (field == null) {
+                return false;
+            }
+            if (field.isRedacted()) {
+                frame.setNode(position++, field.redactedNode());
+                return false;
+            }
+            return true;
+        }
 
-    private boolean hasCustomToString(Class<?> clazz) {
-        try {
-            return !clazz.getMethod("toString")
-                    .getDeclaringClass()
-                    .equals(Object.class);
-        } catch (NoSuchMethodException e) {
-            return false;
+        private void writePrimitive(Object value, Class<?> boxedType) {
+            if (primitivesInline) {
+                frame.setNode(position++, DumpNode.ofPrimitive(value, boxedType));
+            } else {
+                frame.setValue(position++, value);
+            }
         }
     }
 }
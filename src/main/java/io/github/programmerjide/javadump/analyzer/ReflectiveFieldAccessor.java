@@ -0,0 +1,77 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import java.lang.reflect.Field;
+
+/**
+ * {@link FieldAccessor} backed by {@link Field} reads.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+final class ReflectiveFieldAccessor implements FieldAccessor {
+
+    private final Field field;
+    private final boolean accessible;
+
+    ReflectiveFieldAccessor(Field field) {
+        this.field = field;
+        this.accessible = field.trySetAccessible();
+    }
+
+    @Override
+    public boolean isAccessible() {
+        return accessible;
+    }
+
+    @Override
+    public Object get(Object target) throws IllegalAccessException {
+        return checked().get(target);
+    }
+
+    @Override
+    public boolean getBoolean(Object target) throws IllegalAccessException {
+        return checked().getBoolean(target);
+    }
+
+    @Override
+    public byte getByte(Object target) throws IllegalAccessException {
+        return checked().getByte(target);
+    }
+
+    @Override
+    public char getChar(Object target) throws IllegalAccessException {
+        return checked().getChar(target);
+    }
+
+    @Override
+    public short getShort(Object target) throws IllegalAccessException {
+        return checked().getShort(target);
+    }
+
+    @Override
+    public int getInt(Object target) throws IllegalAccessException {
+        return checked().getInt(target);
+    }
+
+    @Override
+    public long getLong(Object target) throws IllegalAccessException {
+        return checked().getLong(target);
+    }
+
+    @Override
+    public float getFloat(Object target) throws IllegalAccessException {
+        return checked().getFloat(target);
+    }
+
+    @Override
+    public double getDouble(Object target) throws IllegalAccessException {
+        return checked().getDouble(target);
+    }
+
+    private Field checked() throws IllegalAccessException {
+        if (!accessible) {
+            throw new IllegalAccessException("Cannot access field " + field.getName());
+        }
+        return field;
+    }
+}
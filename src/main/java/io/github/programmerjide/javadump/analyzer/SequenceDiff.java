@@ -0,0 +1,125 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shortest edit script between two sequences, by Myers' O(ND) algorithm.
+ *
+ * <p>Elements are given as structural hashes, so comparing two of them is
+ * a single {@code long} comparison. A common prefix and suffix are matched
+ * up front; the search then costs O((N + M) D) time and O(D²) space for D
+ * edits, and is abandoned once D exceeds the cost limit.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+final class SequenceDiff {
+
+    private SequenceDiff() {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * One step of an edit script.
+     */
+    static final class Edit {
+        /** True for an insertion from the second sequence, false for a deletion. */
+        final boolean insert;
+        /** Index of the element in the sequence it comes from. */
+        final int index;
+        /** Number of the run of edits between two matches, in script order. */
+        final int hunk;
+
+        Edit(boolean insert, int index, int hunk) {
+            this.insert = insert;
+            this.index = index;
+            this.hunk = hunk;
+        }
+    }
+
+    /**
+     * Computes a shortest edit script turning {@code before} into
+     * {@code after}: deletions index into {@code before}, insertions into
+     * {@code after}, ordered by position.
+     *
+     * @param maxCost the most edits to search for
+     * @return the edits, or null if more than {@code maxCost} are needed
+     */
+    static List<Edit> diff(long[] before, long[] after, int maxCost) {
+        int start = 0;
+        int beforeEnd = before.length;
+        int afterEnd = after.length;
+        while (start < beforeEnd && start < afterEnd && before[start] == after[start]) {
+            start++;
+        }
+        while (beforeEnd > start && afterEnd > start && before[beforeEnd - 1] == after[afterEnd - 1]) {
+            beforeEnd--;
+            afterEnd--;
+        }
+
+        int n = beforeEnd - start;
+        int m = afterEnd - start;
+        if (Math.abs(n - m) > maxCost) {
+            return null;
+        }
+        int limit = Math.min(n + m, maxCost);
+
+        // v[k] is the furthest x reached on diagonal k = x - y; trace keeps
+        // the part of v each round started from, for the backtrack
+        int offset = limit + 1;
+        int[] v = new int[2 * limit + 3];
+        List<int[]> trace = new ArrayList<>();
+        for (int d = 0; d <= limit; d++) {
+            trace.add(Arrays.copyOfRange(v, offset - d - 1, offset + d + 2));
+            for (int k = -d; k <= d; k += 2) {
+                int x = k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])
+                        ? v[offset + k + 1] : v[offset + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && before[start + x] == after[start + y]) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    return backtrack(trace, n, m, start);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<Edit> backtrack(List<int[]> trace, int n, int m, int start) {
+        int cost = trace.size() - 1;
+        boolean[] inserts = new boolean[cost];
+        int[] indexes = new int[cost];
+        boolean[] matchFollows = new boolean[cost];
+        int x = n;
+        int y = m;
+        for (int d = cost; d > 0; d--) {
+            // Round d started from v, which covers diagonals -d - 1 to d + 1
+            int[] v = trace.get(d);
+            int k = x - y;
+            boolean insert = k == -d || (k != d && v[k - 1 + d + 1] < v[k + 1 + d + 1]);
+            int prevK = insert ? k + 1 : k - 1;
+            int prevX = v[prevK + d + 1];
+            int prevY = prevX - prevK;
+            inserts[d - 1] = insert;
+            indexes[d - 1] = start + (insert ? prevY : prevX);
+            matchFollows[d - 1] = x > (insert ? prevX : prevX + 1);
+            x = prevX;
+            y = prevY;
+        }
+
+        List<Edit> edits = new ArrayList<>(cost);
+        int hunk = 0;
+        for (int i = 0; i < cost; i++) {
+            edits.add(new Edit(inserts[i], indexes[i], hunk));
+            if (matchFollows[i]) {
+                hunk++;
+            }
+        }
+        return edits;
+    }
+}
@@ -43,9 +43,13 @@ public class TypeClassifier {
         if (obj == null) {
             return TypeCategory.NULL;
         }
+        return TypeProfile.of(obj.getClass()).getCategory();
+    }
 
-        Class<?> clazz = obj.getClass();
-
+    /**
+     * Classifies a class; the result is cached in its {@link TypeProfile}.
+     */
+    static TypeCategory categoryOf(Class<?> clazz) {
         if (TypeNameUtil.isPrimitiveOrWrapper(clazz)) {
             return TypeCategory.PRIMITIVE;
         }
@@ -127,9 +131,9 @@ public class TypeClassifier {
             return true;
         }
 
-        Class<?> clazz = obj.getClass();
-        return TypeNameUtil.isPrimitiveOrWrapper(clazz) ||
-                TypeNameUtil.isString(clazz) ||
-                TypeNameUtil.isEnum(clazz);
+        TypeProfile.Kind kind = TypeProfile.of(obj.getClass()).getKind();
+        return kind == TypeProfile.Kind.PRIMITIVE ||
+                kind == TypeProfile.Kind.STRING ||
+                kind == TypeProfile.Kind.ENUM;
     }
 }
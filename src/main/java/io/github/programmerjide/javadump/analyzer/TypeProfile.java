@@ -0,0 +1,106 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import io.github.programmerjide.javadump.cache.ReflectionCache;
+import io.github.programmerjide.javadump.util.TypeNameUtil;
+
+/**
+ * What the analyzer needs to know about a class to dispatch on it,
+ * resolved once per class.
+ *
+ * <p>Deciding how to analyze a value took a chain of checks per value: a
+ * set lookup for wrappers, {@code isAssignableFrom} for collections and
+ * maps, and a public method lookup for {@code toString}. A profile holds
+ * their results, cached in a {@link ClassValue}, so the analyzer makes one
+ * lookup and switches on the {@link Kind}.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+public final class TypeProfile {
+
+    /**
+     * How the analyzer treats values of a class, in the order it checks.
+     */
+    public enum Kind {
+        PRIMITIVE,
+        STRING,
+        ENUM,
+        ARRAY,
+        COLLECTION,
+        MAP,
+        OBJECT
+    }
+
+    private static final ClassValue<TypeProfile> PROFILES = new ClassValue<>() {
+        @Override
+        protected TypeProfile computeValue(Class<?> type) {
+            return new TypeProfile(type);
+        }
+    };
+
+    private final Kind kind;
+    private final boolean customToString;
+    private final boolean isEnum;
+    private final boolean isWrapper;
+    private final TypeClassifier.TypeCategory category;
+
+    private TypeProfile(Class<?> type) {
+        this.kind = kindOf(type);
+        this.customToString = ReflectionCache.hasCustomToString(type);
+        this.isEnum = type.isEnum();
+        this.isWrapper = TypeNameUtil.isWrapper(type);
+        this.category = TypeClassifier.categoryOf(type);
+    }
+
+    /**
+     * Returns the profile of a class, computing it on first use.
+     */
+    public static TypeProfile of(Class<?> type) {
+        return PROFILES.get(type);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Whether the class overrides {@link Object#toString()}.
+     */
+    public boolean hasCustomToString() {
+        return customToString;
+    }
+
+    public boolean isEnum() {
+        return isEnum;
+    }
+
+    public boolean isWrapper() {
+        return isWrapper;
+    }
+
+    public TypeClassifier.TypeCategory getCategory() {
+        return category;
+    }
+
+    private static Kind kindOf(Class<?> type) {
+        if (TypeNameUtil.isPrimitiveOrWrapper(type)) {
+            return Kind.PRIMITIVE;
+        }
+        if (TypeNameUtil.isString(type)) {
+            return Kind.STRING;
+        }
+        if (TypeNameUtil.isEnum(type)) {
+            return Kind.ENUM;
+        }
+        if (TypeNameUtil.isArrayType(type)) {
+            return Kind.ARRAY;
+        }
+        if (TypeNameUtil.isCollectionType(type)) {
+            return Kind.COLLECTION;
+        }
+        if (TypeNameUtil.isMapType(type)) {
+            return Kind.MAP;
+        }
+        return Kind.OBJECT;
+    }
+}
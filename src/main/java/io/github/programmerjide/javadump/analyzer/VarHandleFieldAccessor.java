@@ -0,0 +1,153 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * {@link FieldAccessor} backed by a {@link VarHandle}.
+ *
+ * <p>The handle's GET mode is converted once into method handles with an
+ * erased {@code (Object)T} type, so every read is an exact invocation with no
+ * access checks. Primitive fields get a second handle that returns the
+ * primitive type directly.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+final class VarHandleFieldAccessor implements FieldAccessor {
+
+    private final MethodHandle objectGetter;
+    private final MethodHandle typedGetter;
+
+    private VarHandleFieldAccessor(MethodHandle objectGetter, MethodHandle typedGetter) {
+        this.objectGetter = objectGetter;
+        this.typedGetter = typedGetter;
+    }
+
+    /**
+     * Creates an accessor, or returns null if private access is not granted.
+     */
+    static VarHandleFieldAccessor tryCreate(Field field) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(
+                    field.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle getter = lookup.unreflectVarHandle(field)
+                    .toMethodHandle(VarHandle.AccessMode.GET);
+
+            if (Modifier.isStatic(field.getModifiers())) {
+                getter = MethodHandles.dropArguments(getter, 0, Object.class);
+            }
+
+            Class<?> type = field.getType();
+            MethodHandle objectGetter = getter.asType(
+                    MethodType.methodType(Object.class, Object.class));
+            MethodHandle typedGetter = type.isPrimitive()
+                    ? getter.asType(MethodType.methodType(type, Object.class))
+                    : null;
+
+            return new VarHandleFieldAccessor(objectGetter, typedGetter);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean isAccessible() {
+        return true;
+    }
+
+    @Override
+    public Object get(Object target) {
+        try {
+            return (Object) objectGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(Object target) {
+        try {
+            return (boolean) typedGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public byte getByte(Object target) {
+        try {
+            return (byte) typedGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public char getChar(Object target) {
+        try {
+            return (char) typedGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public short getShort(Object target) {
+        try {
+            return (short) typedGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public int getInt(Object target) {
+        try {
+            return (int) typedGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public long getLong(Object target) {
+        try {
+            return (long) typedGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public float getFloat(Object target) {
+        try {
+            return (float) typedGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public double getDouble(Object target) {
+        try {
+            return (double) typedGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IllegalStateException("Field read failed", t);
+    }
+}
@@ -1,8 +1,38 @@
 package io.github.programmerjide.javadump.benchmark;
 
+import io.github.programmerjide.javadump.analyzer.ClassPlan;
+import io.github.programmerjide.javadump.analyzer.ObjectAnalyzer;
+import io.github.programmerjide.javadump.config.DumperConfig;
 import io.github.programmerjide.javadump.core.Dump;
+import io.github.programmerjide.javadump.core.Dumper;
+import io.github.programmerjide.javadump.formatter.JsonFormatter;
+import io.github.programmerjide.javadump.formatter.ValueFormatter;
+import io.github.programmerjide.javadump.model.DumpNode;
+import io.github.programmerjide.javadump.model.DumpSnapshot;
+import io.github.programmerjide.javadump.stream.StreamDump;
+import io.github.programmerjide.javadump.util.StackTraceUtil;
 
-import java.util.concurrent.TimeUnit;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Benchmarking utilities for JavaDump.
@@ -12,13 +42,25 @@ import java.util.concurrent.TimeUnit;
  */
 public class Benchmark {
 
+    /**
+     * Sink for benchmarked results so the JIT cannot discard the work.
+     */
+    private static volatile int blackhole;
+
     /**
      * Benchmarks dump operations.
      */
     public static Benchmark.BenchmarkResult benchmark(Object obj, int iterations) {
+        return run(() -> Dump.dumpStr(obj), iterations);
+    }
+
+    /**
+     * Benchmarks an arbitrary operation.
+     */
+    public static Benchmark.BenchmarkResult run(Runnable operation, int iterations) {
         // Warmup
         for (int i = 0; i < 100; i++) {
-            Dump.dumpStr(obj);
+            operation.run();
         }
 
         // Actual benchmark
@@ -26,7 +68,7 @@ public class Benchmark {
         long startMemory = getUsedMemory();
 
         for (int i = 0; i < iterations; i++) {
-            Dump.dumpStr(obj);
+            operation.run();
         }
 
         long endTime = System.nanoTime();
@@ -60,6 +102,481 @@ public class Benchmark {
         return new Benchmark.ComparisonResult(withoutCache, withCache);
     }
 
+    /**
+     * Compares the reflective field read path with the VarHandle backend.
+     *
+     * <p>Reads every field of a graph of {@code nodes} objects per iteration.
+     * The reflective baseline reads primitives through {@code Field.get}; the
+     * VarHandle backend reads them with typed handles straight into nodes.
+     * Either way each primitive ends up boxed once, in its node.
+     *
+     * <p>Example:
+     * <pre>{@code
+     * System.out.println(Benchmark.compareFieldAccess(1_000, 10_000));
+     * System.out.println(Benchmark.compareFieldAccess(100_000, 100));
+     * }</pre>
+     */
+    public static Benchmark.ComparisonResult compareFieldAccess(int nodes, int iterations) {
+        List<Sample> graph = Sample.graph(nodes);
+
+        Benchmark.BenchmarkResult reflection = run(
+                fieldReads(graph, DumperConfig.FieldAccessMode.REFLECTION), iterations);
+        Benchmark.BenchmarkResult varHandle = run(
+                fieldReads(graph, DumperConfig.FieldAccessMode.VAR_HANDLE), iterations);
+
+        return new Benchmark.ComparisonResult("Reflection", reflection, "VarHandle", varHandle);
+    }
+
+    private static Runnable fieldReads(List<Sample> graph, DumperConfig.FieldAccessMode mode) {
+        DumperConfig config = DumperConfig.builder().fieldAccessMode(mode).build();
+        List<ClassPlan.FieldPlan> fields = new ObjectAnalyzer(config).planFor(Sample.class).getFields();
+        boolean boxed = mode == DumperConfig.FieldAccessMode.REFLECTION;
+
+        return () -> {
+            int hash = 0;
+            try {
+                for (Sample sample : graph) {
+                    for (ClassPlan.FieldPlan field : fields) {
+                        Object value;
+                        if (!field.isPrimitive()) {
+                            value = field.read(sample);
+                        } else if (boxed) {
+                            Object raw = field.read(sample);
+                            value = DumpNode.ofPrimitive(raw, raw.getClass());
+                        } else {
+                            value = field.readPrimitive(sample);
+                        }
+                        if (value != null) {
+                            hash++;
+                        }
+                    }
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+            blackhole = hash;
+        };
+    }
+
+    /**
+     * Compares the recursive and iterative traversal engines on a linked
+     * chain {@code length} nodes deep.
+     *
+     * <p>Keep {@code length} within what the recursive engine can handle on
+     * the current thread stack; the iterative engine has no such limit.
+     *
+     * <p>Example:
+     * <pre>{@code
+     * System.out.println(Benchmark.compareDeepTraversal(2_000, 1_000));
+     * }</pre>
+     */
+    public static Benchmark.ComparisonResult compareDeepTraversal(int length, int iterations) {
+        return compareTraversal(Chain.of(length), length + 1, iterations);
+    }
+
+    /**
+     * Compares the recursive and iterative traversal engines on a flat list
+     * of {@code nodes} objects.
+     */
+    public static Benchmark.ComparisonResult compareWideTraversal(int nodes, int iterations) {
+        return compareTraversal(Sample.graph(nodes), DumperConfig.builder().build().getMaxDepth(),
+                iterations);
+    }
+
+    private static Benchmark.ComparisonResult compareTraversal(Object root, int maxDepth, int iterations) {
+        Benchmark.BenchmarkResult recursive = run(
+                traversal(root, maxDepth, DumperConfig.TraversalMode.RECURSIVE), iterations);
+        Benchmark.BenchmarkResult iterative = run(
+                traversal(root, maxDepth, DumperConfig.TraversalMode.ITERATIVE), iterations);
+
+        return new Benchmark.ComparisonResult("Recursive", recursive, "Iterative", iterative);
+    }
+
+    private static Runnable traversal(Object root, int maxDepth, DumperConfig.TraversalMode mode) {
+        DumperConfig config = DumperConfig.builder()
+                .traversalMode(mode)
+                .maxDepth(maxDepth)
+                .maxItems(Integer.MAX_VALUE)
+                .build();
+        ObjectAnalyzer analyzer = new ObjectAnalyzer(config);
+
+        return () -> blackhole = analyzer.analyze(root).getType().ordinal();
+    }
+
+    /**
+     * Compares JSON built as a tree and then a string against JSON walked
+     * straight into a UTF-8 stream.
+     *
+     * <p>Example:
+     * <pre>{@code
+     * System.out.println(Benchmark.compareJsonOutput(Benchmark.sampleGraph(1_000), 2_000));
+     * }</pre>
+     */
+    public static Benchmark.ComparisonResult compareJsonOutput(Object obj, int iterations) {
+        DumperConfig config = DumperConfig.builder().build();
+        ObjectAnalyzer analyzer = new ObjectAnalyzer(config);
+        JsonFormatter formatter = new JsonFormatter(config);
+        Dumper dumper = Dumper.builder().build();
+        OutputStream sink = OutputStream.nullOutputStream();
+
+        Benchmark.BenchmarkResult tree = run(
+                () -> blackhole = formatter.format(analyzer.analyze(obj)).length(), iterations);
+        Benchmark.BenchmarkResult streaming = run(() -> dumper.dumpJSONTo(sink, obj), iterations);
+
+        return new Benchmark.ComparisonResult("Tree + String", tree, "Streaming", streaming);
+    }
+
+    /**
+     * Compares writing a value as streamed JSON against writing it in the
+     * binary {@code .jdump} format, both to a discarding stream.
+     *
+     * <p>Example:
+     * <pre>{@code
+     * System.out.println(Benchmark.compareBinaryOutput(Benchmark.sampleGraph(1_000), 2_000));
+     * }</pre>
+     */
+    public static Benchmark.ComparisonResult compareBinaryOutput(Object obj, int iterations) {
+        Dumper dumper = Dumper.builder().build();
+        OutputStream sink = OutputStream.nullOutputStream();
+
+        Benchmark.BenchmarkResult json = run(() -> dumper.dumpJSONTo(sink, obj), iterations);
+        Benchmark.BenchmarkResult binary = run(() -> dumper.dumpBinaryTo(sink, obj), iterations);
+
+        return new Benchmark.ComparisonResult("JSON", json, "Binary", binary);
+    }
+
+    /**
+     * Compares formatting {@code levels} nested maps by returning a string per
+     * level, which the parent then copies, against appending every level to
+     * one shared sink.
+     *
+     * <p>Example:
+     * <pre>{@code
+     * System.out.println(Benchmark.compareNestedFormatting(20, 20_000));
+     * }</pre>
+     */
+    public static Benchmark.ComparisonResult compareNestedFormatting(int levels, int iterations) {
+        DumperConfig config = DumperConfig.builder()
+                .maxDepth(levels + 2)
+                .colorEnabled(false)
+                .build();
+        DumpNode tree = new ObjectAnalyzer(config).analyze(nestedMaps(levels));
+        ValueFormatter formatter = new ValueFormatter(config);
+
+        Benchmark.BenchmarkResult copying = run(
+                () -> blackhole = formatCopying(formatter, tree, 0).length(), iterations);
+        Benchmark.BenchmarkResult shared = run(
+                () -> blackhole = formatter.format(tree, 0).length(), iterations);
+
+        return new Benchmark.ComparisonResult("String per level", copying, "Shared sink", shared);
+    }
+
+    private static Map<String, Object> nestedMaps(int levels) {
+        Map<String, Object> root = null;
+        for (int level = levels; level > 0; level--) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("level", level);
+            map.put("name", "node-" + level);
+            map.put("tags", List.of("a", "b"));
+            if (root != null) {
+                map.put("child", root);
+            }
+            root = map;
+        }
+        return root;
+    }
+
+    /**
+     * The former map formatting: each level builds its own string and the
+     * parent appends it, copying the text once per enclosing level.
+     */
+    private static String formatCopying(ValueFormatter formatter, DumpNode node, int depth) {
+        if (node.getType() != DumpNode.NodeType.MAP) {
+            return formatter.format(node, depth);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(node.getTypeName()).append('[').append(node.getEntries().size()).append("] {\n");
+        for (Map.Entry<DumpNode, DumpNode> entry : node.getEntries().entrySet()) {
+            sb.append("  ".repeat(depth + 1));
+            sb.append(formatter.format(entry.getKey(), depth + 1));
+            sb.append(" → ");
+            sb.append(formatCopying(formatter, entry.getValue(), depth + 1));
+            sb.append('\n');
+        }
+        sb.append("  ".repeat(depth)).append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Compares materializing the whole stack, as call site lookup used to,
+     * against the cached {@link StackWalker} lookup.
+     */
+    public static Benchmark.ComparisonResult compareCallSiteLookup(int iterations) {
+        Benchmark.BenchmarkResult stackTrace = run(
+                () -> blackhole = Thread.currentThread().getStackTrace().length, iterations);
+        Benchmark.BenchmarkResult walker = run(
+                () -> blackhole = StackTraceUtil.findCallSite().getLineNumber(), iterations);
+
+        return new Benchmark.ComparisonResult("getStackTrace", stackTrace, "StackWalker", walker);
+    }
+
+    /**
+     * Compares the time the calling thread spends in {@code dump} with
+     * synchronous output against async output, where formatting and
+     * printing move to the writer thread. Output goes to a stream that
+     * takes {@code writeMicros} per write call, like a slow pipe.
+     */
+    public static Benchmark.ComparisonResult compareAsyncOutput(Object obj, int writeMicros, int iterations) {
+        PrintStream out = new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                LockSupport.parkNanos(writeMicros * 1_000L);
+            }
+        });
+        Dumper sync = Dumper.builder().withWriter(out).build();
+        Dumper async = Dumper.builder()
+                .withWriter(out)
+                .withAsyncOutput(1024, DumperConfig.OverflowPolicy.BLOCK)
+                .build();
+
+        Benchmark.BenchmarkResult direct = run(() -> sync.dump(obj), iterations);
+        Benchmark.BenchmarkResult queued = run(() -> async.dump(obj), iterations);
+        async.getAsyncOutput().close();
+
+        return new Benchmark.ComparisonResult("Synchronous", direct, "Async", queued);
+    }
+
+    /**
+     * Compares the work left on the calling thread to keep a dump for later:
+     * analyzing it into a {@link DumpNode} tree against capturing it as a
+     * {@link DumpSnapshot}.
+     *
+     * <p>Example:
+     * <pre>{@code
+     * System.out.println(Benchmark.compareCapture(Benchmark.sampleGraph(1_000), 2_000));
+     * }</pre>
+     */
+    public static Benchmark.ComparisonResult compareCapture(Object obj, int iterations) {
+        ObjectAnalyzer analyzer = new ObjectAnalyzer(DumperConfig.builder().build());
+
+        Benchmark.BenchmarkResult tree = run(
+                () -> blackhole = analyzer.analyze(obj).getType().ordinal(), iterations);
+        Benchmark.BenchmarkResult snapshot = run(
+                () -> blackhole = analyzer.capture(obj).size(), iterations);
+
+        return new Benchmark.ComparisonResult("DumpNode tree", tree, "Snapshot", snapshot);
+    }
+
+    /**
+     * Compares dumping a value to a file through a buffered
+     * {@link PrintStream} against dumping it to memory-mapped segment files.
+     * Both write to a temporary directory that is deleted afterwards.
+     *
+     * <p>Example:
+     * <pre>{@code
+     * System.out.println(Benchmark.compareFileOutput(Benchmark.sampleGraph(1_000), 2_000));
+     * }</pre>
+     */
+    public static Benchmark.ComparisonResult compareFileOutput(Object obj, int iterations) {
+        try {
+            Path dir = Files.createTempDirectory("javadump-bench");
+            try (PrintStream file = new PrintStream(new BufferedOutputStream(
+                    Files.newOutputStream(dir.resolve("print-stream.txt"))), false, StandardCharsets.UTF_8)) {
+                Dumper printing = Dumper.builder().withoutColor().withWriter(file).build();
+                Dumper mapped = Dumper.builder().withoutColor().withFileOutput(dir.resolve("mapped")).build();
+
+                Benchmark.BenchmarkResult stream = run(() -> printing.dump(obj), iterations);
+                Benchmark.BenchmarkResult mapping = run(() -> mapped.dump(obj), iterations);
+                mapped.getFileOutput().close();
+
+                return new Benchmark.ComparisonResult("PrintStream", stream, "Mapped file", mapping);
+            } finally {
+                deleteTree(dir);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Compares counting the elements of a parallel stream in
+     * {@link StreamDump#dumpEvery} against one shared atomic counter, the
+     * simplest thread-safe version. Each iteration streams {@code elements}
+     * through a pool of {@code threads}; nothing is selected for dumping, so
+     * only counting is measured.
+     *
+     * <p>Example:
+     * <pre>{@code
+     * System.out.println(Benchmark.compareParallelCounting(16, 1_000_000, 200));
+     * }</pre>
+     */
+    public static Benchmark.ComparisonResult compareParallelCounting(int threads, int elements, int iterations) {
+        int never = Integer.MAX_VALUE;
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            Benchmark.BenchmarkResult shared = run(() -> {
+                AtomicLong count = new AtomicLong();
+                Consumer<Integer> consumer = value -> {
+                    if (count.incrementAndGet() % never == 0) {
+                        Dump.dump(value);
+                    }
+                };
+                pool.submit(() -> IntStream.range(0, elements).boxed().parallel().forEach(consumer)).join();
+            }, iterations);
+            Benchmark.BenchmarkResult striped = run(() -> {
+                Consumer<Integer> consumer = StreamDump.dumpEvery(never);
+                pool.submit(() -> IntStream.range(0, elements).boxed().parallel().forEach(consumer)).join();
+            }, iterations);
+
+            return new Benchmark.ComparisonResult("Shared AtomicLong", shared, "Per-thread lanes", striped);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Measures dump throughput of one shared {@link Dumper} from 1 up to
+     * {@code maxThreads} threads, doubling the thread count each step.
+     *
+     * <p>Example:
+     * <pre>{@code
+     * System.out.println(Benchmark.throughputScaling(Benchmark.sampleGraph(100), 64, 2_000));
+     * }</pre>
+     *
+     * @return one line per thread count with operations per second
+     */
+    public static String throughputScaling(Object obj, int maxThreads, int opsPerThread) {
+        Dumper dumper = Dumper.builder().withoutColor().withoutHeader().build();
+        throughput(dumper, obj, 1, Math.max(opsPerThread, 5_000)); // warmup
+
+        StringBuilder sb = new StringBuilder();
+        for (int threads = 1; threads <= maxThreads; threads <<= 1) {
+            sb.append(String.format("%3d threads: %,12.0f ops/s%n",
+                    threads, throughput(dumper, obj, threads, opsPerThread)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Runs {@code opsPerThread} dumps on each of {@code threads} threads
+     * sharing one dumper and returns the combined operations per second.
+     */
+    public static double throughput(Dumper dumper, Object obj, int threads, int opsPerThread) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(threads);
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    int length = 0;
+                    for (int i = 0; i < opsPerThread; i++) {
+                        length += dumper.dumpStr(obj).length();
+                    }
+                    blackhole = length;
+                    return null;
+                }));
+            }
+
+            ready.await();
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - begin;
+
+            return (double) threads * opsPerThread / elapsed * TimeUnit.SECONDS.toNanos(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Builds a flat list of small DTOs for throughput runs.
+     */
+    public static Object sampleGraph(int nodes) {
+        return Sample.graph(nodes);
+    }
+
+    /**
+     * Estimates the retained heap per {@link DumpNode} of an analyzed value:
+     * the heap growth while the tree is held, divided by its node count.
+     *
+     * <p>Example:
+     * <pre>{@code
+     * System.out.printf("%.1f bytes/node%n", Benchmark.bytesPerNode(new ArrayList<>(ints)));
+     * }</pre>
+     */
+    public static double bytesPerNode(Object obj) {
+        ObjectAnalyzer analyzer = new ObjectAnalyzer(DumperConfig.builder()
+                .maxItems(Integer.MAX_VALUE)
+                .build());
+        analyzer.analyze(obj); // warm up plans and caches
+
+        settle();
+        long before = getUsedMemory();
+        DumpNode tree = analyzer.analyze(obj);
+        settle();
+        long after = getUsedMemory();
+
+        double bytes = (double) (after - before) / countNodes(tree);
+        blackhole = tree.getType().ordinal();
+        return bytes;
+    }
+
+    private static void settle() {
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static long countNodes(DumpNode root) {
+        long count = 0;
+        Deque<DumpNode> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            DumpNode node = pending.pop();
+            count++;
+            node.getElements().forEach(pending::push);
+            node.getEntries().forEach((key, value) -> {
+                pending.push(key);
+                pending.push(value);
+            });
+            node.getFields().values().forEach(pending::push);
+            node.getChildren().values().forEach(pending::push);
+        }
+        return count;
+    }
+
     private static long getUsedMemory() {
         Runtime runtime = Runtime.getRuntime();
         return runtime.totalMemory() - runtime.freeMemory();
@@ -117,36 +634,104 @@ public class Benchmark {
      * Comparison results.
      */
     public static class ComparisonResult {
-        private final Benchmark.BenchmarkResult withoutCache;
-        private final Benchmark.BenchmarkResult withCache;
+        private final String baselineLabel;
+        private final Benchmark.BenchmarkResult baseline;
+        private final String candidateLabel;
+        private final Benchmark.BenchmarkResult candidate;
 
         ComparisonResult(Benchmark.BenchmarkResult withoutCache, Benchmark.BenchmarkResult withCache) {
-            this.withoutCache = withoutCache;
-            this.withCache = withCache;
+            this("Without Cache", withoutCache, "With Cache", withCache);
+        }
+
+        ComparisonResult(String baselineLabel, Benchmark.BenchmarkResult baseline,
+                         String candidateLabel, Benchmark.BenchmarkResult candidate) {
+            this.baselineLabel = baselineLabel;
+            this.baseline = baseline;
+            this.candidateLabel = candidateLabel;
+            this.candidate = candidate;
+        }
+
+        public Benchmark.BenchmarkResult getBaseline() {
+            return baseline;
+        }
+
+        public Benchmark.BenchmarkResult getCandidate() {
+            return candidate;
         }
 
         public Benchmark.BenchmarkResult getWithoutCache() {
-            return withoutCache;
+            return baseline;
         }
 
         public Benchmark.BenchmarkResult getWithCache() {
-            return withCache;
+            return candidate;
         }
 
         public double getSpeedup() {
-            return (double) withoutCache.avgTimeNanos / withCache.avgTimeNanos;
+            return (double) baseline.avgTimeNanos / candidate.avgTimeNanos;
         }
 
         @Override
         public String toString() {
             return String.format(
-                    "Without Cache:\n%s\n\n" +
-                            "With Cache:\n%s\n\n" +
+                    "%s:\n%s\n\n" +
+                            "%s:\n%s\n\n" +
                             "Speedup: %.2fx",
-                    withoutCache,
-                    withCache,
+                    baselineLabel,
+                    baseline,
+                    candidateLabel,
+                    candidate,
                     getSpeedup()
             );
         }
     }
+
+    /**
+     * Singly linked node used to build deep benchmark graphs.
+     */
+    private static class Chain {
+        private final int value;
+        private Chain next;
+
+        private Chain(int value) {
+            this.value = value;
+        }
+
+        static Chain of(int length) {
+            Chain head = new Chain(0);
+            Chain tail = head;
+            for (int i = 1; i < length; i++) {
+                tail.next = new Chain(i);
+                tail = tail.next;
+            }
+            return head;
+        }
+    }
+
+    /**
+     * Small DTO used to build benchmark object graphs.
+     */
+    private static class Sample {
+        private final int id;
+        private final long timestamp;
+        private final double score;
+        private final boolean active;
+        private final String name;
+
+        private Sample(int id) {
+            this.id = id;
+            this.timestamp = 1_700_000_000_000L + id;
+            this.score = id * 0.5;
+            this.active = (id & 1) == 0;
+            this.name = "sample-" + id;
+        }
+
+        static List<Sample> graph(int nodes) {
+            List<Sample> graph = new ArrayList<>(nodes);
+            for (int i = 0; i < nodes; i++) {
+                graph.add(new Sample(i));
+            }
+            return graph;
+        }
+    }
 }
@@ -0,0 +1,92 @@
+package io.github.programmerjide.javadump.binary;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants of the {@code .jdump} binary format.
+ *
+ * <p>A file starts with the header {@code "JDMP"} followed by a version
+ * byte, then holds any number of values, one after the other, each encoded
+ * as the {@link io.github.programmerjide.javadump.model.DumpVisitor DumpVisitor}
+ * events of a walk. Each event is an opcode byte and its operands:
+ *
+ * <pre>
+ * VALUE, KEY     leaf
+ * KEY_TREE       a complete value, which is the key of the next map entry
+ * BEGIN_ARRAY    string typeName, varint size, varint shown
+ * BEGIN_MAP      string typeName, varint size, varint shown
+ * BEGIN_OBJECT   string typeName, varint fieldCount
+ * ELEMENT        (the index is implied by the order of elements)
+ * FIELD          string label
+ * END            varint omitted
+ * </pre>
+ *
+ * The opcode byte of a leaf also carries its circular, max-depth and
+ * truncated flags. A leaf is one byte holding the node type (low nibble)
+ * and the kind of value (high nibble), the type name as a string and the
+ * value: a zigzag varint for integral kinds, a plain varint for chars, 8
+ * or 4 little-endian bytes for doubles and floats, a string for text,
+ * nothing for null and booleans.
+ *
+ * <p>Varints are unsigned LEB128. A string is a varint reference: 0 for
+ * null, {@link #NEW_STRING} followed by the varint UTF-8 length and bytes
+ * of a string that later references can point back to,
+ * {@link #LITERAL_STRING} for one that is not kept, or
+ * {@link #FIRST_REFERENCE} plus the index of an earlier string. Type
+ * names, field names and repeated short values are so written once per file.
+ *
+ * <p>Files may be concatenated: a header may appear again between values.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+final class BinaryDumpFormat {
+
+    static final byte[] MAGIC = "JDMP".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+
+    // Opcodes
+    static final int VALUE = 0;
+    static final int BEGIN_ARRAY = 1;
+    static final int BEGIN_MAP = 2;
+    static final int BEGIN_OBJECT = 3;
+    static final int ELEMENT = 4;
+    static final int KEY = 5;
+    static final int KEY_TREE = 6;
+    static final int FIELD = 7;
+    static final int END = 8;
+    static final int OPCODE_MASK = 0x0F;
+
+    // Leaf value kinds
+    static final int V_NULL = 0;
+    static final int V_INT = 1;
+    static final int V_LONG = 2;
+    static final int V_SHORT = 3;
+    static final int V_BYTE = 4;
+    static final int V_DOUBLE = 5;
+    static final int V_FLOAT = 6;
+    static final int V_TRUE = 7;
+    static final int V_FALSE = 8;
+    static final int V_CHAR = 9;
+    static final int V_STRING = 10;
+
+    // Leaf flags, above the opcode
+    static final int F_CIRCULAR = 0x10;
+    static final int F_MAX_DEPTH = 0x20;
+    static final int F_TRUNCATED = 0x40;
+
+    // String references
+    static final int NULL_STRING = 0;
+    static final int NEW_STRING = 1;
+    static final int LITERAL_STRING = 2;
+    static final int FIRST_REFERENCE = 3;
+
+    /** Longest value string kept in the string table. */
+    static final int MAX_SHARED_LENGTH = 64;
+
+    /** Most strings kept in the string table of one file. */
+    static final int MAX_STRINGS = 1 << 16;
+
+    private BinaryDumpFormat() {
+    }
+}
@@ -0,0 +1,356 @@
+package io.github.programmerjide.javadump.binary;
+
+import io.github.programmerjide.javadump.model.DumpNode;
+import io.github.programmerjide.javadump.model.DumpTreeBuilder;
+import io.github.programmerjide.javadump.model.DumpVisitor;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static io.github.programmerjide.javadump.binary.BinaryDumpFormat.*;
+
+/**
+ * Reads {@code .jdump} files written by {@link BinaryDumpWriter}.
+ *
+ * <p>Values are streamed: {@link #read(DumpVisitor)} decodes the next value
+ * from a small buffer and replays it as visitor events, so any formatter
+ * visitor renders it without the file or a tree being held in memory.
+ * {@link #readNode()} builds the tree instead, for formatters that need one.
+ *
+ * <p>I/O errors, truncated files and unknown data are reported as
+ * {@link UncheckedIOException}. Not thread-safe.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+public final class BinaryDumpReader implements Closeable {
+
+    private static final DumpNode.NodeType[] TYPES = DumpNode.NodeType.values();
+
+    private final InputStream stream;
+    private final byte[] buffer = new byte[8192];
+    private int position;
+    private int limit;
+    private String[] strings = new String[64];
+    private int[] elements = new int[16];
+    private int stringCount;
+
+    /**
+     * Creates a reader and checks the file header.
+     *
+     * @throws UncheckedIOException if the stream does not start with a
+     *         supported {@code .jdump} header
+     */
+    public BinaryDumpReader(InputStream stream) {
+        this.stream = stream;
+        if (!fill()) {
+            throw malformed("Empty input, expected a .jdump header");
+        }
+        readHeader();
+    }
+
+    /**
+     * Replays the next value to the visitor.
+     *
+     * @return false if the end of the file was reached instead
+     */
+    public boolean read(DumpVisitor visitor) {
+        if (!hasNext()) {
+            return false;
+        }
+        readValue(visitor, 0);
+        return true;
+    }
+
+    /**
+     * Returns whether another value follows.
+     */
+    public boolean hasNext() {
+        while (true) {
+            if (position == limit && !fill()) {
+                return false;
+            }
+            if (buffer[position] != MAGIC[0]) {
+                return true;
+            }
+            readHeader();
+        }
+    }
+
+    /**
+     * Reads the next value as a tree.
+     *
+     * @return the tree, or null at the end of the file
+     */
+    public DumpNode readNode() {
+        DumpTreeBuilder tree = new DumpTreeBuilder();
+        return read(tree) ? tree.build() : null;
+    }
+
+    @Override
+    public void close() {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ==================== Decoding ====================
+
+    private void readHeader() {
+        for (byte expected : MAGIC) {
+            if (readByte() != expected) {
+                throw malformed("Not a .jdump file");
+            }
+        }
+        int version = readByte();
+        if (version != VERSION) {
+            throw malformed("Unsupported .jdump version " + version);
+        }
+        // Each header starts a new string table
+        stringCount = 0;
+    }
+
+    /**
+     * Reads the events of exactly one value, keeping the element counters
+     * of its containers above {@code base}, where those of the containers
+     * still open around it are.
+     */
+    private void readValue(DumpVisitor visitor, int base) {
+        int depth = base;
+        do {
+            int event = readByte();
+            int opcode = event & OPCODE_MASK;
+            switch (opcode) {
+                case VALUE:
+                    visitor.value(readLeaf(event));
+                    break;
+                case BEGIN_ARRAY:
+                    visitor.beginArray(readString(), readInt(), readInt());
+                    depth = push(depth);
+                    break;
+                case BEGIN_MAP:
+                    visitor.beginMap(readString(), readInt(), readInt());
+                    depth = push(depth);
+                    break;
+                case BEGIN_OBJECT:
+                    visitor.beginObject(readString(), readInt());
+                    depth = push(depth);
+                    break;
+                case ELEMENT:
+                    checkOpen(depth, base, "Element");
+                    visitor.element(elements[depth - 1]++);
+                    break;
+                case KEY:
+                    visitor.key(readLeaf(event));
+                    break;
+                case KEY_TREE:
+                    DumpTreeBuilder key = new DumpTreeBuilder();
+                    readValue(key, depth);
+                    visitor.key(key.build());
+                    break;
+                case FIELD:
+                    visitor.field(readString());
+                    break;
+                case END:
+                    checkOpen(depth, base, "End");
+                    visitor.end(readInt());
+                    depth--;
+                    break;
+                default:
+                    throw malformed("Unknown opcode " + opcode);
+            }
+        } while (depth > base);
+    }
+
+    /**
+     * Checks that an event that belongs to a container is inside one the
+     * current value opened.
+     */
+    private void checkOpen(int depth, int base, String event) {
+        if (depth == base) {
+            throw malformed(event + " outside a container");
+        }
+    }
+
+    /**
+     * Opens a container, whose element indexes count from zero.
+     */
+    private int push(int depth) {
+        if (depth == elements.length) {
+            elements = Arrays.copyOf(elements, depth * 2);
+        }
+        elements[depth] = 0;
+        return depth + 1;
+    }
+
+    private DumpNode readLeaf(int event) {
+        int leaf = readByte();
+        int type = leaf & 0x0F;
+        if (type >= TYPES.length) {
+            throw malformed("Unknown node type " + type);
+        }
+        int kind = leaf >>> 4;
+        String typeName = readString();
+
+        Object value;
+        switch (kind) {
+            case V_NULL:
+                value = null;
+                break;
+            case V_INT:
+                value = (int) readZigzag();
+                break;
+            case V_LONG:
+                value = readZigzag();
+                break;
+            case V_SHORT:
+                value = (short) readZigzag();
+                break;
+            case V_BYTE:
+                value = (byte) readZigzag();
+                break;
+            case V_DOUBLE:
+                value = Double.longBitsToDouble(readFixed(8));
+                break;
+            case V_FLOAT:
+                value = Float.intBitsToFloat((int) readFixed(4));
+                break;
+            case V_TRUE:
+                value = Boolean.TRUE;
+                break;
+            case V_FALSE:
+                value = Boolean.FALSE;
+                break;
+            case V_CHAR:
+                value = (char) readVarint();
+                break;
+            case V_STRING:
+                value = readString();
+                break;
+            default:
+                throw malformed("Unknown value kind " + kind);
+        }
+
+        return DumpNode.restore(TYPES[type], typeName, value,
+                (event & F_CIRCULAR) != 0, (event & F_MAX_DEPTH) != 0, (event & F_TRUNCATED) != 0);
+    }
+
+    private String readString() {
+        long reference = readVarint();
+        if (reference == NULL_STRING) {
+            return null;
+        }
+        if (reference >= FIRST_REFERENCE) {
+            long index = reference - FIRST_REFERENCE;
+            if (index >= stringCount) {
+                throw malformed("String reference " + index + " out of range");
+            }
+            return strings[(int) index];
+        }
+
+        String text = readUtf8();
+        if (reference == NEW_STRING) {
+            if (stringCount == strings.length) {
+                strings = Arrays.copyOf(strings, stringCount * 2);
+            }
+            strings[stringCount++] = text;
+        }
+        return text;
+    }
+
+    private String readUtf8() {
+        int length = readInt();
+        if (length <= limit - position) {
+            String text = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return text;
+        }
+
+        // Grown as bytes arrive, so a corrupt length fails as truncated
+        byte[] bytes = new byte[Math.min(length, buffer.length * 8)];
+        int copied = 0;
+        while (copied < length) {
+            if (position == limit && !fill()) {
+                throw malformed("Truncated string");
+            }
+            if (copied == bytes.length) {
+                bytes = Arrays.copyOf(bytes, (int) Math.min(length, bytes.length * 2L));
+            }
+            int chunk = Math.min(bytes.length - copied, limit - position);
+            System.arraycopy(buffer, position, bytes, copied, chunk);
+            position += chunk;
+            copied += chunk;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int readInt() {
+        long value = readVarint();
+        if (value > Integer.MAX_VALUE) {
+            throw malformed("Count " + value + " out of range");
+        }
+        return (int) value;
+    }
+
+    private long readZigzag() {
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw malformed("Varint too long");
+    }
+
+    private long readFixed(int bytes) {
+        long bits = 0;
+        for (int i = 0; i < bytes; i++) {
+            bits |= (long) readByte() << (i * 8);
+        }
+        return bits;
+    }
+
+    private int readByte() {
+        if (position == limit && !fill()) {
+            throw new UncheckedIOException(new EOFException("Truncated .jdump value"));
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    /**
+     * Refills the empty buffer.
+     *
+     * @return false at the end of the stream
+     */
+    private boolean fill() {
+        try {
+            int read;
+            do {
+                read = stream.read(buffer, 0, buffer.length);
+            } while (read == 0);
+            position = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static UncheckedIOException malformed(String message) {
+        return new UncheckedIOException(new IOException(message));
+    }
+}
@@ -0,0 +1,327 @@
+package io.github.programmerjide.javadump.binary;
+
+import io.github.programmerjide.javadump.model.DumpNode;
+import io.github.programmerjide.javadump.model.DumpVisitor;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.github.programmerjide.javadump.binary.BinaryDumpFormat.*;
+
+/**
+ * Writes values in the compact {@code .jdump} binary format.
+ *
+ * <p>The writer is a {@link DumpVisitor}: pass it to
+ * {@code ObjectAnalyzer.walk}, {@code DumpSnapshot.accept} or
+ * {@code DumpNode.accept}, once per value. Events are encoded into a fixed
+ * byte buffer that is drained to the stream when full. Type names, field
+ * names and short repeated strings are written once and then referenced by
+ * index. See {@link BinaryDumpReader} and {@link DumpRenderer} for reading
+ * the file back.
+ *
+ * <p>I/O errors are rethrown as {@link UncheckedIOException}. Not
+ * thread-safe.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+public final class BinaryDumpWriter implements DumpVisitor, Flushable, Closeable {
+
+    private final OutputStream stream;
+    private final byte[] buffer = new byte[8192];
+    private final Map<String, Integer> strings = new HashMap<>();
+    private int count;
+
+    /**
+     * Creates a writer and writes the file header.
+     */
+    public BinaryDumpWriter(OutputStream stream) {
+        this.stream = stream;
+        System.arraycopy(MAGIC, 0, buffer, 0, MAGIC.length);
+        count = MAGIC.length;
+        buffer[count++] = VERSION;
+    }
+
+    @Override
+    public void value(DumpNode node) {
+        writeLeaf(VALUE, node);
+    }
+
+    @Override
+    public void beginArray(String typeName, int size, int shown) {
+        writeByte(BEGIN_ARRAY);
+        writeName(typeName);
+        writeVarint(size);
+        writeVarint(shown);
+    }
+
+    @Override
+    public void beginMap(String typeName, int size, int shown) {
+        writeByte(BEGIN_MAP);
+        writeName(typeName);
+        writeVarint(size);
+        writeVarint(shown);
+    }
+
+    @Override
+    public void beginObject(String typeName, int fieldCount) {
+        writeByte(BEGIN_OBJECT);
+        writeName(typeName);
+        writeVarint(fieldCount);
+    }
+
+    @Override
+    public void element(int index) {
+        writeByte(ELEMENT);
+    }
+
+    @Override
+    public void key(DumpNode key) {
+        switch (key.getType()) {
+            case ARRAY:
+            case COLLECTION:
+            case MAP:
+            case OBJECT:
+                writeByte(KEY_TREE);
+                key.accept(this);
+                return;
+            default:
+                writeLeaf(KEY, key);
+        }
+    }
+
+    @Override
+    public void field(String label) {
+        writeByte(FIELD);
+        writeName(label);
+    }
+
+    @Override
+    public void end(int omitted) {
+        writeByte(END);
+        writeVarint(omitted);
+    }
+
+    /**
+     * Writes buffered bytes to the stream and flushes it.
+     */
+    @Override
+    public void flush() {
+        drain();
+        try {
+            stream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flushes and closes the stream.
+     */
+    @Override
+    public void close() {
+        flush();
+        try {
+            stream.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ==================== Encoding ====================
+
+    private void writeLeaf(int opcode, DumpNode node) {
+        writeByte(opcode
+                | (node.isCircular() ? F_CIRCULAR : 0)
+                | (node.isMaxDepthReached() ? F_MAX_DEPTH : 0)
+                | (node.isTruncated() ? F_TRUNCATED : 0));
+
+        int type = node.getType().ordinal();
+        Object value = node.getValue();
+        if (value == null) {
+            writeByte(type | V_NULL << 4);
+            writeName(node.getTypeName());
+        } else if (value instanceof Integer) {
+            writeByte(type | V_INT << 4);
+            writeName(node.getTypeName());
+            writeZigzag((Integer) value);
+        } else if (value instanceof String) {
+            writeByte(type | V_STRING << 4);
+            writeName(node.getTypeName());
+            writeText((String) value);
+        } else if (value instanceof Long) {
+            writeByte(type | V_LONG << 4);
+            writeName(node.getTypeName());
+            writeZigzag((Long) value);
+        } else if (value instanceof Double) {
+            writeByte(type | V_DOUBLE << 4);
+            writeName(node.getTypeName());
+            writeFixed(Double.doubleToRawLongBits((Double) value), 8);
+        } else if (value instanceof Boolean) {
+            writeByte(type | ((Boolean) value ? V_TRUE : V_FALSE) << 4);
+            writeName(node.getTypeName());
+        } else if (value instanceof Character) {
+            writeByte(type | V_CHAR << 4);
+            writeName(node.getTypeName());
+            writeVarint((Character) value);
+        } else if (value instanceof Float) {
+            writeByte(type | V_FLOAT << 4);
+            writeName(node.getTypeName());
+            writeFixed(Float.floatToRawIntBits((Float) value), 4);
+        } else if (value instanceof Short) {
+            writeByte(type | V_SHORT << 4);
+            writeName(node.getTypeName());
+            writeZigzag((Short) value);
+        } else if (value instanceof Byte) {
+            writeByte(type | V_BYTE << 4);
+            writeName(node.getTypeName());
+            writeZigzag((Byte) value);
+        } else {
+            writeByte(type | V_STRING << 4);
+            writeName(node.getTypeName());
+            writeText(String.valueOf(value));
+        }
+    }
+
+    /**
+     * Writes a type or field name, which is always shared.
+     */
+    private void writeName(String name) {
+        writeString(name, true);
+    }
+
+    /**
+     * Writes a value string, shared only if short.
+     */
+    private void writeText(String text) {
+        writeString(text, text.length() <= MAX_SHARED_LENGTH);
+    }
+
+    private void writeString(String text, boolean share) {
+        if (text == null) {
+            writeByte(NULL_STRING);
+            return;
+        }
+        if (share) {
+            Integer index = strings.get(text);
+            if (index != null) {
+                writeVarint(FIRST_REFERENCE + index);
+                return;
+            }
+            if (strings.size() < MAX_STRINGS) {
+                strings.put(text, strings.size());
+                writeByte(NEW_STRING);
+                writeUtf8(text);
+                return;
+            }
+        }
+        writeByte(LITERAL_STRING);
+        writeUtf8(text);
+    }
+
+    /**
+     * Writes the UTF-8 length and bytes of a string, encoding it straight
+     * into the buffer. Unpaired surrogates become {@code '?'}, as with
+     * {@link String#getBytes}.
+     */
+    private void writeUtf8(String text) {
+        int length = text.length();
+        writeVarint(utf8Length(text));
+
+        for (int i = 0; i < length; i++) {
+            ensure(4);
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                buffer[count++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[count++] = (byte) (0xC0 | c >> 6);
+                buffer[count++] = (byte) (0x80 | c & 0x3F);
+            } else if (!Character.isSurrogate(c)) {
+                buffer[count++] = (byte) (0xE0 | c >> 12);
+                buffer[count++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[count++] = (byte) (0x80 | c & 0x3F);
+            } else if (isPair(text, i)) {
+                int code = Character.toCodePoint(c, text.charAt(++i));
+                buffer[count++] = (byte) (0xF0 | code >> 18);
+                buffer[count++] = (byte) (0x80 | code >> 12 & 0x3F);
+                buffer[count++] = (byte) (0x80 | code >> 6 & 0x3F);
+                buffer[count++] = (byte) (0x80 | code & 0x3F);
+            } else {
+                buffer[count++] = '?';
+            }
+        }
+    }
+
+    private static int utf8Length(String text) {
+        int length = text.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 2;
+            } else if (isPair(text, i)) {
+                bytes += 2;
+                i++;
+            }
+        }
+        return bytes;
+    }
+
+    private static boolean isPair(String text, int index) {
+        return Character.isHighSurrogate(text.charAt(index)) && index + 1 < text.length()
+                && Character.isLowSurrogate(text.charAt(index + 1));
+    }
+
+    private void writeZigzag(long value) {
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    private void writeVarint(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[count++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[count++] = (byte) value;
+    }
+
+    private void writeFixed(long bits, int bytes) {
+        ensure(bytes);
+        for (int i = 0; i < bytes; i++) {
+            buffer[count++] = (byte) (bits >>> (i * 8));
+        }
+    }
+
+    private void writeByte(int value) {
+        ensure(1);
+        buffer[count++] = (byte) value;
+    }
+
+    private void ensure(int bytes) {
+        if (count + bytes > buffer.length) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        if (count == 0) {
+            return;
+        }
+        try {
+            stream.write(buffer, 0, count);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        count = 0;
+    }
+}
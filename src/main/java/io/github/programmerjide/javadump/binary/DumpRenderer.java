@@ -0,0 +1,189 @@
+package io.github.programmerjide.javadump.binary;
+
+import io.github.programmerjide.javadump.config.DumperConfig;
+import io.github.programmerjide.javadump.formatter.HtmlFormatter;
+import io.github.programmerjide.javadump.formatter.JsonFormatter;
+import io.github.programmerjide.javadump.formatter.JsonWriter;
+import io.github.programmerjide.javadump.formatter.OutputSink;
+import io.github.programmerjide.javadump.formatter.ValueFormatter;
+import io.github.programmerjide.javadump.formatter.YamlFormatter;
+import io.github.programmerjide.javadump.model.DumpNode;
+import io.github.programmerjide.javadump.model.DumpVisitor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Renders {@code .jdump} files with the regular formatters, offline.
+ *
+ * <p>Dumps can be written cheaply in production with
+ * {@code Dumper.dumpBinaryTo} and turned into console, JSON, YAML or HTML
+ * output later, on another machine:
+ *
+ * <pre>
+ * java -cp javadump.jar io.github.programmerjide.javadump.binary.DumpRenderer \
+ *     [--format=console|json|yaml|html] [--no-color] &lt;file.jdump | -&gt;
+ * </pre>
+ *
+ * Console, JSON and YAML output is streamed value by value; HTML builds
+ * the trees of all values for one page.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+public final class DumpRenderer {
+
+    /**
+     * Output formats.
+     */
+    public enum Format {
+        CONSOLE,
+        JSON,
+        YAML,
+        HTML
+    }
+
+    private final DumperConfig config;
+    private final Format format;
+
+    public DumpRenderer(DumperConfig config, Format format) {
+        this.config = config;
+        this.format = format;
+    }
+
+    /**
+     * Renders every value of a {@code .jdump} stream. Console and JSON
+     * output ends each value with a line separator; YAML separates values
+     * as documents.
+     */
+    public void render(InputStream in, OutputStream out) {
+        BinaryDumpReader reader = new BinaryDumpReader(in);
+        switch (format) {
+            case JSON:
+                renderJson(reader, out);
+                break;
+            case HTML:
+                renderHtml(reader, out);
+                break;
+            default:
+                renderText(reader, out);
+        }
+    }
+
+    /**
+     * Renders a file, or standard input for {@code -}, to standard output.
+     */
+    public static void main(String[] args) {
+        Format format = Format.CONSOLE;
+        boolean color = System.console() != null;
+        String file = null;
+
+        for (String arg : args) {
+            if (arg.startsWith("--format=")) {
+                try {
+                    format = Format.valueOf(arg.substring("--format=".length()).toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    usage("Unknown format: " + arg);
+                    return;
+                }
+            } else if (arg.equals("--no-color")) {
+                color = false;
+            } else if (file == null && (arg.equals("-") || !arg.startsWith("-"))) {
+                file = arg;
+            } else {
+                usage("Unknown argument: " + arg);
+                return;
+            }
+        }
+        if (file == null) {
+            usage("No input file");
+            return;
+        }
+
+        DumpRenderer renderer = new DumpRenderer(DumperConfig.builder().colorEnabled(color).build(), format);
+        try (InputStream in = file.equals("-") ? System.in : Files.newInputStream(Paths.get(file))) {
+            renderer.render(in, System.out);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Cannot render " + file + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // ==================== Rendering ====================
+
+    private void renderText(BinaryDumpReader reader, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        OutputSink sink = new OutputSink(writer);
+        DumpVisitor visitor = format == Format.YAML
+                ? new YamlFormatter(config).visitor(sink)
+                : new ValueFormatter(config).visitor(sink);
+
+        boolean any = false;
+        while (reader.hasNext()) {
+            if (any && format == Format.YAML) {
+                sink.append("\n---\n");
+            }
+            reader.read(visitor);
+            if (format == Format.CONSOLE) {
+                sink.append(System.lineSeparator());
+            }
+            any = true;
+        }
+        if (any && format == Format.YAML) {
+            sink.append(System.lineSeparator());
+        }
+        sink.flush();
+        flush(writer);
+    }
+
+    private void renderJson(BinaryDumpReader reader, OutputStream out) {
+        JsonWriter writer = new JsonWriter(out);
+        DumpVisitor visitor = new JsonFormatter(config).visitor(writer);
+        while (reader.read(visitor)) {
+            writer.writeRaw(System.lineSeparator());
+        }
+        writer.flush();
+    }
+
+    private void renderHtml(BinaryDumpReader reader, OutputStream out) {
+        List<DumpNode> nodes = new ArrayList<>();
+        for (DumpNode node = reader.readNode(); node != null; node = reader.readNode()) {
+            nodes.add(node);
+        }
+
+        HtmlFormatter formatter = new HtmlFormatter(config);
+        String html = nodes.isEmpty() ? formatter.format((DumpNode) null) : formatter.formatPage(nodes);
+        try {
+            out.write(html.getBytes(StandardCharsets.UTF_8));
+            out.write(System.lineSeparator().getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void flush(Writer writer) {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: DumpRenderer [--format=console|json|yaml|html] [--no-color] <file.jdump | ->");
+        System.exit(2);
+    }
+}
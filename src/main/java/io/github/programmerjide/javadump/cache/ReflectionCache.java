@@ -2,7 +2,7 @@ package io.github.programmerjide.javadump.cache;
 
 import java.lang.reflect.Field;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Caches reflection results for improved performance.
@@ -10,60 +10,70 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>Reflection operations are expensive. This cache stores:
  * <ul>
  *   <li>Field lists for classes</li>
- *   <li>Annotation metadata</li>
- *   <li>Type information</li>
+ *   <li>Class metadata: kind, names and whether {@code toString} is overridden</li>
  * </ul>
  *
- * <p>Reduces overhead by 10-100x for repeated dumps.
+ * <p>It is the one place the analyzer and formatters get these from.
+ * Entries are held in a {@link ClassValue}, so they are attached to their
+ * class and collected with it: the cache never keeps a class, or its class
+ * loader, from being unloaded.
  *
  * @author Olaldejo Olajide
  * @since 1.2.0
  */
 public class ReflectionCache {
 
-    private static final Map<Class<?>, ClassMetadata> classCache = new ConcurrentHashMap<>();
-    private static final Map<Class<?>, List<Field>> fieldCache = new ConcurrentHashMap<>();
+    private static volatile ClassValue<ClassMetadata> metadata = newCache();
+    private static volatile boolean enabled = true;
 
-    private static boolean enabled = true;
+    private static final LongAdder lookups = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder fieldMisses = new LongAdder();
 
     /**
-     * Gets cached field list for a class.
+     * Gets the cached fields of a class and its superclasses, subclass first.
      */
     public static List<Field> getFields(Class<?> clazz) {
-        if (!enabled) {
-            return Arrays.asList(clazz.getDeclaredFields());
-        }
-
-        return fieldCache.computeIfAbsent(clazz, k -> {
-            List<Field> fields = new ArrayList<>();
-            Class<?> current = k;
+        return getMetadata(clazz).getFields();
+    }
 
-            while (current != null && current != Object.class) {
-                fields.addAll(Arrays.asList(current.getDeclaredFields()));
-                current = current.getSuperclass();
-            }
+    /**
+     * Gets the cached fields declared by a class itself, in declaration order.
+     */
+    public static List<Field> getDeclaredFields(Class<?> clazz) {
+        return getMetadata(clazz).getDeclaredFields();
+    }
 
-            return Collections.unmodifiableList(fields);
-        });
+    /**
+     * Checks whether a class overrides {@link Object#toString()}.
+     */
+    public static boolean hasCustomToString(Class<?> clazz) {
+        return getMetadata(clazz).hasCustomToString();
     }
 
     /**
      * Gets cached class metadata.
      */
     public static ClassMetadata getMetadata(Class<?> clazz) {
+        lookups.increment();
         if (!enabled) {
+            misses.increment();
             return new ClassMetadata(clazz);
         }
-
-        return classCache.computeIfAbsent(clazz, ClassMetadata::new);
+        return metadata.get(clazz);
     }
 
     /**
-     * Clears the cache.
+     * Clears the cache and its statistics.
+     *
+     * <p>A {@link ClassValue} cannot be emptied, so it is replaced; the old
+     * entries are collected with it.
      */
     public static void clear() {
-        classCache.clear();
-        fieldCache.clear();
+        metadata = newCache();
+        lookups.reset();
+        misses.reset();
+        fieldMisses.reset();
     }
 
     /**
@@ -80,13 +90,26 @@ public class ReflectionCache {
      * Gets cache statistics.
      */
     public static CacheStats getStats() {
+        long missCount = misses.sum();
         return new CacheStats(
-                classCache.size(),
-                fieldCache.size(),
+                missCount,
+                fieldMisses.sum(),
+                Math.max(0, lookups.sum() - missCount),
+                missCount,
                 enabled
         );
     }
 
+    private static ClassValue<ClassMetadata> newCache() {
+        return new ClassValue<>() {
+            @Override
+            protected ClassMetadata computeValue(Class<?> type) {
+                misses.increment();
+                return new ClassMetadata(type);
+            }
+        };
+    }
+
     /**
      * Cached metadata for a class.
      */
@@ -97,9 +120,14 @@ public class ReflectionCache {
         private final boolean isCollection;
         private final boolean isMap;
         private final boolean isPrimitive;
+        private final boolean customToString;
         private final String simpleName;
         private final String packageName;
 
+        // Resolved on first use; a race only computes the same list twice
+        private volatile List<Field> declaredFields;
+        private volatile List<Field> fields;
+
         ClassMetadata(Class<?> clazz) {
             this.clazz = clazz;
             this.isEnum = clazz.isEnum();
@@ -107,6 +135,7 @@ public class ReflectionCache {
             this.isCollection = Collection.class.isAssignableFrom(clazz);
             this.isMap = Map.class.isAssignableFrom(clazz);
             this.isPrimitive = clazz.isPrimitive();
+            this.customToString = overridesToString(clazz);
             this.simpleName = clazz.getSimpleName();
             this.packageName = clazz.getPackage() != null ?
                     clazz.getPackage().getName() : "";
@@ -118,33 +147,90 @@ public class ReflectionCache {
         public boolean isCollection() { return isCollection; }
         public boolean isMap() { return isMap; }
         public boolean isPrimitive() { return isPrimitive; }
+        public boolean hasCustomToString() { return customToString; }
         public String getSimpleName() { return simpleName; }
         public String getPackageName() { return packageName; }
+
+        /**
+         * Fields declared by the class itself, in declaration order.
+         */
+        public List<Field> getDeclaredFields() {
+            List<Field> result = declaredFields;
+            if (result == null) {
+                fieldMisses.increment();
+                result = List.of(clazz.getDeclaredFields());
+                declaredFields = result;
+            }
+            return result;
+        }
+
+        /**
+         * Fields of the class and its superclasses, subclass first.
+         */
+        public List<Field> getFields() {
+            List<Field> result = fields;
+            if (result == null) {
+                List<Field> all = new ArrayList<>();
+                for (Class<?> current = clazz; current != null && current != Object.class;
+                     current = current.getSuperclass()) {
+                    all.addAll(current == clazz ? getDeclaredFields() : ReflectionCache.getDeclaredFields(current));
+                }
+                result = Collections.unmodifiableList(all);
+                fields = result;
+            }
+            return result;
+        }
+
+        private static boolean overridesToString(Class<?> clazz) {
+            if (clazz.isPrimitive() || clazz.isInterface()) {
+                return false;
+            }
+            try {
+                return clazz.getMethod("toString").getDeclaringClass() != Object.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
     }
 
     /**
      * Cache statistics.
      */
     public static class CacheStats {
-        private final int classCount;
-        private final int fieldCount;
+        private final long classCount;
+        private final long fieldCount;
+        private final long hits;
+        private final long misses;
         private final boolean enabled;
 
-        CacheStats(int classCount, int fieldCount, boolean enabled) {
+        CacheStats(long classCount, long fieldCount, long hits, long misses, boolean enabled) {
             this.classCount = classCount;
             this.fieldCount = fieldCount;
+            this.hits = hits;
+            this.misses = misses;
             this.enabled = enabled;
         }
 
-        public int getClassCount() { return classCount; }
-        public int getFieldCount() { return fieldCount; }
+        /** Classes whose metadata was computed since the last clear. */
+        public long getClassCount() { return classCount; }
+        /** Classes whose field list was read since the last clear. */
+        public long getFieldCount() { return fieldCount; }
+        /** Lookups answered from the cache. */
+        public long getHits() { return hits; }
+        /** Lookups that had to reflect on the class. */
+        public long getMisses() { return misses; }
         public boolean isEnabled() { return enabled; }
 
+        /** Share of lookups answered from the cache, or 0 without lookups. */
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
         @Override
         public String toString() {
-            return String.format("CacheStats{classes=%d, fields=%d, enabled=%s}",
-                    classCount, fieldCount, enabled);
+            return String.format("CacheStats{classes=%d, fields=%d, hits=%d, misses=%d, enabled=%s}",
+                    classCount, fieldCount, hits, misses, enabled);
         }
     }
 }
-
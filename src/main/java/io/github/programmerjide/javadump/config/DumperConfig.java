@@ -1,5 +1,6 @@
 package io.github.programmerjide.javadump.config;
 
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -27,6 +28,18 @@ public class DumperConfig {
     private final FieldMatchMode fieldMatchMode;
     private final FieldMatchMode redactMatchMode;
     private final boolean redactSensitive;
+    private final FieldAccessMode fieldAccessMode;
+    private final int extractorThreshold;
+    private final boolean useGeneratedDumpers;
+    private final TraversalMode traversalMode;
+    private final boolean captureCallSite;
+    private final int asyncCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final Path fileOutputDirectory;
+    private final long segmentSize;
+    private final int maxSegments;
+    private final FsyncPolicy fsyncPolicy;
+    private final int diffCostLimit;
 
     /**
      * Field matching modes for filtering and redaction.
@@ -44,6 +57,52 @@ public class DumperConfig {
         ENDS_WITH
     }
 
+    /**
+     * Backends used by the analyzer to read field values.
+     */
+    public enum FieldAccessMode {
+        /** java.lang.reflect.Field reads (boxes primitives) */
+        REFLECTION,
+        /** VarHandle-backed method handles, falling back to reflection (default) */
+        VAR_HANDLE
+    }
+
+    /**
+     * Traversal engines used by the analyzer.
+     */
+    public enum TraversalMode {
+        /** Explicit work stack; depth is bounded by heap, not thread stack (default) */
+        ITERATIVE,
+        /** One nested call per level */
+        RECURSIVE
+    }
+
+    /**
+     * What an asynchronous dumper does when its queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Discard the oldest queued dump to make room */
+        DROP_OLDEST,
+        /** Discard the new dump (default) */
+        DROP_NEWEST,
+        /** Wait on the calling thread until there is room */
+        BLOCK
+    }
+
+    /**
+     * When a file dumper forces written data to the storage device.
+     * Data in a memory-mapped file survives a crash of the JVM either way;
+     * forcing protects it against a crash of the machine.
+     */
+    public enum FsyncPolicy {
+        /** Leave it to the operating system (default) */
+        NONE,
+        /** Force each segment when it is completed, and on close */
+        ON_ROLL,
+        /** Force after every dump */
+        EVERY_DUMP
+    }
+
     /**
      * Default sensitive field patterns.
      */
@@ -79,6 +138,18 @@ public class DumperConfig {
         this.fieldMatchMode = builder.fieldMatchMode;
         this.redactMatchMode = builder.redactMatchMode;
         this.redactSensitive = builder.redactSensitive;
+        this.fieldAccessMode = builder.fieldAccessMode;
+        this.extractorThreshold = builder.extractorThreshold;
+        this.useGeneratedDumpers = builder.useGeneratedDumpers;
+        this.traversalMode = builder.traversalMode;
+        this.captureCallSite = builder.captureCallSite;
+        this.asyncCapacity = builder.asyncCapacity;
+        this.overflowPolicy = builder.overflowPolicy;
+        this.fileOutputDirectory = builder.fileOutputDirectory;
+        this.segmentSize = builder.segmentSize;
+        this.maxSegments = builder.maxSegments;
+        this.fsyncPolicy = builder.fsyncPolicy;
+        this.diffCostLimit = builder.diffCostLimit;
     }
 
     // Legacy constructor for backward compatibility
@@ -103,6 +174,18 @@ public class DumperConfig {
         this.fieldMatchMode = FieldMatchMode.EXACT;
         this.redactMatchMode = FieldMatchMode.EXACT;
         this.redactSensitive = false;
+        this.fieldAccessMode = FieldAccessMode.VAR_HANDLE;
+        this.extractorThreshold = 0;
+        this.useGeneratedDumpers = true;
+        this.traversalMode = TraversalMode.ITERATIVE;
+        this.captureCallSite = true;
+        this.asyncCapacity = 0;
+        this.overflowPolicy = OverflowPolicy.DROP_NEWEST;
+        this.fileOutputDirectory = null;
+        this.segmentSize = 64L << 20;
+        this.maxSegments = 0;
+        this.fsyncPolicy = FsyncPolicy.NONE;
+        this.diffCostLimit = 1000;
     }
 
     public static Builder builder() {
@@ -125,6 +208,18 @@ public class DumperConfig {
     public FieldMatchMode getFieldMatchMode() { return fieldMatchMode; }
     public FieldMatchMode getRedactMatchMode() { return redactMatchMode; }
     public boolean isRedactSensitive() { return redactSensitive; }
+    public FieldAccessMode getFieldAccessMode() { return fieldAccessMode; }
+    public int getExtractorThreshold() { return extractorThreshold; }
+    public boolean isUseGeneratedDumpers() { return useGeneratedDumpers; }
+    public TraversalMode getTraversalMode() { return traversalMode; }
+    public boolean isCaptureCallSite() { return captureCallSite; }
+    public int getAsyncCapacity() { return asyncCapacity; }
+    public OverflowPolicy getOverflowPolicy() { return overflowPolicy; }
+    public Path getFileOutputDirectory() { return fileOutputDirectory; }
+    public long getSegmentSize() { return segmentSize; }
+    public int getMaxSegments() { return maxSegments; }
+    public FsyncPolicy getFsyncPolicy() { return fsyncPolicy; }
+    public int getDiffCostLimit() { return diffCostLimit; }
 
     /**
      * Checks if a field should be included based on filtering rules.
@@ -215,6 +310,18 @@ public class DumperConfig {
         private FieldMatchMode fieldMatchMode = FieldMatchMode.EXACT;
         private FieldMatchMode redactMatchMode = FieldMatchMode.EXACT;
         private boolean redactSensitive = false;
+        private FieldAccessMode fieldAccessMode = FieldAccessMode.VAR_HANDLE;
+        private int extractorThreshold = 0;
+        private boolean useGeneratedDumpers = true;
+        private TraversalMode traversalMode = TraversalMode.ITERATIVE;
+        private boolean captureCallSite = true;
+        private int asyncCapacity = 0;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+        private Path fileOutputDirectory = null;
+        private long segmentSize = 64L << 20;
+        private int maxSegments = 0;
+        private FsyncPolicy fsyncPolicy = FsyncPolicy.NONE;
+        private int diffCostLimit = 1000;
 
         public Builder maxDepth(int maxDepth) {
             this.maxDepth = maxDepth;
@@ -294,6 +401,66 @@ public class DumperConfig {
             return this;
         }
 
+        public Builder fieldAccessMode(FieldAccessMode fieldAccessMode) {
+            this.fieldAccessMode = fieldAccessMode;
+            return this;
+        }
+
+        public Builder extractorThreshold(int extractorThreshold) {
+            this.extractorThreshold = extractorThreshold;
+            return this;
+        }
+
+        public Builder useGeneratedDumpers(boolean useGeneratedDumpers) {
+            this.useGeneratedDumpers = useGeneratedDumpers;
+            return this;
+        }
+
+        public Builder traversalMode(TraversalMode traversalMode) {
+            this.traversalMode = traversalMode;
+            return this;
+        }
+
+        public Builder captureCallSite(boolean captureCallSite) {
+            this.captureCallSite = captureCallSite;
+            return this;
+        }
+
+        public Builder asyncCapacity(int asyncCapacity) {
+            this.asyncCapacity = asyncCapacity;
+            return this;
+        }
+
+        public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        public Builder fileOutputDirectory(Path fileOutputDirectory) {
+            this.fileOutputDirectory = fileOutputDirectory;
+            return this;
+        }
+
+        public Builder segmentSize(long segmentSize) {
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        public Builder maxSegments(int maxSegments) {
+            this.maxSegments = maxSegments;
+            return this;
+        }
+
+        public Builder fsyncPolicy(FsyncPolicy fsyncPolicy) {
+            this.fsyncPolicy = fsyncPolicy;
+            return this;
+        }
+
+        public Builder diffCostLimit(int diffCostLimit) {
+            this.diffCostLimit = diffCostLimit;
+            return this;
+        }
+
         public DumperConfig build() {
             return new DumperConfig(this);
         }
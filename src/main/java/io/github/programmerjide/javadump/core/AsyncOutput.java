@@ -0,0 +1,293 @@
+package io.github.programmerjide.javadump.core;
+
+import io.github.programmerjide.javadump.config.DumperConfig.OverflowPolicy;
+import io.github.programmerjide.javadump.formatter.OutputSink;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Writes dumps to their target on a single background thread.
+ *
+ * <p>Callers hand over a write, usually one that renders data captured on
+ * the calling thread, through a bounded lock-free ring buffer. A daemon
+ * writer thread takes writes in order, applies them to one {@link OutputSink}
+ * and flushes it whenever the queue runs empty. When the ring is full the
+ * {@link OverflowPolicy} decides whether the oldest or the new write is
+ * dropped, or whether the caller waits. The writer holds the target's
+ * monitor while writing and flushing, so other writers to the same target
+ * can keep out of its way by synchronizing on it.
+ *
+ * <p>Pending writes are flushed when the JVM shuts down, or earlier via
+ * {@link #flush()} and {@link #close()}; a {@link Dumper} closes its async
+ * output in {@link Dumper#close()}. After closing, writes are applied on
+ * the calling thread.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+public final class AsyncOutput implements AutoCloseable {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SHUTDOWN_WAIT_MILLIS = 5_000;
+
+    private final Ring ring;
+    private final OverflowPolicy policy;
+    private final OutputSink sink;
+    private final Object lock;
+    private final Thread writer;
+    private final Thread shutdownHook;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile long written;
+    private volatile long flushed;
+    private volatile boolean idle;
+    private volatile boolean closed;
+
+    /**
+     * Starts a writer thread for the given target.
+     *
+     * @param target where dumps are written
+     * @param capacity queued writes, rounded up to a power of two (at least 2)
+     * @param policy what to do when the queue is full
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public AsyncOutput(Appendable target, int capacity, OverflowPolicy policy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.ring = new Ring(capacity);
+        this.policy = policy;
+        this.sink = new OutputSink(target);
+        this.lock = target;
+
+        this.writer = new Thread(this::drainLoop, "javadump-async-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+
+        this.shutdownHook = new Thread(this::shutdown, "javadump-async-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Queues a write, applying the overflow policy if the queue is full.
+     *
+     * @return false if the write was dropped
+     */
+    public boolean submit(Consumer<OutputSink> write) {
+        if (closed) {
+            writeHere(write);
+            return true;
+        }
+
+        if (!ring.offer(write)) {
+            switch (policy) {
+                case DROP_NEWEST:
+                    rejected.incrementAndGet();
+                    return false;
+                case DROP_OLDEST:
+                    while (!ring.offer(write)) {
+                        if (ring.poll() != null) {
+                            evicted.incrementAndGet();
+                        }
+                    }
+                    break;
+                case BLOCK:
+                    while (!ring.offer(write)) {
+                        if (closed) {
+                            writeHere(write);
+                            return true;
+                        }
+                        LockSupport.unpark(writer);
+                        LockSupport.parkNanos(10_000);
+                    }
+                    break;
+            }
+        }
+
+        accepted.incrementAndGet();
+        if (closed) {
+            // The writer may have stopped before this write was queued
+            drainHere();
+        } else if (idle) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    /**
+     * Waits until every write queued before this call has been written and
+     * the target flushed.
+     */
+    public void flush() {
+        long target = accepted.get();
+        while (flushed + evicted.get() < target && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    /**
+     * Writes everything still queued, stops the writer thread and switches
+     * to writing on the calling thread.
+     */
+    @Override
+    public void close() {
+        shutdown();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already shutting down; the hook is running or has run
+        }
+    }
+
+    /** Number of dumps dropped because the queue was full. */
+    public long getDroppedCount() {
+        return evicted.get() + rejected.get();
+    }
+
+    /** Number of dumps written so far. */
+    public long getWrittenCount() {
+        return written;
+    }
+
+    /** Number of dumps currently queued. */
+    public int getQueuedCount() {
+        return ring.size();
+    }
+
+    private void shutdown() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(SHUTDOWN_WAIT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        while (true) {
+            Consumer<OutputSink> write = ring.poll();
+            if (write != null) {
+                apply(write);
+                continue;
+            }
+
+            synchronized (lock) {
+                sink.flush();
+                flushed = written;
+            }
+            if (closed) {
+                // Writes queued concurrently with closing are still taken
+                if (ring.size() == 0) {
+                    return;
+                }
+                continue;
+            }
+
+            idle = true;
+            if (ring.size() == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            idle = false;
+        }
+    }
+
+    private void apply(Consumer<OutputSink> write) {
+        synchronized (lock) {
+            try {
+                write.accept(sink);
+            } catch (RuntimeException e) {
+                // Like PrintStream, never let output errors escape to the application
+            }
+            written++;
+        }
+    }
+
+    private void writeHere(Consumer<OutputSink> write) {
+        apply(write);
+        synchronized (lock) {
+            sink.flush();
+            flushed = written;
+        }
+    }
+
+    private void drainHere() {
+        for (Consumer<OutputSink> write = ring.poll(); write != null; write = ring.poll()) {
+            writeHere(write);
+        }
+    }
+
+    /**
+     * Bounded lock-free queue (Vyukov): each slot carries a sequence number
+     * that tells producers and consumers whose turn it is. Producers claim
+     * a slot with one CAS on the tail. Besides the writer thread, producers
+     * may also poll, to evict the oldest entry under DROP_OLDEST.
+     */
+    private static final class Ring {
+        private final int mask;
+        private final AtomicReferenceArray<Consumer<OutputSink>> slots;
+        private final AtomicLongArray sequences;
+        private final AtomicLong head = new AtomicLong();
+        private final AtomicLong tail = new AtomicLong();
+
+        Ring(int capacity) {
+            int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+            this.mask = size - 1;
+            this.slots = new AtomicReferenceArray<>(size);
+            this.sequences = new AtomicLongArray(size);
+            for (int i = 0; i < size; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        boolean offer(Consumer<OutputSink> value) {
+            while (true) {
+                long position = tail.get();
+                int index = (int) position & mask;
+                long diff = sequences.get(index) - position;
+                if (diff == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        slots.lazySet(index, value);
+                        sequences.set(index, position + 1);
+                        return true;
+                    }
+                } else if (diff < 0) {
+                    return false;
+                }
+            }
+        }
+
+        Consumer<OutputSink> poll() {
+            while (true) {
+                long position = head.get();
+                int index = (int) position & mask;
+                long diff = sequences.get(index) - (position + 1);
+                if (diff == 0) {
+                    if (head.compareAndSet(position, position + 1)) {
+                        Consumer<OutputSink> value = slots.get(index);
+                        slots.lazySet(index, null);
+                        sequences.set(index, position + mask + 1);
+                        return value;
+                    }
+                } else if (diff < 0) {
+                    return null;
+                }
+            }
+        }
+
+        int size() {
+            return (int) Math.max(0, tail.get() - head.get());
+        }
+    }
+}
@@ -34,9 +34,7 @@ public final class DumpExtended {
      * Dumps as YAML.
      */
     public static String dumpYAML(Object... values) {
-        YamlFormatter formatter = new YamlFormatter(DEFAULT_DUMPER.getConfig());
-        // Implementation would analyze and format
-        return Dump.dumpStr(values);
+        return DEFAULT_DUMPER.dumpYAMLStr(values);
     }
 
     // ==================== Interactive HTML ====================
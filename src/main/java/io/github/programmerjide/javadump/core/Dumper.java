@@ -2,12 +2,21 @@ package io.github.programmerjide.javadump.core;
 
 import io.github.programmerjide.javadump.analyzer.DiffAnalyzer;
 import io.github.programmerjide.javadump.analyzer.ObjectAnalyzer;
+import io.github.programmerjide.javadump.binary.BinaryDumpReader;
+import io.github.programmerjide.javadump.binary.BinaryDumpWriter;
+import io.github.programmerjide.javadump.binary.DumpRenderer;
 import io.github.programmerjide.javadump.config.DumperConfig;
 import io.github.programmerjide.javadump.formatter.*;
 import io.github.programmerjide.javadump.model.DumpNode;
+import io.github.programmerjide.javadump.model.DumpSnapshot;
+import io.github.programmerjide.javadump.model.DumpVisitor;
 import io.github.programmerjide.javadump.util.StackTraceUtil;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,19 +32,32 @@ import java.util.List;
  *   <li>Provides diff functionality</li>
  * </ul>
  *
+ * <p>A dumper with {@link DumperBuilder#withAsyncOutput async} or
+ * {@link DumperBuilder#withFileOutput file} output holds a writer thread or
+ * an open segment file. {@link #close()} writes out pending dumps and
+ * releases them; otherwise they are released when the JVM shuts down.
+ *
  * @author Olaldejo Olajide
  * @since 1.0.0
  */
-public class Dumper {
+public class Dumper implements AutoCloseable {
+
+    private static final String FILE_BASE_NAME = "javadump";
 
     private final DumperConfig config;
     private final ObjectAnalyzer analyzer;
     private final ConsoleFormatter consoleFormatter;
     private final JsonFormatter jsonFormatter;
+    private final YamlFormatter yamlFormatter;
     private final HtmlFormatter htmlFormatter;
     private final DiffAnalyzer diffAnalyzer;
     private final DiffFormatter diffFormatter;
     private final PrintStream outputStream;
+    private final MappedFileOutput fileOutput;
+    private final AsyncOutput asyncOutput;
+    private final OutputStream asyncTarget;
+    private final Thread shutdownHook;
+    private volatile boolean closed;
 
     /**
      * Creates a new Dumper with the specified configuration.
@@ -57,10 +79,25 @@ public class Dumper {
         this.analyzer = new ObjectAnalyzer(config);
         this.consoleFormatter = new ConsoleFormatter(config);
         this.jsonFormatter = new JsonFormatter(config);
+        this.yamlFormatter = new YamlFormatter(config);
         this.htmlFormatter = new HtmlFormatter(config);
         this.diffAnalyzer = new DiffAnalyzer(config);
         this.diffFormatter = new DiffFormatter(config);
         this.outputStream = outputStream;
+        this.fileOutput = config.getFileOutputDirectory() != null
+                ? new MappedFileOutput(config.getFileOutputDirectory(), FILE_BASE_NAME,
+                        config.getSegmentSize(), config.getMaxSegments(), config.getFsyncPolicy())
+                : null;
+        this.asyncTarget = fileOutput != null ? fileOutput : outputStream;
+        this.asyncOutput = config.getAsyncCapacity() > 0
+                ? new AsyncOutput((Appendable) asyncTarget, config.getAsyncCapacity(), config.getOverflowPolicy())
+                : null;
+        this.shutdownHook = fileOutput != null
+                ? new Thread(this::closeOutputs, "javadump-file-shutdown")
+                : null;
+        if (shutdownHook != null) {
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
     }
 
     /**
@@ -76,10 +113,121 @@ public class Dumper {
 
     /**
      * Dumps the given values to the configured output stream with colorized output.
+     *
+     * <p>With {@link DumperBuilder#withAsyncOutput async output}, each value
+     * is captured as a {@link DumpSnapshot} on the calling thread, then
+     * formatted and printed later on the writer thread.
+     *
+     * <p>With {@link DumperBuilder#withFileOutput file output}, dumps go to
+     * the current segment file instead of the output stream.
+     *
+     * <p>Once the dumper is {@link #close() closed}, dumps are written to
+     * the output stream on the calling thread.
      */
     public void dump(Object... values) {
-        String output = dumpStr(values);
-        outputStream.println(output);
+        write(null, values);
+    }
+
+    /**
+     * Dumps a value after a header line, through the same output as
+     * {@link #dump}. The header and the dump are written as one, so they
+     * are never separated by dumps from other threads.
+     *
+     * @param header the line written before the dump
+     * @param value the value to dump
+     */
+    public void dumpWithHeader(String header, Object value) {
+        write(header, new Object[] {value});
+    }
+
+    private void write(String header, Object[] values) {
+        if (asyncOutput == null || closed) {
+            if (fileOutput != null) {
+                synchronized (fileOutput) {
+                    if (!closed) {
+                        writeLine(fileOutput, header, values);
+                        return;
+                    }
+                }
+            }
+            // PrintStream locks each chunk it is handed; nothing else to guard
+            writeLine(outputStream, header, values);
+            return;
+        }
+
+        if (values == null || values.length == 0) {
+            String empty = formatEmpty();
+            asyncOutput.submit(out -> out.append(empty).append(System.lineSeparator()));
+            return;
+        }
+
+        DumpSnapshot[] snapshots = new DumpSnapshot[values.length];
+        for (int i = 0; i < values.length; i++) {
+            snapshots[i] = analyzer.capture(values[i]);
+        }
+        StackTraceUtil.CallSite callSite = consoleFormatter.showsHeader() ? callSite() : null;
+        asyncOutput.submit(out -> {
+            if (header != null) {
+                out.append(header).append(System.lineSeparator());
+            }
+            consoleFormatter.formatHeader(callSite, out);
+            DumpVisitor visitor = consoleFormatter.getValueFormatter().visitor(out);
+            for (int i = 0; i < snapshots.length; i++) {
+                if (i > 0) {
+                    out.append('\n');
+                }
+                snapshots[i].accept(visitor);
+            }
+            out.append(System.lineSeparator());
+        });
+    }
+
+    /**
+     * Returns the background writer used by {@link #dump}, for flushing it
+     * and reading its counters, or null if dumps are written synchronously.
+     */
+    public AsyncOutput getAsyncOutput() {
+        return asyncOutput;
+    }
+
+    /**
+     * Returns the segment files written by {@link #dump}, {@link #dumpJSON}
+     * and {@link #dumpYAML}, or null if they write to the output stream.
+     */
+    public MappedFileOutput getFileOutput() {
+        return fileOutput;
+    }
+
+    /**
+     * Writes out queued dumps, stops the async writer thread and closes the
+     * segment file. Later dumps are written to the output stream on the
+     * calling thread. Does nothing for a dumper with neither async nor file
+     * output, or if already closed.
+     */
+    @Override
+    public void close() {
+        if (shutdownHook != null) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // Already shutting down; the hook is running or has run
+            }
+        }
+        closeOutputs();
+    }
+
+    /**
+     * Dumps the given values to any {@link Appendable}, followed by a line separator.
+     *
+     * <p>Values are walked and written in a single pass through a bounded
+     * {@link OutputSink}: neither a node tree nor the full dump is held in
+     * memory.
+     *
+     * @param out where the dump is written
+     * @param values the values to dump
+     */
+    public void dumpTo(Appendable out, Object... values) {
+        writeLine(out, null, values);
     }
 
     /**
@@ -94,48 +242,139 @@ public class Dumper {
      * Returns a string representation of the dumped values.
      */
     public String dumpStr(Object... values) {
-        if (values == null || values.length == 0) {
-            return formatEmpty();
-        }
-
-        StackTraceUtil.CallSite callSite = StackTraceUtil.findCallSite();
-        List<DumpNode> nodes = analyzeValues(values);
-        return consoleFormatter.format(nodes, callSite);
+        StringBuilder sb = new StringBuilder();
+        writeConsole(new OutputSink(sb), values);
+        return sb.toString();
     }
 
     // ==================== JSON Output ====================
 
     /**
      * Dumps the given values as pretty-printed JSON to the output stream.
+     *
+     * <p>Like {@link #dump}, with async output the values are captured on the
+     * calling thread and written by the writer thread, in order with other
+     * dumps; with file output they go to the current segment.
      */
     public void dumpJSON(Object... values) {
-        String json = dumpJSONStr(values);
-        outputStream.println(json);
+        writeJsonLine(null, values);
+    }
+
+    /**
+     * Dumps a value as JSON after a header line, through the same output as
+     * {@link #dumpJSON}. The header and the dump are written as one.
+     *
+     * @param header the line written before the dump
+     * @param value the value to dump
+     */
+    public void dumpJSONWithHeader(String header, Object value) {
+        writeJsonLine(header, new Object[] {value});
+    }
+
+    private void writeJsonLine(String header, Object[] values) {
+        if (asyncOutput != null && !closed) {
+            int count = count(values);
+            ValueSource captured = capture(values);
+            asyncOutput.submit(out -> {
+                // Bytes go straight to the target, after the chars buffered so far
+                out.flush();
+                dumpJSONTo(new JsonWriter(asyncTarget), header, count, captured);
+            });
+            return;
+        }
+        if (fileOutput != null) {
+            synchronized (fileOutput) {
+                if (!closed) {
+                    dumpJSONTo(new JsonWriter(fileOutput), header, count(values), walk(values));
+                    return;
+                }
+            }
+        }
+        dumpJSONTo(new JsonWriter(outputStream), header, count(values), walk(values));
+    }
+
+    /**
+     * Writes the given values as UTF-8 JSON to a stream, followed by a line separator.
+     *
+     * <p>Values are walked straight into a byte buffer that is drained to
+     * the stream as it fills; no tree or string is built for the output.
+     */
+    public void dumpJSONTo(OutputStream out, Object... values) {
+        dumpJSONTo(new JsonWriter(out), null, count(values), walk(values));
+    }
+
+    /**
+     * Writes the given values as UTF-8 JSON to a channel, followed by a line separator.
+     */
+    public void dumpJSONTo(WritableByteChannel out, Object... values) {
+        dumpJSONTo(new JsonWriter(out), null, count(values), walk(values));
     }
 
     /**
      * Returns a JSON string representation of the dumped values.
      */
     public String dumpJSONStr(Object... values) {
-        if (values == null || values.length == 0) {
-            return "null";
-        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonWriter out = new JsonWriter(bytes);
+        writeJson(out, count(values), walk(values));
+        out.flush();
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
 
-        List<DumpNode> nodes = analyzeValues(values);
+    // ==================== Binary Output ====================
 
-        if (nodes.size() == 1) {
-            return jsonFormatter.format(nodes.get(0));
+    /**
+     * Writes the given values to a stream in the compact {@code .jdump}
+     * binary format, one value after another.
+     *
+     * <p>Values are walked straight into the encoder; nothing is formatted.
+     * Render the file later with {@link DumpRenderer} or read it with
+     * {@link BinaryDumpReader}. Each call writes a file header, so the
+     * output of several calls may be appended to one file.
+     */
+    public void dumpBinaryTo(OutputStream out, Object... values) {
+        BinaryDumpWriter writer = new BinaryDumpWriter(out);
+        if (values != null) {
+            for (Object value : values) {
+                analyzer.walk(value, writer);
+            }
         }
+        writer.flush();
+    }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append("[\n");
-        for (int i = 0; i < nodes.size(); i++) {
-            if (i > 0) {
-                sb.append(",\n");
+    // ==================== YAML Output ====================
+
+    /**
+     * Dumps the given values as YAML to the output stream, through the same
+     * output as {@link #dumpJSON}.
+     */
+    public void dumpYAML(Object... values) {
+        if (asyncOutput != null && !closed) {
+            int count = count(values);
+            ValueSource captured = capture(values);
+            asyncOutput.submit(out -> {
+                writeYaml(out, count, captured);
+                out.append(System.lineSeparator());
+            });
+            return;
+        }
+        if (fileOutput != null) {
+            synchronized (fileOutput) {
+                if (!closed) {
+                    writeYamlLine(new OutputSink(fileOutput), values);
+                    return;
+                }
             }
-            sb.append("  ").append(jsonFormatter.format(nodes.get(i)));
         }
-        sb.append("\n]");
+        writeYamlLine(new OutputSink(outputStream), values);
+    }
+
+    /**
+     * Returns a YAML representation of the dumped values, one document per value.
+     */
+    public String dumpYAMLStr(Object... values) {
+        StringBuilder sb = new StringBuilder();
+        writeYaml(new OutputSink(sb), count(values), walk(values));
         return sb.toString();
     }
 
@@ -149,28 +388,7 @@ public class Dumper {
             return htmlFormatter.format(null);
         }
 
-        List<DumpNode> nodes = analyzeValues(values);
-
-        if (nodes.size() == 1) {
-            return htmlFormatter.format(nodes.get(0));
-        }
-
-        StringBuilder sb = new StringBuilder();
-        sb.append("<!DOCTYPE html>\n<html>\n<head>\n");
-        sb.append("<meta charset=\"UTF-8\">\n");
-        sb.append("<title>JavaDump Output</title>\n");
-        sb.append("<style>\n").append(getHtmlCSS()).append("</style>\n");
-        sb.append("</head>\n<body>\n");
-
-        for (int i = 0; i < nodes.size(); i++) {
-            if (i > 0) {
-                sb.append("<hr class=\"dump-separator\">\n");
-            }
-            sb.append(htmlFormatter.formatFragment(nodes.get(i)));
-        }
-
-        sb.append("</body>\n</html>");
-        return sb.toString();
+        return htmlFormatter.formatPage(analyzeValues(values));
     }
 
     // ==================== Diff Output ====================
@@ -187,7 +405,7 @@ public class Dumper {
      * Compares two objects and returns the differences as a string.
      */
     public String diffStr(Object before, Object after) {
-        StackTraceUtil.CallSite callSite = StackTraceUtil.findCallSite();
+        StackTraceUtil.CallSite callSite = callSite();
         DiffAnalyzer.DiffResult result = diffAnalyzer.analyze(before, after);
         return diffFormatter.format(result, callSite);
     }
@@ -196,13 +414,157 @@ public class Dumper {
      * Compares two objects and returns the differences as HTML.
      */
     public String diffHTML(Object before, Object after) {
-        StackTraceUtil.CallSite callSite = StackTraceUtil.findCallSite();
+        StackTraceUtil.CallSite callSite = callSite();
         DiffAnalyzer.DiffResult result = diffAnalyzer.analyze(before, after);
         return diffFormatter.formatHTML(result, callSite);
     }
 
     // ==================== Helper Methods ====================
 
+    /**
+     * Walks each value straight into the console formatter; no node tree is built.
+     */
+    private void writeConsole(OutputSink sink, Object... values) {
+        if (values == null || values.length == 0) {
+            sink.append(formatEmpty());
+            return;
+        }
+
+        DumpVisitor visitor = consoleFormatter.getValueFormatter().visitor(sink);
+
+        if (consoleFormatter.showsHeader()) {
+            consoleFormatter.formatHeader(callSite(), sink);
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sink.append('\n');
+            }
+            analyzer.walk(values[i], visitor);
+        }
+    }
+
+    /**
+     * Writes a console dump, after the header if there is one, and a line
+     * separator.
+     */
+    private void writeLine(Appendable out, String header, Object[] values) {
+        OutputSink sink = new OutputSink(out);
+        if (header != null) {
+            sink.append(header).append(System.lineSeparator());
+        }
+        writeConsole(sink, values);
+        sink.append(System.lineSeparator());
+        sink.flush();
+    }
+
+    private void writeYamlLine(OutputSink sink, Object... values) {
+        writeYaml(sink, count(values), walk(values));
+        sink.append(System.lineSeparator());
+        sink.flush();
+    }
+
+    /**
+     * Writes out queued dumps, then trims and closes the current segment,
+     * so the last segment holds no zero-filled tail.
+     */
+    private void closeOutputs() {
+        if (asyncOutput != null) {
+            asyncOutput.close();
+            asyncOutput.flush();
+        }
+        if (fileOutput != null) {
+            synchronized (fileOutput) {
+                closed = true;
+                fileOutput.close();
+            }
+        }
+        closed = true;
+    }
+
+    private void dumpJSONTo(JsonWriter out, String header, int count, ValueSource values) {
+        if (header != null) {
+            out.writeRaw(header).writeRaw(System.lineSeparator());
+        }
+        writeJson(out, count, values);
+        out.writeRaw(System.lineSeparator());
+        out.flush();
+    }
+
+    private void writeJson(JsonWriter out, int count, ValueSource values) {
+        if (count == 0) {
+            out.writeRaw("null");
+            return;
+        }
+
+        DumpVisitor visitor = jsonFormatter.visitor(out);
+        if (count == 1) {
+            values.accept(0, visitor);
+            return;
+        }
+
+        out.write('[').write('\n');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                out.write(',').write('\n');
+            }
+            out.writeIndent(1);
+            values.accept(i, visitor);
+        }
+        out.write('\n').write(']');
+    }
+
+    private void writeYaml(OutputSink sink, int count, ValueSource values) {
+        if (count == 0) {
+            sink.append("null");
+            return;
+        }
+
+        DumpVisitor visitor = yamlFormatter.visitor(sink);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sink.append("\n---\n");
+            }
+            values.accept(i, visitor);
+        }
+    }
+
+    /**
+     * The values of one dump, replayed into a formatter one at a time.
+     */
+    private interface ValueSource {
+        void accept(int index, DumpVisitor visitor);
+    }
+
+    private static int count(Object[] values) {
+        return values == null ? 0 : values.length;
+    }
+
+    /**
+     * Walks the live values while formatting.
+     */
+    private ValueSource walk(Object[] values) {
+        return (index, visitor) -> analyzer.walk(values[index], visitor);
+    }
+
+    /**
+     * Captures the values on the calling thread, so that user code such as
+     * {@code toString()} runs here and not on the async writer thread.
+     */
+    private ValueSource capture(Object[] values) {
+        DumpSnapshot[] snapshots = new DumpSnapshot[count(values)];
+        for (int i = 0; i < snapshots.length; i++) {
+            snapshots[i] = analyzer.capture(values[i]);
+        }
+        return (index, visitor) -> snapshots[index].accept(visitor);
+    }
+
+    /**
+     * Finds the caller of the public method, unless call site capture is off.
+     */
+    private StackTraceUtil.CallSite callSite() {
+        return config.isCaptureCallSite() ? StackTraceUtil.findCallSite() : null;
+    }
+
     private List<DumpNode> analyzeValues(Object... values) {
         List<DumpNode> nodes = new ArrayList<>();
         for (Object value : values) {
@@ -212,10 +574,10 @@ public class Dumper {
     }
 
     private String formatEmpty() {
-        StackTraceUtil.CallSite callSite = StackTraceUtil.findCallSite();
+        StackTraceUtil.CallSite callSite = consoleFormatter.showsHeader() ? callSite() : null;
         StringBuilder sb = new StringBuilder();
 
-        if (callSite != null && config.isColorEnabled() && config.isShowHeader()) {
+        if (callSite != null) {
             sb.append("\n")
                     .append(consoleFormatter.formatCallSite(callSite))
                     .append("\n");
@@ -225,23 +587,6 @@ public class Dumper {
         return sb.toString();
     }
 
-    private String getHtmlCSS() {
-        return """
-            body {
-                background: #1e1e1e;
-                color: #d4d4d4;
-                font-family: 'Consolas', 'Monaco', monospace;
-                font-size: 14px;
-                padding: 20px;
-            }
-            .dump-separator {
-                border: none;
-                border-top: 1px solid #3c3c3c;
-                margin: 20px 0;
-            }
-            """;
-    }
-
     // ==================== Getters ====================
 
     public DumperConfig getConfig() {
@@ -3,6 +3,7 @@ package io.github.programmerjide.javadump.core;
 import io.github.programmerjide.javadump.config.DumperConfig;
 
 import java.io.PrintStream;
+import java.nio.file.Path;
 
 /**
  * Builder for creating configured Dumper instances with fluent API.
@@ -145,6 +146,21 @@ public class DumperBuilder {
         return this;
     }
 
+    /**
+     * Skips looking up where dump and diff methods were called from.
+     *
+     * <p>Finding the call site walks the caller's stack, which can cost more
+     * than dumping a small value. Without it, no file:line header is shown.
+     *
+     * <p>Default: the call site is captured
+     *
+     * @return this builder
+     */
+    public DumperBuilder withoutCallSite() {
+        configBuilder.captureCallSite(false);
+        return this;
+    }
+
     // ==================== Field Visibility ====================
 
     /**
@@ -362,6 +378,106 @@ public class DumperBuilder {
         return this;
     }
 
+    // ==================== Traversal ====================
+
+    /**
+     * Selects how nested structures are traversed.
+     *
+     * <p>Default: {@link DumperConfig.TraversalMode#ITERATIVE}, which keeps
+     * pending containers on an explicit stack so very deep structures (long
+     * linked lists, parser trees) can be dumped with a high
+     * {@link #withMaxDepth(int)} without a {@code StackOverflowError}.
+     *
+     * @param mode the traversal engine
+     * @return this builder
+     * @throws IllegalArgumentException if mode is null
+     */
+    public DumperBuilder withTraversal(DumperConfig.TraversalMode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("mode cannot be null");
+        }
+        configBuilder.traversalMode(mode);
+        return this;
+    }
+
+    // ==================== Field Access ====================
+
+    /**
+     * Selects how field values are read during analysis.
+     *
+     * <p>Default: {@link DumperConfig.FieldAccessMode#VAR_HANDLE}, which reads
+     * fields through cached VarHandles and falls back to reflection for classes
+     * that do not grant private access.
+     *
+     * @param mode the field access backend
+     * @return this builder
+     * @throws IllegalArgumentException if mode is null
+     */
+    public DumperBuilder withFieldAccess(DumperConfig.FieldAccessMode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("mode cannot be null");
+        }
+        configBuilder.fieldAccessMode(mode);
+        return this;
+    }
+
+    /**
+     * Generates direct field extractors for classes dumped often.
+     *
+     * <p>After a class has been analyzed {@code threshold} times its fields are
+     * read by a generated hidden class instead of per-field accessors. Classes
+     * that cannot host one (for example JDK types) keep the regular path.
+     * Default: disabled
+     *
+     * @param threshold analyses before an extractor is generated (must be positive)
+     * @return this builder
+     * @throws IllegalArgumentException if threshold is not positive
+     */
+    public DumperBuilder withGeneratedExtractors(int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("threshold must be positive");
+        }
+        configBuilder.extractorThreshold(threshold);
+        return this;
+    }
+
+    /**
+     * Ignores dumpers generated by the {@code javadump-processor} annotation
+     * processor and always analyzes fields reflectively.
+     *
+     * <p>Default: generated dumpers are used when present
+     *
+     * @return this builder
+     */
+    public DumperBuilder withoutGeneratedDumpers() {
+        configBuilder.useGeneratedDumpers(false);
+        return this;
+    }
+
+    // ==================== Diff ====================
+
+    /**
+     * Sets the most edits a list diff may find before giving up.
+     *
+     * <p>Arrays and collections are diffed as sequences, so an inserted or
+     * removed element shows as one insertion or removal and the elements
+     * after it are matched up again. The work grows with the number of
+     * edits; once two lists need more than {@code limit} edits they are
+     * compared position by position instead.
+     * Default: 1000
+     *
+     * @param limit the most insertions and removals to search for (must not be negative)
+     * @return this builder
+     * @throws IllegalArgumentException if limit is negative
+     */
+    public DumperBuilder withDiffCostLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        configBuilder.diffCostLimit(limit);
+        return this;
+    }
+
     // ==================== Output Stream ====================
 
     /**
@@ -395,6 +511,98 @@ public class DumperBuilder {
         return this;
     }
 
+    /**
+     * Writes {@code dump} output on a background thread.
+     *
+     * <p>The calling thread only captures the values and hands them to a
+     * bounded lock-free queue; formatting and printing happen on a single
+     * daemon writer thread, so a slow console or pipe does not stall the
+     * caller. Queued dumps are written when the JVM shuts down.
+     *
+     * <p>Default: dumps are written synchronously
+     *
+     * @param capacity the number of dumps that can be queued (rounded up to a power of two)
+     * @param overflowPolicy what to do when the queue is full
+     * @return this builder
+     * @throws IllegalArgumentException if capacity is not positive or overflowPolicy is null
+     * @see Dumper#getAsyncOutput()
+     */
+    public DumperBuilder withAsyncOutput(int capacity, DumperConfig.OverflowPolicy overflowPolicy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("overflowPolicy cannot be null");
+        }
+        configBuilder.asyncCapacity(capacity);
+        configBuilder.overflowPolicy(overflowPolicy);
+        return this;
+    }
+
+    /**
+     * Writes {@code dump}, {@code dumpJSON} and {@code dumpYAML} output to
+     * memory-mapped segment files in a directory instead of the output
+     * stream, with 64 MB segments, no retention limit and no forced syncs.
+     *
+     * @param directory where segment files are written; created if missing
+     * @return this builder
+     * @throws IllegalArgumentException if directory is null
+     * @see #withFileOutput(Path, long, int, DumperConfig.FsyncPolicy)
+     */
+    public DumperBuilder withFileOutput(Path directory) {
+        return withFileOutput(directory, 64L << 20, 0, DumperConfig.FsyncPolicy.NONE);
+    }
+
+    /**
+     * Writes {@code dump}, {@code dumpJSON} and {@code dumpYAML} output to
+     * memory-mapped segment files in a directory instead of the output
+     * stream.
+     *
+     * <p>Text is encoded straight into the mapped file, without
+     * {@link PrintStream} locking or a charset encoder. A new segment is
+     * started after the dump that reaches {@code segmentSize}; with
+     * {@code maxSegments} set, the oldest segments are deleted. Combine with
+     * {@link #withAsyncOutput} to move the writing off the calling thread.
+     *
+     * <p>Default: output goes to the output stream
+     *
+     * <p>Example:
+     * <pre>{@code
+     * Dumper dumper = Dumper.builder()
+     *     .withFileOutput(Path.of("dumps"), 16 << 20, 10, FsyncPolicy.ON_ROLL)
+     *     .build();
+     * }</pre>
+     *
+     * @param directory where segment files are written; created if missing
+     * @param segmentSize the size in bytes at which a new segment is started
+     * @param maxSegments how many segments to keep, or 0 to keep all
+     * @param fsyncPolicy when written data is forced to the storage device
+     * @return this builder
+     * @throws IllegalArgumentException if directory or fsyncPolicy is null,
+     *         segmentSize is not positive or maxSegments is negative
+     * @see Dumper#getFileOutput()
+     */
+    public DumperBuilder withFileOutput(Path directory, long segmentSize, int maxSegments,
+                                        DumperConfig.FsyncPolicy fsyncPolicy) {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory cannot be null");
+        }
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("segmentSize must be positive");
+        }
+        if (maxSegments < 0) {
+            throw new IllegalArgumentException("maxSegments cannot be negative");
+        }
+        if (fsyncPolicy == null) {
+            throw new IllegalArgumentException("fsyncPolicy cannot be null");
+        }
+        configBuilder.fileOutputDirectory(directory);
+        configBuilder.segmentSize(segmentSize);
+        configBuilder.maxSegments(maxSegments);
+        configBuilder.fsyncPolicy(fsyncPolicy);
+        return this;
+    }
+
     // ==================== Build ====================
 
     /**
@@ -0,0 +1,378 @@
+package io.github.programmerjide.javadump.core;
+
+import io.github.programmerjide.javadump.config.DumperConfig.FsyncPolicy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Appends dumps to memory-mapped segment files in a directory.
+ *
+ * <p>Bytes are copied straight into a mapped window of the current segment,
+ * and text is encoded as UTF-8 by hand and copied in bulk, so a dump costs
+ * no system call, no {@link java.io.PrintStream} locking and no charset
+ * encoder. The window
+ * moves on through the file as it fills. Once a dump completes
+ * ({@link #flush()}) and the segment has reached the segment size, the
+ * segment is trimmed to its length and a new one is started; dumps are
+ * never split across segments. With a retention limit, the oldest
+ * segments are deleted.
+ *
+ * <p>Segments are named {@code <baseName>-<number>.dump}; numbering
+ * continues after segments already in the directory. I/O errors are
+ * rethrown as {@link UncheckedIOException}. Not thread-safe: a
+ * {@link Dumper} holds the output's monitor for the whole of each dump.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+public final class MappedFileOutput extends OutputStream implements Appendable {
+
+    private static final int MIN_WINDOW = 4 << 10;
+    private static final int MAX_WINDOW = 8 << 20;
+
+    private final Path directory;
+    private final String baseName;
+    private final long segmentSize;
+    private final int maxSegments;
+    private final FsyncPolicy fsync;
+    private final int windowSize;
+    private final Deque<Path> segments = new ArrayDeque<>();
+    private final byte[] scratch = new byte[8192];
+
+    private int segmentNumber;
+    private FileChannel channel;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private boolean closed;
+    /** A high surrogate ending the last append, or 0. */
+    private char pendingHigh;
+
+    /**
+     * Opens the directory, creating it if needed, and starts a new segment.
+     *
+     * @param directory where segments are written
+     * @param baseName the segment file name prefix
+     * @param segmentSize the size at which a new segment is started
+     * @param maxSegments how many segments to keep, or 0 to keep all
+     * @param fsync when written data is forced to the device
+     * @throws IllegalArgumentException if segmentSize is not positive or maxSegments is negative
+     */
+    public MappedFileOutput(Path directory, String baseName, long segmentSize, int maxSegments, FsyncPolicy fsync) {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("segmentSize must be positive");
+        }
+        if (maxSegments < 0) {
+            throw new IllegalArgumentException("maxSegments cannot be negative");
+        }
+        this.directory = directory;
+        this.baseName = baseName;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.fsync = fsync;
+        this.windowSize = (int) Math.max(MIN_WINDOW, Math.min(segmentSize, MAX_WINDOW));
+
+        try {
+            Files.createDirectories(directory);
+            findSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        openSegment();
+    }
+
+    // ==================== Bytes ====================
+
+    @Override
+    public void write(int b) {
+        dropPendingHigh();
+        ensure(1);
+        window.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        dropPendingHigh();
+        writeBytes(bytes, offset, length);
+    }
+
+    // ==================== Text ====================
+
+    @Override
+    public MappedFileOutput append(CharSequence text) {
+        return text == null ? append("null") : append(text, 0, text.length());
+    }
+
+    /**
+     * Encodes chars as UTF-8 into a scratch buffer, which is copied into
+     * the mapped window in bulk. A high surrogate ending the range is held
+     * back until the next append, which may start with its low surrogate.
+     * Unpaired surrogates become {@code '?'}.
+     */
+    @Override
+    public MappedFileOutput append(CharSequence text, int start, int end) {
+        if (text == null) {
+            return append("null");
+        }
+        if (start < end && pendingHigh != 0) {
+            append(text.charAt(start++));
+        }
+        byte[] bytes = scratch;
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            if (count > bytes.length - 4) {
+                writeBytes(bytes, 0, count);
+                count = 0;
+            }
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes[count++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[count++] = (byte) (0xC0 | c >> 6);
+                bytes[count++] = (byte) (0x80 | c & 0x3F);
+            } else if (!Character.isSurrogate(c)) {
+                bytes[count++] = (byte) (0xE0 | c >> 12);
+                bytes[count++] = (byte) (0x80 | c >> 6 & 0x3F);
+                bytes[count++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int code = Character.toCodePoint(c, text.charAt(++i));
+                bytes[count++] = (byte) (0xF0 | code >> 18);
+                bytes[count++] = (byte) (0x80 | code >> 12 & 0x3F);
+                bytes[count++] = (byte) (0x80 | code >> 6 & 0x3F);
+                bytes[count++] = (byte) (0x80 | code & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 == end) {
+                pendingHigh = c;
+            } else {
+                bytes[count++] = '?';
+            }
+        }
+        writeBytes(bytes, 0, count);
+        return this;
+    }
+
+    @Override
+    public MappedFileOutput append(char c) {
+        if (pendingHigh != 0) {
+            char high = pendingHigh;
+            pendingHigh = 0;
+            if (Character.isLowSurrogate(c)) {
+                putCodePoint(Character.toCodePoint(high, c));
+                return this;
+            }
+            putQuestionMark();
+        }
+        if (Character.isHighSurrogate(c)) {
+            pendingHigh = c;
+        } else if (c < 0x80 || Character.isSurrogate(c)) {
+            ensure(1);
+            window.put(c < 0x80 ? (byte) c : (byte) '?');
+        } else {
+            putCodePoint(c);
+        }
+        return this;
+    }
+
+    // ==================== Segments ====================
+
+    /**
+     * Marks the end of a dump: forces the window under
+     * {@link FsyncPolicy#EVERY_DUMP}, and starts a new segment if the
+     * current one has reached the segment size.
+     */
+    @Override
+    public void flush() {
+        if (closed) {
+            return;
+        }
+        dropPendingHigh();
+        if (fsync == FsyncPolicy.EVERY_DUMP) {
+            window.force();
+        }
+        if (position() >= segmentSize) {
+            closeSegment();
+            openSegment();
+        }
+    }
+
+    /**
+     * Trims and closes the current segment. Further writes fail.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            dropPendingHigh();
+            closed = true;
+            closeSegment();
+        }
+    }
+
+    /** The segment being written. */
+    public Path getCurrentSegment() {
+        return segments.peekLast();
+    }
+
+    /** The segments kept, oldest first, including the current one. */
+    public List<Path> getSegments() {
+        return new ArrayList<>(segments);
+    }
+
+    /** Bytes written to the current segment, or to the last one once closed. */
+    public long position() {
+        return window != null ? windowStart + window.position() : windowStart;
+    }
+
+    /**
+     * Writes a held-back high surrogate, now known to be unpaired, as
+     * {@code '?'}.
+     */
+    private void dropPendingHigh() {
+        if (pendingHigh != 0) {
+            pendingHigh = 0;
+            putQuestionMark();
+        }
+    }
+
+    private void putQuestionMark() {
+        ensure(1);
+        window.put((byte) '?');
+    }
+
+    /**
+     * Copies encoded bytes into the window; unlike {@link #write(byte[], int, int)}
+     * it leaves a held-back high surrogate pending.
+     */
+    private void writeBytes(byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            ensure(1);
+            int chunk = Math.min(length, window.remaining());
+            window.put(bytes, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    private void putCodePoint(int code) {
+        ensure(4);
+        if (code < 0x800) {
+            window.put((byte) (0xC0 | code >> 6));
+        } else {
+            if (code < 0x10000) {
+                window.put((byte) (0xE0 | code >> 12));
+            } else {
+                window.put((byte) (0xF0 | code >> 18));
+                window.put((byte) (0x80 | code >> 12 & 0x3F));
+            }
+            window.put((byte) (0x80 | code >> 6 & 0x3F));
+        }
+        window.put((byte) (0x80 | code & 0x3F));
+    }
+
+    /**
+     * Maps the next window of the segment if fewer than {@code bytes}
+     * remain in this one.
+     */
+    private void ensure(int bytes) {
+        if (closed) {
+            throw new UncheckedIOException(new IOException("Output is closed"));
+        }
+        if (window.remaining() < bytes) {
+            long start = position();
+            // ON_ROLL leaves the windows of a segment to closeSegment()
+            forceIf(fsync == FsyncPolicy.EVERY_DUMP);
+            // The file is cut back to its written length when the segment closes
+            window = map(start);
+            windowStart = start;
+        }
+    }
+
+    private void findSegments() throws IOException {
+        List<Path> existing = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, baseName + "-*.dump")) {
+            for (Path file : files) {
+                if (segmentNumber(file) >= 0) {
+                    existing.add(file);
+                }
+            }
+        }
+        existing.sort((a, b) -> Integer.compare(segmentNumber(a), segmentNumber(b)));
+        segments.addAll(existing);
+        segmentNumber = existing.isEmpty() ? 0 : segmentNumber(existing.get(existing.size() - 1));
+    }
+
+    private int segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        String number = name.substring(baseName.length() + 1, name.length() - ".dump".length());
+        try {
+            return Integer.parseInt(number);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void openSegment() {
+        Path file = directory.resolve(String.format("%s-%06d.dump", baseName, ++segmentNumber));
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segments.addLast(file);
+        window = map(0);
+        windowStart = 0;
+
+        while (maxSegments > 0 && segments.size() > maxSegments) {
+            try {
+                Files.deleteIfExists(segments.removeFirst());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void closeSegment() {
+        long length = position();
+        forceIf(fsync != FsyncPolicy.NONE);
+        window = null;
+        windowStart = length;
+        try {
+            if (fsync == FsyncPolicy.ON_ROLL) {
+                // Windows moved past were not forced when they were left
+                channel.force(false);
+            }
+            try {
+                channel.truncate(length);
+            } catch (IOException e) {
+                // Some platforms cannot shrink a mapped file; the tail stays zero-filled
+            }
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void forceIf(boolean force) {
+        if (force) {
+            window.force();
+        }
+    }
+
+    private MappedByteBuffer map(long start) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, start, windowSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -22,37 +22,51 @@ public class ConsoleFormatter {
 
     public String format(List<DumpNode> nodes, StackTraceUtil.CallSite callSite) {
         StringBuilder sb = new StringBuilder();
+        format(nodes, callSite, new OutputSink(sb));
+        return sb.toString();
+    }
 
-        // Add call site header if available
-        if (callSite != null && config.isColorEnabled()) {
-            sb.append("\n");
-            sb.append(formatCallSite(callSite));
-            sb.append("\n");
-        }
+    /**
+     * Writes the same output as {@link #format(List, StackTraceUtil.CallSite)}
+     * into a sink, without building it as a string first.
+     */
+    public void format(List<DumpNode> nodes, StackTraceUtil.CallSite callSite, OutputSink out) {
+        formatHeader(callSite, out);
 
         // Format each node
         for (int i = 0; i < nodes.size(); i++) {
             if (i > 0) {
-                sb.append("\n");
+                out.append('\n');
             }
-            sb.append(valueFormatter.format(nodes.get(i), 0));
+            valueFormatter.format(nodes.get(i), 0, out);
         }
+    }
 
-        return sb.toString();
+    /**
+     * Returns whether console output starts with a call site header, so
+     * callers can skip looking up the call site when it is not.
+     */
+    public boolean showsHeader() {
+        return config.isColorEnabled() && config.isShowHeader() && config.isCaptureCallSite();
+    }
+
+    /**
+     * Writes the call site header, if one is shown.
+     */
+    public void formatHeader(StackTraceUtil.CallSite callSite, OutputSink out) {
+        if (callSite != null && showsHeader()) {
+            out.append('\n');
+            out.appendStyled(ColorUtil.DIM, callSite.getLocation());
+            out.append('\n');
+        }
     }
 
     public String formatCallSite(StackTraceUtil.CallSite callSite) {
         if (!config.isColorEnabled()) {
-            return String.format("%s:%d",
-                    callSite.getFileName(),
-                    callSite.getLineNumber());
+            return callSite.getLocation();
         }
 
-        return ColorUtil.dim(
-                String.format("%s:%d",
-                        callSite.getFileName(),
-                        callSite.getLineNumber())
-        );
+        return ColorUtil.dim(callSite.getLocation());
     }
 
     public ValueFormatter getValueFormatter() {
@@ -73,6 +73,11 @@ public class DiffFormatter {
             sb.append(formatChange(entry));
         }
 
+        // Moves
+        for (DiffAnalyzer.DiffEntry entry : result.getMoves()) {
+            sb.append(formatMove(entry));
+        }
+
         return sb.toString();
     }
 
@@ -111,6 +116,25 @@ public class DiffFormatter {
         return formatRemoval(entry) + formatAddition(entry);
     }
 
+    private String formatMove(DiffAnalyzer.DiffEntry entry) {
+        StringBuilder sb = new StringBuilder();
+        String prefix = config.isColorEnabled() ?
+                ColorUtil.yellow("~ ") : "~ ";
+
+        String content = moveLabel(entry) + valueFormatter.format(entry.getAfter(), 0);
+
+        // Add prefix to each line
+        for (String line : content.split("\n")) {
+            sb.append(prefix).append(line).append("\n");
+        }
+
+        return sb.toString();
+    }
+
+    private String moveLabel(DiffAnalyzer.DiffEntry entry) {
+        return entry.getField() + " -> " + entry.getMovedTo() + ": ";
+    }
+
     /**
      * Formats a diff result as HTML.
      */
@@ -157,6 +181,11 @@ public class DiffFormatter {
                 sb.append(formatHTMLRemoval(entry));
                 sb.append(formatHTMLAddition(entry));
             }
+
+            // Moves
+            for (DiffAnalyzer.DiffEntry entry : result.getMoves()) {
+                sb.append(formatHTMLMove(entry));
+            }
         }
 
         sb.append("</div>\n");
@@ -177,6 +206,12 @@ public class DiffFormatter {
                 htmlEscape(content) + "</div>\n";
     }
 
+    private String formatHTMLMove(DiffAnalyzer.DiffEntry entry) {
+        String content = moveLabel(entry) + valueFormatter.format(entry.getAfter(), 0);
+        return "<div class=\"diff-move\">~ " +
+                htmlEscape(content) + "</div>\n";
+    }
+
     private String htmlEscape(String text) {
         return text.replace("&", "&amp;")
                 .replace("<", "&lt;")
@@ -229,6 +264,12 @@ public class DiffFormatter {
                 padding: 2px 0;
                 margin: 1px 0;
             }
+            .diff-move {
+                background: rgba(220, 220, 170, 0.2);
+                color: #dcdcaa;
+                padding: 2px 0;
+                margin: 1px 0;
+            }
             .diff-no-changes {
                 color: #6a6a6a;
                 font-style: italic;
@@ -7,6 +7,7 @@ import io.github.programmerjide.javadump.util.StackTraceUtil;
 import io.github.programmerjide.javadump.util.StringUtil;
 import io.github.programmerjide.javadump.util.TypeNameUtil;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -45,20 +46,20 @@ public class Formatter {
         }
 
         StringBuilder output = new StringBuilder();
+        OutputSink out = new OutputSink(output);
 
         // Add header with call site
         Optional<StackTraceElement> callSite = StackTraceUtil.getCallSite();
         if (callSite.isPresent()) {
-            String header = formatHeader(callSite.get());
-            output.append(header).append("\n");
+            out.append(formatHeader(callSite.get())).append('\n');
         }
 
         // Format each node
         for (int i = 0; i < nodes.length; i++) {
             if (i > 0) {
-                output.append("\n");
+                out.append('\n');
             }
-            output.append(formatNode(nodes[i], 0));
+            formatNode(nodes[i], 0, out);
         }
 
         return output.toString();
@@ -72,24 +73,51 @@ public class Formatter {
      * @return formatted string
      */
     public String formatNode(DumpNode node, int depth) {
+        StringBuilder sb = new StringBuilder();
+        formatNode(node, depth, new OutputSink(sb));
+        return sb.toString();
+    }
+
+    /**
+     * Formats a single DumpNode straight into a sink.
+     *
+     * <p>Children are appended to the same sink as they are reached, so each
+     * character is written once however deep the tree is.
+     *
+     * @param node the node to format
+     * @param depth current indentation depth
+     * @param out where output is appended
+     */
+    public void formatNode(DumpNode node, int depth, OutputSink out) {
         if (node == null) {
-            return formatNull();
+            out.append(formatNull());
+            return;
+        }
+
+        switch (node.getType()) {
+            case ARRAY -> formatElements(ColorUtil.formatType(node.getClazz()), node, depth, out);
+            case COLLECTION -> formatElements(
+                    ColorUtil.formatType(TypeNameUtil.getSimpleName(node.getClazz())), node, depth, out);
+            case MAP -> formatMap(node, depth, out);
+            case OBJECT -> formatObject(node, depth, out);
+            default -> out.append(formatLeaf(node));
         }
+    }
 
+    /**
+     * Formats a node without nested values.
+     */
+    private String formatLeaf(DumpNode node) {
         return switch (node.getType()) {
-            case NULL -> formatNull();
             case PRIMITIVE -> formatPrimitive(node);
             case STRING -> formatString(node);
             case ENUM -> formatEnum(node);
             case NUMBER -> formatNumber(node);
             case BOOLEAN -> formatBoolean(node);
-            case ARRAY -> formatArray(node, depth);
-            case COLLECTION -> formatCollection(node, depth);
-            case MAP -> formatMap(node, depth);
-            case OBJECT -> formatObject(node, depth);
             case CYCLIC -> formatCyclic(node);
             case TRUNCATED -> formatTruncated();
             case ERROR -> formatError(node);
+            default -> formatNull();
         };
     }
 
@@ -144,166 +172,121 @@ public class Formatter {
     }
 
     /**
-     * Formats an array node.
+     * Formats an array or collection node under the given type header,
+     * e.g. {@code #int[][3]} or {@code #ArrayList[3]}.
      */
-    private String formatArray(DumpNode node, int depth) {
-        StringBuilder sb = new StringBuilder();
-
-        // Type header: #int[][3]
-        sb.append(ColorUtil.formatType(node.getClazz()));
-        sb.append(ColorUtil.structural("["));
-        sb.append(ColorUtil.yellow(String.valueOf(node.getDisplaySize())));
-        sb.append(ColorUtil.structural("]"));
+    private void formatElements(String type, DumpNode node, int depth, OutputSink out) {
+        out.append(type);
+        formatSize(node, out);
 
         if (node.isEmpty()) {
-            sb.append(" ").append(ColorUtil.structural("{}"));
-            return sb.toString();
+            out.append(' ').appendStyled(ansi(ColorUtil.GRAY), "{}");
+            return;
         }
 
-        sb.append(" ").append(ColorUtil.structural("{"));
-        sb.append("\n");
+        String gray = ansi(ColorUtil.GRAY);
+        out.append(' ').appendStyled(gray, "{").append('\n');
 
         // Format elements
-        for (int i = 0; i < node.getElements().size(); i++) {
-            DumpNode element = node.getElements().get(i);
-            sb.append(StringUtil.indent(depth + 1));
-            sb.append(ColorUtil.gray(String.valueOf(i)));
-            sb.append(ColorUtil.arrow());
-            sb.append(formatNode(element, depth + 1));
-            sb.append("\n");
+        List<DumpNode> elements = node.getElements();
+        for (int i = 0; i < elements.size(); i++) {
+            out.indent(depth + 1);
+            out.beginStyle(gray).append(i).endStyle(gray);
+            out.appendStyled(gray, " → ");
+            formatNode(elements.get(i), depth + 1, out);
+            out.append('\n');
         }
 
-        // Truncation marker
-        if (node.isTruncated()) {
-            sb.append(StringUtil.indent(depth + 1));
-            sb.append(ColorUtil.formatTruncated());
-            sb.append("\n");
-        }
-
-        sb.append(StringUtil.indent(depth));
-        sb.append(ColorUtil.structural("}"));
-
-        return sb.toString();
-    }
-
-    /**
-     * Formats a collection node.
-     */
-    private String formatCollection(DumpNode node, int depth) {
-        StringBuilder sb = new StringBuilder();
-
-        // Type header: #ArrayList[3]
-        String typeName = TypeNameUtil.getSimpleName(node.getClazz());
-        sb.append(ColorUtil.formatType(typeName));
-        sb.append(ColorUtil.structural("["));
-        sb.append(ColorUtil.yellow(String.valueOf(node.getDisplaySize())));
-        sb.append(ColorUtil.structural("]"));
-
-        if (node.isEmpty()) {
-            sb.append(" ").append(ColorUtil.structural("{}"));
-            return sb.toString();
-        }
-
-        sb.append(" ").append(ColorUtil.structural("{"));
-        sb.append("\n");
-
-        // Format elements
-        for (int i = 0; i < node.getElements().size(); i++) {
-            DumpNode element = node.getElements().get(i);
-            sb.append(StringUtil.indent(depth + 1));
-            sb.append(ColorUtil.gray(String.valueOf(i)));
-            sb.append(ColorUtil.arrow());
-            sb.append(formatNode(element, depth + 1));
-            sb.append("\n");
-        }
-
-        // Truncation marker
-        if (node.isTruncated()) {
-            sb.append(StringUtil.indent(depth + 1));
-            sb.append(ColorUtil.formatTruncated());
-            sb.append("\n");
-        }
-
-        sb.append(StringUtil.indent(depth));
-        sb.append(ColorUtil.structural("}"));
-
-        return sb.toString();
+        formatEnd(node, depth, out);
     }
 
     /**
      * Formats a map node.
      */
-    private String formatMap(DumpNode node, int depth) {
-        StringBuilder sb = new StringBuilder();
-
+    private void formatMap(DumpNode node, int depth, OutputSink out) {
         // Type header: #HashMap[2]
-        String typeName = TypeNameUtil.getSimpleName(node.getClazz());
-        sb.append(ColorUtil.formatType(typeName));
-        sb.append(ColorUtil.structural("["));
-        sb.append(ColorUtil.yellow(String.valueOf(node.getDisplaySize())));
-        sb.append(ColorUtil.structural("]"));
+        out.append(ColorUtil.formatType(TypeNameUtil.getSimpleName(node.getClazz())));
+        formatSize(node, out);
 
         if (node.isEmpty()) {
-            sb.append(" ").append(ColorUtil.structural("{}"));
-            return sb.toString();
+            out.append(' ').appendStyled(ansi(ColorUtil.GRAY), "{}");
+            return;
         }
 
-        sb.append(" ").append(ColorUtil.structural("{"));
-        sb.append("\n");
+        String gray = ansi(ColorUtil.GRAY);
+        out.append(' ').appendStyled(gray, "{").append('\n');
 
         // Format entries
         for (Map.Entry<DumpNode, DumpNode> entry : node.getEntries().entrySet()) {
-            sb.append(StringUtil.indent(depth + 1));
-            sb.append(formatNode(entry.getKey(), depth + 1));
-            sb.append(ColorUtil.arrow());
-            sb.append(formatNode(entry.getValue(), depth + 1));
-            sb.append("\n");
-        }
-
-        // Truncation marker
-        if (node.isTruncated()) {
-            sb.append(StringUtil.indent(depth + 1));
-            sb.append(ColorUtil.formatTruncated());
-            sb.append("\n");
+            out.indent(depth + 1);
+            formatNode(entry.getKey(), depth + 1, out);
+            out.appendStyled(gray, " → ");
+            formatNode(entry.getValue(), depth + 1, out);
+            out.append('\n');
         }
 
-        sb.append(StringUtil.indent(depth));
-        sb.append(ColorUtil.structural("}"));
-
-        return sb.toString();
+        formatEnd(node, depth, out);
     }
 
     /**
      * Formats an object node.
      */
-    private String formatObject(DumpNode node, int depth) {
-        StringBuilder sb = new StringBuilder();
-
+    private void formatObject(DumpNode node, int depth, OutputSink out) {
         // Type header: #TestClass
-        String typeName = TypeNameUtil.getSimpleName(node.getClazz());
-        sb.append(ColorUtil.formatType(typeName));
+        out.append(ColorUtil.formatType(TypeNameUtil.getSimpleName(node.getClazz())));
 
         if (node.isEmpty()) {
-            sb.append(" ").append(ColorUtil.structural("{}"));
-            return sb.toString();
+            out.append(' ').appendStyled(ansi(ColorUtil.GRAY), "{}");
+            return;
         }
 
-        sb.append(" ").append(ColorUtil.structural("{"));
-        sb.append("\n");
+        String gray = ansi(ColorUtil.GRAY);
+        out.append(' ').appendStyled(gray, "{").append('\n');
 
         // Format fields
         for (Map.Entry<String, DumpNode> field : node.getFields().entrySet()) {
-            sb.append(StringUtil.indent(depth + 1));
-            sb.append(ColorUtil.cyan(field.getKey()));
-            sb.append(ColorUtil.arrow());
-            sb.append(formatNode(field.getValue(), depth + 1));
-            sb.append("\n");
+            out.indent(depth + 1);
+            out.appendStyled(ansi(ColorUtil.CYAN), field.getKey());
+            out.appendStyled(gray, " → ");
+            formatNode(field.getValue(), depth + 1, out);
+            out.append('\n');
         }
 
-        sb.append(StringUtil.indent(depth));
-        sb.append(ColorUtil.structural("}"));
+        out.indent(depth);
+        out.appendStyled(ansi(ColorUtil.GRAY), "}");
+    }
 
-        return sb.toString();
+    /**
+     * Writes the {@code [size]} part of a container header.
+     */
+    private void formatSize(DumpNode node, OutputSink out) {
+        String gray = ansi(ColorUtil.GRAY);
+        String yellow = ansi(ColorUtil.YELLOW);
+        out.appendStyled(gray, "[");
+        out.beginStyle(yellow).append(node.getDisplaySize()).endStyle(yellow);
+        out.appendStyled(gray, "]");
+    }
+
+    /**
+     * Writes the truncation marker, if any, and the closing brace.
+     */
+    private void formatEnd(DumpNode node, int depth, OutputSink out) {
+        if (node.isTruncated()) {
+            out.indent(depth + 1);
+            out.appendStyled(ansi(ColorUtil.DIM), "... (truncated)");
+            out.append('\n');
+        }
+
+        out.indent(depth);
+        out.appendStyled(ansi(ColorUtil.GRAY), "}");
+    }
+
+    /**
+     * Returns the ANSI sequence to style a token with, or null while colors
+     * are disabled.
+     */
+    private static String ansi(String code) {
+        return ColorUtil.isColorsEnabled() ? code : null;
     }
 
     /**
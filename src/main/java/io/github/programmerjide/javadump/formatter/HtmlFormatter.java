@@ -4,6 +4,7 @@ import io.github.programmerjide.javadump.config.DumperConfig;
 import io.github.programmerjide.javadump.model.DumpNode;
 import io.github.programmerjide.javadump.util.StringUtil;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -39,6 +40,33 @@ public class HtmlFormatter {
         return sb.toString();
     }
 
+    /**
+     * Formats several values as one HTML page, separated by rules. A single
+     * value is formatted as by {@link #format(DumpNode)}.
+     */
+    public String formatPage(List<DumpNode> nodes) {
+        if (nodes.size() == 1) {
+            return format(nodes.get(0));
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("<!DOCTYPE html>\n<html>\n<head>\n");
+        sb.append("<meta charset=\"UTF-8\">\n");
+        sb.append("<title>JavaDump Output</title>\n");
+        sb.append("<style>\n").append(getPageCSS()).append("</style>\n");
+        sb.append("</head>\n<body>\n");
+
+        for (int i = 0; i < nodes.size(); i++) {
+            if (i > 0) {
+                sb.append("<hr class=\"dump-separator\">\n");
+            }
+            sb.append(formatFragment(nodes.get(i)));
+        }
+
+        sb.append("</body>\n</html>");
+        return sb.toString();
+    }
+
     /**
      * Formats a DumpNode as HTML fragment (no header/footer).
      */
@@ -243,6 +271,23 @@ public class HtmlFormatter {
         return "</body>\n</html>";
     }
 
+    private String getPageCSS() {
+        return """
+            body {
+                background: #1e1e1e;
+                color: #d4d4d4;
+                font-family: 'Consolas', 'Monaco', monospace;
+                font-size: 14px;
+                padding: 20px;
+            }
+            .dump-separator {
+                border: none;
+                border-top: 1px solid #3c3c3c;
+                margin: 20px 0;
+            }
+            """;
+    }
+
     private String getCSS() {
         return """
             body {
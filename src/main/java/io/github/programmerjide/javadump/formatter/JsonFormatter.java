@@ -2,9 +2,11 @@ package io.github.programmerjide.javadump.formatter;
 
 import io.github.programmerjide.javadump.config.DumperConfig;
 import io.github.programmerjide.javadump.model.DumpNode;
-import io.github.programmerjide.javadump.util.StringUtil;
+import io.github.programmerjide.javadump.model.DumpVisitor;
 
-import java.util.Map;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * Formats DumpNode trees into JSON output.
@@ -12,11 +14,30 @@ import java.util.Map;
  * <p>Converts analyzed objects into clean, pretty-printed JSON format
  * suitable for APIs, logging, and data export.
  *
+ * <p>Output is produced from {@link DumpVisitor} events as UTF-8 bytes on a
+ * {@link JsonWriter}: trees are replayed through {@link DumpNode#accept}, and
+ * {@link #visitor(JsonWriter)} lets the analyzer's walk write JSON to a
+ * stream or channel without building the tree or any intermediate string.
+ *
  * @author Olaldejo Olajide
  * @since 1.0.0
  */
 public class JsonFormatter {
 
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] CIRCULAR = ascii("\"<circular reference>\"");
+    private static final byte[] MAX_DEPTH = ascii("\"<max depth reached>\"");
+    private static final byte[] EMPTY_ARRAY = ascii("[]");
+    private static final byte[] EMPTY_OBJECT = ascii("{}");
+    private static final byte[] COLON = ascii(":");
+    private static final byte[] COLON_SPACE = ascii(": ");
+    private static final byte[] MORE_PREFIX = ascii("\"... ");
+    private static final byte[] MORE_ITEMS = ascii(" more items\"");
+    private static final byte[] TRUNCATED_KEY = ascii("\"__truncated__\"");
+    private static final byte[] MORE_ENTRIES = ascii(" more entries\"");
+
     private final DumperConfig config;
     private final boolean prettyPrint;
 
@@ -45,254 +66,233 @@ public class JsonFormatter {
      * @return JSON string representation
      */
     public String format(DumpNode node) {
-        return formatNode(node, 0);
-    }
-
-    /**
-     * Formats a DumpNode at the specified depth.
-     */
-    private String formatNode(DumpNode node, int depth) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonWriter out = new JsonWriter(bytes);
         if (node == null) {
-            return "null";
-        }
-
-        if (node.isCircular()) {
-            return "\"<circular reference>\"";
-        }
-
-        if (node.isMaxDepthReached()) {
-            return "\"<max depth reached>\"";
-        }
-
-        switch (node.getType()) {
-            case NULL:
-                return "null";
-            case STRING:
-                return formatString(node.getValue());
-            case NUMBER:
-                return formatNumber(node.getValue());
-            case BOOLEAN:
-                return String.valueOf(node.getValue());
-            case ENUM:
-                return formatString(node.getValue());
-            case ARRAY:
-            case COLLECTION:
-                return formatArray(node, depth);
-            case MAP:
-                return formatMap(node, depth);
-            case OBJECT:
-                return formatObject(node, depth);
-            default:
-                return "null";
-        }
-    }
-
-    /**
-     * Formats a string value for JSON.
-     */
-    private String formatString(Object value) {
-        if (value == null) {
-            return "null";
+            out.write(NULL);
+        } else {
+            node.accept(visitor(out));
         }
-        String str = String.valueOf(value);
-        // Escape for JSON
-        str = str.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r")
-                .replace("\t", "\\t")
-                .replace("\b", "\\b")
-                .replace("\f", "\\f");
-        return "\"" + str + "\"";
+        out.flush();
+        return bytes.toString(StandardCharsets.UTF_8);
     }
 
     /**
-     * Formats a number value for JSON.
+     * Returns a visitor that writes one JSON value from walk events.
      */
-    private String formatNumber(Object value) {
-        if (value == null) {
-            return "null";
-        }
-        return String.valueOf(value);
+    public DumpVisitor visitor(JsonWriter out) {
+        return new JsonVisitor(out);
     }
 
     /**
-     * Formats an array/collection as JSON array.
+     * JSON output driven by {@link DumpVisitor} events. Tracks, per open
+     * container, its kind and whether a member was written yet. Apart from
+     * the two state arrays, nothing is allocated per event for strings,
+     * integers, booleans and indentation.
      */
-    private String formatArray(DumpNode node, int depth) {
-        Map<String, DumpNode> children = node.getChildren();
-
-        if (children.isEmpty()) {
-            return "[]";
+    private final class JsonVisitor implements DumpVisitor {
+        private static final byte ARRAY = 0;
+        private static final byte MAP = 1;
+        private static final byte OBJECT = 2;
+        private static final byte EMPTY = 3;
+
+        private final JsonWriter out;
+        private byte[] open = new byte[16];
+        private boolean[] started = new boolean[16];
+        private int depth;
+
+        JsonVisitor(JsonWriter out) {
+            this.out = out;
         }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append("[");
-
-        if (prettyPrint) {
-            sb.append("\n");
-        }
-
-        int index = 0;
-        int maxItems = Math.min(children.size(), config.getMaxItems());
-
-        for (Map.Entry<String, DumpNode> entry : children.entrySet()) {
-            if (index >= maxItems) {
-                if (prettyPrint) {
-                    sb.append(indent(depth + 1));
-                }
-                sb.append("\"... ").append(children.size() - maxItems)
-                        .append(" more items\"");
-                break;
+        @Override
+        public void value(DumpNode node) {
+            if (node.isCircular()) {
+                out.write(CIRCULAR);
+                return;
             }
-
-            if (index > 0) {
-                sb.append(",");
-                if (prettyPrint) {
-                    sb.append("\n");
-                }
+            if (node.isMaxDepthReached()) {
+                out.write(MAX_DEPTH);
+                return;
             }
 
-            if (prettyPrint) {
-                sb.append(indent(depth + 1));
+            Object value = node.getValue();
+            switch (node.getType()) {
+                case STRING:
+                case ENUM:
+                    writeString(value);
+                    return;
+                case NUMBER:
+                case PRIMITIVE:
+                    writeScalar(value);
+                    return;
+                case BOOLEAN:
+                    out.write(Boolean.TRUE.equals(value) ? TRUE : FALSE);
+                    return;
+                default:
+                    out.write(NULL);
             }
-
-            sb.append(formatNode(entry.getValue(), depth + 1));
-            index++;
         }
 
-        if (prettyPrint) {
-            sb.append("\n").append(indent(depth));
+        @Override
+        public void beginArray(String typeName, int size, int shown) {
+            if (size == 0) {
+                out.write(EMPTY_ARRAY);
+                push(EMPTY);
+            } else {
+                out.write('[');
+                push(ARRAY);
+            }
         }
-        sb.append("]");
-
-        return sb.toString();
-    }
-
-    /**
-     * Formats a map as JSON object.
-     */
-    private String formatMap(DumpNode node, int depth) {
-        Map<String, DumpNode> children = node.getChildren();
 
-        if (children.isEmpty()) {
-            return "{}";
+        @Override
+        public void beginMap(String typeName, int size, int shown) {
+            if (size == 0) {
+                out.write(EMPTY_OBJECT);
+                push(EMPTY);
+            } else {
+                out.write('{');
+                push(MAP);
+            }
         }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append("{");
-
-        if (prettyPrint) {
-            sb.append("\n");
+        @Override
+        public void beginObject(String typeName, int fieldCount) {
+            if (fieldCount == 0) {
+                out.write(EMPTY_OBJECT);
+                push(EMPTY);
+            } else {
+                out.write('{');
+                push(OBJECT);
+            }
         }
 
-        int index = 0;
-        int maxItems = Math.min(children.size(), config.getMaxItems());
+        @Override
+        public void element(int index) {
+            member();
+        }
 
-        for (Map.Entry<String, DumpNode> entry : children.entrySet()) {
-            if (index >= maxItems) {
-                if (index > 0) {
-                    sb.append(",");
-                    if (prettyPrint) {
-                        sb.append("\n");
+        /**
+         * Scalar keys are written as their text; other keys by type name.
+         */
+        @Override
+        public void key(DumpNode key) {
+            member();
+            Object value = key.getValue();
+            switch (key.getType()) {
+                case STRING:
+                    String text = String.valueOf(value);
+                    if (text.length() > 1 && text.startsWith("\"") && text.endsWith("\"")) {
+                        out.writeString(text.subSequence(1, text.length() - 1));
+                    } else {
+                        out.writeString(text);
                     }
-                }
-                if (prettyPrint) {
-                    sb.append(indent(depth + 1));
-                }
-                sb.append("\"__truncated__\": \"")
-                        .append(children.size() - maxItems)
-                        .append(" more entries\"");
-                break;
+                    break;
+                case NUMBER:
+                case PRIMITIVE:
+                case BOOLEAN:
+                case ENUM:
+                case NULL:
+                    if (value instanceof Integer || value instanceof Long
+                            || value instanceof Short || value instanceof Byte) {
+                        out.write('"').writeLong(((Number) value).longValue()).write('"');
+                    } else {
+                        out.writeString(String.valueOf(value));
+                    }
+                    break;
+                default:
+                    out.writeString(key.getTypeName());
             }
+            colon();
+        }
 
-            if (index > 0) {
-                sb.append(",");
-                if (prettyPrint) {
-                    sb.append("\n");
-                }
-            }
+        @Override
+        public void field(String label) {
+            member();
+            out.writeString(label);
+            colon();
+        }
 
-            if (prettyPrint) {
-                sb.append(indent(depth + 1));
+        @Override
+        public void end(int omitted) {
+            byte kind = open[depth - 1];
+            if (kind == EMPTY) {
+                depth--;
+                return;
             }
 
-            // Key
-            String key = entry.getKey();
-            if (key.startsWith("\"") && key.endsWith("\"")) {
-                key = key.substring(1, key.length() - 1);
+            if (omitted > 0 && kind == ARRAY) {
+                member();
+                out.write(MORE_PREFIX).writeLong(omitted).write(MORE_ITEMS);
+            } else if (omitted > 0 && kind == MAP) {
+                member();
+                out.write(TRUNCATED_KEY);
+                colon();
+                out.write('"').writeLong(omitted).write(MORE_ENTRIES);
             }
-            sb.append(formatString(key));
 
-            sb.append(":");
+            depth--;
             if (prettyPrint) {
-                sb.append(" ");
+                out.write('\n').writeIndent(depth);
             }
-
-            // Value
-            sb.append(formatNode(entry.getValue(), depth + 1));
-            index++;
-        }
-
-        if (prettyPrint) {
-            sb.append("\n").append(indent(depth));
-        }
-        sb.append("}");
-
-        return sb.toString();
-    }
-
-    /**
-     * Formats an object as JSON object.
-     */
-    private String formatObject(DumpNode node, int depth) {
-        Map<String, DumpNode> children = node.getChildren();
-
-        if (children.isEmpty()) {
-            return "{}";
+            out.write(kind == ARRAY ? ']' : '}');
         }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append("{");
-
-        if (prettyPrint) {
-            sb.append("\n");
+        private void writeString(Object value) {
+            if (value == null) {
+                out.write(NULL);
+            } else if (value instanceof CharSequence) {
+                out.writeString((CharSequence) value);
+            } else {
+                out.writeString(String.valueOf(value));
+            }
         }
 
-        int index = 0;
-        for (Map.Entry<String, DumpNode> entry : children.entrySet()) {
-            if (index > 0) {
-                sb.append(",");
-                if (prettyPrint) {
-                    sb.append("\n");
-                }
+        private void writeScalar(Object value) {
+            if (value == null) {
+                out.write(NULL);
+            } else if (value instanceof Integer || value instanceof Long
+                    || value instanceof Short || value instanceof Byte) {
+                out.writeLong(((Number) value).longValue());
+            } else if (value instanceof Boolean) {
+                out.write((Boolean) value ? TRUE : FALSE);
+            } else if (value instanceof Character) {
+                out.writeString((Character) value);
+            } else {
+                out.writeRaw(String.valueOf(value));
             }
+        }
 
-            if (prettyPrint) {
-                sb.append(indent(depth + 1));
+        /**
+         * Starts a member of the innermost container.
+         */
+        private void member() {
+            int top = depth - 1;
+            if (started[top]) {
+                out.write(',');
             }
-
-            sb.append(formatString(entry.getKey()));
-            sb.append(":");
+            started[top] = true;
             if (prettyPrint) {
-                sb.append(" ");
+                out.write('\n').writeIndent(depth);
             }
-            sb.append(formatNode(entry.getValue(), depth + 1));
-            index++;
         }
 
-        if (prettyPrint) {
-            sb.append("\n").append(indent(depth));
+        private void colon() {
+            out.write(prettyPrint ? COLON_SPACE : COLON);
         }
-        sb.append("}");
 
-        return sb.toString();
+        private void push(byte kind) {
+            if (depth == open.length) {
+                open = Arrays.copyOf(open, depth * 2);
+                started = Arrays.copyOf(started, depth * 2);
+            }
+            open[depth] = kind;
+            started[depth] = false;
+            depth++;
+        }
     }
 
-    /**
-     * Creates indentation string.
-     */
-    private String indent(int depth) {
-        return StringUtil.repeat("  ", depth);
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
     }
 }
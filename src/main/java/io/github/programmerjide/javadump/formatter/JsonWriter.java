@@ -0,0 +1,319 @@
+package io.github.programmerjide.javadump.formatter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Buffered UTF-8 writer for JSON tokens.
+ *
+ * <p>Text is encoded straight into a fixed byte buffer that is drained to an
+ * {@link OutputStream} or {@link WritableByteChannel} when full, so writing
+ * a dump allocates nothing beyond the writer itself. Strings are escaped in
+ * a single pass using a lookup table for ASCII, integers are written digit
+ * by digit, and indentation comes from shared pre-built byte arrays.
+ *
+ * <p>I/O errors are rethrown as {@link UncheckedIOException}. Not
+ * thread-safe; create one writer per dump.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+public final class JsonWriter {
+
+    /** Default buffer capacity in bytes. */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Escape for each ASCII char: 0 to copy it, {@code 'u'} for a
+     * {@code \\u00XX} escape, otherwise the letter following the backslash.
+     */
+    private static final byte[] ESCAPES = new byte[128];
+
+    /** Two spaces per level, shared by all writers. */
+    private static final byte[][] INDENTS = new byte[32][];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = 'u';
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['\t'] = 't';
+
+        for (int depth = 0; depth < INDENTS.length; depth++) {
+            byte[] indent = new byte[depth * 2];
+            Arrays.fill(indent, (byte) ' ');
+            INDENTS[depth] = indent;
+        }
+    }
+
+    private final OutputStream stream;
+    private final WritableByteChannel channel;
+    private final byte[] buffer;
+    private final ByteBuffer channelBuffer;
+    private int count;
+
+    /**
+     * Creates a writer draining to an output stream.
+     */
+    public JsonWriter(OutputStream stream) {
+        this(stream, null, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a writer draining to a channel.
+     */
+    public JsonWriter(WritableByteChannel channel) {
+        this(null, channel, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a writer draining to an output stream with the given buffer capacity.
+     *
+     * @throws IllegalArgumentException if capacity is smaller than 16 bytes
+     */
+    public JsonWriter(OutputStream stream, int capacity) {
+        this(stream, null, capacity);
+    }
+
+    private JsonWriter(OutputStream stream, WritableByteChannel channel, int capacity) {
+        if (capacity < 16) {
+            throw new IllegalArgumentException("capacity must be at least 16 bytes");
+        }
+        this.stream = stream;
+        this.channel = channel;
+        this.buffer = new byte[capacity];
+        this.channelBuffer = channel != null ? ByteBuffer.wrap(buffer) : null;
+    }
+
+    // ==================== Tokens ====================
+
+    /**
+     * Writes one ASCII byte.
+     */
+    public JsonWriter write(char c) {
+        if (count == buffer.length) {
+            drain();
+        }
+        buffer[count++] = (byte) c;
+        return this;
+    }
+
+    /**
+     * Writes pre-encoded bytes.
+     */
+    public JsonWriter write(byte[] bytes) {
+        if (bytes.length > buffer.length - count) {
+            drain();
+            if (bytes.length > buffer.length) {
+                send(bytes, bytes.length);
+                return this;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+        return this;
+    }
+
+    /**
+     * Writes text that needs no escaping, such as numbers and literals.
+     */
+    public JsonWriter writeRaw(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                write(c);
+            } else {
+                i = encode(text, i);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes an integer without creating a string.
+     */
+    public JsonWriter writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            return writeRaw("-9223372036854775808");
+        }
+        if (buffer.length - count < 20) {
+            drain();
+        }
+        if (value < 0) {
+            buffer[count++] = '-';
+            value = -value;
+        }
+
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int end = count + digits;
+        for (int i = end - 1; i >= count; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        count = end;
+        return this;
+    }
+
+    /**
+     * Writes a quoted, escaped JSON string.
+     */
+    public JsonWriter writeString(CharSequence text) {
+        write('"');
+        for (int i = 0; i < text.length(); i++) {
+            // Room for the longest output of one char: a \\u00XX escape
+            if (buffer.length - count < 6) {
+                drain();
+            }
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                byte escape = ESCAPES[c];
+                if (escape == 0) {
+                    buffer[count++] = (byte) c;
+                } else {
+                    escape(c, escape);
+                }
+            } else {
+                i = encode(text, i);
+            }
+        }
+        return write('"');
+    }
+
+    /**
+     * Writes a single char as a quoted, escaped JSON string.
+     */
+    public JsonWriter writeString(char c) {
+        write('"');
+        if (buffer.length - count < 6) {
+            drain();
+        }
+        if (c < 0x80) {
+            byte escape = ESCAPES[c];
+            if (escape == 0) {
+                buffer[count++] = (byte) c;
+            } else {
+                escape(c, escape);
+            }
+        } else {
+            encode(String.valueOf(c), 0);
+        }
+        return write('"');
+    }
+
+    /**
+     * Writes two spaces per level.
+     */
+    public JsonWriter writeIndent(int depth) {
+        if (depth < INDENTS.length) {
+            return write(INDENTS[depth]);
+        }
+        for (int i = 0; i < depth; i++) {
+            write(' ').write(' ');
+        }
+        return this;
+    }
+
+    /**
+     * Writes buffered bytes to the target and flushes it.
+     */
+    public void flush() {
+        drain();
+        if (stream != null) {
+            try {
+                stream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // ==================== Encoding ====================
+
+    private void escape(char c, byte escape) {
+        buffer[count++] = '\\';
+        buffer[count++] = escape;
+        if (escape == 'u') {
+            buffer[count++] = '0';
+            buffer[count++] = '0';
+            buffer[count++] = HEX[c >> 4];
+            buffer[count++] = HEX[c & 0xF];
+        }
+    }
+
+    /**
+     * Encodes the non-ASCII char at {@code index} as UTF-8 and returns the
+     * index of the last char consumed (the low surrogate of a pair).
+     */
+    private int encode(CharSequence text, int index) {
+        if (buffer.length - count < 4) {
+            drain();
+        }
+        char c = text.charAt(index);
+
+        if (c < 0x800) {
+            buffer[count++] = (byte) (0xC0 | (c >> 6));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+            return index;
+        }
+
+        if (Character.isHighSurrogate(c) && index + 1 < text.length()
+                && Character.isLowSurrogate(text.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(c, text.charAt(index + 1));
+            buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+            return index + 1;
+        }
+
+        if (Character.isSurrogate(c)) {
+            // Unpaired surrogates cannot be encoded
+            buffer[count++] = '?';
+            return index;
+        }
+
+        buffer[count++] = (byte) (0xE0 | (c >> 12));
+        buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        return index;
+    }
+
+    private void drain() {
+        if (count > 0) {
+            send(buffer, count);
+            count = 0;
+        }
+    }
+
+    private void send(byte[] bytes, int length) {
+        try {
+            if (stream != null) {
+                stream.write(bytes, 0, length);
+                return;
+            }
+
+            ByteBuffer source = bytes == buffer ? channelBuffer : ByteBuffer.wrap(bytes);
+            source.clear().limit(length);
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
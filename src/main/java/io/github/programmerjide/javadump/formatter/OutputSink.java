@@ -0,0 +1,252 @@
+package io.github.programmerjide.javadump.formatter;
+
+import io.github.programmerjide.javadump.util.ColorUtil;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Bounded character buffer in front of an {@link Appendable}.
+ *
+ * <p>Formatters append their output here piece by piece; the sink forwards
+ * it to the target whenever its fixed-size buffer fills up. The memory used
+ * for output is therefore the buffer capacity, whatever the size of the dump.
+ * A {@link StringBuilder} target is appended to directly, since buffering in
+ * front of it would only add a copy.
+ *
+ * <p>Indentation and ANSI-styled tokens are written straight into the buffer
+ * from shared constants, so formatting a token does not build a string.
+ *
+ * <p>I/O errors from the target are rethrown as {@link UncheckedIOException}.
+ * Not thread-safe; create one sink per dump.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+public final class OutputSink {
+
+    /** Default buffer capacity in chars. */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    /** Spaces copied for indentation, two per level. */
+    private static final char[] SPACES = new char[64];
+
+    static {
+        Arrays.fill(SPACES, ' ');
+    }
+
+    private final Appendable target;
+    private final StringBuilder direct;
+    private final char[] buffer;
+    private int count;
+
+    /**
+     * Creates a sink with the default buffer capacity.
+     */
+    public OutputSink(Appendable target) {
+        this(target, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a sink with the given buffer capacity.
+     *
+     * @param target where output is written
+     * @param capacity buffer size in chars (must be positive)
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public OutputSink(Appendable target, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.target = target;
+        this.direct = target instanceof StringBuilder ? (StringBuilder) target : null;
+        this.buffer = direct == null ? new char[capacity] : null;
+    }
+
+    public OutputSink append(String text) {
+        if (direct != null) {
+            direct.append(text);
+            return this;
+        }
+
+        if (text == null) {
+            text = "null";
+        }
+        int length = text.length();
+        int offset = 0;
+        while (offset < length) {
+            if (count == buffer.length) {
+                drain();
+            }
+            int chunk = Math.min(length - offset, buffer.length - count);
+            text.getChars(offset, offset + chunk, buffer, count);
+            count += chunk;
+            offset += chunk;
+        }
+        return this;
+    }
+
+    public OutputSink append(char c) {
+        if (direct != null) {
+            direct.append(c);
+            return this;
+        }
+
+        if (count == buffer.length) {
+            drain();
+        }
+        buffer[count++] = c;
+        return this;
+    }
+
+    /**
+     * Appends the chars of {@code text} from {@code start} to {@code end}.
+     */
+    public OutputSink append(String text, int start, int end) {
+        if (direct != null) {
+            direct.append(text, start, end);
+            return this;
+        }
+
+        while (start < end) {
+            if (count == buffer.length) {
+                drain();
+            }
+            int chunk = Math.min(end - start, buffer.length - count);
+            text.getChars(start, start + chunk, buffer, count);
+            count += chunk;
+            start += chunk;
+        }
+        return this;
+    }
+
+    public OutputSink append(int value) {
+        return append((long) value);
+    }
+
+    /**
+     * Appends an integer without creating a string.
+     */
+    public OutputSink append(long value) {
+        if (direct != null) {
+            direct.append(value);
+            return this;
+        }
+        if (value == Long.MIN_VALUE || buffer.length < 20) {
+            return append(Long.toString(value));
+        }
+
+        if (buffer.length - count < 20) {
+            drain();
+        }
+        if (value < 0) {
+            buffer[count++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int end = count + digits;
+        for (int i = end - 1; i >= count; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        count = end;
+        return this;
+    }
+
+    /**
+     * Appends two spaces per level.
+     */
+    public OutputSink indent(int depth) {
+        int remaining = Math.max(0, depth) * 2;
+        while (remaining > 0) {
+            int chunk = Math.min(remaining, SPACES.length);
+            append(SPACES, chunk);
+            remaining -= chunk;
+        }
+        return this;
+    }
+
+    /**
+     * Appends text wrapped in an ANSI sequence and a reset, or the plain
+     * text when {@code ansi} is null.
+     */
+    public OutputSink appendStyled(String ansi, String text) {
+        return beginStyle(ansi).append(text).endStyle(ansi);
+    }
+
+    /**
+     * Starts an ANSI style; a no-op when {@code ansi} is null. Lets a styled
+     * token be written in several pieces, closed by {@link #endStyle}.
+     */
+    public OutputSink beginStyle(String ansi) {
+        return ansi != null ? append(ansi) : this;
+    }
+
+    /**
+     * Resets the style started by {@link #beginStyle} with the same argument.
+     */
+    public OutputSink endStyle(String ansi) {
+        return ansi != null ? append(ColorUtil.RESET) : this;
+    }
+
+    /**
+     * Writes buffered output to the target and flushes the target if it is
+     * {@link Flushable}.
+     */
+    public void flush() {
+        if (direct != null) {
+            return;
+        }
+
+        drain();
+        if (target instanceof Flushable) {
+            try {
+                ((Flushable) target).flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void append(char[] chars, int length) {
+        if (direct != null) {
+            direct.append(chars, 0, length);
+            return;
+        }
+
+        int offset = 0;
+        while (offset < length) {
+            if (count == buffer.length) {
+                drain();
+            }
+            int chunk = Math.min(length - offset, buffer.length - count);
+            System.arraycopy(chars, offset, buffer, count, chunk);
+            count += chunk;
+            offset += chunk;
+        }
+    }
+
+    private void drain() {
+        if (count == 0) {
+            return;
+        }
+
+        try {
+            if (target instanceof Writer) {
+                ((Writer) target).write(buffer, 0, count);
+            } else {
+                target.append(CharBuffer.wrap(buffer, 0, count));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        count = 0;
+    }
+}
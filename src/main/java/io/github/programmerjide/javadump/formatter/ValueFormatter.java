@@ -2,12 +2,14 @@ package io.github.programmerjide.javadump.formatter;
 
 import io.github.programmerjide.javadump.config.DumperConfig;
 import io.github.programmerjide.javadump.model.DumpNode;
+import io.github.programmerjide.javadump.model.DumpVisitor;
 import io.github.programmerjide.javadump.util.ColorUtil;
 import io.github.programmerjide.javadump.util.StringUtil;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.function.Consumer;
 
 /**
  * Formats individual values from DumpNode objects.
@@ -21,8 +23,19 @@ import java.util.HashMap;
  */
 public class ValueFormatter {
 
+    private static final String CIRCULAR = "{ ... } ↻ CIRCULAR REFERENCE";
+    private static final String MAX_DEPTH = "{ ... } MAX DEPTH REACHED";
+
     private final DumperConfig config;
-    private static final String INDENT = "  ";
+
+    // ANSI sequence per token kind, or null when colors are disabled
+    private final String typeColor;
+    private final String stringColor;
+    private final String numberColor;
+    private final String keywordColor;
+    private final String errorColor;
+    private final String dimColor;
+    private final String fieldColor;
 
     /**
      * Creates a new value formatter with the given configuration.
@@ -34,44 +47,90 @@ public class ValueFormatter {
         } else {
             ColorUtil.forceDisableColors();
         }
+
+        boolean color = config.isColorEnabled();
+        this.typeColor = color ? ColorUtil.ORANGE : null;
+        this.stringColor = color ? ColorUtil.GREEN : null;
+        this.numberColor = color ? ColorUtil.ORANGE : null;
+        this.keywordColor = color ? ColorUtil.YELLOW : null;
+        this.errorColor = color ? ColorUtil.RED : null;
+        this.dimColor = color ? ColorUtil.DIM : null;
+        this.fieldColor = color ? ColorUtil.CYAN : null;
     }
 
     /**
      * Formats a dump node at the given depth level.
      */
     public String format(DumpNode node, int depth) {
+        StringBuilder sb = new StringBuilder();
+        format(node, depth, new OutputSink(sb));
+        return sb.toString();
+    }
+
+    /**
+     * Formats a dump node at the given depth level straight into a sink.
+     *
+     * <p>Nested values are appended to the same sink as they are reached,
+     * so no intermediate string is built for any part of the tree. The
+     * caller is responsible for flushing the sink.
+     */
+    public void format(DumpNode node, int depth, OutputSink out) {
+        if (node != null && !node.isCircular() && !node.isMaxDepthReached()) {
+            switch (node.getType()) {
+                case ARRAY:
+                case COLLECTION:
+                    formatCollection(node, depth, out);
+                    return;
+                case MAP:
+                    formatMap(node, depth, out);
+                    return;
+                case OBJECT:
+                    formatObject(node, depth, out);
+                    return;
+                default:
+                    break;
+            }
+        }
+        writeScalar(node, out);
+    }
+
+    /**
+     * Writes a node that has no nested values.
+     */
+    private void writeScalar(DumpNode node, OutputSink out) {
         if (node == null) {
-            return formatNull();
+            writeNull(out);
+            return;
         }
 
         if (node.isCircular()) {
-            return formatCircular();
+            out.appendStyled(errorColor, CIRCULAR);
+            return;
         }
 
         if (node.isMaxDepthReached()) {
-            return formatMaxDepth();
+            out.appendStyled(dimColor, MAX_DEPTH);
+            return;
         }
 
         switch (node.getType()) {
             case NULL:
-                return formatNull();
+                writeNull(out);
+                return;
             case STRING:
-                return formatString(node);
+                writeString(node, out);
+                return;
             case NUMBER:
-                return formatNumber(node);
+                writeNumber(node, out);
+                return;
             case BOOLEAN:
-                return formatBoolean(node);
+                writeBoolean(node, out);
+                return;
             case ENUM:
-                return formatEnum(node);
-            case ARRAY:
-            case COLLECTION:
-                return formatCollection(node, depth);
-            case MAP:
-                return formatMap(node, depth);
-            case OBJECT:
-                return formatObject(node, depth);
+                writeEnum(node, out);
+                return;
             default:
-                return formatUnknown(node);
+                writeUnknown(node, out);
         }
     }
 
@@ -79,27 +138,14 @@ public class ValueFormatter {
      * Formats a null value.
      */
     public String formatNull() {
-        if (!config.isColorEnabled()) {
-            return "null";
-        }
-        return ColorUtil.keyword("null");
+        return render(out -> writeNull(out));
     }
 
     /**
      * Formats a string node.
      */
     public String formatString(DumpNode node) {
-        String str = String.valueOf(node.getValue());
-        String escaped = StringUtil.escape(str);
-        int length = str.length();
-
-        if (!config.isColorEnabled()) {
-            return String.format("string(%d) \"%s\"", length, escaped);
-        }
-
-        return String.format("%s %s",
-                ColorUtil.type("string(" + length + ")"),
-                ColorUtil.string("\"" + escaped + "\""));
+        return render(out -> writeString(node, out));
     }
 
     /**
@@ -113,57 +159,28 @@ public class ValueFormatter {
      * Formats a number node.
      */
     public String formatNumber(DumpNode node) {
-        String typeName = node.getTypeName();
-        String value = String.valueOf(node.getValue());
-
-        if (!config.isColorEnabled()) {
-            return String.format("%s %s", typeName, value);
-        }
-
-        return String.format("%s %s",
-                ColorUtil.type(typeName),
-                ColorUtil.number(value));
+        return render(out -> writeNumber(node, out));
     }
 
     /**
      * Formats a boolean node.
      */
     public String formatBoolean(DumpNode node) {
-        String str = String.valueOf(node.getValue());
-
-        if (!config.isColorEnabled()) {
-            return String.format("boolean %s", str);
-        }
-
-        return String.format("%s %s",
-                ColorUtil.type("boolean"),
-                ColorUtil.keyword(str));
+        return render(out -> writeBoolean(node, out));
     }
 
     /**
      * Formats an enum node.
      */
     public String formatEnum(DumpNode node) {
-        String typeName = node.getTypeName();
-        String value = String.valueOf(node.getValue());
-
-        if (!config.isColorEnabled()) {
-            return String.format("%s.%s", typeName, value);
-        }
-
-        return String.format("%s.%s",
-                ColorUtil.type(typeName),
-                ColorUtil.keyword(value));
+        return render(out -> writeEnum(node, out));
     }
 
     /**
      * Formats a circular reference indicator.
      */
     public String formatCircular() {
-        if (!config.isColorEnabled()) {
-            return "{ ... } ↻ CIRCULAR REFERENCE";
-        }
-        return ColorUtil.error("{ ... } ↻ CIRCULAR REFERENCE");
+        return render(out -> out.appendStyled(errorColor, CIRCULAR));
     }
 
     /**
@@ -177,20 +194,14 @@ public class ValueFormatter {
      * Formats a max depth indicator.
      */
     public String formatMaxDepth() {
-        if (!config.isColorEnabled()) {
-            return "{ ... } MAX DEPTH REACHED";
-        }
-        return ColorUtil.dim("{ ... } MAX DEPTH REACHED");
+        return render(out -> out.appendStyled(dimColor, MAX_DEPTH));
     }
 
     /**
      * Formats a truncation marker.
      */
     public String formatTruncated() {
-        if (!config.isColorEnabled()) {
-            return "... (truncated)";
-        }
-        return ColorUtil.formatTruncated();
+        return render(out -> out.appendStyled(dimColor, "... (truncated)"));
     }
 
     /**
@@ -199,19 +210,84 @@ public class ValueFormatter {
     public String formatError(DumpNode node) {
         String message = node.getValue() != null ?
                 String.valueOf(node.getValue()) : "Error analyzing object";
+        return render(out -> out.beginStyle(errorColor)
+                .append("[ERROR: ").append(message).append(']')
+                .endStyle(errorColor));
+    }
+
+    private void writeNull(OutputSink out) {
+        out.appendStyled(keywordColor, "null");
+    }
+
+    private void writeString(DumpNode node, OutputSink out) {
+        String str = String.valueOf(node.getValue());
 
-        if (!config.isColorEnabled()) {
-            return "[ERROR: " + message + "]";
+        out.beginStyle(typeColor).append("string(").append(str.length()).append(')').endStyle(typeColor);
+        out.append(' ');
+        out.beginStyle(stringColor).append('"');
+        out.append(StringUtil.needsEscape(str) ? StringUtil.escape(str) : str);
+        out.append('"').endStyle(stringColor);
+    }
+
+    private void writeNumber(DumpNode node, OutputSink out) {
+        out.appendStyled(typeColor, node.getTypeName()).append(' ');
+        out.beginStyle(numberColor);
+        writeValue(node.getValue(), out);
+        out.endStyle(numberColor);
+    }
+
+    private void writeBoolean(DumpNode node, OutputSink out) {
+        out.appendStyled(typeColor, "boolean").append(' ');
+        out.appendStyled(keywordColor, String.valueOf(node.getValue()));
+    }
+
+    private void writeEnum(DumpNode node, OutputSink out) {
+        out.appendStyled(typeColor, node.getTypeName()).append('.');
+        out.appendStyled(keywordColor, String.valueOf(node.getValue()));
+    }
+
+    /**
+     * Writes an unknown type.
+     */
+    private void writeUnknown(DumpNode node, OutputSink out) {
+        out.beginStyle(dimColor).append(node.getTypeName()).append(' ');
+        writeValue(node.getValue(), out);
+        out.endStyle(dimColor);
+    }
+
+    /**
+     * Writes a value as {@link String#valueOf(Object)} would, appending
+     * integers without creating a string.
+     */
+    private static void writeValue(Object value, OutputSink out) {
+        if (value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            out.append(((Number) value).longValue());
+        } else {
+            out.append(String.valueOf(value));
         }
-        return ColorUtil.error("[ERROR: " + message + "]");
     }
 
     /**
-     * Formats a collection (array, list, set).
+     * Writes a container header such as {@code ArrayList[3]}.
      */
-    private String formatCollection(DumpNode node, int depth) {
-        StringBuilder sb = new StringBuilder();
+    private void writeHeader(String typeName, int size, OutputSink out) {
+        out.beginStyle(typeColor).append(typeName).append('[').append(size).append(']').endStyle(typeColor);
+    }
 
+    /**
+     * Writes the dimmed {@code ... N more items} line of a truncated container.
+     */
+    private void writeMore(int omitted, String what, int depth, OutputSink out) {
+        out.indent(depth);
+        out.beginStyle(dimColor).append("... ").append(omitted).append(what).endStyle(dimColor);
+        out.append('\n');
+    }
+
+    /**
+     * Formats a collection (array, list, set).
+     */
+    private void formatCollection(DumpNode node, int depth, OutputSink out) {
         // Try to get data from elements first, then from children
         List<DumpNode> elements = node.getElements();
         Map<String, DumpNode> children = node.getChildren();
@@ -230,63 +306,48 @@ public class ValueFormatter {
         }
 
         // Type header with actual size
-        String header = String.format("%s[%d]",
-                node.getTypeName(),
-                size);
-        sb.append(colorize(header, ColorUtil::type));
+        writeHeader(node.getTypeName(), size, out);
 
         if (size == 0) {
-            sb.append(" []");
-            return sb.toString();
+            out.append(" []");
+            return;
         }
 
-        sb.append(" [\n");
+        out.append(" [\n");
 
         // Format each item
         int maxItems = Math.min(size, config.getMaxItems());
 
         for (int i = 0; i < maxItems; i++) {
-            String indent = getIndent(depth + 1);
-            sb.append(indent);
-            sb.append(colorize(i + " →", ColorUtil::dim));
-            sb.append(" ");
+            writeIndex(i, depth + 1, out);
 
             if (useElements && i < elements.size()) {
-                sb.append(format(elements.get(i), depth + 1));
+                format(elements.get(i), depth + 1, out);
             } else if (useChildren) {
                 String key = String.valueOf(i);
                 DumpNode child = children.get(key);
                 if (child != null) {
-                    sb.append(format(child, depth + 1));
+                    format(child, depth + 1, out);
                 }
             } else {
                 // If we have size but no actual elements (e.g., truncated)
-                sb.append(colorize("...", ColorUtil::dim));
+                out.appendStyled(dimColor, "...");
             }
-            sb.append("\n");
+            out.append('\n');
         }
 
         if (size > maxItems || node.isTruncated()) {
-            String indent = getIndent(depth + 1);
-            sb.append(indent);
-            sb.append(colorize(
-                    String.format("... %d more items", size - maxItems),
-                    ColorUtil::dim));
-            sb.append("\n");
+            writeMore(Math.max(size, node.getDisplaySize()) - maxItems, " more items", depth + 1, out);
         }
 
-        sb.append(getIndent(depth));
-        sb.append("]");
-
-        return sb.toString();
+        out.indent(depth);
+        out.append(']');
     }
 
     /**
      * Formats a map.
      */
-    private String formatMap(DumpNode node, int depth) {
-        StringBuilder sb = new StringBuilder();
-
+    private void formatMap(DumpNode node, int depth, OutputSink out) {
         // Try to get data from entries first, then from children
         Map<DumpNode, DumpNode> entries = node.getEntries();
         Map<String, DumpNode> children = node.getChildren();
@@ -305,17 +366,14 @@ public class ValueFormatter {
         }
 
         // Type header
-        String header = String.format("%s[%d]",
-                node.getTypeName(),
-                size);
-        sb.append(colorize(header, ColorUtil::type));
+        writeHeader(node.getTypeName(), size, out);
 
         if (size == 0) {
-            sb.append(" {}");
-            return sb.toString();
+            out.append(" {}");
+            return;
         }
 
-        sb.append(" {\n");
+        out.append(" {\n");
 
         // Format each entry
         int index = 0;
@@ -325,16 +383,15 @@ public class ValueFormatter {
             for (Map.Entry<DumpNode, DumpNode> entry : entries.entrySet()) {
                 if (index >= maxItems) break;
 
-                String indent = getIndent(depth + 1);
-                sb.append(indent);
+                out.indent(depth + 1);
 
                 // Format key
-                sb.append(format(entry.getKey(), depth + 1));
-                sb.append(" → ");
+                format(entry.getKey(), depth + 1, out);
+                out.append(" → ");
 
                 // Format value
-                sb.append(format(entry.getValue(), depth + 1));
-                sb.append("\n");
+                format(entry.getValue(), depth + 1, out);
+                out.append('\n');
 
                 index++;
             }
@@ -342,47 +399,40 @@ public class ValueFormatter {
             for (Map.Entry<String, DumpNode> entry : children.entrySet()) {
                 if (index >= maxItems) break;
 
-                String indent = getIndent(depth + 1);
-                sb.append(indent);
+                out.indent(depth + 1);
 
-                // Format key
+                // Format key, without surrounding quotes for cleaner display
                 String key = entry.getKey();
-                // Remove quotes if they exist for cleaner display
-                if (key.startsWith("\"") && key.endsWith("\"")) {
-                    key = key.substring(1, key.length() - 1);
+                boolean quoted = key.length() > 1 && key.startsWith("\"") && key.endsWith("\"");
+                out.beginStyle(stringColor);
+                if (quoted) {
+                    out.append(key, 1, key.length() - 1);
+                } else {
+                    out.append(key);
                 }
-                sb.append(colorize(key, ColorUtil::string));
-                sb.append(" → ");
+                out.endStyle(stringColor);
+                out.append(" → ");
 
                 // Format value
-                sb.append(format(entry.getValue(), depth + 1));
-                sb.append("\n");
+                format(entry.getValue(), depth + 1, out);
+                out.append('\n');
 
                 index++;
             }
         }
 
         if (size > maxItems || node.isTruncated()) {
-            String indent = getIndent(depth + 1);
-            sb.append(indent);
-            sb.append(colorize(
-                    String.format("... %d more entries", size - maxItems),
-                    ColorUtil::dim));
-            sb.append("\n");
+            writeMore(Math.max(size, node.getDisplaySize()) - maxItems, " more entries", depth + 1, out);
         }
 
-        sb.append(getIndent(depth));
-        sb.append("}");
-
-        return sb.toString();
+        out.indent(depth);
+        out.append('}');
     }
 
     /**
      * Formats an object with its fields.
      */
-    private String formatObject(DumpNode node, int depth) {
-        StringBuilder sb = new StringBuilder();
-
+    private void formatObject(DumpNode node, int depth, OutputSink out) {
         // Try to get data from fields first, then from children
         Map<String, DumpNode> fields = node.getFields();
         Map<String, DumpNode> children = node.getChildren();
@@ -391,98 +441,196 @@ public class ValueFormatter {
         boolean useChildren = !children.isEmpty();
 
         // Type header: #Person
-        sb.append(colorize("#" + node.getTypeName(), ColorUtil::type));
+        writeObjectHeader(node.getTypeName(), out);
 
         if (!useFields && !useChildren) {
-            sb.append(" {}");
-            return sb.toString();
+            out.append(" {}");
+            return;
         }
 
-        sb.append(" {\n");
+        out.append(" {\n");
 
         // Format each field
         if (useFields) {
             for (Map.Entry<String, DumpNode> entry : fields.entrySet()) {
-                formatField(sb, entry.getKey(), entry.getValue(), depth);
+                formatField(out, entry.getKey(), entry.getValue(), depth);
             }
         } else if (useChildren) {
             for (Map.Entry<String, DumpNode> entry : children.entrySet()) {
-                formatField(sb, entry.getKey(), entry.getValue(), depth);
+                formatField(out, entry.getKey(), entry.getValue(), depth);
             }
         }
 
-        sb.append(getIndent(depth));
-        sb.append("}");
+        out.indent(depth);
+        out.append('}');
+    }
 
-        return sb.toString();
+    private void writeObjectHeader(String typeName, OutputSink out) {
+        out.beginStyle(typeColor).append('#').append(typeName).endStyle(typeColor);
+    }
+
+    /**
+     * Writes the indented, dimmed {@code i →} prefix of a collection element.
+     */
+    private void writeIndex(int index, int depth, OutputSink out) {
+        out.indent(depth);
+        out.beginStyle(dimColor).append(index).append(" →").endStyle(dimColor);
+        out.append(' ');
     }
 
     /**
      * Helper method to format a single field.
      */
-    private void formatField(StringBuilder sb, String fieldName, DumpNode value, int depth) {
-        String indent = getIndent(depth + 1);
-        sb.append(indent);
+    private void formatField(OutputSink out, String fieldName, DumpNode value, int depth) {
+        formatFieldName(out, fieldName, depth + 1);
+        format(value, depth + 1, out);
+        out.append('\n');
+    }
 
-        // Extract visibility marker if present (-, +, #, ~)
-        String visibilityMarker = "";
-        String cleanFieldName = fieldName;
+    /**
+     * Writes the indented field name and arrow that precede a field's value.
+     */
+    private void formatFieldName(OutputSink out, String fieldName, int depth) {
+        out.indent(depth);
 
+        // Visibility marker if present (-, +, #, ~), then the name
+        int nameStart = 0;
         if (fieldName.length() > 0) {
             char first = fieldName.charAt(0);
             if (first == '-' || first == '+' || first == '#' || first == '~') {
-                visibilityMarker = String.valueOf(first);
-                cleanFieldName = fieldName.substring(1);
+                out.beginStyle(dimColor).append(first).endStyle(dimColor);
+                nameStart = 1;
             }
         }
 
         // Format: -name → "value"
-        if (!visibilityMarker.isEmpty()) {
-            sb.append(colorize(visibilityMarker, ColorUtil::dim));
-        }
-        sb.append(colorize(cleanFieldName, ColorUtil::cyan));
-        sb.append(colorize(" → ", ColorUtil::dim));
-        sb.append(format(value, depth + 1));
-        sb.append("\n");
+        out.beginStyle(fieldColor).append(fieldName, nameStart, fieldName.length()).endStyle(fieldColor);
+        out.appendStyled(dimColor, " → ");
     }
 
     /**
-     * Formats an unknown type.
+     * Returns a visitor that writes the same output as {@link #format(DumpNode, int)}
+     * from walk events, one event at a time.
      */
-    private String formatUnknown(DumpNode node) {
-        return colorize(
-                String.format("%s %s",
-                        node.getTypeName(),
-                        node.getValue()),
-                ColorUtil::dim);
+    public DumpVisitor visitor(OutputSink out) {
+        return new ConsoleVisitor(out);
     }
 
     /**
-     * Gets indentation string for the given depth.
+     * Console output driven by {@link DumpVisitor} events. Only the kinds of
+     * the open containers are kept; their nesting is the current depth.
      */
-    private String getIndent(int depth) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < depth; i++) {
-            sb.append(INDENT);
+    private final class ConsoleVisitor implements DumpVisitor {
+        private static final byte ARRAY = 0;
+        private static final byte MAP = 1;
+        private static final byte OBJECT = 2;
+        private static final byte EMPTY = 3;
+
+        private final OutputSink out;
+        private byte[] open = new byte[16];
+        private int depth;
+
+        ConsoleVisitor(OutputSink out) {
+            this.out = out;
         }
-        return sb.toString();
-    }
 
-    /**
-     * Applies color function if colors are enabled.
-     */
-    private String colorize(String text, ColorFunction colorFn) {
-        if (!config.isColorEnabled()) {
-            return text;
+        @Override
+        public void value(DumpNode node) {
+            format(node, depth, out);
+            completed();
+        }
+
+        @Override
+        public void beginArray(String typeName, int size, int shown) {
+            int headerSize = shown > 0 ? shown : size;
+            writeHeader(typeName, headerSize, out);
+            if (headerSize == 0) {
+                out.append(" []");
+                push(EMPTY);
+            } else {
+                out.append(" [\n");
+                push(ARRAY);
+            }
+        }
+
+        @Override
+        public void beginMap(String typeName, int size, int shown) {
+            int headerSize = shown > 0 ? shown : size;
+            writeHeader(typeName, headerSize, out);
+            if (headerSize == 0) {
+                out.append(" {}");
+                push(EMPTY);
+            } else {
+                out.append(" {\n");
+                push(MAP);
+            }
+        }
+
+        @Override
+        public void beginObject(String typeName, int fieldCount) {
+            writeObjectHeader(typeName, out);
+            if (fieldCount == 0) {
+                out.append(" {}");
+                push(EMPTY);
+            } else {
+                out.append(" {\n");
+                push(OBJECT);
+            }
+        }
+
+        @Override
+        public void element(int index) {
+            writeIndex(index, depth, out);
+        }
+
+        @Override
+        public void key(DumpNode key) {
+            out.indent(depth);
+            format(key, depth, out);
+            out.append(" → ");
+        }
+
+        @Override
+        public void field(String label) {
+            formatFieldName(out, label, depth);
+        }
+
+        @Override
+        public void end(int omitted) {
+            byte kind = open[--depth];
+            if (kind != EMPTY) {
+                if (omitted > 0 && kind != OBJECT) {
+                    writeMore(omitted, kind == ARRAY ? " more items" : " more entries", depth + 1, out);
+                }
+                out.indent(depth);
+                out.append(kind == ARRAY ? ']' : '}');
+            }
+            completed();
+        }
+
+        private void push(byte kind) {
+            if (depth == open.length) {
+                open = Arrays.copyOf(open, depth * 2);
+            }
+            open[depth++] = kind;
+        }
+
+        /**
+         * Ends the line of a child value inside a container.
+         */
+        private void completed() {
+            if (depth > 0) {
+                out.append('\n');
+            }
         }
-        return colorFn.apply(text);
     }
 
     /**
-     * Functional interface for color functions.
+     * Writes tokens into a fresh string, for the single-value methods.
      */
-    @FunctionalInterface
-    private interface ColorFunction {
-        String apply(String text);
+    private static String render(Consumer<OutputSink> writer) {
+        StringBuilder sb = new StringBuilder();
+        writer.accept(new OutputSink(sb));
+        return sb.toString();
     }
-}
\ No newline at end of file
+}
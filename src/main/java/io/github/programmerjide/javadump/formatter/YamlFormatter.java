@@ -2,12 +2,14 @@ package io.github.programmerjide.javadump.formatter;
 
 import io.github.programmerjide.javadump.config.DumperConfig;
 import io.github.programmerjide.javadump.model.DumpNode;
-
-import java.util.Map;
+import io.github.programmerjide.javadump.model.DumpVisitor;
 
 /**
  * Formats dumps as YAML.
  *
+ * <p>Like {@link JsonFormatter}, output is produced from {@link DumpVisitor}
+ * events, so the analyzer can walk straight into {@link #visitor(OutputSink)}.
+ *
  * @author Olaldejo Olajide
  * @since 1.3.0
  */
@@ -20,60 +22,46 @@ public class YamlFormatter {
     }
 
     public String format(DumpNode node) {
-        return formatNode(node, 0);
+        StringBuilder sb = new StringBuilder();
+        OutputSink out = new OutputSink(sb);
+        if (node == null) {
+            out.append("null");
+        } else {
+            node.accept(visitor(out));
+        }
+        return sb.toString();
     }
 
-    private String formatNode(DumpNode node, int depth) {
-        if (node == null) return "null";
+    /**
+     * Returns a visitor that writes YAML from walk events.
+     */
+    public DumpVisitor visitor(OutputSink out) {
+        return new YamlVisitor(out);
+    }
 
+    private String formatLeaf(DumpNode node) {
         switch (node.getType()) {
             case NULL:
                 return "null";
             case STRING:
                 return "\"" + escape(String.valueOf(node.getValue())) + "\"";
-            case NUMBER:
-            case BOOLEAN:
-                return String.valueOf(node.getValue());
-            case OBJECT:
-                return formatObject(node, depth);
-            case COLLECTION:
-                return formatCollection(node, depth);
-            case MAP:
-                return formatMap(node, depth);
             default:
                 return String.valueOf(node.getValue());
         }
     }
 
-    private String formatObject(DumpNode node, int depth) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("\n");
-
-        for (Map.Entry<String, DumpNode> entry : node.getChildren().entrySet()) {
-            sb.append(indent(depth));
-            sb.append(entry.getKey()).append(": ");
-            sb.append(formatNode(entry.getValue(), depth + 1));
-            sb.append("\n");
-        }
-
-        return sb.toString();
-    }
-
-    private String formatCollection(DumpNode node, int depth) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("\n");
-
-        for (DumpNode child : node.getChildren().values()) {
-            sb.append(indent(depth)).append("- ");
-            sb.append(formatNode(child, depth + 1));
-            sb.append("\n");
+    private String keyText(DumpNode key) {
+        switch (key.getType()) {
+            case STRING:
+            case NUMBER:
+            case PRIMITIVE:
+            case BOOLEAN:
+            case ENUM:
+            case NULL:
+                return String.valueOf(key.getValue());
+            default:
+                return key.getTypeName();
         }
-
-        return sb.toString();
-    }
-
-    private String formatMap(DumpNode node, int depth) {
-        return formatObject(node, depth);
     }
 
     private String indent(int depth) {
@@ -85,4 +73,71 @@ public class YamlFormatter {
                 .replace("\"", "\\\"")
                 .replace("\n", "\\n");
     }
+
+    /**
+     * YAML output driven by {@link DumpVisitor} events. Members of a
+     * container are indented by the container's own depth.
+     */
+    private final class YamlVisitor implements DumpVisitor {
+        private final OutputSink out;
+        private int depth;
+
+        YamlVisitor(OutputSink out) {
+            this.out = out;
+        }
+
+        @Override
+        public void value(DumpNode node) {
+            out.append(formatLeaf(node));
+            completed();
+        }
+
+        @Override
+        public void beginArray(String typeName, int size, int shown) {
+            out.append('\n');
+            depth++;
+        }
+
+        @Override
+        public void beginMap(String typeName, int size, int shown) {
+            out.append('\n');
+            depth++;
+        }
+
+        @Override
+        public void beginObject(String typeName, int fieldCount) {
+            out.append('\n');
+            depth++;
+        }
+
+        @Override
+        public void element(int index) {
+            out.append(indent(depth - 1)).append("- ");
+        }
+
+        @Override
+        public void key(DumpNode key) {
+            out.append(indent(depth - 1)).append(keyText(key)).append(": ");
+        }
+
+        @Override
+        public void field(String label) {
+            out.append(indent(depth - 1)).append(label).append(": ");
+        }
+
+        @Override
+        public void end(int omitted) {
+            if (omitted > 0) {
+                out.append(indent(depth - 1)).append("# ... ").append(omitted).append(" more\n");
+            }
+            depth--;
+            completed();
+        }
+
+        private void completed() {
+            if (depth > 0) {
+                out.append('\n');
+            }
+        }
+    }
 }
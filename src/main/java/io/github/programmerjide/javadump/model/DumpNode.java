@@ -1,5 +1,7 @@
 package io.github.programmerjide.javadump.model;
 
+import io.github.programmerjide.javadump.cache.ReflectionCache;
+
 import java.util.*;
 
 /**
@@ -8,6 +10,15 @@ import java.util.*;
  * <p>This class holds the analyzed representation of any object,
  * including its type, value, children, and metadata about the analysis.
  *
+ * <p>Nodes are compact: a node takes ownership of the collections handed
+ * to its builder instead of copying them, containers it does not use point
+ * to shared empty instances, and the flags share one byte. The common
+ * leaves {@link #ofNull()}, {@link #ofBoolean(boolean)} and
+ * {@link #maxDepth()} are shared singletons.
+ *
+ * <p>Each node can report a {@link #structuralHash() structural hash} of
+ * its subtree, Merkle-style, so two subtrees can be compared in O(1).
+ *
  * @author Olaldejo Olajide
  * @since 1.0.0
  */
@@ -40,27 +51,37 @@ public class DumpNode {
     private final List<DumpNode> elements;
     private final Map<DumpNode, DumpNode> entries;
     private final Map<String, DumpNode> fields;
-    private final boolean circular;
-    private final boolean maxDepthReached;
-    private final boolean truncated;
+    private final byte flags;
     private final int displaySize;
 
+    // 0 until computed; volatile so a long is never read half-written
+    private volatile long structuralHash;
+
+    private static final byte CIRCULAR = 1;
+    private static final byte MAX_DEPTH_REACHED = 2;
+    private static final byte TRUNCATED = 4;
+
+    private static final DumpNode NULL = builder().type(NodeType.NULL).typeName("null").build();
+    private static final DumpNode TRUE = booleanNode(true);
+    private static final DumpNode FALSE = booleanNode(false);
+    private static final DumpNode MAX_DEPTH = builder()
+            .type(NodeType.TRUNCATED)
+            .maxDepthReached(true)
+            .truncated(true)
+            .build();
+
     private DumpNode(Builder builder) {
         this.type = builder.type;
         this.clazz = builder.clazz;
         this.value = builder.value;
         this.typeName = builder.typeName;
-        this.children = builder.children != null ?
-                new LinkedHashMap<>(builder.children) : new LinkedHashMap<>();
-        this.elements = builder.elements != null ?
-                new ArrayList<>(builder.elements) : new ArrayList<>();
-        this.entries = builder.entries != null ?
-                new LinkedHashMap<>(builder.entries) : new LinkedHashMap<>();
-        this.fields = builder.fields != null ?
-                new LinkedHashMap<>(builder.fields) : new LinkedHashMap<>();
-        this.circular = builder.circular;
-        this.maxDepthReached = builder.maxDepthReached;
-        this.truncated = builder.truncated;
+        this.children = builder.children != null ? builder.children : Collections.emptyMap();
+        this.elements = builder.elements != null ? builder.elements : Collections.emptyList();
+        this.entries = builder.entries != null ? builder.entries : Collections.emptyMap();
+        this.fields = builder.fields != null ? builder.fields : Collections.emptyMap();
+        this.flags = (byte) ((builder.circular ? CIRCULAR : 0)
+                | (builder.maxDepthReached ? MAX_DEPTH_REACHED : 0)
+                | (builder.truncated ? TRUNCATED : 0));
         this.displaySize = builder.displaySize;
     }
 
@@ -90,31 +111,31 @@ public class DumpNode {
     }
 
     public Map<String, DumpNode> getChildren() {
-        return Collections.unmodifiableMap(children);
+        return children.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(children);
     }
 
     public List<DumpNode> getElements() {
-        return Collections.unmodifiableList(elements);
+        return elements.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(elements);
     }
 
     public Map<DumpNode, DumpNode> getEntries() {
-        return Collections.unmodifiableMap(entries);
+        return entries.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(entries);
     }
 
     public Map<String, DumpNode> getFields() {
-        return Collections.unmodifiableMap(fields);
+        return fields.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(fields);
     }
 
     public boolean isCircular() {
-        return circular;
+        return (flags & CIRCULAR) != 0;
     }
 
     public boolean isMaxDepthReached() {
-        return maxDepthReached;
+        return (flags & MAX_DEPTH_REACHED) != 0;
     }
 
     public boolean isTruncated() {
-        return truncated;
+        return (flags & TRUNCATED) != 0;
     }
 
     public int getDisplaySize() {
@@ -128,16 +149,224 @@ public class DumpNode {
                 fields.isEmpty();
     }
 
+    /**
+     * Replays this tree as events to a visitor, in the order
+     * {@code ObjectAnalyzer.walk} would emit them for the original value.
+     */
+    public void accept(DumpVisitor visitor) {
+        accept(this, visitor);
+    }
+
+    private static void accept(DumpNode node, DumpVisitor visitor) {
+        if (node == null) {
+            visitor.value(ofNull());
+            return;
+        }
+
+        if (node.isCircular() || node.isMaxDepthReached()) {
+            visitor.value(node);
+            return;
+        }
+
+        switch (node.type) {
+            case ARRAY:
+            case COLLECTION: {
+                Collection<DumpNode> items = !node.elements.isEmpty()
+                        ? node.elements : node.children.values();
+                int size = Math.max(items.size(), node.displaySize);
+                visitor.beginArray(node.typeName, size, items.size());
+                int index = 0;
+                for (DumpNode item : items) {
+                    visitor.element(index++);
+                    accept(item, visitor);
+                }
+                visitor.end(size - items.size());
+                return;
+            }
+            case MAP: {
+                int shown = !node.entries.isEmpty() ? node.entries.size() : node.children.size();
+                int size = Math.max(shown, node.displaySize);
+                visitor.beginMap(node.typeName, size, shown);
+                if (!node.entries.isEmpty()) {
+                    for (Map.Entry<DumpNode, DumpNode> entry : node.entries.entrySet()) {
+                        visitor.key(entry.getKey());
+                        accept(entry.getValue(), visitor);
+                    }
+                } else {
+                    for (Map.Entry<String, DumpNode> entry : node.children.entrySet()) {
+                        visitor.key(ofString(entry.getKey()));
+                        accept(entry.getValue(), visitor);
+                    }
+                }
+                visitor.end(size - shown);
+                return;
+            }
+            case OBJECT: {
+                Map<String, DumpNode> fields = !node.fields.isEmpty() ? node.fields : node.children;
+                visitor.beginObject(node.typeName, fields.size());
+                for (Map.Entry<String, DumpNode> entry : fields.entrySet()) {
+                    visitor.field(entry.getKey());
+                    accept(entry.getValue(), visitor);
+                }
+                visitor.end(0);
+                return;
+            }
+            default:
+                visitor.value(node);
+        }
+    }
+
+    // ==================== Structural Hash ====================
+
+    private static final long PRIME = 0x100000001B3L;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Returns a 64-bit hash of this node and its whole subtree: type, type
+     * name, flags, value and, in order, its fields, elements and entries
+     * (entries in any order, as maps compare). Trees that are equal in
+     * structure and values always hash the same.
+     *
+     * <p>Each node computes its hash once, from the hashes of its children,
+     * so after the first call every subtree's hash is a field read. A
+     * different hash proves two subtrees differ; an equal hash means equal
+     * up to a 64-bit collision. Deep trees are hashed without recursion.
+     */
+    public long structuralHash() {
+        long hash = structuralHash;
+        if (hash == 0) {
+            hashTree(this);
+            hash = structuralHash;
+        }
+        return hash;
+    }
+
+    private static void hashTree(DumpNode root) {
+        ArrayDeque<DumpNode> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            DumpNode node = stack.peek();
+            if (node.structuralHash != 0) {
+                stack.pop();
+                continue;
+            }
+            int pending = stack.size();
+            for (DumpNode child : node.children.values()) {
+                pushUnhashed(stack, child);
+            }
+            for (DumpNode child : node.elements) {
+                pushUnhashed(stack, child);
+            }
+            for (Map.Entry<DumpNode, DumpNode> entry : node.entries.entrySet()) {
+                pushUnhashed(stack, entry.getKey());
+                pushUnhashed(stack, entry.getValue());
+            }
+            for (DumpNode child : node.fields.values()) {
+                pushUnhashed(stack, child);
+            }
+            if (stack.size() == pending) {
+                stack.pop();
+                node.structuralHash = node.computeHash();
+            }
+        }
+    }
+
+    private static void pushUnhashed(ArrayDeque<DumpNode> stack, DumpNode node) {
+        if (node != null && node.structuralHash == 0) {
+            stack.push(node);
+        }
+    }
+
+    /**
+     * Hashes this node from its own parts and its children's hashes.
+     */
+    private long computeHash() {
+        long hash = type.ordinal() + 1;
+        hash = hash * PRIME + flags;
+        hash = hash * PRIME + displaySize;
+        hash = hash * PRIME + Objects.hashCode(clazz);
+        hash = hash * PRIME + hashString(typeName);
+        hash = hash * PRIME + hashValue(value);
+        for (Map.Entry<String, DumpNode> child : children.entrySet()) {
+            hash = hash * PRIME + hashString(child.getKey());
+            hash = hash * PRIME + hashChild(child.getValue());
+        }
+        for (DumpNode element : elements) {
+            hash = hash * PRIME + hashChild(element);
+        }
+        long entrySum = 0;
+        for (Map.Entry<DumpNode, DumpNode> entry : entries.entrySet()) {
+            entrySum += mix(hashChild(entry.getKey()) * PRIME + hashChild(entry.getValue()));
+        }
+        hash = hash * PRIME + entrySum;
+        for (Map.Entry<String, DumpNode> field : fields.entrySet()) {
+            hash = hash * PRIME + hashString(field.getKey());
+            hash = hash * PRIME + hashChild(field.getValue());
+        }
+        hash = mix(hash);
+        return hash != 0 ? hash : GOLDEN;
+    }
+
+    private static long hashChild(DumpNode node) {
+        return node != null ? node.structuralHash : 0;
+    }
+
+    /**
+     * A 64-bit hash of a leaf value. Strings and numbers are hashed in full
+     * width, since their 32-bit {@code hashCode}s collide easily.
+     */
+    private static long hashValue(Object value) {
+        if (value instanceof String) {
+            return hashString((String) value);
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return Double.doubleToLongBits(((Number) value).doubleValue());
+        }
+        if (value instanceof Long || value instanceof Integer
+                || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Character) {
+            return (Character) value;
+        }
+        return Objects.hashCode(value);
+    }
+
+    private static long hashString(String text) {
+        if (text == null) {
+            return 0;
+        }
+        long hash = text.length();
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * PRIME;
+        }
+        return mix(hash);
+    }
+
+    /** The MurmurHash3 64-bit finalizer. */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
     // ==================== Static Factory Methods ====================
 
     /**
-     * Creates a NULL node.
+     * Returns the shared NULL node.
      */
     public static DumpNode ofNull() {
-        return builder()
-                .type(NodeType.NULL)
-                .typeName("null")
-                .build();
+        return NULL;
+    }
+
+    /**
+     * Returns the shared node marking a value beyond the maximum depth.
+     */
+    public static DumpNode maxDepth() {
+        return MAX_DEPTH;
     }
 
     /**
@@ -148,7 +377,7 @@ public class DumpNode {
                 .type(NodeType.PRIMITIVE)
                 .value(value)
                 .clazz(clazz)
-                .typeName(clazz.getSimpleName())
+                .typeName(ReflectionCache.getMetadata(clazz).getSimpleName())
                 .build();
     }
 
@@ -165,9 +394,13 @@ public class DumpNode {
     }
 
     /**
-     * Creates a BOOLEAN node.
+     * Returns the shared BOOLEAN node for the value.
      */
     public static DumpNode ofBoolean(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    private static DumpNode booleanNode(boolean value) {
         return builder()
                 .type(NodeType.BOOLEAN)
                 .value(value)
@@ -184,7 +417,7 @@ public class DumpNode {
                 .type(NodeType.ENUM)
                 .value(value.name())
                 .clazz(value.getClass())
-                .typeName(value.getClass().getSimpleName())
+                .typeName(ReflectionCache.getMetadata(value.getClass()).getSimpleName())
                 .build();
     }
 
@@ -195,7 +428,7 @@ public class DumpNode {
         return builder()
                 .type(NodeType.ARRAY)
                 .clazz(clazz)
-                .typeName(clazz.getComponentType().getSimpleName() + "[]")
+                .typeName(ReflectionCache.getMetadata(clazz).getSimpleName())
                 .elements(elements)
                 .displaySize(size)
                 .truncated(truncated)
@@ -209,7 +442,7 @@ public class DumpNode {
         return builder()
                 .type(NodeType.COLLECTION)
                 .clazz(clazz)
-                .typeName(clazz.getSimpleName())
+                .typeName(ReflectionCache.getMetadata(clazz).getSimpleName())
                 .elements(elements)
                 .displaySize(size)
                 .truncated(truncated)
@@ -223,7 +456,7 @@ public class DumpNode {
         return builder()
                 .type(NodeType.MAP)
                 .clazz(clazz)
-                .typeName(clazz.getSimpleName())
+                .typeName(ReflectionCache.getMetadata(clazz).getSimpleName())
                 .entries(entries)
                 .displaySize(size)
                 .truncated(truncated)
@@ -237,7 +470,7 @@ public class DumpNode {
         return builder()
                 .type(NodeType.OBJECT)
                 .clazz(clazz)
-                .typeName(clazz.getSimpleName())
+                .typeName(ReflectionCache.getMetadata(clazz).getSimpleName())
                 .fields(fields)
                 .build();
     }
@@ -249,7 +482,7 @@ public class DumpNode {
         return builder()
                 .type(NodeType.CYCLIC)
                 .clazz(clazz)
-                .typeName(clazz.getSimpleName())
+                .typeName(ReflectionCache.getMetadata(clazz).getSimpleName())
                 .circular(true)
                 .build();
     }
@@ -276,8 +509,41 @@ public class DumpNode {
                 .build();
     }
 
+    /**
+     * Recreates a leaf node from recorded parts, as replayed from a
+     * {@link DumpSnapshot} or a binary dump. The shared null, boolean and
+     * max-depth nodes are returned where they apply; the class is not kept.
+     */
+    public static DumpNode restore(NodeType type, String typeName, Object value,
+                                   boolean circular, boolean maxDepthReached, boolean truncated) {
+        if (maxDepthReached) {
+            return MAX_DEPTH;
+        }
+        if (!circular && !truncated) {
+            if (type == NodeType.NULL) {
+                return NULL;
+            }
+            if (type == NodeType.BOOLEAN && value instanceof Boolean) {
+                return ofBoolean((Boolean) value);
+            }
+        }
+
+        return builder()
+                .type(type)
+                .typeName(typeName)
+                .value(value)
+                .circular(circular)
+                .truncated(truncated)
+                .build();
+    }
+
     // ==================== Builder ====================
 
+    /**
+     * Builds nodes. The node takes ownership of the collections passed to
+     * {@link #children}, {@link #elements}, {@link #entries} and
+     * {@link #fields}; do not modify them after {@link #build()}.
+     */
     public static class Builder {
         private NodeType type = NodeType.NULL;
         private Class<?> clazz;
@@ -368,8 +634,8 @@ public class DumpNode {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         DumpNode dumpNode = (DumpNode) o;
-        return circular == dumpNode.circular &&
-                maxDepthReached == dumpNode.maxDepthReached &&
+        return isCircular() == dumpNode.isCircular() &&
+                isMaxDepthReached() == dumpNode.isMaxDepthReached() &&
                 type == dumpNode.type &&
                 Objects.equals(clazz, dumpNode.clazz) &&
                 Objects.equals(value, dumpNode.value) &&
@@ -378,6 +644,6 @@ public class DumpNode {
 
     @Override
     public int hashCode() {
-        return Objects.hash(type, clazz, value, typeName, circular, maxDepthReached);
+        return Objects.hash(type, clazz, value, typeName, isCircular(), isMaxDepthReached());
     }
 }
\ No newline at end of file
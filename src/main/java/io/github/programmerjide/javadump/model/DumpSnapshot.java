@@ -0,0 +1,448 @@
+package io.github.programmerjide.javadump.model;
+
+import java.util.Arrays;
+
+/**
+ * An immutable, format-agnostic copy of a dump, taken at call time.
+ *
+ * <p>The {@link DumpVisitor} events of a walk are recorded into a byte
+ * array of event codes, an int array of operands, a long array for 64-bit
+ * values and a table of the strings they reference. Leaf values are stored
+ * by kind (int, double, char, string, ...) rather than as objects, so the live graph can change
+ * or be collected after capture. {@link #accept(DumpVisitor)} replays the
+ * events to any formatter, on any thread, as often as needed.
+ *
+ * <p>Map keys that are themselves containers are kept as their analyzed
+ * {@link DumpNode}, which is immutable.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+public final class DumpSnapshot {
+
+    // Event codes
+    private static final byte VALUE = 0;
+    private static final byte BEGIN_ARRAY = 1;
+    private static final byte BEGIN_MAP = 2;
+    private static final byte BEGIN_OBJECT = 3;
+    private static final byte ELEMENT = 4;
+    private static final byte KEY = 5;
+    private static final byte KEY_NODE = 6;
+    private static final byte FIELD = 7;
+    private static final byte END = 8;
+
+    // Leaf value kinds
+    private static final int V_NULL = 0;
+    private static final int V_INT = 1;
+    private static final int V_LONG = 2;
+    private static final int V_SHORT = 3;
+    private static final int V_BYTE = 4;
+    private static final int V_DOUBLE = 5;
+    private static final int V_FLOAT = 6;
+    private static final int V_BOOLEAN = 7;
+    private static final int V_CHAR = 8;
+    private static final int V_STRING = 9;
+
+    // Leaf flags
+    private static final int F_CIRCULAR = 1;
+    private static final int F_MAX_DEPTH = 2;
+    private static final int F_TRUNCATED = 4;
+
+    private static final DumpNode.NodeType[] TYPES = DumpNode.NodeType.values();
+
+    private final byte[] events;
+    private final int[] operands;
+    private final long[] wide;
+    private final String[] strings;
+    private final DumpNode[] keys;
+
+    private DumpSnapshot(byte[] events, int[] operands, long[] wide, String[] strings, DumpNode[] keys) {
+        this.events = events;
+        this.operands = operands;
+        this.wide = wide;
+        this.strings = strings;
+        this.keys = keys;
+    }
+
+    /**
+     * Returns a visitor that records the events it receives; call
+     * {@link Recorder#build()} once the value is complete.
+     */
+    public static Recorder recorder() {
+        return new Recorder();
+    }
+
+    /**
+     * Number of recorded events.
+     */
+    public int size() {
+        return events.length;
+    }
+
+    /**
+     * Number of strings in the string table: type names and labels once
+     * each, plus every string value.
+     */
+    public int stringCount() {
+        return strings.length;
+    }
+
+    /**
+     * Replays the recorded events to a visitor. Leaf nodes are recreated
+     * for the visitor with {@link DumpNode#restore}.
+     */
+    public void accept(DumpVisitor visitor) {
+        int at = 0;
+        for (byte event : events) {
+            switch (event) {
+                case VALUE:
+                    visitor.value(leaf(at));
+                    at += 3;
+                    break;
+                case KEY:
+                    visitor.key(leaf(at));
+                    at += 3;
+                    break;
+                case KEY_NODE:
+                    visitor.key(keys[operands[at++]]);
+                    break;
+                case BEGIN_ARRAY:
+                    visitor.beginArray(string(operands[at]), operands[at + 1], operands[at + 2]);
+                    at += 3;
+                    break;
+                case BEGIN_MAP:
+                    visitor.beginMap(string(operands[at]), operands[at + 1], operands[at + 2]);
+                    at += 3;
+                    break;
+                case BEGIN_OBJECT:
+                    visitor.beginObject(string(operands[at]), operands[at + 1]);
+                    at += 2;
+                    break;
+                case ELEMENT:
+                    visitor.element(operands[at++]);
+                    break;
+                case FIELD:
+                    visitor.field(string(operands[at++]));
+                    break;
+                default:
+                    visitor.end(operands[at++]);
+            }
+        }
+    }
+
+    private DumpNode leaf(int at) {
+        int header = operands[at];
+        int type = header & 0xFF;
+        int flags = (header >>> 8) & 0xFF;
+        int kind = header >>> 16;
+
+        return DumpNode.restore(TYPES[type], string(operands[at + 1]), value(kind, operands[at + 2]),
+                (flags & F_CIRCULAR) != 0, (flags & F_MAX_DEPTH) != 0, (flags & F_TRUNCATED) != 0);
+    }
+
+    private Object value(int kind, int bits) {
+        switch (kind) {
+            case V_INT:
+                return bits;
+            case V_LONG:
+                return wide[bits];
+            case V_SHORT:
+                return (short) bits;
+            case V_BYTE:
+                return (byte) bits;
+            case V_DOUBLE:
+                return Double.longBitsToDouble(wide[bits]);
+            case V_FLOAT:
+                return Float.intBitsToFloat(bits);
+            case V_BOOLEAN:
+                return bits != 0;
+            case V_CHAR:
+                return (char) bits;
+            case V_STRING:
+                return string(bits);
+            default:
+                return null;
+        }
+    }
+
+    private String string(int index) {
+        return index < 0 ? null : strings[index];
+    }
+
+    /**
+     * Records visitor events into a {@link DumpSnapshot}. Its buffers grow
+     * as needed and are kept between values, so a recorder kept for reuse
+     * stops allocating except for the trimmed copies made by {@link #build()};
+     * {@link #reset()} drops buffers that grew past the retention limit.
+     *
+     * <p>Type names and field labels are stored once per snapshot: a small
+     * open-addressing table maps each to its slot in the string table, so a
+     * list of a thousand integers stores "Integer" once. Not thread-safe.
+     */
+    public static final class Recorder implements DumpVisitor {
+        private static final int EVENTS = 64;
+        private static final int OPERANDS = 160;
+        private static final int WIDE = 8;
+        private static final int STRINGS = 32;
+        private static final int NAMES = 32;
+        private static final int MAX_RETAINED_OPERANDS = 4096;
+
+        private byte[] events = new byte[EVENTS];
+        private int[] operands = new int[OPERANDS];
+        private long[] wide = new long[WIDE];
+        private String[] strings = new String[STRINGS];
+        private DumpNode[] keys;
+        /** String table index + 1 of each name, by hash; 0 is an empty slot. */
+        private int[] names = new int[NAMES];
+        private int nameCount;
+        private int eventCount;
+        private int operandCount;
+        private int wideCount;
+        private int stringCount;
+        private int keyCount;
+
+        private Recorder() {
+        }
+
+        @Override
+        public void value(DumpNode node) {
+            event(VALUE, 3);
+            leaf(node);
+        }
+
+        @Override
+        public void beginArray(String typeName, int size, int shown) {
+            event(BEGIN_ARRAY, 3);
+            operands[operandCount++] = name(typeName);
+            operands[operandCount++] = size;
+            operands[operandCount++] = shown;
+        }
+
+        @Override
+        public void beginMap(String typeName, int size, int shown) {
+            event(BEGIN_MAP, 3);
+            operands[operandCount++] = name(typeName);
+            operands[operandCount++] = size;
+            operands[operandCount++] = shown;
+        }
+
+        @Override
+        public void beginObject(String typeName, int fieldCount) {
+            event(BEGIN_OBJECT, 2);
+            operands[operandCount++] = name(typeName);
+            operands[operandCount++] = fieldCount;
+        }
+
+        @Override
+        public void element(int index) {
+            event(ELEMENT, 1);
+            operands[operandCount++] = index;
+        }
+
+        @Override
+        public void key(DumpNode key) {
+            switch (key.getType()) {
+                case ARRAY:
+                case COLLECTION:
+                case MAP:
+                case OBJECT:
+                    event(KEY_NODE, 1);
+                    if (keys == null) {
+                        keys = new DumpNode[4];
+                    } else if (keyCount == keys.length) {
+                        keys = Arrays.copyOf(keys, keyCount * 2);
+                    }
+                    keys[keyCount] = key;
+                    operands[operandCount++] = keyCount++;
+                    return;
+                default:
+                    event(KEY, 3);
+                    leaf(key);
+            }
+        }
+
+        @Override
+        public void field(String label) {
+            event(FIELD, 1);
+            operands[operandCount++] = name(label);
+        }
+
+        @Override
+        public void end(int omitted) {
+            event(END, 1);
+            operands[operandCount++] = omitted;
+        }
+
+        /**
+         * Returns the recorded snapshot, trimmed to size, and clears the
+         * recorder for the next value.
+         */
+        public DumpSnapshot build() {
+            DumpSnapshot snapshot = new DumpSnapshot(
+                    Arrays.copyOf(events, eventCount),
+                    Arrays.copyOf(operands, operandCount),
+                    wideCount == 0 ? null : Arrays.copyOf(wide, wideCount),
+                    Arrays.copyOf(strings, stringCount),
+                    keyCount == 0 ? null : Arrays.copyOf(keys, keyCount));
+            clear();
+            return snapshot;
+        }
+
+        /**
+         * Discards any partly recorded value, keeping the buffers unless
+         * they grew past the retention limit.
+         */
+        public void reset() {
+            clear();
+            // Every other buffer grows no faster than the operands
+            if (operands.length > MAX_RETAINED_OPERANDS) {
+                events = new byte[EVENTS];
+                operands = new int[OPERANDS];
+                wide = new long[WIDE];
+                strings = new String[STRINGS];
+                names = new int[NAMES];
+                keys = null;
+            }
+        }
+
+        private void clear() {
+            Arrays.fill(strings, 0, stringCount, null);
+            if (keyCount > 0) {
+                Arrays.fill(keys, 0, keyCount, null);
+            }
+            if (nameCount > 0) {
+                Arrays.fill(names, 0);
+                nameCount = 0;
+            }
+            eventCount = 0;
+            operandCount = 0;
+            wideCount = 0;
+            stringCount = 0;
+            keyCount = 0;
+        }
+
+        private void leaf(DumpNode node) {
+            int flags = (node.isCircular() ? F_CIRCULAR : 0)
+                    | (node.isMaxDepthReached() ? F_MAX_DEPTH : 0)
+                    | (node.isTruncated() ? F_TRUNCATED : 0);
+            Object value = node.getValue();
+
+            int kind;
+            int bits;
+            if (value == null) {
+                kind = V_NULL;
+                bits = 0;
+            } else if (value instanceof Integer) {
+                kind = V_INT;
+                bits = (Integer) value;
+            } else if (value instanceof Long) {
+                kind = V_LONG;
+                bits = wide((Long) value);
+            } else if (value instanceof Double) {
+                kind = V_DOUBLE;
+                bits = wide(Double.doubleToRawLongBits((Double) value));
+            } else if (value instanceof Boolean) {
+                kind = V_BOOLEAN;
+                bits = (Boolean) value ? 1 : 0;
+            } else if (value instanceof Character) {
+                kind = V_CHAR;
+                bits = (Character) value;
+            } else if (value instanceof Float) {
+                kind = V_FLOAT;
+                bits = Float.floatToRawIntBits((Float) value);
+            } else if (value instanceof Short) {
+                kind = V_SHORT;
+                bits = (Short) value;
+            } else if (value instanceof Byte) {
+                kind = V_BYTE;
+                bits = (Byte) value;
+            } else {
+                // Strings, and the text of anything else as it reads now
+                kind = V_STRING;
+                bits = string(String.valueOf(value));
+            }
+
+            operands[operandCount++] = node.getType().ordinal() | flags << 8 | kind << 16;
+            operands[operandCount++] = name(node.getTypeName());
+            operands[operandCount++] = bits;
+        }
+
+        /**
+         * Adds an event and makes room for its operands.
+         */
+        private void event(byte event, int operandsNeeded) {
+            if (eventCount == events.length) {
+                events = Arrays.copyOf(events, eventCount * 2);
+            }
+            events[eventCount++] = event;
+            if (operandCount + operandsNeeded > operands.length) {
+                operands = Arrays.copyOf(operands, Math.max(operands.length * 2, operandCount + operandsNeeded));
+            }
+        }
+
+        private int wide(long value) {
+            if (wideCount == wide.length) {
+                wide = Arrays.copyOf(wide, wideCount * 2);
+            }
+            wide[wideCount] = value;
+            return wideCount++;
+        }
+
+        /**
+         * Returns the string table slot of a type name or label, adding it
+         * on first use. Names are mostly the same instances, so equals
+         * usually returns on the identity check.
+         */
+        private int name(String text) {
+            if (text == null) {
+                return -1;
+            }
+            int mask = names.length - 1;
+            for (int i = slot(text, mask); ; i = (i + 1) & mask) {
+                int entry = names[i];
+                if (entry == 0) {
+                    int index = string(text);
+                    names[i] = index + 1;
+                    if (++nameCount * 2 > names.length) {
+                        growNames();
+                    }
+                    return index;
+                }
+                if (text.equals(strings[entry - 1])) {
+                    return entry - 1;
+                }
+            }
+        }
+
+        private void growNames() {
+            int[] old = names;
+            names = new int[old.length * 2];
+            int mask = names.length - 1;
+            for (int entry : old) {
+                if (entry != 0) {
+                    int i = slot(strings[entry - 1], mask);
+                    while (names[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    names[i] = entry;
+                }
+            }
+        }
+
+        private static int slot(String text, int mask) {
+            int h = text.hashCode() * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        private int string(String text) {
+            if (text == null) {
+                return -1;
+            }
+            if (stringCount == strings.length) {
+                strings = Arrays.copyOf(strings, stringCount * 2);
+            }
+            strings[stringCount] = text;
+            return stringCount++;
+        }
+    }
+}
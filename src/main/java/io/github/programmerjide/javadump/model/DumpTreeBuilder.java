@@ -0,0 +1,143 @@
+package io.github.programmerjide.javadump.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a {@link DumpNode} tree from visitor events, for output that needs
+ * the whole tree, such as HTML or diffs, when the value is only available
+ * as events: a {@link DumpSnapshot} or a binary dump.
+ *
+ * <p>Replaying the built tree with {@link DumpNode#accept} yields the events
+ * it was built from. Node classes are not known from events and are left
+ * unset; arrays are told apart from collections by their {@code []} type name.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+public final class DumpTreeBuilder implements DumpVisitor {
+
+    private final ArrayDeque<Container> open = new ArrayDeque<>();
+    private DumpNode root;
+
+    @Override
+    public void value(DumpNode node) {
+        add(node);
+    }
+
+    @Override
+    public void beginArray(String typeName, int size, int shown) {
+        Container container = new Container(typeName != null && typeName.endsWith("[]")
+                ? DumpNode.NodeType.ARRAY : DumpNode.NodeType.COLLECTION, typeName, size);
+        container.elements = new ArrayList<>(shown);
+        open.push(container);
+    }
+
+    @Override
+    public void beginMap(String typeName, int size, int shown) {
+        Container container = new Container(DumpNode.NodeType.MAP, typeName, size);
+        container.entries = new LinkedHashMap<>();
+        open.push(container);
+    }
+
+    @Override
+    public void beginObject(String typeName, int fieldCount) {
+        Container container = new Container(DumpNode.NodeType.OBJECT, typeName, fieldCount);
+        container.fields = new LinkedHashMap<>();
+        open.push(container);
+    }
+
+    @Override
+    public void element(int index) {
+        // Elements arrive in order
+    }
+
+    @Override
+    public void key(DumpNode key) {
+        open.element().name = key;
+    }
+
+    @Override
+    public void field(String label) {
+        open.element().name = label;
+    }
+
+    @Override
+    public void end(int omitted) {
+        Container container = open.pop();
+        DumpNode.Builder builder = DumpNode.builder()
+                .type(container.type)
+                .typeName(container.typeName);
+        switch (container.type) {
+            case OBJECT:
+                builder.fields(container.fields);
+                break;
+            case MAP:
+                builder.entries(container.entries)
+                        .displaySize(container.size)
+                        .truncated(omitted > 0);
+                break;
+            default:
+                builder.elements(container.elements)
+                        .displaySize(container.size)
+                        .truncated(omitted > 0);
+        }
+        add(builder.build());
+    }
+
+    /**
+     * Returns the tree of the value completed last and clears the builder
+     * for the next one.
+     *
+     * @throws IllegalStateException if no value is complete
+     */
+    public DumpNode build() {
+        if (root == null || !open.isEmpty()) {
+            throw new IllegalStateException("No complete value to build");
+        }
+        DumpNode tree = root;
+        root = null;
+        return tree;
+    }
+
+    private void add(DumpNode node) {
+        Container parent = open.peek();
+        if (parent == null) {
+            root = node;
+            return;
+        }
+        switch (parent.type) {
+            case OBJECT:
+                parent.fields.put((String) parent.name, node);
+                break;
+            case MAP:
+                parent.entries.put((DumpNode) parent.name, node);
+                break;
+            default:
+                parent.elements.add(node);
+        }
+        parent.name = null;
+    }
+
+    /**
+     * A container whose children are still arriving.
+     */
+    private static final class Container {
+        final DumpNode.NodeType type;
+        final String typeName;
+        final int size;
+        List<DumpNode> elements;
+        Map<DumpNode, DumpNode> entries;
+        Map<String, DumpNode> fields;
+        Object name;
+
+        Container(DumpNode.NodeType type, String typeName, int size) {
+            this.type = type;
+            this.typeName = typeName;
+            this.size = size;
+        }
+    }
+}
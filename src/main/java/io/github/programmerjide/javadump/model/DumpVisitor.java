@@ -0,0 +1,75 @@
+package io.github.programmerjide.javadump.model;
+
+/**
+ * Receives a dump as a sequence of events instead of a {@link DumpNode} tree.
+ *
+ * <p>{@code ObjectAnalyzer.walk} emits these events while it walks the
+ * object graph, so formatters can write their output in the same pass
+ * without the tree being built. {@link DumpNode#accept(DumpVisitor)} replays
+ * an existing tree as the same events.
+ *
+ * <p>A value is either a single {@link #value(DumpNode)} call or a
+ * container: a {@code begin...} call, one announcement per child
+ * ({@link #element(int)}, {@link #key(DumpNode)} or {@link #field(String)})
+ * each followed by the child's own value, and a closing {@link #end(int)}.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+public interface DumpVisitor {
+
+    /**
+     * A value without nested values: null, strings, numbers, booleans,
+     * enums, and the markers for cycles, max depth, redactions and errors.
+     */
+    void value(DumpNode node);
+
+    /**
+     * Opens an array or collection.
+     *
+     * @param typeName display name of the container type
+     * @param size total number of elements
+     * @param shown number of elements that follow
+     */
+    void beginArray(String typeName, int size, int shown);
+
+    /**
+     * Opens a map.
+     *
+     * @param typeName display name of the map type
+     * @param size total number of entries
+     * @param shown number of entries that follow
+     */
+    void beginMap(String typeName, int size, int shown);
+
+    /**
+     * Opens an object.
+     *
+     * @param typeName display name of the object's class
+     * @param fieldCount number of fields that follow
+     */
+    void beginObject(String typeName, int fieldCount);
+
+    /**
+     * Announces the element at {@code index} of the innermost array or collection.
+     */
+    void element(int index);
+
+    /**
+     * Announces the next entry of the innermost map. Keys are passed as
+     * complete nodes; the entry's value follows as events.
+     */
+    void key(DumpNode key);
+
+    /**
+     * Announces the next field of the innermost object.
+     */
+    void field(String label);
+
+    /**
+     * Closes the innermost container.
+     *
+     * @param omitted number of elements or entries left out by {@code maxItems}
+     */
+    void end(int omitted);
+}
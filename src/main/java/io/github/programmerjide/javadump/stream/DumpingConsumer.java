@@ -0,0 +1,341 @@
+package io.github.programmerjide.javadump.stream;
+
+import io.github.programmerjide.javadump.core.Dumper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * The stream consumer built by {@link StreamDumpBuilder}.
+ *
+ * <p>Elements are selected by one rule: every n-th element, each element
+ * with a probability, at most n per second, or a reservoir of a fixed
+ * number of elements kept until {@link #finish()}. Each rule computes the
+ * index of the next element it wants to look at, so an element that is
+ * not selected costs one counter increment and a comparison.
+ *
+ * <p>The consumer may be used with parallel streams. Every thread counts
+ * and selects in its own lane, so every n-th element and sampling apply
+ * per thread, and reservoirs are merged into one uniform sample on
+ * {@link #finish()}. The rate limit is shared. Element indexes are exact
+ * for sequential streams and approximate positions for parallel ones.
+ *
+ * @param <T> the element type
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+public final class DumpingConsumer<T> implements Consumer<T>, AutoCloseable {
+
+    /** Most elements skipped between clock reads while rate limited. */
+    private static final int MAX_CLOCK_STRIDE = 1024;
+
+    enum Mode {
+        EVERY,
+        PROBABILITY,
+        RATE,
+        RESERVOIR
+    }
+
+    private final String label;
+    private final Predicate<T> condition;
+    private final boolean withIndex;
+    private final boolean asJSON;
+    private final Function<T, ?> mapper;
+    private final Dumper dumper;
+    private final Mode mode;
+    private final int everyN;
+    private final double logSkip;
+    private final int reservoirSize;
+    private final Lanes<Lane<T>> lanes;
+    private final LongAdder dumped = new LongAdder();
+
+    // Token bucket, as the time at which the bucket would be full again
+    private final int perSecond;
+    private final long tokenNanos;
+    private final LongSupplier clock;
+    private final AtomicLong fullAt;
+
+    DumpingConsumer(String label, Predicate<T> condition, boolean withIndex, boolean asJSON,
+                    Function<T, ?> mapper, Dumper dumper, Mode mode, int everyN, double probability,
+                    int perSecond, int reservoirSize, LongSupplier clock) {
+        this.label = label;
+        this.condition = condition;
+        this.withIndex = withIndex;
+        this.asJSON = asJSON;
+        this.mapper = mapper;
+        this.dumper = dumper;
+        this.mode = mode;
+        this.everyN = everyN;
+        this.logSkip = probability < 1 ? Math.log1p(-probability) : 0;
+        this.reservoirSize = reservoirSize;
+        this.perSecond = perSecond;
+        this.tokenNanos = perSecond > 0 ? 1_000_000_000L / perSecond : 0;
+        this.clock = clock;
+        this.fullAt = new AtomicLong(mode == Mode.RATE ? clock.getAsLong() : 0);
+        this.lanes = new Lanes<>(() -> new Lane<>(this.mode, this.everyN, this.logSkip, this.reservoirSize));
+    }
+
+    @Override
+    public void accept(T value) {
+        Lane<T> lane = lanes.get();
+        long index = ++lane.count;
+        if (index < lane.next) {
+            return;
+        }
+
+        switch (mode) {
+            case EVERY:
+                lane.next = index + everyN;
+                break;
+            case PROBABILITY:
+                lane.next = index + 1 + lane.geometricSkip();
+                break;
+            case RATE:
+                if (!takeToken()) {
+                    lane.next = index + lane.clockStride;
+                    lane.clockStride = Math.min(lane.clockStride << 1, MAX_CLOCK_STRIDE);
+                    return;
+                }
+                lane.clockStride = 1;
+                lane.next = index + 1;
+                break;
+            default:
+                lane.offer(value, condition, mapper, lanes);
+                return;
+        }
+
+        if (condition == null || condition.test(value)) {
+            dump(mapper != null ? mapper.apply(value) : value, lanes.total());
+        }
+    }
+
+    /**
+     * Dumps a uniform sample of the elements kept in the reservoirs of all
+     * threads, in stream order, and empties them. Does nothing for other
+     * selection rules. Call it once the stream has finished.
+     */
+    public void finish() {
+        if (mode != Mode.RESERVOIR) {
+            return;
+        }
+
+        // Draw without replacement from the union: a lane is picked in
+        // proportion to the elements it has seen but not yet given up
+        List<Lane<T>> all = new ArrayList<>();
+        long remaining = 0;
+        for (Lane<T> lane : lanes.all()) {
+            lane.population = lane.matched(condition == null);
+            lane.unpicked = (int) Math.min(lane.population, reservoirSize);
+            remaining += lane.population;
+            all.add(lane);
+        }
+        // Not a lane's random: the calling thread may have no lane
+        SplittableRandom random = new SplittableRandom();
+        List<Kept> sample = new ArrayList<>();
+        while (sample.size() < reservoirSize && remaining > 0) {
+            long draw = random.nextLong(remaining);
+            Lane<T> lane = null;
+            for (Lane<T> candidate : all) {
+                lane = candidate;
+                if (draw < candidate.population) {
+                    break;
+                }
+                draw -= candidate.population;
+            }
+            int slot = random.nextInt(lane.unpicked);
+            sample.add(new Kept(lane.kept[slot], lane.keptIndexes[slot]));
+            lane.unpicked--;
+            lane.kept[slot] = lane.kept[lane.unpicked];
+            lane.keptIndexes[slot] = lane.keptIndexes[lane.unpicked];
+            lane.population--;
+            remaining--;
+        }
+
+        for (Lane<T> lane : all) {
+            lane.reset();
+        }
+        sample.sort((a, b) -> Long.compare(a.index, b.index));
+        for (Kept kept : sample) {
+            dump(kept.value, kept.index);
+        }
+    }
+
+    /**
+     * Same as {@link #finish()}, for try-with-resources.
+     */
+    @Override
+    public void close() {
+        finish();
+    }
+
+    /** Number of elements seen so far. */
+    public long getSeenCount() {
+        return lanes.total();
+    }
+
+    /** Number of elements dumped so far. */
+    public long getDumpedCount() {
+        return dumped.sum();
+    }
+
+    // ==================== Selection ====================
+
+    /**
+     * Takes a token if one is left: a generic cell rate algorithm that
+     * keeps only the time at which the bucket will be full again.
+     */
+    private boolean takeToken() {
+        long now = clock.getAsLong();
+        while (true) {
+            long full = fullAt.get();
+            long start = Math.max(full, now);
+            if (start + tokenNanos - now > perSecond * tokenNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(full, start + tokenNanos)) {
+                return true;
+            }
+        }
+    }
+
+    private static long saturate(double skip) {
+        return skip < Long.MAX_VALUE / 2 ? (long) skip : Long.MAX_VALUE / 2;
+    }
+
+    /**
+     * Selection state of one thread. Static, with its settings passed in:
+     * the lane is the value of a thread-local, and a reference back to the
+     * consumer would keep the consumer reachable from every thread it ran on.
+     */
+    private static final class Lane<T> extends Lanes.Lane {
+        final SplittableRandom random = new SplittableRandom();
+        final double logSkip;
+        long next;
+        int clockStride = 1;
+
+        // Reservoir (Li's algorithm L)
+        final Object[] kept;
+        final long[] keptIndexes;
+        long matched;
+        long nextMatch;
+        long base;
+        double weight;
+
+        // Merging
+        int unpicked;
+        long population;
+
+        Lane(Mode mode, int everyN, double logSkip, int reservoirSize) {
+            this.logSkip = logSkip;
+            boolean reservoir = mode == Mode.RESERVOIR;
+            kept = reservoir ? new Object[reservoirSize] : null;
+            keptIndexes = reservoir ? new long[reservoirSize] : null;
+            if (mode == Mode.EVERY) {
+                next = everyN;
+            } else if (mode == Mode.PROBABILITY) {
+                next = 1 + geometricSkip();
+            } else {
+                next = 1;
+            }
+            if (reservoir) {
+                reset();
+            }
+        }
+
+        /**
+         * Keeps a matching element in the reservoir. The first elements
+         * fill it; after that, algorithm L jumps straight to the next
+         * element that replaces a random slot. Without a condition every
+         * element matches, so the elements in between are skipped by index.
+         */
+        void offer(T value, Predicate<T> condition, Function<T, ?> mapper, Lanes<?> lanes) {
+            long index = count;
+            next = index + 1;
+            if (condition != null && !condition.test(value)) {
+                return;
+            }
+            long position = ++matched;
+            int slot;
+            if (position <= kept.length) {
+                slot = (int) position - 1;
+            } else if (position == nextMatch) {
+                slot = random.nextInt(kept.length);
+                weight *= Math.exp(Math.log(uniform()) / kept.length);
+                nextMatch = position + 1 + reservoirSkip();
+            } else {
+                return;
+            }
+            kept[slot] = mapper != null ? mapper.apply(value) : value;
+            keptIndexes[slot] = lanes.total();
+
+            if (condition == null && position >= kept.length) {
+                long skip = nextMatch - position - 1;
+                next = skip < Long.MAX_VALUE - index ? index + 1 + skip : Long.MAX_VALUE;
+                matched = nextMatch - 1;
+            }
+        }
+
+        /**
+         * Number of elements that matched since the last reset. Without a
+         * condition, skipped elements are not counted one by one.
+         */
+        long matched(boolean everyMatches) {
+            return everyMatches ? count - base : matched;
+        }
+
+        void reset() {
+            Arrays.fill(kept, null);
+            matched = 0;
+            base = count;
+            next = count + 1;
+            weight = Math.exp(Math.log(uniform()) / kept.length);
+            nextMatch = kept.length + 1 + reservoirSkip();
+        }
+
+        /**
+         * Number of elements to skip before the next one selected with the
+         * configured probability: geometrically distributed.
+         */
+        long geometricSkip() {
+            return logSkip == 0 ? 0 : saturate(Math.log(uniform()) / logSkip);
+        }
+
+        long reservoirSkip() {
+            return saturate(Math.log(uniform()) / Math.log1p(-weight));
+        }
+
+        /** A uniform random number in (0, 1]. */
+        double uniform() {
+            return 1 - random.nextDouble();
+        }
+    }
+
+    private static final class Kept {
+        final Object value;
+        final long index;
+
+        Kept(Object value, long index) {
+            this.value = value;
+            this.index = index;
+        }
+    }
+
+    // ==================== Output ====================
+
+    private void dump(Object toDump, long index) {
+        dumped.increment();
+        String header = null;
+        if (label != null) {
+            header = withIndex ? "=== " + label + " [" + index + "] ===" : "=== " + label + " ===";
+        }
+        StreamOutput.dump(dumper, header, toDump, asJSON);
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.programmerjide.javadump.stream;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Per-thread state of a stream consumer, merged on demand.
+ *
+ * <p>Each thread that feeds a parallel stream through the consumer gets
+ * its own lane, so counting an element never touches memory shared with
+ * other threads. The first lane is also kept in a plain field: a
+ * sequential stream finds its lane without a thread-local lookup.
+ *
+ * <p>Totals read while other threads are still counting are approximate;
+ * once the stream's terminal operation has returned they are exact.
+ *
+ * @param <L> the lane type
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+final class Lanes<L extends Lanes.Lane> {
+
+    /**
+     * The state of one thread. Only the owner writes it. A lane is the
+     * value of a thread-local, so it must not refer back to whatever holds
+     * the {@code Lanes}: that would stay reachable from every thread that
+     * ever used it.
+     */
+    abstract static class Lane {
+        final Thread owner = Thread.currentThread();
+        long count;
+    }
+
+    private final Supplier<L> factory;
+    private final ThreadLocal<L> local = ThreadLocal.withInitial(this::create);
+    private final Queue<L> all = new ConcurrentLinkedQueue<>();
+    private L first;
+
+    Lanes(Supplier<L> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the calling thread's lane, creating it on first use.
+     */
+    L get() {
+        L lane = first;
+        if (lane != null && lane.owner == Thread.currentThread()) {
+            return lane;
+        }
+        return local.get();
+    }
+
+    /**
+     * Sum of the counts of all lanes.
+     */
+    long total() {
+        long total = 0;
+        for (L lane : all) {
+            total += lane.count;
+        }
+        return total;
+    }
+
+    /**
+     * All lanes created so far, for merging.
+     */
+    Iterable<L> all() {
+        return all;
+    }
+
+    private L create() {
+        L lane = factory.get();
+        all.add(lane);
+        if (first == null) {
+            // A racy write is harmless: the owner field is final
+            first = lane;
+        }
+        return lane;
+    }
+}
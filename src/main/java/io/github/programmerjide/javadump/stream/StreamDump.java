@@ -3,6 +3,7 @@ package io.github.programmerjide.javadump.stream;
 import io.github.programmerjide.javadump.core.Dump;
 import io.github.programmerjide.javadump.core.Dumper;
 
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -61,10 +62,7 @@ public class StreamDump {
      * }</pre>
      */
     public static <T> Consumer<T> dumpPeek(String label) {
-        return value -> {
-            System.out.println("=== " + label + " ===");
-            Dump.dump(value);
-        };
+        return value -> StreamOutput.dump(null, "=== " + label + " ===", value, false);
     }
 
     /**
@@ -78,10 +76,7 @@ public class StreamDump {
      * Creates a Consumer that dumps with label using custom dumper.
      */
     public static <T> Consumer<T> dumpPeek(String label, Dumper dumper) {
-        return value -> {
-            System.out.println("=== " + label + " ===");
-            dumper.dump(value);
-        };
+        return value -> StreamOutput.dump(dumper, "=== " + label + " ===", value, false);
     }
 
     // ==================== JSON Peek Operations ====================
@@ -97,10 +92,7 @@ public class StreamDump {
      * Creates a Consumer that dumps each element as JSON with label.
      */
     public static <T> Consumer<T> dumpPeekJSON(String label) {
-        return value -> {
-            System.out.println("=== " + label + " (JSON) ===");
-            Dump.dumpJSON(value);
-        };
+        return value -> StreamOutput.dump(null, "=== " + label + " (JSON) ===", value, true);
     }
 
     // ==================== Conditional Dump ====================
@@ -129,8 +121,7 @@ public class StreamDump {
     public static <T> Consumer<T> dumpIf(String label, Predicate<T> predicate) {
         return value -> {
             if (predicate.test(value)) {
-                System.out.println("=== " + label + " ===");
-                Dump.dump(value);
+                StreamOutput.dump(null, "=== " + label + " ===", value, false);
             }
         };
     }
@@ -155,16 +146,13 @@ public class StreamDump {
      * Creates a Consumer that transforms value before dumping, with label.
      */
     public static <T, R> Consumer<T> dumpMap(String label, Function<T, R> mapper) {
-        return value -> {
-            System.out.println("=== " + label + " ===");
-            Dump.dump(mapper.apply(value));
-        };
+        return value -> StreamOutput.dump(null, "=== " + label + " ===", mapper.apply(value), false);
     }
 
     // ==================== Count and Dump ====================
 
     /**
-     * Creates a stateful Consumer that dumps with index.
+     * Creates a Consumer that dumps with index.
      *
      * <p>Usage:
      * <pre>{@code
@@ -175,32 +163,24 @@ public class StreamDump {
      * // [0] User{...}
      * // [1] User{...}
      * }</pre>
+     *
+     * <p>Safe for parallel streams: every element gets its own index, in
+     * the order the threads reach the consumer, and each index is printed
+     * together with its dump.
      */
     public static <T> Consumer<T> dumpWithIndex() {
-        return new Consumer<T>() {
-            private int index = 0;
-
-            @Override
-            public void accept(T value) {
-                System.out.println("[" + index++ + "]");
-                Dump.dump(value);
-            }
-        };
+        AtomicLong index = new AtomicLong();
+        return value -> StreamOutput.dump(null, "[" + index.getAndIncrement() + "]", value, false);
     }
 
     /**
-     * Creates a stateful Consumer that dumps with index and label.
+     * Creates a Consumer that dumps with index and label. Safe for parallel
+     * streams, like {@link #dumpWithIndex()}.
      */
     public static <T> Consumer<T> dumpWithIndex(String label) {
-        return new Consumer<T>() {
-            private int index = 0;
-
-            @Override
-            public void accept(T value) {
-                System.out.println("=== " + label + " [" + index++ + "] ===");
-                Dump.dump(value);
-            }
-        };
+        AtomicLong index = new AtomicLong();
+        return value -> StreamOutput.dump(null, "=== " + label + " [" + index.getAndIncrement() + "] ===",
+                value, false);
     }
 
     // ==================== Batch Dump ====================
@@ -214,18 +194,19 @@ public class StreamDump {
      *     .peek(dumpEvery(10)) // Dump every 10th element
      *     .collect(...);
      * }</pre>
+     *
+     * <p>In a parallel stream each thread counts its own elements and dumps
+     * every n-th of them, so about one in n elements is dumped without the
+     * threads sharing a counter; the printed element number is the total
+     * seen so far.
      */
     public static <T> Consumer<T> dumpEvery(int n) {
-        return new Consumer<T>() {
-            private int count = 0;
-
-            @Override
-            public void accept(T value) {
-                count++;
-                if (count % n == 0) {
-                    System.out.println("=== Element " + count + " ===");
-                    Dump.dump(value);
-                }
+        Lanes<Countdown> lanes = new Lanes<>(() -> new Countdown(n));
+        return value -> {
+            Countdown lane = lanes.get();
+            if (++lane.count == lane.next) {
+                lane.next += n;
+                StreamOutput.dump(null, "=== Element " + lanes.total() + " ===", value, false);
             }
         };
     }
@@ -234,21 +215,29 @@ public class StreamDump {
 
     /**
      * Creates a Consumer that dumps a summary at intervals.
+     *
+     * <p>In a parallel stream each thread reports after every
+     * {@code intervalSize} of its own elements, with the total processed by
+     * all threads.
      */
     public static <T> Consumer<T> dumpSummary(int intervalSize) {
-        return new Consumer<T>() {
-            private int count = 0;
-            private long startTime = System.currentTimeMillis();
-
-            @Override
-            public void accept(T value) {
-                count++;
-                if (count % intervalSize == 0) {
-                    long elapsed = System.currentTimeMillis() - startTime;
-                    System.out.printf("=== Processed %d items in %dms ===\n",
-                            count, elapsed);
-                }
+        long startTime = System.currentTimeMillis();
+        Lanes<Countdown> lanes = new Lanes<>(() -> new Countdown(intervalSize));
+        return value -> {
+            Countdown lane = lanes.get();
+            if (++lane.count == lane.next) {
+                lane.next += intervalSize;
+                long elapsed = System.currentTimeMillis() - startTime;
+                System.out.printf("=== Processed %d items in %dms ===\n", lanes.total(), elapsed);
             }
         };
     }
-}
\ No newline at end of file
+
+    private static final class Countdown extends Lanes.Lane {
+        long next;
+
+        Countdown(long next) {
+            this.next = next;
+        }
+    }
+}
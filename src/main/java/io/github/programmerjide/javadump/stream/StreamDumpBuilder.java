@@ -5,10 +5,9 @@
 package io.github.programmerjide.javadump.stream;
 
 import io.github.programmerjide.javadump.core.Dumper;
-import io.github.programmerjide.javadump.core.Dump;
 
-import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 
 /**
@@ -28,6 +27,10 @@ import java.util.function.Predicate;
  *     .collect(...);
  * }</pre>
  *
+ * <p>For hot pipelines, {@link #sample}, {@link #reservoir} and
+ * {@link #rateLimit} select a few elements to dump while the others pass
+ * through at the cost of a counter increment.
+ *
  * @author Olaldejo Olajide
  * @since 1.1.0
  */
@@ -39,7 +42,12 @@ public class StreamDumpBuilder<T> {
     private boolean asJSON;
     private Function<T, ?> mapper;
     private Dumper dumper;
+    private DumpingConsumer.Mode mode = DumpingConsumer.Mode.EVERY;
     private int everyN = 1;
+    private double probability = 1;
+    private int perSecond;
+    private int reservoirSize;
+    private LongSupplier clock = System::nanoTime;
 
     private StreamDumpBuilder() {
     }
@@ -78,58 +86,92 @@ public class StreamDumpBuilder<T> {
         return this;
     }
 
+    /**
+     * Dumps every n-th element. Replaces any earlier selection rule.
+     *
+     * @throws IllegalArgumentException if n is not positive
+     */
     public StreamDumpBuilder<T> every(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be positive");
+        }
+        this.mode = DumpingConsumer.Mode.EVERY;
         this.everyN = n;
         return this;
     }
 
-    public Consumer<T> build() {
-        return new Consumer<T>() {
-            private int index = 0;
-
-            @Override
-            public void accept(T value) {
-                index++;
-
-                // Check every N
-                if (index % everyN != 0) {
-                    return;
-                }
-
-                // Check condition
-                if (condition != null && !condition.test(value)) {
-                    return;
-                }
-
-                // Build output
-                StringBuilder sb = new StringBuilder();
-                if (label != null) {
-                    sb.append("=== ").append(label);
-                    if (withIndex) {
-                        sb.append(" [").append(index).append("]");
-                    }
-                    sb.append(" ===");
-                    System.out.println(sb.toString());
-                }
-
-                // Determine what to dump
-                Object toDump = mapper != null ? mapper.apply(value) : value;
-
-                // Dump
-                if (dumper != null) {
-                    if (asJSON) {
-                        dumper.dumpJSON(toDump);
-                    } else {
-                        dumper.dump(toDump);
-                    }
-                } else {
-                    if (asJSON) {
-                        Dump.dumpJSON(toDump);
-                    } else {
-                        Dump.dump(toDump);
-                    }
-                }
-            }
-        };
+    /**
+     * Dumps each element with the given probability. The gap to the next
+     * selected element is drawn up front, so the elements in between cost
+     * only a counter increment. Replaces any earlier selection rule.
+     *
+     * <p>Like {@link #every(int)}, sampling applies before the
+     * {@link #when} condition.
+     *
+     * @param probability the chance of dumping an element, in (0, 1]
+     * @throws IllegalArgumentException if probability is outside (0, 1]
+     */
+    public StreamDumpBuilder<T> sample(double probability) {
+        if (!(probability > 0 && probability <= 1)) {
+            throw new IllegalArgumentException("probability must be in (0, 1]");
+        }
+        this.mode = DumpingConsumer.Mode.PROBABILITY;
+        this.probability = probability;
+        return this;
+    }
+
+    /**
+     * Keeps a uniform random sample of {@code size} elements and dumps them,
+     * in stream order, when the consumer is {@linkplain DumpingConsumer#finish()
+     * finished} or closed. Replaces any earlier selection rule.
+     *
+     * <p>The sample is drawn from the elements that pass the {@link #when}
+     * condition, so that every kept element is dumped. Without a condition,
+     * elements that are not kept cost only a counter increment.
+     *
+     * <p>Example:
+     * <pre>{@code
+     * try (DumpingConsumer<Order> sample = StreamDumpBuilder.<Order>create().reservoir(10).build()) {
+     *     orders.forEach(sample.andThen(this::process));
+     * }
+     * }</pre>
+     *
+     * @throws IllegalArgumentException if size is not positive
+     */
+    public StreamDumpBuilder<T> reservoir(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        this.mode = DumpingConsumer.Mode.RESERVOIR;
+        this.reservoirSize = size;
+        return this;
+    }
+
+    /**
+     * Dumps at most {@code perSecond} elements per second, with bursts of up
+     * to {@code perSecond}, using a token bucket. While the bucket is empty
+     * the clock is read on exponentially sparser elements, at most every
+     * 1024th, so skipped elements mostly cost only a counter increment.
+     * Replaces any earlier selection rule.
+     *
+     * @throws IllegalArgumentException if perSecond is not positive
+     */
+    public StreamDumpBuilder<T> rateLimit(int perSecond) {
+        if (perSecond <= 0) {
+            throw new IllegalArgumentException("perSecond must be positive");
+        }
+        this.mode = DumpingConsumer.Mode.RATE;
+        this.perSecond = perSecond;
+        return this;
+    }
+
+    StreamDumpBuilder<T> clock(LongSupplier clock) {
+        this.clock = clock;
+        return this;
+    }
+
+    public DumpingConsumer<T> build() {
+        return new DumpingConsumer<>(label, condition, withIndex, asJSON, mapper, dumper,
+                mode, everyN, probability, perSecond, reservoirSize, clock);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package io.github.programmerjide.javadump.stream;
+
+import io.github.programmerjide.javadump.core.Dump;
+import io.github.programmerjide.javadump.core.Dumper;
+
+/**
+ * Writes one element dump of a stream consumer, with an optional header
+ * line.
+ *
+ * <p>A header and its dump are written as one, so dumps from the threads
+ * of a parallel stream never interleave. With a dumper they go through its
+ * own output, including file and async output; with the default dumper
+ * they are formatted first and printed with a single call, so no lock is
+ * held while formatting.
+ *
+ * @author Olaldejo Olajide
+ * @since 1.1.0
+ */
+final class StreamOutput {
+
+    private StreamOutput() {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * Dumps a value with the given dumper, or the default one if null.
+     *
+     * @param header the line printed before the dump, or null for none
+     */
+    static void dump(Dumper dumper, String header, Object value, boolean asJSON) {
+        if (header == null) {
+            if (dumper == null) {
+                if (asJSON) {
+                    Dump.dumpJSON(value);
+                } else {
+                    Dump.dump(value);
+                }
+            } else if (asJSON) {
+                dumper.dumpJSON(value);
+            } else {
+                dumper.dump(value);
+            }
+            return;
+        }
+
+        if (dumper != null) {
+            if (asJSON) {
+                dumper.dumpJSONWithHeader(header, value);
+            } else {
+                dumper.dumpWithHeader(header, value);
+            }
+            return;
+        }
+        String text = asJSON ? Dump.dumpJSONStr(value) : Dump.dumpStr(value);
+        System.out.println(header + System.lineSeparator() + text);
+    }
+}
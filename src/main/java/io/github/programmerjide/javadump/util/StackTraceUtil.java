@@ -1,13 +1,20 @@
 package io.github.programmerjide.javadump.util;
 
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * Utility class for stack trace analysis and call site detection.
  *
+ * <p>Call sites are found with a {@link StackWalker} that stops at the first
+ * frame outside JavaDump, test frameworks and the JDK, so the rest of the
+ * stack is never materialized. {@link CallSite}s are cached per calling
+ * class, method and bytecode index.
+ *
  * @author Olaldejo Olajide
  * @since 1.0.0
  */
@@ -17,6 +24,17 @@ public final class StackTraceUtil {
     private static final String UNKNOWN_FILE = "Unknown";
     private static final int UNKNOWN_LINE = 0;
 
+    private static final StackWalker WALKER =
+            StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    /** Call sites seen per calling class; dropped along with the class. */
+    private static final ClassValue<Map<FrameKey, CallSite>> CALL_SITES = new ClassValue<>() {
+        @Override
+        protected Map<FrameKey, CallSite> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     private StackTraceUtil() {
         throw new AssertionError("Utility class");
     }
@@ -29,6 +47,7 @@ public final class StackTraceUtil {
         private final String methodName;
         private final int lineNumber;
         private final String className;
+        private String location;
 
         public CallSite(String fileName, String methodName, int lineNumber) {
             this(fileName, methodName, lineNumber, "Unknown");
@@ -46,9 +65,21 @@ public final class StackTraceUtil {
         public int getLineNumber() { return lineNumber; }
         public String getClassName() { return className; }
 
+        /**
+         * Returns {@code "file:line"}, built once per call site.
+         */
+        public String getLocation() {
+            String text = location;
+            if (text == null) {
+                text = fileName + ":" + lineNumber;
+                location = text;
+            }
+            return text;
+        }
+
         @Override
         public String toString() {
-            return String.format("%s:%d", fileName, lineNumber);
+            return getLocation();
         }
 
         @Override
@@ -70,21 +101,14 @@ public final class StackTraceUtil {
 
     /**
      * Finds the call site where dump() was called.
+     *
+     * <p>The same {@link CallSite} instance is returned every time a given
+     * line of code is the caller.
      */
     public static CallSite findCallSite() {
-        Optional<StackTraceElement> element = getCallSite();
-
-        if (element.isEmpty()) {
-            return new CallSite(UNKNOWN_FILE, "unknown", UNKNOWN_LINE);
-        }
-
-        StackTraceElement e = element.get();
-        return new CallSite(
-                e.getFileName() != null ? e.getFileName() : UNKNOWN_FILE,
-                e.getMethodName(),
-                e.getLineNumber() > 0 ? e.getLineNumber() : UNKNOWN_LINE,
-                e.getClassName()
-        );
+        return WALKER.walk(frames -> frames.filter(StackTraceUtil::isExternalFrame).findFirst())
+                .map(StackTraceUtil::cachedCallSite)
+                .orElseGet(() -> new CallSite(UNKNOWN_FILE, "unknown", UNKNOWN_LINE));
     }
 
     /**
@@ -102,23 +126,69 @@ public final class StackTraceUtil {
             throw new IllegalArgumentException("skipAdditionalFrames must be non-negative");
         }
 
-        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-        int skipped = 0;
+        return WALKER.walk(frames -> frames
+                        .filter(StackTraceUtil::isExternalFrame)
+                        .skip(skipAdditionalFrames)
+                        .findFirst())
+                .map(StackWalker.StackFrame::toStackTraceElement);
+    }
 
-        for (StackTraceElement frame : stackTrace) {
-            if (isInternalFrame(frame) || isJavaInternalFrame(frame) || isTestFrame(frame)) {
-                continue;
-            }
+    private static boolean isExternalFrame(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        return !className.startsWith(JAVADUMP_PACKAGE)
+                && !isJavaInternalClass(className)
+                && !isTestClass(className);
+    }
 
-            if (skipped < skipAdditionalFrames) {
-                skipped++;
-                continue;
+    private static CallSite cachedCallSite(StackWalker.StackFrame frame) {
+        Map<FrameKey, CallSite> sites = CALL_SITES.get(frame.getDeclaringClass());
+        FrameKey key = new FrameKey(frame.getMethodName(), frame.getDescriptor(), frame.getByteCodeIndex());
+
+        CallSite site = sites.get(key);
+        if (site == null) {
+            String fileName = frame.getFileName();
+            int lineNumber = frame.getLineNumber();
+            site = new CallSite(
+                    fileName != null ? fileName : UNKNOWN_FILE,
+                    frame.getMethodName(),
+                    lineNumber > 0 ? lineNumber : UNKNOWN_LINE,
+                    frame.getClassName());
+            CallSite existing = sites.putIfAbsent(key, site);
+            if (existing != null) {
+                site = existing;
             }
+        }
+        return site;
+    }
 
-            return Optional.of(frame);
+    /**
+     * A bytecode position within a class: bytecode indexes are per method.
+     */
+    private static final class FrameKey {
+        private final String methodName;
+        private final String descriptor;
+        private final int bytecodeIndex;
+
+        FrameKey(String methodName, String descriptor, int bytecodeIndex) {
+            this.methodName = methodName;
+            this.descriptor = descriptor;
+            this.bytecodeIndex = bytecodeIndex;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof FrameKey)) return false;
+            FrameKey other = (FrameKey) o;
+            return bytecodeIndex == other.bytecodeIndex &&
+                    methodName.equals(other.methodName) &&
+                    descriptor.equals(other.descriptor);
         }
 
-        return Optional.empty();
+        @Override
+        public int hashCode() {
+            return 31 * (31 * methodName.hashCode() + descriptor.hashCode()) + bytecodeIndex;
+        }
     }
 
     /**
@@ -138,7 +208,10 @@ public final class StackTraceUtil {
         if (frame == null) {
             return false;
         }
-        String className = frame.getClassName();
+        return isTestClass(frame.getClassName());
+    }
+
+    private static boolean isTestClass(String className) {
         return className.startsWith("org.junit.") ||
                 className.startsWith("org.assertj.") ||
                 className.startsWith("org.testng.") ||
@@ -152,7 +225,10 @@ public final class StackTraceUtil {
         if (frame == null) {
             return false;
         }
-        String className = frame.getClassName();
+        return isJavaInternalClass(frame.getClassName());
+    }
+
+    private static boolean isJavaInternalClass(String className) {
         return className.startsWith("java.lang.Thread") ||
                 className.startsWith("java.lang.reflect.") ||
                 className.startsWith("jdk.internal.");
@@ -7,6 +7,15 @@ public final class StringUtil {
 
     private static final String ELLIPSIS = "…";
 
+    /** Indentation strings for the common levels, built once. */
+    private static final String[] INDENTS = new String[32];
+
+    static {
+        for (int level = 0; level < INDENTS.length; level++) {
+            INDENTS[level] = "  ".repeat(level);
+        }
+    }
+
     private StringUtil() {
         throw new AssertionError("Utility class");
     }
@@ -58,6 +67,22 @@ public final class StringUtil {
         return result.toString();
     }
 
+    /**
+     * Returns whether {@link #escape(String)} would change the string.
+     */
+    public static boolean needsEscape(String input) {
+        if (input == null) {
+            return false;
+        }
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '\\' || c == '"' || isControlCharacter(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Truncates a string with ellipsis.
      */
@@ -123,7 +148,10 @@ public final class StringUtil {
      * Creates indentation string.
      */
     public static String indent(int level) {
-        return repeat("  ", Math.max(0, level));
+        if (level < INDENTS.length) {
+            return INDENTS[Math.max(0, level)];
+        }
+        return repeat("  ", level);
     }
 
     /**
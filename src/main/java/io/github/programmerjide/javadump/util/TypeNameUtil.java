@@ -1,5 +1,7 @@
 package io.github.programmerjide.javadump.util;
 
+import io.github.programmerjide.javadump.cache.ReflectionCache;
+
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
@@ -31,11 +33,7 @@ public final class TypeNameUtil {
             return "null";
         }
 
-        if (clazz.isArray()) {
-            return getSimpleName(clazz.getComponentType()) + "[]";
-        }
-
-        return clazz.getSimpleName();
+        return ReflectionCache.getMetadata(clazz).getSimpleName();
     }
 
     /**
@@ -76,8 +74,7 @@ public final class TypeNameUtil {
             return "";
         }
 
-        Package pkg = clazz.getPackage();
-        return pkg != null ? pkg.getName() : "";
+        return ReflectionCache.getMetadata(clazz).getPackageName();
     }
 
     /**
@@ -0,0 +1,319 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import io.github.programmerjide.javadump.config.DumperConfig;
+import io.github.programmerjide.javadump.model.DumpNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DiffAnalyzerTest {
+
+    private DiffAnalyzer analyzer;
+
+    @BeforeEach
+    void setUp() {
+        analyzer = new DiffAnalyzer(DumperConfig.builder().maxItems(1000).build());
+    }
+
+    @Test
+    void analyze_changedField_reportsOnlyThatField() {
+        DiffAnalyzer.DiffResult result = analyzer.analyze(new Person("Ada", 36), new Person("Ada", 37));
+
+        assertThat(result.getChanges()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("age");
+        assertThat(result.getUnchanged()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("name");
+    }
+
+    @Test
+    void analyze_differentNumbers_reportsChange() {
+        assertThat(analyzer.analyze(1, 2).hasChanges()).isTrue();
+        assertThat(analyzer.analyze(1, 1).hasChanges()).isFalse();
+    }
+
+    @Test
+    void analyze_identicalGraphs_comparesRootOnly() {
+        DiffAnalyzer.DiffResult result = analyzer.analyze(List.of(config(0)), List.of(config(0)));
+
+        assertThat(result.hasChanges()).isFalse();
+        assertThat(result.getComparedNodes()).isEqualTo(1);
+    }
+
+    @Test
+    void analyze_oneChangedLeaf_skipsUnchangedSubtrees() {
+        DiffAnalyzer.DiffResult result = analyzer.analyze(config(0), config(1));
+
+        // The root, then each of the 100 sections by hash
+        assertThat(result.getComparedNodes()).isEqualTo(101);
+        assertThat(result.getChanges()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("section42");
+    }
+
+    @Test
+    void analyze_listGrows_reportsAddedElements() {
+        DiffAnalyzer.DiffResult result = analyzer.analyze(List.of(1, 2), List.of(1, 2, 3));
+
+        assertThat(result.getAdditions()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("[2]");
+        assertThat(result.getChanges()).isEmpty();
+    }
+
+    @Test
+    void analyze_insertAtHead_reportsOneAddition() {
+        DiffAnalyzer large = new DiffAnalyzer(DumperConfig.builder().maxItems(100_000).build());
+        List<Integer> before = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            before.add(i);
+        }
+        List<Integer> after = new ArrayList<>(before);
+        after.add(0, -1);
+
+        DiffAnalyzer.DiffResult result = large.analyze(before, after);
+
+        assertThat(result.getAdditions()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("[0]");
+        assertThat(result.getRemovals()).isEmpty();
+        assertThat(result.getChanges()).isEmpty();
+        assertThat(result.getUnchanged()).hasSize(50_000);
+    }
+
+    @Test
+    void analyze_elementMoved_reportsMove() {
+        DiffAnalyzer.DiffResult result = analyzer.analyze(
+                List.of("a", "b", "c", "d"), List.of("b", "c", "d", "a"));
+
+        assertThat(result.getMoves()).singleElement().satisfies(entry -> {
+            assertThat(entry.getField()).isEqualTo("[0]");
+            assertThat(entry.getMovedTo()).isEqualTo("[3]");
+            assertThat(entry.isMove()).isTrue();
+            assertThat(entry.isChange()).isFalse();
+        });
+        assertThat(result.getAdditions()).isEmpty();
+        assertThat(result.getRemovals()).isEmpty();
+    }
+
+    @Test
+    void analyze_elementReplaced_reportsChangeAtIndex() {
+        DiffAnalyzer.DiffResult result = analyzer.analyze(new int[]{1, 2, 3}, new int[]{1, 9, 3});
+
+        assertThat(result.getChanges()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("[1]");
+        assertThat(result.getAdditions()).isEmpty();
+        assertThat(result.getRemovals()).isEmpty();
+    }
+
+    @Test
+    void analyze_overCostLimit_comparesByPosition() {
+        DiffAnalyzer limited = new DiffAnalyzer(DumperConfig.builder().diffCostLimit(2).build());
+
+        DiffAnalyzer.DiffResult result = limited.analyze(List.of(1, 2, 3, 4), List.of(5, 6, 7, 8, 9));
+
+        assertThat(result.getChanges()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("[0]", "[1]", "[2]", "[3]");
+        assertThat(result.getAdditions()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("[4]");
+    }
+
+    @Test
+    void analyze_maps_reportsEntriesByKey() {
+        Map<String, Object> before = new LinkedHashMap<>();
+        before.put("kept", 1);
+        before.put("changed", "old");
+        before.put("removed", true);
+        Map<String, Object> after = new HashMap<>();
+        after.put("kept", 1);
+        after.put("changed", "new");
+        after.put("added", List.of(1));
+
+        DiffAnalyzer.DiffResult result = analyzer.analyze(before, after);
+
+        assertThat(result.getChanges()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("changed");
+        assertThat(result.getRemovals()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("removed");
+        assertThat(result.getAdditions()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("added");
+        assertThat(result.getUnchanged()).isEmpty();
+        assertThat(result.getComparedNodes()).isEqualTo(3);
+    }
+
+    @Test
+    void analyze_maps_analyzesValuesOnlyWhenNeeded() {
+        Counted shared = new Counted();
+        Counted removed = new Counted();
+        Map<Integer, Counted> before = new HashMap<>();
+        Map<Integer, Counted> after = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            before.put(i, shared);
+            after.put(i, shared);
+        }
+        before.put(-1, removed);
+
+        DiffAnalyzer.DiffResult result = analyzer.analyze(before, after);
+
+        assertThat(shared.analyzed).isZero();
+        assertThat(removed.analyzed).isEqualTo(1);
+        assertThat(result.getRemovals()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("-1");
+    }
+
+    @Test
+    void analyze_identityMaps_pairKeysByIdentity() {
+        Map<String, Integer> before = new IdentityHashMap<>();
+        Map<String, Integer> after = new IdentityHashMap<>();
+        before.put(new String("key"), 1);
+        after.put(new String("key"), 1);
+
+        DiffAnalyzer.DiffResult result = analyzer.analyze(before, after);
+
+        assertThat(result.getRemovals()).hasSize(1);
+        assertThat(result.getAdditions()).hasSize(1);
+    }
+
+    @Test
+    void analyze_largeMaps_comparesAllEntries() {
+        Map<String, Integer> before = new TreeMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            before.put("key" + i, i);
+        }
+        Map<String, Integer> after = new TreeMap<>(before);
+        after.put("key199999", -1);
+
+        DiffAnalyzer.DiffResult result = analyzer.analyze(before, after);
+
+        assertThat(result.getChanges()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("key199999");
+        assertThat(result.getComparedNodes()).isEqualTo(200_001);
+    }
+
+    @Test
+    void analyze_nullKeyAgainstImmutableMap_diffsAsTrees() {
+        Map<String, Integer> withNull = new HashMap<>();
+        withNull.put(null, 1);
+        withNull.put("a", 1);
+
+        DiffAnalyzer.DiffResult forward = analyzer.analyze(withNull, Map.of("a", 2));
+        DiffAnalyzer.DiffResult backward = analyzer.analyze(Map.of("a", 2), withNull);
+
+        assertThat(forward.getChanges()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("a");
+        assertThat(forward.getRemovals()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("null");
+        assertThat(backward.getAdditions()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("null");
+    }
+
+    @Test
+    void analyze_treeMapAgainstNullKey_diffsAsTrees() {
+        Map<String, Integer> sorted = new TreeMap<>(Map.of("a", 1));
+        Map<String, Integer> withNull = new HashMap<>();
+        withNull.put(null, 1);
+        withNull.put("a", 1);
+
+        DiffAnalyzer.DiffResult result = analyzer.analyze(sorted, withNull);
+
+        assertThat(result.getAdditions()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("null");
+        assertThat(result.getChanges()).isEmpty();
+    }
+
+    @Test
+    void analyze_treeMapAgainstOtherKeyType_diffsAsTrees() {
+        Map<Integer, String> numbers = new HashMap<>(Map.of(1, "x"));
+        Map<String, String> names = new TreeMap<>(Map.of("b", "x"));
+
+        DiffAnalyzer.DiffResult result = analyzer.analyze(numbers, names);
+
+        assertThat(result.getRemovals()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("1");
+        assertThat(result.getAdditions()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .containsExactly("b");
+    }
+
+    @Test
+    void analyze_mapValueReferringToMap_showsCycle() {
+        Map<String, Object> before = new HashMap<>();
+        before.put("loop", List.of(before));
+
+        DiffAnalyzer.DiffResult result = analyzer.analyze(before, new HashMap<>());
+
+        DumpNode removed = result.getRemovals().get(0).getBefore();
+        assertThat(removed.getElements()).singleElement()
+                .satisfies(element -> assertThat(element.isCircular()).isTrue());
+    }
+
+    @Test
+    void analyze_objectKeysOfOneType_getDistinctLabels() {
+        Map<Person, Integer> before = new HashMap<>();
+        before.put(new Person("Ann", 30), 1);
+        before.put(new Person("Bob", 40), 2);
+
+        DiffAnalyzer.DiffResult result = analyzer.analyze(before, new HashMap<>());
+
+        assertThat(result.getRemovals()).extracting(DiffAnalyzer.DiffEntry::getField)
+                .hasSize(2)
+                .doesNotHaveDuplicates()
+                .allMatch(label -> label.startsWith("Person#"));
+    }
+
+    @Test
+    void analyze_mapValueFailing_propagates() {
+        // Fails once, so a tree diff retried after the failure would hide it
+        List<Object> failing = new AbstractList<>() {
+            private boolean failed;
+
+            @Override
+            public Object get(int index) {
+                if (!failed) {
+                    failed = true;
+                    throw new NullPointerException("broken value");
+                }
+                return index;
+            }
+
+            @Override
+            public int size() {
+                return 1;
+            }
+        };
+
+        assertThatThrownBy(() -> analyzer.analyze(Map.of("a", 1), Map.of("a", failing)))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("broken value");
+    }
+
+    private static Map<String, Map<String, Integer>> config(int change) {
+        Map<String, Map<String, Integer>> sections = new LinkedHashMap<>();
+        for (int s = 0; s < 100; s++) {
+            Map<String, Integer> section = new LinkedHashMap<>();
+            for (int k = 0; k < 100; k++) {
+                section.put("key" + k, s == 42 && k == 7 ? k + change : k);
+            }
+            sections.put("section" + s, section);
+        }
+        return sections;
+    }
+
+    private static class Person {
+        String name;
+        int age;
+
+        Person(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+    }
+
+    private static class Counted {
+        int analyzed;
+
+        @Override
+        public String toString() {
+            analyzed++;
+            return "counted";
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import io.github.programmerjide.javadump.config.DumperConfig;
+import io.github.programmerjide.javadump.model.DumpNode;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ExtractorGeneratorTest {
+
+    @Test
+    void tryGenerate_privateFields_readsAllSlots() throws Exception {
+        Field[] fields = {
+                Sample.class.getDeclaredField("id"),
+                null,
+                Sample.class.getDeclaredField("name"),
+                Sample.class.getDeclaredField("ratio"),
+                Sample.class.getDeclaredField("LIMIT")
+        };
+
+        FieldExtractor extractor = ExtractorGenerator.tryGenerate(Sample.class, fields);
+        Object[] values = new Object[fields.length];
+        extractor.extract(new Sample(), values);
+
+        assertThat(values).containsExactly(7, null, "alpha", 0.5d, 100L);
+    }
+
+    @Test
+    void tryGenerate_closedModuleClass_returnsNull() throws Exception {
+        Field[] fields = { String.class.getDeclaredField("hash") };
+
+        assertThat(ExtractorGenerator.tryGenerate(String.class, fields)).isNull();
+    }
+
+    @Test
+    void analyze_hotClass_switchesToExtractorWithSameOutput() {
+        DumperConfig config = DumperConfig.builder()
+                .showStaticFields(true)
+                .redactFields("secret")
+                .extractorThreshold(3)
+                .build();
+        ObjectAnalyzer analyzer = new ObjectAnalyzer(config);
+        ClassPlan plan = analyzer.planFor(Sample.class);
+
+        DumpNode before = analyzer.analyze(new Sample());
+        analyzer.analyze(new Sample());
+        assertThat(plan.isExtractorActive()).isFalse();
+
+        DumpNode after = analyzer.analyze(new Sample());
+
+        assertThat(plan.isExtractorActive()).isTrue();
+        assertThat(after).isEqualTo(before);
+        assertThat(after.getFields().get("secret").getValue()).isEqualTo("***REDACTED***");
+    }
+
+    @Test
+    void analyze_nestedHotClasses_keepValuesPerDepth() {
+        DumperConfig config = DumperConfig.builder()
+                .extractorThreshold(1)
+                .build();
+        ObjectAnalyzer analyzer = new ObjectAnalyzer(config);
+
+        Link chain = new Link("a", new Link("b", new Link("c", null)));
+        DumpNode node = analyzer.analyze(chain);
+
+        assertThat(analyzer.planFor(Link.class).isExtractorActive()).isTrue();
+        assertThat(node.getFields().get("label").getValue()).isEqualTo("a");
+        DumpNode second = node.getFields().get("next");
+        assertThat(second.getFields().get("label").getValue()).isEqualTo("b");
+        assertThat(second.getFields().get("next").getFields().get("label").getValue()).isEqualTo("c");
+    }
+
+    @Test
+    void analyze_thresholdDisabled_neverGenerates() {
+        ObjectAnalyzer analyzer = new ObjectAnalyzer(DumperConfig.builder().build());
+
+        for (int i = 0; i < 10; i++) {
+            analyzer.analyze(new Sample());
+        }
+
+        assertThat(analyzer.planFor(Sample.class).isExtractorActive()).isFalse();
+    }
+
+    // ==================== Test Types ====================
+
+    private static class Sample {
+        private static long LIMIT = 100L;
+        private int id = 7;
+        private String secret = "hidden";
+        private String name = "alpha";
+        private double ratio = 0.5d;
+    }
+
+    private static class Link {
+        private final String label;
+        private final Link next;
+
+        Link(String label, Link next) {
+            this.label = label;
+            this.next = next;
+        }
+    }
+}
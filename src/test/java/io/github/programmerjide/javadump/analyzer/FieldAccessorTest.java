@@ -0,0 +1,88 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import io.github.programmerjide.javadump.config.DumperConfig;
+import io.github.programmerjide.javadump.model.DumpNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FieldAccessorTest {
+
+    @ParameterizedTest
+    @EnumSource(DumperConfig.FieldAccessMode.class)
+    void analyze_primitiveFields_matchBoxedAnalysis(DumperConfig.FieldAccessMode mode) {
+        DumperConfig config = DumperConfig.builder()
+                .fieldAccessMode(mode)
+                .build();
+
+        Map<String, DumpNode> fields = new ObjectAnalyzer(config).analyze(new Primitives()).getFields();
+
+        assertThat(fields.get("i")).isEqualTo(DumpNode.ofPrimitive(42, Integer.class));
+        assertThat(fields.get("l")).isEqualTo(DumpNode.ofPrimitive(7L, Long.class));
+        assertThat(fields.get("d")).isEqualTo(DumpNode.ofPrimitive(1.5d, Double.class));
+        assertThat(fields.get("f")).isEqualTo(DumpNode.ofPrimitive(2.5f, Float.class));
+        assertThat(fields.get("z")).isEqualTo(DumpNode.ofPrimitive(true, Boolean.class));
+        assertThat(fields.get("c")).isEqualTo(DumpNode.ofPrimitive('x', Character.class));
+        assertThat(fields.get("s")).isEqualTo(DumpNode.ofPrimitive((short) 3, Short.class));
+        assertThat(fields.get("b")).isEqualTo(DumpNode.ofPrimitive((byte) 4, Byte.class));
+        assertThat(fields.get("text").getValue()).isEqualTo("hello");
+    }
+
+    @ParameterizedTest
+    @EnumSource(DumperConfig.FieldAccessMode.class)
+    void analyze_staticField_isReadWhenEnabled(DumperConfig.FieldAccessMode mode) {
+        DumperConfig config = DumperConfig.builder()
+                .fieldAccessMode(mode)
+                .showStaticFields(true)
+                .build();
+
+        DumpNode node = new ObjectAnalyzer(config).analyze(new WithStatic());
+
+        assertThat(node.getFields().get("COUNTER").getValue()).isEqualTo(99);
+    }
+
+    @Test
+    void of_varHandleMode_readsPrivateField() throws Exception {
+        FieldAccessor accessor = FieldAccessor.of(
+                Primitives.class.getDeclaredField("i"),
+                DumperConfig.FieldAccessMode.VAR_HANDLE);
+
+        assertThat(accessor).isInstanceOf(VarHandleFieldAccessor.class);
+        assertThat(accessor.getInt(new Primitives())).isEqualTo(42);
+        assertThat(accessor.get(new Primitives())).isEqualTo(42);
+    }
+
+    @Test
+    void of_closedModuleClass_fallsBackAndDeniesAccess() throws Exception {
+        FieldAccessor accessor = FieldAccessor.of(
+                String.class.getDeclaredField("value"),
+                DumperConfig.FieldAccessMode.VAR_HANDLE);
+
+        assertThat(accessor).isInstanceOf(ReflectiveFieldAccessor.class);
+        assertThat(accessor.isAccessible()).isFalse();
+        assertThatThrownBy(() -> accessor.get("text"))
+                .isInstanceOf(IllegalAccessException.class);
+    }
+
+    // ==================== Test Types ====================
+
+    private static class Primitives {
+        private int i = 42;
+        private long l = 7L;
+        private double d = 1.5d;
+        private float f = 2.5f;
+        private boolean z = true;
+        private char c = 'x';
+        private short s = 3;
+        private byte b = 4;
+        private String text = "hello";
+    }
+
+    private static class WithStatic {
+        private static int COUNTER = 99;
+    }
+}
@@ -0,0 +1,172 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import io.github.programmerjide.javadump.annotation.DumpLabel;
+import io.github.programmerjide.javadump.annotation.DumpRedact;
+import io.github.programmerjide.javadump.config.DumperConfig;
+import io.github.programmerjide.javadump.model.DumpNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class GeneratedDumperTest {
+
+    @Test
+    void planFor_registeredType_usesGeneratedDumper() {
+        ObjectAnalyzer analyzer = new ObjectAnalyzer(DumperConfig.builder().build());
+
+        assertThat(analyzer.planFor(Order.class).isGenerated()).isTrue();
+        assertThat(analyzer.planFor(Unregistered.class).isGenerated()).isFalse();
+    }
+
+    @Test
+    void analyze_generatedDumper_matchesReflectiveOutput() {
+        DumperConfig generated = DumperConfig.builder().build();
+        DumperConfig reflective = DumperConfig.builder().useGeneratedDumpers(false).build();
+
+        DumpNode expected = new ObjectAnalyzer(reflective).analyze(new Order());
+        DumpNode actual = new ObjectAnalyzer(generated).analyze(new Order());
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(actual.getFields()).containsOnlyKeys("Order ID", "customer", "total", "code");
+        assertThat(actual.getFields().get("code").getValue()).isEqualTo("<redacted>");
+    }
+
+    @Test
+    void analyze_generatedDumper_appliesConfigRules() {
+        DumperConfig config = DumperConfig.builder()
+                .showPrivateFields(false)
+                .redactFields("total")
+                .build();
+
+        DumpNode node = new ObjectAnalyzer(config).analyze(new Order());
+
+        assertThat(node.getFields()).containsOnlyKeys("customer", "total");
+        assertThat(node.getFields().get("total").getValue()).isEqualTo("***REDACTED***");
+    }
+
+    @Test
+    void analyze_generatedDumper_truncatesPrimitivesAtMaxDepth() {
+        DumperConfig config = DumperConfig.builder().maxDepth(1).build();
+        DumperConfig reflective = DumperConfig.builder().maxDepth(1).useGeneratedDumpers(false).build();
+
+        assertThat(new ObjectAnalyzer(config).analyze(new Order()))
+                .isEqualTo(new ObjectAnalyzer(reflective).analyze(new Order()));
+    }
+
+    @Test
+    void planFor_generatedDumper_doesNotPinClassLoader() throws Exception {
+        WeakReference<ClassLoader> loader = planClassFromThrowawayLoader();
+
+        for (int i = 0; i < 20 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertThat(loader.get()).isNull();
+    }
+
+    private static WeakReference<ClassLoader> planClassFromThrowawayLoader() throws Exception {
+        ClassLoader loader = new ProbeLoader();
+        Class<?> order = loader.loadClass(Order.class.getName());
+        ObjectAnalyzer analyzer = new ObjectAnalyzer(DumperConfig.builder().build());
+
+        assertThat(order).isNotSameAs(Order.class);
+        assertThat(analyzer.planFor(order).isGenerated()).isTrue();
+        return new WeakReference<>(loader);
+    }
+
+    /**
+     * Defines its own copies of this test's classes, including the
+     * registry, so they can be unloaded; everything else is delegated.
+     */
+    private static final class ProbeLoader extends ClassLoader {
+        ProbeLoader() {
+            super(GeneratedDumperTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(GeneratedDumperTest.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> type = findLoadedClass(name);
+                return type != null ? type : findClass(name);
+            }
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            String resource = name.replace('.', '/') + ".class";
+            try (InputStream in = getParent().getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                byte[] bytes = in.readAllBytes();
+                return defineClass(name, bytes, 0, bytes.length);
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+
+    // ==================== Test Types ====================
+
+    static class Order {
+        @DumpLabel("Order ID")
+        private long id = 42L;
+        String customer = "ada";
+        double total = 9.5d;
+        @DumpRedact
+        private String code = "X-1";
+        private transient int cached = 1;
+    }
+
+    static class Unregistered {
+        int value = 1;
+    }
+
+    /**
+     * What the annotation processor would generate for {@link Order}.
+     */
+    static final class OrderDumper implements GeneratedDumper<Order> {
+        private static final List<FieldInfo> FIELDS = List.of(
+                FieldInfo.of("id", "Order ID", Modifier.PRIVATE, null),
+                FieldInfo.of("customer", "customer", 0, null),
+                FieldInfo.of("total", "total", 0, null),
+                FieldInfo.of("code", "code", Modifier.PRIVATE, "<redacted>"),
+                FieldInfo.of("cached", "cached", Modifier.PRIVATE | Modifier.TRANSIENT, null)
+        );
+
+        @Override
+        public Class<Order> type() {
+            return Order.class;
+        }
+
+        @Override
+        public List<FieldInfo> fields() {
+            return FIELDS;
+        }
+
+        @Override
+        public void write(Order value, FieldSink sink) {
+            sink.writeLong(0, value.id);
+            sink.writeObject(1, value.customer);
+            sink.writeDouble(2, value.total);
+            sink.writeObject(3, value.code);
+            sink.writeInt(4, value.cached);
+        }
+    }
+
+    public static final class TestRegistry implements DumperRegistry {
+        @Override
+        public List<GeneratedDumper<?>> dumpers() {
+            return List.of(new OrderDumper());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IdentitySetTest {
+
+    @Test
+    void add_equalButDistinctObjects_areTrackedSeparately() {
+        IdentitySet set = new IdentitySet();
+        String first = new String("same");
+        String second = new String("same");
+
+        assertThat(set.add(first)).isTrue();
+        assertThat(set.add(first)).isFalse();
+        assertThat(set.contains(second)).isFalse();
+        assertThat(set.add(second)).isTrue();
+        assertThat(set.size()).isEqualTo(2);
+    }
+
+    @Test
+    void add_manyObjects_growsAndKeepsMembership() {
+        IdentitySet set = new IdentitySet();
+        List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            Object obj = new Object();
+            objects.add(obj);
+            set.add(obj);
+        }
+
+        assertThat(set.size()).isEqualTo(10_000);
+        assertThat(objects).allMatch(set::contains);
+        assertThat(set.contains(new Object())).isFalse();
+    }
+
+    @Test
+    void reset_removesAllObjects() {
+        IdentitySet set = new IdentitySet();
+        Object small = new Object();
+        set.add(small);
+        for (int i = 0; i < 10_000; i++) {
+            set.add(new Object());
+        }
+
+        set.reset();
+
+        assertThat(set.size()).isZero();
+        assertThat(set.contains(small)).isFalse();
+        assertThat(set.add(small)).isTrue();
+    }
+}
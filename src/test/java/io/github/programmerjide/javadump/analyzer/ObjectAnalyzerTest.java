@@ -1,5 +1,6 @@
 package io.github.programmerjide.javadump.analyzer;
 
+import io.github.programmerjide.javadump.annotation.*;
 import io.github.programmerjide.javadump.config.DumperConfig;
 import io.github.programmerjide.javadump.model.DumpNode;
 import org.junit.jupiter.api.BeforeEach;
@@ -189,6 +190,57 @@ class ObjectAnalyzerTest {
         assertThat(cycle.getType()).isEqualTo(DumpNode.NodeType.CYCLIC);
     }
 
+    @Test
+    void analyze_sameObjectTwice_isNotCyclicOnSecondCall() {
+        TestPerson person = new TestPerson("Alice", 30);
+
+        analyzer.analyze(person);
+        DumpNode second = analyzer.analyze(person);
+
+        assertThat(second.getType()).isEqualTo(DumpNode.NodeType.OBJECT);
+    }
+
+    // ==================== Class Plans ====================
+
+    @Test
+    void planFor_sameClass_returnsCachedPlan() {
+        ClassPlan first = analyzer.planFor(TestPerson.class);
+        ClassPlan second = analyzer.planFor(TestPerson.class);
+
+        assertThat(first).isSameAs(second);
+        assertThat(first.getFields())
+                .extracting(ClassPlan.FieldPlan::getLabel)
+                .containsExactly("name", "age");
+    }
+
+    @Test
+    void analyze_configRedaction_usesPlaceholder() {
+        DumperConfig redacting = DumperConfig.builder()
+                .redactFields("name")
+                .build();
+
+        DumpNode node = new ObjectAnalyzer(redacting).analyze(new TestPerson("Alice", 30));
+
+        assertThat(node.getFields().get("name").getValue()).isEqualTo("***REDACTED***");
+        assertThat(node.getFields().get("age").getValue()).isEqualTo(30);
+    }
+
+    @Test
+    void analyze_annotatedObject_appliesAnnotations() {
+        DumpNode node = analyzer.analyze(new TestAccount());
+
+        assertThat(node.getFields().keySet())
+                .containsExactly("Account ID", "owner", "pin");
+        assertThat(node.getFields().get("pin").getValue()).isEqualTo("****");
+    }
+
+    @Test
+    void analyze_dumpableExclude_hidesField() {
+        DumpNode node = analyzer.analyze(new TestDumpable());
+
+        assertThat(node.getFields()).containsKey("visible").doesNotContainKey("hidden");
+    }
+
     // ==================== Test Types ====================
 
     private enum TestEnum {
@@ -222,4 +274,24 @@ class ObjectAnalyzerTest {
             this.value = value;
         }
     }
+
+    private static class TestAccount {
+        private String owner = "alice";
+
+        @DumpRedact("****")
+        private String pin = "1234";
+
+        @DumpIgnore
+        private String password = "secret";
+
+        @DumpOrder(1)
+        @DumpLabel("Account ID")
+        private long id = 7L;
+    }
+
+    @Dumpable(exclude = "hidden")
+    private static class TestDumpable {
+        private String visible = "yes";
+        private String hidden = "no";
+    }
 }
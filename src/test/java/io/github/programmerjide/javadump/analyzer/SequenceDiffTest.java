@@ -0,0 +1,101 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SequenceDiffTest {
+
+    @Test
+    void diff_equalSequences_returnsNoEdits() {
+        assertThat(SequenceDiff.diff(new long[]{1, 2, 3}, new long[]{1, 2, 3}, 10)).isEmpty();
+        assertThat(SequenceDiff.diff(new long[0], new long[0], 0)).isEmpty();
+    }
+
+    @Test
+    void diff_randomSequences_findsShortestScript() {
+        Random random = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            long[] before = randomSequence(random);
+            long[] after = randomSequence(random);
+
+            List<SequenceDiff.Edit> edits = SequenceDiff.diff(before, after, 100);
+
+            assertThat(edits).hasSize(before.length + after.length - 2 * lcs(before, after));
+            assertThat(apply(before, after, edits)).isEqualTo(toList(after));
+        }
+    }
+
+    @Test
+    void diff_separatedEdits_fallInSeparateHunks() {
+        List<SequenceDiff.Edit> edits = SequenceDiff.diff(
+                new long[]{1, 2, 3, 4, 5}, new long[]{9, 2, 3, 4, 8}, 10);
+
+        assertThat(edits).hasSize(4);
+        assertThat(edits.get(0).hunk).isEqualTo(edits.get(1).hunk);
+        assertThat(edits.get(2).hunk).isEqualTo(edits.get(3).hunk).isNotEqualTo(edits.get(0).hunk);
+    }
+
+    @Test
+    void diff_overCostLimit_returnsNull() {
+        assertThat(SequenceDiff.diff(new long[]{1, 2, 3}, new long[]{4, 5, 6}, 5)).isNull();
+        assertThat(SequenceDiff.diff(new long[]{1, 2, 3}, new long[]{4, 5, 6}, 6)).hasSize(6);
+    }
+
+    private static long[] randomSequence(Random random) {
+        long[] sequence = new long[random.nextInt(12)];
+        for (int i = 0; i < sequence.length; i++) {
+            sequence[i] = random.nextInt(4);
+        }
+        return sequence;
+    }
+
+    private static int lcs(long[] a, long[] b) {
+        int[][] lengths = new int[a.length + 1][b.length + 1];
+        for (int i = a.length - 1; i >= 0; i--) {
+            for (int j = b.length - 1; j >= 0; j--) {
+                lengths[i][j] = a[i] == b[j] ? lengths[i + 1][j + 1] + 1
+                        : Math.max(lengths[i + 1][j], lengths[i][j + 1]);
+            }
+        }
+        return lengths[0][0];
+    }
+
+    /**
+     * Rebuilds the second sequence from the first: kept elements in order,
+     * with insertions placed at their indexes.
+     */
+    private static List<Long> apply(long[] before, long[] after, List<SequenceDiff.Edit> edits) {
+        boolean[] deleted = new boolean[before.length];
+        Long[] result = new Long[after.length];
+        for (SequenceDiff.Edit edit : edits) {
+            if (edit.insert) {
+                result[edit.index] = after[edit.index];
+            } else {
+                deleted[edit.index] = true;
+            }
+        }
+        int slot = 0;
+        for (int i = 0; i < before.length; i++) {
+            if (!deleted[i]) {
+                while (result[slot] != null) {
+                    slot++;
+                }
+                result[slot] = before[i];
+            }
+        }
+        return List.of(result);
+    }
+
+    private static List<Long> toList(long[] values) {
+        List<Long> list = new ArrayList<>();
+        for (long value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
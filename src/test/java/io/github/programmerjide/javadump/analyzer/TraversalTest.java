@@ -0,0 +1,90 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import io.github.programmerjide.javadump.config.DumperConfig;
+import io.github.programmerjide.javadump.model.DumpNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TraversalTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 15})
+    void analyze_mixedGraph_iterativeMatchesRecursive(int maxDepth) {
+        DumpNode iterative = analyzer(DumperConfig.TraversalMode.ITERATIVE, maxDepth, 3).analyze(graph());
+        DumpNode recursive = analyzer(DumperConfig.TraversalMode.RECURSIVE, maxDepth, 3).analyze(graph());
+
+        assertThat(iterative).isEqualTo(recursive);
+    }
+
+    @Test
+    void analyze_cycle_iterativeMatchesRecursive() {
+        Link first = new Link(1);
+        first.next = new Link(2);
+        first.next.next = first;
+
+        DumpNode iterative = analyzer(DumperConfig.TraversalMode.ITERATIVE, 15, 100).analyze(first);
+        DumpNode recursive = analyzer(DumperConfig.TraversalMode.RECURSIVE, 15, 100).analyze(first);
+
+        assertThat(iterative).isEqualTo(recursive);
+        assertThat(iterative.getFields().get("next").getFields().get("next").getType())
+                .isEqualTo(DumpNode.NodeType.CYCLIC);
+    }
+
+    @Test
+    void analyze_deepLinkedList_iterativeDoesNotOverflow() {
+        int length = 50_000;
+        Link head = new Link(0);
+        Link tail = head;
+        for (int i = 1; i < length; i++) {
+            tail.next = new Link(i);
+            tail = tail.next;
+        }
+
+        DumpNode node = analyzer(DumperConfig.TraversalMode.ITERATIVE, length + 10, 100).analyze(head);
+
+        int depth = 0;
+        while (node.getType() == DumpNode.NodeType.OBJECT) {
+            assertThat(node.getFields().get("value").getValue()).isEqualTo(depth);
+            node = node.getFields().get("next");
+            depth++;
+        }
+        assertThat(depth).isEqualTo(length);
+        assertThat(node.getType()).isEqualTo(DumpNode.NodeType.NULL);
+    }
+
+    // ==================== Helpers ====================
+
+    private static ObjectAnalyzer analyzer(DumperConfig.TraversalMode mode, int maxDepth, int maxItems) {
+        return new ObjectAnalyzer(DumperConfig.builder()
+                .traversalMode(mode)
+                .maxDepth(maxDepth)
+                .maxItems(maxItems)
+                .build());
+    }
+
+    private static Object graph() {
+        Map<Object, Object> map = new LinkedHashMap<>();
+        map.put("numbers", new int[] {1, 2, 3, 4});
+        map.put(List.of("key"), new Link(7));
+        map.put("nested", Map.of("deep", List.of(List.of("x"))));
+
+        Link shared = new Link(9);
+        List<Object> items = new ArrayList<>(Arrays.asList("a", null, shared, shared, map));
+        items.add(new Object[] {shared, 'c', 2.5d});
+        return items;
+    }
+
+    private static class Link {
+        private final int value;
+        private Link next;
+
+        Link(int value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TypeProfileTest {
+
+    @Test
+    void of_sameClass_returnsSameProfile() {
+        assertThat(TypeProfile.of(TestObject.class)).isSameAs(TypeProfile.of(TestObject.class));
+    }
+
+    @Test
+    void of_valueTypes_resolvesKinds() {
+        assertThat(TypeProfile.of(Integer.class).getKind()).isEqualTo(TypeProfile.Kind.PRIMITIVE);
+        assertThat(TypeProfile.of(String.class).getKind()).isEqualTo(TypeProfile.Kind.STRING);
+        assertThat(TypeProfile.of(TestEnum.class).getKind()).isEqualTo(TypeProfile.Kind.ENUM);
+        assertThat(TypeProfile.of(int[].class).getKind()).isEqualTo(TypeProfile.Kind.ARRAY);
+        assertThat(TypeProfile.of(ArrayList.class).getKind()).isEqualTo(TypeProfile.Kind.COLLECTION);
+        assertThat(TypeProfile.of(HashMap.class).getKind()).isEqualTo(TypeProfile.Kind.MAP);
+        assertThat(TypeProfile.of(TestObject.class).getKind()).isEqualTo(TypeProfile.Kind.OBJECT);
+    }
+
+    @Test
+    void of_flagsAndCategory_matchClassifier() {
+        TypeProfile wrapper = TypeProfile.of(Long.class);
+        TypeProfile date = TypeProfile.of(LocalDate.class);
+        TypeProfile object = TypeProfile.of(TestObject.class);
+
+        assertThat(wrapper.isWrapper()).isTrue();
+        assertThat(wrapper.getCategory()).isEqualTo(TypeClassifier.TypeCategory.PRIMITIVE);
+        assertThat(TypeProfile.of(TestEnum.class).isEnum()).isTrue();
+        assertThat(date.hasCustomToString()).isTrue();
+        assertThat(date.getCategory()).isEqualTo(TypeClassifier.classify(LocalDate.now()));
+        assertThat(object.hasCustomToString()).isFalse();
+        assertThat(object.isWrapper()).isFalse();
+        assertThat(object.getCategory()).isEqualTo(TypeClassifier.TypeCategory.OBJECT);
+    }
+
+    private enum TestEnum {
+        VALUE
+    }
+
+    private static class TestObject {
+        String name = "test";
+    }
+}
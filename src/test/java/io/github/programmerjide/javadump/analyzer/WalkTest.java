@@ -0,0 +1,346 @@
+package io.github.programmerjide.javadump.analyzer;
+
+import io.github.programmerjide.javadump.config.DumperConfig;
+import io.github.programmerjide.javadump.formatter.JsonFormatter;
+import io.github.programmerjide.javadump.formatter.JsonWriter;
+import io.github.programmerjide.javadump.formatter.OutputSink;
+import io.github.programmerjide.javadump.formatter.ValueFormatter;
+import io.github.programmerjide.javadump.formatter.YamlFormatter;
+import io.github.programmerjide.javadump.model.DumpNode;
+import io.github.programmerjide.javadump.model.DumpSnapshot;
+import io.github.programmerjide.javadump.model.DumpVisitor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+class WalkTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 15})
+    void walk_mixedGraph_emitsSameEventsAsTreeReplay(int maxDepth) {
+        ObjectAnalyzer analyzer = analyzer(maxDepth, 3);
+
+        List<String> walked = new ArrayList<>();
+        analyzer.walk(graph(), new Recorder(walked));
+        List<String> replayed = new ArrayList<>();
+        analyzer.analyze(graph()).accept(new Recorder(replayed));
+
+        assertThat(walked).isEqualTo(replayed);
+    }
+
+    @Test
+    void walk_cycleAndRedaction_matchesTree() {
+        Link first = new Link(1);
+        first.next = new Link(2);
+        first.next.next = first;
+        ObjectAnalyzer analyzer = new ObjectAnalyzer(DumperConfig.builder().redactFields("value").build());
+
+        List<String> walked = new ArrayList<>();
+        analyzer.walk(first, new Recorder(walked));
+        List<String> replayed = new ArrayList<>();
+        analyzer.analyze(first).accept(new Recorder(replayed));
+
+        assertThat(walked).isEqualTo(replayed)
+                .contains("next:CYCLIC", "value:STRING=***REDACTED***");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 15})
+    void walk_intoFormatters_matchesTreeOutput(int maxDepth) {
+        DumperConfig config = DumperConfig.builder().maxDepth(maxDepth).maxItems(3).colorEnabled(false).build();
+        ObjectAnalyzer analyzer = new ObjectAnalyzer(config);
+        DumpNode tree = analyzer.analyze(graph());
+
+        ValueFormatter console = new ValueFormatter(config);
+        JsonFormatter json = new JsonFormatter(config);
+        YamlFormatter yaml = new YamlFormatter(config);
+
+        assertThat(walk(analyzer, console::visitor)).isEqualTo(console.format(tree, 0));
+        assertThat(walkJson(analyzer, json)).isEqualTo(json.format(tree));
+        assertThat(walk(analyzer, yaml::visitor)).isEqualTo(yaml.format(tree));
+    }
+
+    @Test
+    void walk_truncatedList_reportsOmittedElements() {
+        ObjectAnalyzer analyzer = analyzer(15, 2);
+        List<String> events = new ArrayList<>();
+
+        analyzer.walk(List.of(1, 2, 3, 4, 5), new Recorder(events));
+
+        assertThat(events).containsExactly(
+                "beginArray ListN 5/2", "[0]", "PRIMITIVE=1", "[1]", "PRIMITIVE=2", "end 3");
+    }
+
+    @Test
+    void walk_deepLinkedList_doesNotOverflow() {
+        int length = 50_000;
+        Link head = new Link(0);
+        Link tail = head;
+        for (int i = 1; i < length; i++) {
+            tail.next = new Link(i);
+            tail = tail.next;
+        }
+
+        int[] objects = new int[1];
+        analyzer(length + 10, 100).walk(head, new Recorder(new ArrayList<>()) {
+            @Override
+            public void beginObject(String typeName, int fieldCount) {
+                objects[0]++;
+            }
+        });
+
+        assertThat(objects[0]).isEqualTo(length);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 15})
+    void capture_replay_emitsSameEventsAsWalk(int maxDepth) {
+        ObjectAnalyzer analyzer = analyzer(maxDepth, 3);
+
+        List<String> walked = new ArrayList<>();
+        analyzer.walk(graph(), new Recorder(walked));
+        List<String> replayed = new ArrayList<>();
+        analyzer.capture(graph()).accept(new Recorder(replayed));
+
+        assertThat(replayed).isEqualTo(walked);
+    }
+
+    @Test
+    void capture_cycleAndRedaction_replaysFlagsAndValues() {
+        Link first = new Link(1);
+        first.next = new Link(2);
+        first.next.next = first;
+        ObjectAnalyzer analyzer = new ObjectAnalyzer(DumperConfig.builder().redactFields("value").build());
+
+        List<String> replayed = new ArrayList<>();
+        analyzer.capture(first).accept(new Recorder(replayed));
+
+        assertThat(replayed).contains("next:CYCLIC", "value:STRING=***REDACTED***");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 15})
+    void capture_intoFormatters_matchesWalkOutput(int maxDepth) {
+        DumperConfig config = DumperConfig.builder().maxDepth(maxDepth).maxItems(3).colorEnabled(false).build();
+        ObjectAnalyzer analyzer = new ObjectAnalyzer(config);
+        DumpSnapshot snapshot = analyzer.capture(graph());
+
+        ValueFormatter console = new ValueFormatter(config);
+        YamlFormatter yaml = new YamlFormatter(config);
+        JsonFormatter json = new JsonFormatter(config);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonWriter out = new JsonWriter(bytes);
+        snapshot.accept(json.visitor(out));
+        out.flush();
+
+        assertThat(replay(snapshot, console::visitor)).isEqualTo(walk(analyzer, console::visitor));
+        assertThat(replay(snapshot, yaml::visitor)).isEqualTo(walk(analyzer, yaml::visitor));
+        assertThat(bytes.toString(StandardCharsets.UTF_8)).isEqualTo(walkJson(analyzer, json));
+    }
+
+    @Test
+    void capture_sourceChangedAfterwards_keepsCapturedValues() {
+        DumperConfig config = DumperConfig.builder().colorEnabled(false).build();
+        ObjectAnalyzer analyzer = new ObjectAnalyzer(config);
+        ValueFormatter console = new ValueFormatter(config);
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("count", 1);
+        value.put("price", 2.5d);
+        value.put("letter", 'x');
+        List<String> items = new ArrayList<>(List.of("a", "b"));
+        value.put("items", items);
+        Link link = new Link(3);
+        value.put("link", link);
+        String expected = console.format(analyzer.analyze(value), 0);
+
+        DumpSnapshot snapshot = analyzer.capture(value);
+        value.put("count", 2);
+        value.remove("price");
+        items.add("c");
+        link.next = new Link(4);
+
+        assertThat(replay(snapshot, console::visitor)).isEqualTo(expected);
+    }
+
+    @Test
+    void capture_repeatedNames_storesEachOnce() {
+        ObjectAnalyzer analyzer = analyzer(15, 10_000);
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            values.add(i);
+            values.add(new Link(i));
+            values.add(new int[] {i});
+        }
+
+        DumpSnapshot snapshot = analyzer.capture(values);
+
+        // ArrayList, Integer, Link, value, next, null, int[]
+        assertThat(snapshot.stringCount()).isEqualTo(7);
+        List<String> walked = new ArrayList<>();
+        analyzer.walk(values, new Recorder(walked));
+        List<String> replayed = new ArrayList<>();
+        snapshot.accept(new Recorder(replayed));
+        assertThat(replayed).isEqualTo(walked);
+    }
+
+    @Test
+    void capture_afterFailedCapture_dropsPartialEvents() {
+        ObjectAnalyzer analyzer = analyzer(15, 3);
+        List<Object> failing = new AbstractList<>() {
+            @Override
+            public Object get(int index) {
+                return index;
+            }
+
+            @Override
+            public int size() {
+                return 2;
+            }
+
+            @Override
+            public Iterator<Object> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < 2;
+                    }
+
+                    @Override
+                    public Object next() {
+                        if (next++ == 1) {
+                            throw new IllegalStateException("broken");
+                        }
+                        return next;
+                    }
+                };
+            }
+        };
+
+        assertThatThrownBy(() -> analyzer.capture(List.of("before", failing)))
+                .isInstanceOf(IllegalStateException.class);
+
+        List<String> walked = new ArrayList<>();
+        analyzer.walk(graph(), new Recorder(walked));
+        List<String> replayed = new ArrayList<>();
+        analyzer.capture(graph()).accept(new Recorder(replayed));
+
+        assertThat(replayed).isEqualTo(walked);
+    }
+
+    // ==================== Helpers ====================
+
+    private static String walk(ObjectAnalyzer analyzer, Function<OutputSink, DumpVisitor> visitor) {
+        StringBuilder sb = new StringBuilder();
+        analyzer.walk(graph(), visitor.apply(new OutputSink(sb)));
+        return sb.toString();
+    }
+
+    private static String replay(DumpSnapshot snapshot, Function<OutputSink, DumpVisitor> visitor) {
+        StringBuilder sb = new StringBuilder();
+        snapshot.accept(visitor.apply(new OutputSink(sb)));
+        return sb.toString();
+    }
+
+    private static String walkJson(ObjectAnalyzer analyzer, JsonFormatter json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonWriter out = new JsonWriter(bytes);
+        analyzer.walk(graph(), json.visitor(out));
+        out.flush();
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    private static ObjectAnalyzer analyzer(int maxDepth, int maxItems) {
+        return new ObjectAnalyzer(DumperConfig.builder()
+                .maxDepth(maxDepth)
+                .maxItems(maxItems)
+                .build());
+    }
+
+    private static Object graph() {
+        Map<Object, Object> map = new LinkedHashMap<>();
+        map.put("numbers", new int[] {1, 2, 3, 4});
+        map.put(List.of("key"), new Link(7));
+        map.put("nested", Map.of("deep", List.of(List.of("x"))));
+        map.put("empty", new ArrayList<>());
+
+        Link shared = new Link(9);
+        List<Object> items = new ArrayList<>(Arrays.asList("a", null, shared, shared, map));
+        items.add(new Object[] {shared, 'c', 2.5d});
+        return items;
+    }
+
+    /**
+     * Records events as short strings.
+     */
+    private static class Recorder implements DumpVisitor {
+        private final List<String> events;
+
+        Recorder(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void value(DumpNode node) {
+            String last = events.isEmpty() ? "" : events.get(events.size() - 1);
+            String text = node.getType() + (node.getValue() != null ? "=" + node.getValue() : "");
+            if (last.endsWith(":")) {
+                events.set(events.size() - 1, last + text);
+            } else {
+                events.add(text);
+            }
+        }
+
+        @Override
+        public void beginArray(String typeName, int size, int shown) {
+            events.add("beginArray " + typeName + " " + size + "/" + shown);
+        }
+
+        @Override
+        public void beginMap(String typeName, int size, int shown) {
+            events.add("beginMap " + typeName + " " + size + "/" + shown);
+        }
+
+        @Override
+        public void beginObject(String typeName, int fieldCount) {
+            events.add("beginObject " + typeName + " " + fieldCount);
+        }
+
+        @Override
+        public void element(int index) {
+            events.add("[" + index + "]");
+        }
+
+        @Override
+        public void key(DumpNode key) {
+            events.add("key " + key.getType() + "=" + key.getValue());
+        }
+
+        @Override
+        public void field(String label) {
+            events.add(label + ":");
+        }
+
+        @Override
+        public void end(int omitted) {
+            events.add("end " + omitted);
+        }
+    }
+
+    private static class Link {
+        private final int value;
+        private Link next;
+
+        Link(int value) {
+            this.value = value;
+        }
+    }
+}
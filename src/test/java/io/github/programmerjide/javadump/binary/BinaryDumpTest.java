@@ -0,0 +1,207 @@
+package io.github.programmerjide.javadump.binary;
+
+import io.github.programmerjide.javadump.analyzer.ObjectAnalyzer;
+import io.github.programmerjide.javadump.config.DumperConfig;
+import io.github.programmerjide.javadump.core.Dumper;
+import io.github.programmerjide.javadump.model.DumpNode;
+import io.github.programmerjide.javadump.model.DumpVisitor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BinaryDumpTest {
+
+    private final Dumper dumper = Dumper.builder()
+            .withoutColor()
+            .withoutHeader()
+            .withMaxItems(3)
+            .build();
+
+    @Test
+    void render_console_matchesDirectOutput() {
+        byte[] file = write(graph(), "second");
+
+        assertThat(render(file, DumpRenderer.Format.CONSOLE))
+                .isEqualTo(dumper.dumpStr(graph()) + System.lineSeparator()
+                        + dumper.dumpStr("second") + System.lineSeparator());
+    }
+
+    @Test
+    void render_jsonYamlAndHtml_matchDirectOutput() {
+        byte[] one = write(graph());
+        byte[] two = write(graph(), List.of(1, 2));
+
+        assertThat(render(one, DumpRenderer.Format.JSON))
+                .isEqualTo(dumper.dumpJSONStr(graph()) + System.lineSeparator());
+        assertThat(render(two, DumpRenderer.Format.YAML))
+                .isEqualTo(dumper.dumpYAMLStr(graph(), List.of(1, 2)) + System.lineSeparator());
+        assertThat(render(one, DumpRenderer.Format.HTML))
+                .isEqualTo(dumper.dumpHTML(graph()) + System.lineSeparator());
+        assertThat(render(two, DumpRenderer.Format.HTML))
+                .isEqualTo(dumper.dumpHTML(graph(), List.of(1, 2)) + System.lineSeparator());
+    }
+
+    @Test
+    void roundTrip_keepsScalarKindsAndFlags() {
+        Link cycle = new Link("loop");
+        cycle.next = cycle;
+        List<Object> values = Arrays.asList(
+                Integer.MIN_VALUE, Long.MAX_VALUE, (short) -3, (byte) 7, -0.5d, 1.5f, 'é',
+                true, false, null, Thread.State.RUNNABLE, "x".repeat(20_000), "日本語 😀", cycle);
+
+        DumperConfig config = DumperConfig.builder().maxItems(100).build();
+        DumpNode expected = new ObjectAnalyzer(config).analyze(values);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryDumpWriter writer = new BinaryDumpWriter(bytes);
+        expected.accept(writer);
+        writer.flush();
+
+        DumpNode read = new BinaryDumpReader(new ByteArrayInputStream(bytes.toByteArray())).readNode();
+
+        List<DumpNode> expectedElements = expected.getElements();
+        List<DumpNode> readElements = read.getElements();
+        assertThat(readElements).hasSameSizeAs(expectedElements);
+        for (int i = 0; i < expectedElements.size() - 1; i++) {
+            assertThat(readElements.get(i).getValue()).isEqualTo(expectedElements.get(i).getValue());
+            assertThat(readElements.get(i).getType()).isEqualTo(expectedElements.get(i).getType());
+            assertThat(readElements.get(i).getTypeName()).isEqualTo(expectedElements.get(i).getTypeName());
+        }
+        assertThat(readElements.get(9)).isSameAs(DumpNode.ofNull());
+        assertThat(readElements.get(13).getFields().get("next").isCircular()).isTrue();
+        assertThat(new BinaryDumpReader(new ByteArrayInputStream(write("a\uD83Db"))).readNode().getValue())
+                .isEqualTo("a?b");
+    }
+
+    @Test
+    void roundTrip_containerKeyInsideArray_keepsElementIndexes() {
+        Dumper wide = Dumper.builder().withoutColor().withoutHeader().withMaxItems(10).build();
+        Object value = List.of("a", "b", Map.of(List.of(1, 2), "v"), "c", "d");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        wide.dumpBinaryTo(bytes, value);
+
+        List<Integer> indexes = new ArrayList<>();
+        new BinaryDumpReader(new ByteArrayInputStream(bytes.toByteArray())).read(new DumpVisitor() {
+            @Override public void value(DumpNode node) { }
+            @Override public void beginArray(String typeName, int size, int shown) { }
+            @Override public void beginMap(String typeName, int size, int shown) { }
+            @Override public void beginObject(String typeName, int fieldCount) { }
+            @Override public void element(int index) { indexes.add(index); }
+            @Override public void key(DumpNode key) { }
+            @Override public void field(String label) { }
+            @Override public void end(int omitted) { }
+        });
+
+        assertThat(indexes).containsExactly(0, 1, 2, 3, 4);
+        assertThat(render(bytes.toByteArray(), DumpRenderer.Format.CONSOLE))
+                .isEqualTo(wide.dumpStr(value) + System.lineSeparator());
+    }
+
+    @Test
+    void repeatedNames_areWrittenOnce() {
+        List<Link> links = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            links.add(new Link("same"));
+        }
+        Dumper all = Dumper.builder().withMaxItems(1_000).build();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        all.dumpBinaryTo(bytes, links);
+
+        String text = bytes.toString(StandardCharsets.ISO_8859_1);
+        assertThat(text.split("Link", -1)).hasSize(2);
+        assertThat(text.split("same", -1)).hasSize(2);
+        assertThat(bytes.size()).isLessThan(all.dumpJSONStr(links).length() / 2);
+    }
+
+    @Test
+    void reader_concatenatedFiles_readsAllValues() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        dumper.dumpBinaryTo(bytes, "first", Map.of("k", "first"));
+        dumper.dumpBinaryTo(bytes, Map.of("k", "second"));
+
+        BinaryDumpReader reader = new BinaryDumpReader(new ByteArrayInputStream(bytes.toByteArray()));
+        List<DumpNode> nodes = new ArrayList<>();
+        for (DumpNode node = reader.readNode(); node != null; node = reader.readNode()) {
+            nodes.add(node);
+        }
+
+        assertThat(nodes).hasSize(3);
+        assertThat(nodes.get(2).getEntries().values().iterator().next().getValue()).isEqualTo("second");
+    }
+
+    @Test
+    void reader_invalidInput_throws() {
+        byte[] file = write(List.of("a", "b"));
+
+        assertThatThrownBy(() -> new BinaryDumpReader(new ByteArrayInputStream("{}".getBytes())))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("Not a .jdump file");
+        assertThatThrownBy(() -> new BinaryDumpReader(
+                new ByteArrayInputStream(Arrays.copyOf(file, file.length - 2))).readNode())
+                .isInstanceOf(UncheckedIOException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "08 00",                   // END at the top level
+            "04",                      // ELEMENT at the top level
+            "01 00 00 00 06 04",       // ELEMENT of a key, outside any container of the key
+            "00 00 01 ff ff ff ff 07"  // type name of 2 GB, then the end of the file
+    })
+    void reader_malformedEvents_throw(String events) {
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        file.writeBytes("JDMP".getBytes(StandardCharsets.US_ASCII));
+        file.write(1);
+        for (String hex : events.split(" ")) {
+            file.write(Integer.parseInt(hex, 16));
+        }
+
+        assertThatThrownBy(() -> new BinaryDumpReader(new ByteArrayInputStream(file.toByteArray())).readNode())
+                .isInstanceOf(UncheckedIOException.class);
+    }
+
+    // ==================== Helpers ====================
+
+    private byte[] write(Object... values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        dumper.dumpBinaryTo(bytes, values);
+        return bytes.toByteArray();
+    }
+
+    private static String render(byte[] file, DumpRenderer.Format format) {
+        DumperConfig config = DumperConfig.builder().colorEnabled(false).build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new DumpRenderer(config, format).render(new ByteArrayInputStream(file), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Object graph() {
+        Map<Object, Object> map = new LinkedHashMap<>();
+        map.put("numbers", new int[] {1, 2, 3, 4});
+        map.put(List.of("key"), new Link("seven"));
+        map.put(42, Map.of("deep", List.of(List.of("x"))));
+        map.put("empty", new ArrayList<>());
+
+        Link shared = new Link("shared");
+        shared.next = shared;
+        List<Object> items = new ArrayList<>(Arrays.asList("a\n\"b\"", null, shared, 3.25d, map));
+        items.add(new Object[] {shared, 'c', 2.5f, 10L});
+        return items;
+    }
+
+    private static class Link {
+        private final String name;
+        private Link next;
+
+        Link(String name) {
+            this.name = name;
+        }
+    }
+}
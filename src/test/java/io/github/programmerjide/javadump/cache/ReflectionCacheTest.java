@@ -0,0 +1,130 @@
+package io.github.programmerjide.javadump.cache;
+
+import io.github.programmerjide.javadump.core.Dumper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReflectionCacheTest {
+
+    @BeforeEach
+    @AfterEach
+    void reset() {
+        ReflectionCache.setEnabled(true);
+        ReflectionCache.clear();
+    }
+
+    @Test
+    void getMetadata_repeatedLookups_countHitsAndMisses() {
+        ReflectionCache.ClassMetadata first = ReflectionCache.getMetadata(Child.class);
+        ReflectionCache.ClassMetadata second = ReflectionCache.getMetadata(Child.class);
+        ReflectionCache.getMetadata(Parent.class);
+
+        ReflectionCache.CacheStats stats = ReflectionCache.getStats();
+        assertThat(second).isSameAs(first);
+        assertThat(stats.getMisses()).isEqualTo(2);
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getHitRate()).isEqualTo(1 / 3.0);
+        assertThat(stats.getClassCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getMetadata_describesClass() {
+        ReflectionCache.ClassMetadata child = ReflectionCache.getMetadata(Child.class);
+        ReflectionCache.ClassMetadata list = ReflectionCache.getMetadata(ArrayList.class);
+
+        assertThat(child.getSimpleName()).isEqualTo("Child");
+        assertThat(child.getPackageName()).isEqualTo("io.github.programmerjide.javadump.cache");
+        assertThat(child.hasCustomToString()).isTrue();
+        assertThat(ReflectionCache.hasCustomToString(Parent.class)).isFalse();
+        assertThat(list.isCollection()).isTrue();
+        assertThat(ReflectionCache.getMetadata(int[][].class).getSimpleName()).isEqualTo("int[][]");
+    }
+
+    @Test
+    void getFields_includesSuperclassFields() {
+        List<Field> declared = ReflectionCache.getDeclaredFields(Child.class);
+        List<Field> all = ReflectionCache.getFields(Child.class);
+
+        assertThat(declared).extracting(Field::getName).containsExactly("name");
+        assertThat(all).extracting(Field::getName).containsExactly("name", "id");
+        assertThat(ReflectionCache.getDeclaredFields(Child.class)).isSameAs(declared);
+        assertThat(ReflectionCache.getStats().getFieldCount()).isEqualTo(2);
+    }
+
+    @Test
+    void setEnabled_false_reflectsEveryTime() {
+        ReflectionCache.setEnabled(false);
+
+        assertThat(ReflectionCache.getMetadata(Child.class)).isNotSameAs(ReflectionCache.getMetadata(Child.class));
+        assertThat(ReflectionCache.getStats().getHits()).isZero();
+        assertThat(ReflectionCache.getStats().isEnabled()).isFalse();
+    }
+
+    @Test
+    void dump_useCache_andDoNotPinClasses() throws Exception {
+        WeakReference<ClassLoader> loader = dumpClassFromThrowawayLoader();
+
+        assertThat(ReflectionCache.getStats().getHits()).isPositive();
+        for (int i = 0; i < 20 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertThat(loader.get()).isNull();
+    }
+
+    private static WeakReference<ClassLoader> dumpClassFromThrowawayLoader() throws Exception {
+        ClassLoader loader = new ProbeLoader();
+        Object probe = loader.loadClass(Parent.class.getName()).getDeclaredConstructor().newInstance();
+        Dumper dumper = Dumper.builder().withoutColor().withoutHeader().build();
+
+        assertThat(dumper.dumpStr(probe)).contains("Parent").contains("id");
+        assertThat(dumper.dumpStr(probe)).contains("Parent");
+        return new WeakReference<>(loader);
+    }
+
+    /**
+     * Defines its own copy of {@link Parent}, so the copy can be unloaded.
+     */
+    private static final class ProbeLoader extends ClassLoader {
+        ProbeLoader() {
+            super(null);
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            String resource = name.replace('.', '/') + ".class";
+            try (InputStream in = ReflectionCacheTest.class.getClassLoader().getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                byte[] bytes = in.readAllBytes();
+                return defineClass(name, bytes, 0, bytes.length);
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+
+    public static class Parent {
+        private int id = 7;
+    }
+
+    static class Child extends Parent {
+        private String name = "child";
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
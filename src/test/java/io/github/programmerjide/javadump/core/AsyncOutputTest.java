@@ -0,0 +1,222 @@
+package io.github.programmerjide.javadump.core;
+
+import io.github.programmerjide.javadump.config.DumperConfig.OverflowPolicy;
+import io.github.programmerjide.javadump.formatter.OutputSink;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AsyncOutputTest {
+
+    @Test
+    void dump_async_writesSameOutputAsSync() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        Dumper dumper = Dumper.builder()
+                .withoutColor()
+                .withWriter(out)
+                .withAsyncOutput(16, OverflowPolicy.BLOCK)
+                .build();
+        Map<String, Object> value = Map.of("name", "async", "items", List.of(1, 2, 3));
+
+        dumper.dump(value, "tail");
+        dumper.dump();
+        dumper.getAsyncOutput().flush();
+
+        String expected = dumper.dumpStr(value, "tail") + System.lineSeparator()
+                + "(no values to dump)" + System.lineSeparator();
+        assertThat(bytes.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+        assertThat(dumper.getAsyncOutput().getWrittenCount()).isEqualTo(2);
+        dumper.getAsyncOutput().close();
+    }
+
+    @Test
+    void close_dumper_writesQueuedDumpsThenWritesInline() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        Dumper dumper = Dumper.builder()
+                .withoutColor()
+                .withoutHeader()
+                .withWriter(out)
+                .withAsyncOutput(16, OverflowPolicy.BLOCK)
+                .build();
+
+        for (int i = 0; i < 10; i++) {
+            dumper.dump(i);
+        }
+        dumper.close();
+        long written = dumper.getAsyncOutput().getWrittenCount();
+        dumper.dump("inline");
+
+        assertThat(written).isEqualTo(10);
+        assertThat(bytes.toString(StandardCharsets.UTF_8)).endsWith(
+                dumper.dumpStr(9) + System.lineSeparator() + dumper.dumpStr("inline") + System.lineSeparator());
+        assertThat(dumper.getAsyncOutput().getWrittenCount()).isEqualTo(10);
+    }
+
+    @Test
+    void dumpJSONAndYAML_asyncOutput_areWrittenInOrderByTheWriter() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Thread caller = Thread.currentThread();
+        boolean[] writtenByCaller = new boolean[1];
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8) {
+            @Override
+            public void write(byte[] buf, int off, int len) {
+                writtenByCaller[0] |= Thread.currentThread() == caller;
+                super.write(buf, off, len);
+            }
+        };
+        Dumper dumper = Dumper.builder()
+                .withoutColor()
+                .withoutHeader()
+                .withWriter(out)
+                .withMaxItems(5_000)
+                .withAsyncOutput(16, OverflowPolicy.BLOCK)
+                .build();
+        List<String> large = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            large.add("item" + i);
+        }
+
+        dumper.dump("before");
+        dumper.dumpJSON(large);
+        dumper.dumpYAML(large, "second");
+        dumper.dumpJSONWithHeader("=== label ===", "after");
+        dumper.close();
+
+        assertThat(writtenByCaller[0]).isFalse();
+        String ls = System.lineSeparator();
+        assertThat(bytes.toString(StandardCharsets.UTF_8)).isEqualTo(
+                dumper.dumpStr("before") + ls
+                        + dumper.dumpJSONStr(large) + ls
+                        + dumper.dumpYAMLStr(large, "second") + ls
+                        + "=== label ===" + ls + dumper.dumpJSONStr("after") + ls);
+    }
+
+    @Test
+    void submit_dropNewest_rejectsWritesWhileFull() throws Exception {
+        StringBuilder target = new StringBuilder();
+        CountDownLatch release = new CountDownLatch(1);
+        try (AsyncOutput output = new AsyncOutput(target, 2, OverflowPolicy.DROP_NEWEST)) {
+            blockWriter(output, release);
+
+            assertThat(output.submit(text("a"))).isTrue();
+            assertThat(output.submit(text("b"))).isTrue();
+            assertThat(output.submit(text("c"))).isFalse();
+
+            release.countDown();
+            output.flush();
+
+            assertThat(target).hasToString("ab");
+            assertThat(output.getDroppedCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void submit_dropOldest_evictsQueuedWrites() throws Exception {
+        StringBuilder target = new StringBuilder();
+        CountDownLatch release = new CountDownLatch(1);
+        try (AsyncOutput output = new AsyncOutput(target, 2, OverflowPolicy.DROP_OLDEST)) {
+            blockWriter(output, release);
+
+            for (String text : List.of("a", "b", "c", "d")) {
+                assertThat(output.submit(text(text))).isTrue();
+            }
+
+            release.countDown();
+            output.flush();
+
+            assertThat(target).hasToString("cd");
+            assertThat(output.getDroppedCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void submit_block_waitsForRoomFromManyProducers() throws Exception {
+        int producers = 4;
+        int writes = 2_000;
+        List<String> lines = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try (AsyncOutput output = new AsyncOutput(new StringBuilder(), 8, OverflowPolicy.BLOCK)) {
+            List<Future<?>> done = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                done.add(executor.submit(() -> {
+                    for (int i = 0; i < writes; i++) {
+                        String line = producer + ":" + i;
+                        output.submit(out -> lines.add(line));
+                    }
+                }));
+            }
+            for (Future<?> future : done) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            output.flush();
+
+            assertThat(output.getDroppedCount()).isZero();
+            assertThat(output.getWrittenCount()).isEqualTo((long) producers * writes);
+            for (int p = 0; p < producers; p++) {
+                String prefix = p + ":";
+                List<String> own = lines.stream().filter(line -> line.startsWith(prefix)).toList();
+                assertThat(own).hasSize(writes);
+                assertThat(own.get(writes - 1)).isEqualTo(prefix + (writes - 1));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void close_writesPendingAndThenWritesOnCaller() {
+        StringBuilder target = new StringBuilder();
+        AsyncOutput output = new AsyncOutput(target, 64, OverflowPolicy.BLOCK);
+        for (int i = 0; i < 50; i++) {
+            output.submit(text("x"));
+        }
+
+        output.close();
+        assertThat(target.length()).isEqualTo(50);
+
+        output.submit(text("y"));
+        assertThat(target).endsWith("xy");
+    }
+
+    @Test
+    void withAsyncOutput_invalidArguments_throw() {
+        assertThatThrownBy(() -> Dumper.builder().withAsyncOutput(0, OverflowPolicy.BLOCK))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Dumper.builder().withAsyncOutput(8, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ==================== Helpers ====================
+
+    private static Consumer<OutputSink> text(String text) {
+        return out -> out.append(text);
+    }
+
+    /**
+     * Occupies the writer thread until {@code release} opens.
+     */
+    private static void blockWriter(AsyncOutput output, CountDownLatch release) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        output.submit(out -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+}
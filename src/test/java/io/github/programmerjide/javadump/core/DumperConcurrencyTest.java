@@ -0,0 +1,121 @@
+package io.github.programmerjide.javadump.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DumperConcurrencyTest {
+
+    private static final int THREADS = 256;
+    private static final int DUMPS_PER_THREAD = 40;
+
+    @Test
+    void dumpStr_sharedDumperAcrossThreads_matchesSingleThreadedOutput() throws Exception {
+        Dumper dumper = Dumper.builder().withoutColor().withoutHeader().build();
+        Node shared = graph();
+        String expected = dumper.dumpStr(shared);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    List<String> outputs = new ArrayList<>();
+                    for (int i = 0; i < DUMPS_PER_THREAD; i++) {
+                        outputs.add(dumper.dumpStr(shared));
+                    }
+                    return outputs;
+                }));
+            }
+            start.countDown();
+
+            for (Future<List<String>> result : results) {
+                assertThat(result.get(60, TimeUnit.SECONDS)).allMatch(expected::equals);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void dumpStr_repeatedCallsOnOneThread_doNotLeakCycleState() {
+        Dumper dumper = Dumper.builder().withoutColor().withoutHeader().build();
+        Node shared = graph();
+
+        assertThat(dumper.dumpStr(shared)).isEqualTo(dumper.dumpStr(shared));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"console", "json", "yaml"})
+    void dump_valuePrintingFromAnotherThread_doesNotDeadlock(String format) {
+        PrintStream out = new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8);
+        Dumper dumper = Dumper.builder().withoutColor().withWriter(out).build();
+        boolean[] printed = new boolean[1];
+        List<String> logging = new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                return "x";
+            }
+
+            @Override
+            public int size() {
+                // Like a value that logs through a lock held by a thread that prints
+                Thread printer = new Thread(() -> out.println("logged"));
+                printer.start();
+                try {
+                    printer.join(2_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                printed[0] = !printer.isAlive();
+                return 1;
+            }
+        };
+
+        if (format.equals("console")) {
+            dumper.dump(logging);
+        } else if (format.equals("json")) {
+            dumper.dumpJSON(logging);
+        } else {
+            dumper.dumpYAML(logging);
+        }
+
+        assertThat(printed[0]).isTrue();
+    }
+
+    // ==================== Test Types ====================
+
+    private static Node graph() {
+        Node root = new Node("root");
+        Node child = new Node("child");
+        root.children.add(child);
+        root.children.add(child);
+        child.children.add(root);
+        root.attributes.put("self", root);
+        root.attributes.put("child", child);
+        return root;
+    }
+
+    private static class Node {
+        private final String name;
+        private final List<Node> children = new ArrayList<>();
+        private final Map<String, Node> attributes = new ConcurrentSkipListMap<>();
+
+        Node(String name) {
+            this.name = name;
+        }
+    }
+}
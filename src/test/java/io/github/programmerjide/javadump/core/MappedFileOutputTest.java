@@ -0,0 +1,190 @@
+package io.github.programmerjide.javadump.core;
+
+import io.github.programmerjide.javadump.config.DumperConfig.FsyncPolicy;
+import io.github.programmerjide.javadump.config.DumperConfig.OverflowPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MappedFileOutputTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void dump_fileOutput_writesSameTextAsDumpStr() throws IOException {
+        Dumper dumper = Dumper.builder()
+                .withoutColor()
+                .withoutHeader()
+                .withFileOutput(dir)
+                .build();
+        Map<String, Object> value = Map.of("name", "日本語 😀 é", "items", List.of(1, 2, 3));
+
+        dumper.dump(value, "tail");
+        dumper.dumpJSON(value);
+        dumper.dumpYAML(value);
+        MappedFileOutput output = dumper.getFileOutput();
+        Path segment = output.getCurrentSegment();
+        output.close();
+
+        String expected = dumper.dumpStr(value, "tail") + System.lineSeparator()
+                + dumper.dumpJSONStr(value) + System.lineSeparator()
+                + dumper.dumpYAMLStr(value) + System.lineSeparator();
+        assertThat(segment.getFileName()).hasToString("javadump-000001.dump");
+        assertThat(Files.readString(segment)).isEqualTo(expected);
+        assertThat(Files.size(segment)).isEqualTo(expected.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void dump_asyncFileOutput_writesAllDumps() throws IOException {
+        Dumper dumper = Dumper.builder()
+                .withoutColor()
+                .withoutHeader()
+                .withFileOutput(dir)
+                .withAsyncOutput(16, OverflowPolicy.BLOCK)
+                .build();
+
+        for (int i = 0; i < 100; i++) {
+            dumper.dump(i);
+        }
+        dumper.getAsyncOutput().close();
+        Path segment = dumper.getFileOutput().getCurrentSegment();
+        dumper.getFileOutput().close();
+
+        assertThat(Files.readAllLines(segment)).hasSize(100)
+                .startsWith(dumper.dumpStr(0))
+                .endsWith(dumper.dumpStr(99));
+    }
+
+    @Test
+    void close_dumper_closesSegmentAndFallsBackToStream() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        Dumper dumper = Dumper.builder()
+                .withoutColor()
+                .withoutHeader()
+                .withWriter(out)
+                .withFileOutput(dir)
+                .withAsyncOutput(16, OverflowPolicy.BLOCK)
+                .build();
+        Path segment = dumper.getFileOutput().getCurrentSegment();
+
+        dumper.dump("queued");
+        dumper.close();
+        dumper.dump("after");
+        dumper.dumpJSON("after");
+        dumper.dumpYAML("after");
+        dumper.close();
+
+        assertThat(Files.readString(segment)).isEqualTo(dumper.dumpStr("queued") + System.lineSeparator());
+        assertThat(bytes.toString(StandardCharsets.UTF_8)).isEqualTo(
+                dumper.dumpStr("after") + System.lineSeparator()
+                        + dumper.dumpJSONStr("after") + System.lineSeparator()
+                        + dumper.dumpYAMLStr("after") + System.lineSeparator());
+    }
+
+    @Test
+    void flush_pastSegmentSize_rollsWithoutSplittingDumps() throws IOException {
+        MappedFileOutput output = new MappedFileOutput(dir, "log", 100, 0, FsyncPolicy.ON_ROLL);
+        String line = "x".repeat(59) + "\n";
+
+        for (int i = 0; i < 5; i++) {
+            output.append(line);
+            output.flush();
+        }
+        output.close();
+
+        List<Path> segments = output.getSegments();
+        assertThat(segments).hasSize(3);
+        assertThat(Files.readString(segments.get(0))).isEqualTo(line + line);
+        assertThat(Files.readString(segments.get(2))).isEqualTo(line);
+    }
+
+    @Test
+    void openSegment_maxSegments_deletesOldest() throws IOException {
+        MappedFileOutput output = new MappedFileOutput(dir, "log", 5, 2, FsyncPolicy.NONE);
+        for (int i = 0; i < 5; i++) {
+            output.append("dump ").append((char) ('a' + i));
+            output.flush();
+        }
+
+        assertThat(output.getSegments())
+                .extracting(path -> path.getFileName().toString())
+                .containsExactly("log-000005.dump", "log-000006.dump");
+        try (var files = Files.list(dir)) {
+            assertThat(files).hasSize(2);
+        }
+        output.close();
+        assertThat(Files.readString(output.getSegments().get(0))).isEqualTo("dump e");
+    }
+
+    @Test
+    void constructor_existingSegments_continuesNumbering() throws IOException {
+        new MappedFileOutput(dir, "log", 1 << 20, 0, FsyncPolicy.NONE).close();
+        Files.writeString(dir.resolve("log-notes.dump"), "ignored");
+
+        MappedFileOutput output = new MappedFileOutput(dir, "log", 1 << 20, 0, FsyncPolicy.EVERY_DUMP);
+        output.write("bytes".getBytes(StandardCharsets.US_ASCII));
+        output.flush();
+        output.close();
+
+        assertThat(output.getSegments()).hasSize(2);
+        assertThat(output.getCurrentSegment().getFileName()).hasToString("log-000002.dump");
+        assertThat(Files.readString(output.getCurrentSegment())).isEqualTo("bytes");
+    }
+
+    @Test
+    void write_acrossWindows_keepsAllBytes() throws IOException {
+        MappedFileOutput output = new MappedFileOutput(dir, "log", 1 << 20, 0, FsyncPolicy.NONE);
+        String text = "é😀".repeat(10_000) + "\uD83D!";
+
+        output.append(text);
+        output.close();
+
+        assertThat(Files.readString(output.getCurrentSegment())).isEqualTo("é😀".repeat(10_000) + "?!");
+        assertThat(output.position()).isEqualTo(Files.size(output.getCurrentSegment()));
+        assertThatThrownBy(() -> output.write(1))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("closed");
+    }
+
+    @Test
+    void append_surrogatePairSplitAcrossCalls_encodesCodePoint() throws IOException {
+        MappedFileOutput output = new MappedFileOutput(dir, "log", 1 << 20, 0, FsyncPolicy.NONE);
+        String text = "a".repeat(8191) + "😀";
+
+        output.append(text, 0, 8192);
+        output.append(text, 8192, text.length());
+        output.append('\uD83D');
+        output.append('\uDE00');
+        output.append("\uD83D");
+        output.append('x');
+        output.append('\uD83D');
+        output.flush();
+        output.close();
+
+        assertThat(Files.readString(output.getCurrentSegment()))
+                .isEqualTo("a".repeat(8191) + "😀😀?x?");
+    }
+
+    @Test
+    void constructor_invalidArguments_throw() {
+        assertThatThrownBy(() -> new MappedFileOutput(dir, "log", 0, 0, FsyncPolicy.NONE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MappedFileOutput(dir, "log", 10, -1, FsyncPolicy.NONE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Dumper.builder().withFileOutput(null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -92,6 +92,25 @@ class ConsoleFormatterTest {
         assertTrue(result.contains("Test"));
     }
 
+    @Test
+    @DisplayName("Should omit header when header or call site capture is off")
+    void testHeaderOptions() {
+        StackTraceUtil.CallSite callSite =
+                new StackTraceUtil.CallSite("Test.java", "testMethod", 10);
+
+        for (DumperConfig off : Arrays.asList(
+                DumperConfig.builder().colorEnabled(true).showHeader(false).build(),
+                DumperConfig.builder().colorEnabled(true).captureCallSite(false).build())) {
+            ConsoleFormatter noHeader = new ConsoleFormatter(off);
+            StringBuilder sb = new StringBuilder();
+            noHeader.formatHeader(callSite, new OutputSink(sb));
+
+            assertFalse(noHeader.showsHeader());
+            assertEquals("", sb.toString());
+        }
+        assertTrue(formatter.showsHeader());
+    }
+
     @Test
     @DisplayName("Should format without colors when disabled")
     void testFormatWithoutColors() {
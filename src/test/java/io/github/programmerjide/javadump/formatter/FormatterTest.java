@@ -316,6 +316,24 @@ class FormatterTest {
         assertThat(result).isEqualTo(expected);
     }
 
+    @Test
+    void formatNode_deeplyNestedMaps_writesEachLevelIntoOneSink() {
+        DumpNode node = DumpNode.ofString("leaf");
+        for (int i = 0; i < 20; i++) {
+            Map<DumpNode, DumpNode> entries = new LinkedHashMap<>();
+            entries.put(DumpNode.ofString("k"), node);
+            node = DumpNode.ofMap(LinkedHashMap.class, entries, 1, false);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        formatterNoColor.formatNode(node, 0, new OutputSink(sb));
+
+        assertThat(sb.toString())
+                .isEqualTo(formatterNoColor.formatNode(node, 0))
+                .contains("\n" + "  ".repeat(20) + "\"k\" → \"leaf\"\n")
+                .endsWith("\n}");
+    }
+
     // ==================== Test Classes ====================
 
     private enum TestEnum {
@@ -0,0 +1,91 @@
+package io.github.programmerjide.javadump.formatter;
+
+import io.github.programmerjide.javadump.core.Dumper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JsonWriterTest {
+
+    @Test
+    void writeString_escapesQuotesBackslashesAndControlChars() {
+        assertThat(write(out -> out.writeString("a\"b\\c\n\t\u0001")))
+                .isEqualTo("\"a\\\"b\\\\c\\n\\t\\u0001\"");
+    }
+
+    @Test
+    void writeString_encodesUtf8IncludingSurrogatePairs() {
+        String text = "é€😀";
+
+        assertThat(write(out -> out.writeString(text))).isEqualTo("\"" + text + "\"");
+        assertThat(write(out -> out.writeString("\uD83D"))).isEqualTo("\"?\"");
+    }
+
+    @Test
+    void writeLong_handlesSignsAndLimits() {
+        assertThat(write(out -> out.writeLong(0).write(' ').writeLong(-42).write(' ')
+                .writeLong(Long.MIN_VALUE).write(' ').writeLong(Long.MAX_VALUE)))
+                .isEqualTo("0 -42 -9223372036854775808 9223372036854775807");
+    }
+
+    @Test
+    void smallBuffer_drainsAcrossWrites() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonWriter out = new JsonWriter(bytes, 16);
+        String text = "x".repeat(100) + "ü";
+
+        out.writeString(text).writeIndent(40).writeLong(123456789L);
+        out.flush();
+
+        assertThat(bytes.toString(StandardCharsets.UTF_8))
+                .isEqualTo("\"" + text + "\"" + " ".repeat(80) + "123456789");
+    }
+
+    @Test
+    void channelTarget_receivesAllBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonWriter out = new JsonWriter(Channels.newChannel(bytes));
+
+        out.writeString("ok").write(new byte[20_000]);
+        out.flush();
+
+        assertThat(bytes.size()).isEqualTo(4 + 20_000);
+    }
+
+    @Test
+    void constructor_rejectsTinyCapacity() {
+        assertThatThrownBy(() -> new JsonWriter(new ByteArrayOutputStream(), 8))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void dumpJSONTo_matchesDumpJSONStr() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("name", "Zoë \"z\"");
+        value.put("tags", List.of(1, -2L, 2.5));
+        Dumper dumper = Dumper.builder().build();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        dumper.dumpJSONTo(bytes, value);
+
+        assertThat(bytes.toString(StandardCharsets.UTF_8))
+                .isEqualTo(dumper.dumpJSONStr(value) + System.lineSeparator())
+                .contains("\"Zoë \\\"z\\\"\"", "-2", "2.5");
+    }
+
+    private static String write(Consumer<JsonWriter> action) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonWriter out = new JsonWriter(bytes);
+        action.accept(out);
+        out.flush();
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.programmerjide.javadump.formatter;
+
+import io.github.programmerjide.javadump.analyzer.ObjectAnalyzer;
+import io.github.programmerjide.javadump.config.DumperConfig;
+import io.github.programmerjide.javadump.core.Dumper;
+import io.github.programmerjide.javadump.model.DumpNode;
+import io.github.programmerjide.javadump.util.ColorUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OutputSinkTest {
+
+    @Test
+    void append_beyondCapacity_forwardsBoundedChunks() {
+        ChunkRecorder target = new ChunkRecorder();
+        OutputSink sink = new OutputSink(target, 4);
+
+        sink.append("hello").append(' ').append("world").append(42);
+        sink.flush();
+
+        assertThat(target.text.toString()).isEqualTo("hello world42");
+        assertThat(target.chunks).allMatch(length -> length <= 4);
+    }
+
+    @Test
+    void append_stringBuilderTarget_writesDirectly() {
+        StringBuilder target = new StringBuilder();
+        OutputSink sink = new OutputSink(target, 1);
+
+        sink.append("abc");
+
+        assertThat(target).hasToString("abc");
+    }
+
+    @Test
+    void constructor_nonPositiveCapacity_throws() {
+        assertThatThrownBy(() -> new OutputSink(new StringBuilder(), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void format_intoSmallSink_matchesStringOutput() {
+        DumperConfig config = DumperConfig.builder().colorEnabled(false).build();
+        DumpNode node = new ObjectAnalyzer(config).analyze(nested());
+        ValueFormatter formatter = new ValueFormatter(config);
+
+        ChunkRecorder target = new ChunkRecorder();
+        OutputSink sink = new OutputSink(target, 16);
+        formatter.format(node, 0, sink);
+        sink.flush();
+
+        assertThat(target.text.toString()).isEqualTo(formatter.format(node, 0));
+    }
+
+    @Test
+    void tokens_bufferedAndDirect_writeSameText() {
+        ChunkRecorder target = new ChunkRecorder();
+        StringBuilder direct = new StringBuilder();
+
+        for (OutputSink sink : List.of(new OutputSink(target, 32), new OutputSink(direct))) {
+            sink.append(-42L).append(' ').append(Long.MIN_VALUE).append(' ').append(1234567890123L)
+                    .indent(40).append("[abc]", 1, 4)
+                    .appendStyled(ColorUtil.RED, "x").appendStyled(null, "y");
+            sink.flush();
+        }
+
+        String expected = "-42 -9223372036854775808 1234567890123" + " ".repeat(80)
+                + "abc" + ColorUtil.RED + "x" + ColorUtil.RESET + "y";
+        assertThat(target.text.toString()).isEqualTo(expected);
+        assertThat(direct.toString()).isEqualTo(expected);
+    }
+
+    @Test
+    void format_withColors_matchesStringOutput() {
+        DumperConfig config = DumperConfig.builder().colorEnabled(true).build();
+        DumpNode node = new ObjectAnalyzer(config).analyze(nested());
+        ValueFormatter formatter = new ValueFormatter(config);
+
+        ChunkRecorder target = new ChunkRecorder();
+        OutputSink sink = new OutputSink(target, 16);
+        formatter.format(node, 0, sink);
+        sink.flush();
+
+        assertThat(target.text.toString())
+                .isEqualTo(formatter.format(node, 0))
+                .contains(ColorUtil.ORANGE + "LinkedHashMap[3]" + ColorUtil.RESET,
+                        ColorUtil.GREEN + "\"root\"" + ColorUtil.RESET);
+    }
+
+    @Test
+    void dump_streamsSameOutputAsDumpStr() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        Dumper dumper = Dumper.builder().withoutColor().withWriter(out).build();
+        Map<String, Object> value = nested();
+
+        dumper.dump(value, "tail", 7);
+
+        String expected = dumper.dumpStr(value, "tail", 7) + System.lineSeparator();
+        assertThat(bytes.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+    }
+
+    private static Map<String, Object> nested() {
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("name", "root");
+        root.put("items", List.of(1, 2, 3));
+        Map<String, Object> child = new LinkedHashMap<>();
+        child.put("flag", true);
+        child.put("tags", List.of("a", "b"));
+        root.put("child", child);
+        return root;
+    }
+
+    /**
+     * Records every chunk the sink forwards.
+     */
+    private static final class ChunkRecorder implements Appendable {
+        final StringBuilder text = new StringBuilder();
+        final List<Integer> chunks = new ArrayList<>();
+
+        @Override
+        public Appendable append(CharSequence csq) {
+            chunks.add(csq.length());
+            text.append(csq);
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+            return append(csq.subSequence(start, end));
+        }
+
+        @Override
+        public Appendable append(char c) {
+            return append(String.valueOf(c));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.programmerjide.javadump.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DumpNodeTest {
+
+    @Test
+    void commonLeaves_areSharedInstances() {
+        assertThat(DumpNode.ofNull()).isSameAs(DumpNode.ofNull());
+        assertThat(DumpNode.ofBoolean(true)).isSameAs(DumpNode.ofBoolean(true));
+        assertThat(DumpNode.maxDepth()).isSameAs(DumpNode.maxDepth());
+        assertThat(DumpNode.maxDepth().isMaxDepthReached()).isTrue();
+        assertThat(DumpNode.maxDepth().isTruncated()).isTrue();
+    }
+
+    @Test
+    void leaf_unusedContainers_areEmptyAndUnmodifiable() {
+        DumpNode node = DumpNode.ofString("x");
+
+        assertThat(node.isEmpty()).isTrue();
+        assertThatThrownBy(() -> node.getElements().add(node))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> node.getFields().put("a", node))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void build_takesOwnershipOfElements() {
+        List<DumpNode> elements = new ArrayList<>(List.of(DumpNode.ofString("a")));
+        DumpNode node = DumpNode.ofCollection(ArrayList.class, elements, 1, false);
+
+        elements.add(DumpNode.ofString("b"));
+
+        assertThat(node.getElements()).hasSize(2);
+        assertThatThrownBy(() -> node.getElements().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void flags_roundTripThroughBuilder() {
+        DumpNode node = DumpNode.builder().circular(true).truncated(true).build();
+
+        assertThat(node.isCircular()).isTrue();
+        assertThat(node.isTruncated()).isTrue();
+        assertThat(node.isMaxDepthReached()).isFalse();
+    }
+
+    @Test
+    void structuralHash_equalTrees_hashEqual() {
+        DumpNode first = DumpNode.ofMap(LinkedHashMap.class, entries("a", "b"), 2, false);
+        DumpNode second = DumpNode.ofMap(LinkedHashMap.class, entries("b", "a"), 2, false);
+
+        assertThat(first.structuralHash()).isEqualTo(second.structuralHash());
+        assertThat(first.structuralHash()).isNotEqualTo(
+                DumpNode.ofMap(LinkedHashMap.class, entries("a", "c"), 2, false).structuralHash());
+    }
+
+    @Test
+    void structuralHash_collidingStringHashCodes_hashDifferently() {
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+        assertThat(DumpNode.ofString("Aa").structuralHash())
+                .isNotEqualTo(DumpNode.ofString("BB").structuralHash());
+        assertThat(DumpNode.ofPrimitive(1, Integer.class).structuralHash())
+                .isNotEqualTo(DumpNode.ofPrimitive(1L, Long.class).structuralHash());
+    }
+
+    @Test
+    void structuralHash_deepTree_doesNotOverflowStack() {
+        DumpNode node = DumpNode.ofString("leaf");
+        for (int i = 0; i < 100_000; i++) {
+            node = DumpNode.ofCollection(ArrayList.class, List.of(node), 1, false);
+        }
+
+        assertThat(node.structuralHash()).isNotZero();
+    }
+
+    private static Map<DumpNode, DumpNode> entries(String... keys) {
+        Map<DumpNode, DumpNode> entries = new LinkedHashMap<>();
+        for (String key : keys) {
+            entries.put(DumpNode.ofString(key), DumpNode.ofPrimitive(key.length(), Integer.class));
+        }
+        return entries;
+    }
+}
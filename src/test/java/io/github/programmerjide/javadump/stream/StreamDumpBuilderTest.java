@@ -0,0 +1,251 @@
+package io.github.programmerjide.javadump.stream;
+
+import io.github.programmerjide.javadump.config.DumperConfig.OverflowPolicy;
+import io.github.programmerjide.javadump.core.Dumper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StreamDumpBuilderTest {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final Dumper dumper = Dumper.builder()
+            .withoutColor()
+            .withoutHeader()
+            .withWriter(new PrintStream(bytes, true, StandardCharsets.UTF_8))
+            .build();
+
+    @Test
+    void every_dumpsEveryNthElement() {
+        DumpingConsumer<Integer> consumer = StreamDumpBuilder.<Integer>create().using(dumper).every(3).build();
+
+        IntStream.rangeClosed(1, 10).boxed().forEach(consumer);
+
+        assertThat(dumped()).containsExactly(3, 6, 9);
+        assertThat(consumer.getSeenCount()).isEqualTo(10);
+    }
+
+    @Test
+    void sample_dumpsAboutTheGivenShare() {
+        DumpingConsumer<Integer> consumer = StreamDumpBuilder.<Integer>create().using(dumper).sample(0.01).build();
+
+        IntStream.range(0, 100_000).boxed().forEach(consumer);
+
+        assertThat(consumer.getDumpedCount()).isBetween(800L, 1_200L);
+        assertThat(dumped()).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void reservoir_dumpsKeptElementsInOrderOnFinish() {
+        DumpingConsumer<Integer> consumer;
+        try (DumpingConsumer<Integer> sample = StreamDumpBuilder.<Integer>create().using(dumper).reservoir(5).build()) {
+            consumer = sample;
+            IntStream.range(0, 1_000).boxed().forEach(sample);
+            assertThat(bytes.size()).isZero();
+        }
+
+        assertThat(dumped()).hasSize(5).isSorted().doesNotHaveDuplicates();
+        assertThat(consumer.getDumpedCount()).isEqualTo(5);
+    }
+
+    @Test
+    void reservoir_keepsEachElementEquallyOften() {
+        DumpingConsumer<Integer> consumer = StreamDumpBuilder.<Integer>create().using(dumper).reservoir(2).build();
+        for (int trial = 0; trial < 5_000; trial++) {
+            IntStream.range(0, 10).boxed().forEach(consumer);
+            consumer.finish();
+        }
+
+        int[] counts = new int[10];
+        dumped().forEach(value -> counts[value]++);
+        assertThat(IntStream.of(counts)).allSatisfy(count -> assertThat(count).isBetween(850, 1_150));
+    }
+
+    @Test
+    void reservoir_withCondition_keepsOnlyMatchingElements() {
+        DumpingConsumer<Integer> consumer = StreamDumpBuilder.<Integer>create()
+                .using(dumper)
+                .when(value -> value % 2 == 0)
+                .reservoir(3)
+                .build();
+
+        IntStream.range(0, 100).boxed().forEach(consumer);
+        consumer.finish();
+        consumer.finish();
+
+        assertThat(dumped()).hasSize(3).allMatch(value -> value % 2 == 0);
+    }
+
+    @Test
+    void rateLimit_dumpsAtMostPerSecond() {
+        AtomicLong now = new AtomicLong();
+        DumpingConsumer<Integer> consumer = StreamDumpBuilder.<Integer>create()
+                .using(dumper)
+                .rateLimit(5)
+                .clock(now::get)
+                .build();
+
+        IntStream.range(0, 100).boxed().forEach(consumer);
+        assertThat(consumer.getDumpedCount()).isEqualTo(5);
+
+        now.addAndGet(1_000_000_000L);
+        IntStream.range(100, 2_100).boxed().forEach(consumer);
+        assertThat(consumer.getDumpedCount()).isEqualTo(10);
+        assertThat(dumped()).startsWith(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    void every_parallelStream_countsEveryElementAndKeepsDumpsWhole() throws Exception {
+        DumpingConsumer<Integer> consumer = StreamDumpBuilder.<Integer>create()
+                .using(dumper)
+                .withLabel("item")
+                .withIndex()
+                .every(10)
+                .build();
+
+        inPool(() -> IntStream.range(0, 100_000).boxed().parallel().forEach(consumer));
+
+        assertThat(consumer.getSeenCount()).isEqualTo(100_000);
+        assertThat(consumer.getDumpedCount()).isBetween(10_000L - 4, 10_000L);
+        String[] lines = bytes.toString(StandardCharsets.UTF_8).split("\\R");
+        assertThat(lines).hasSize((int) consumer.getDumpedCount() * 2);
+        for (int i = 0; i < lines.length; i += 2) {
+            assertThat(lines[i]).matches("=== item \\[\\d+\\] ===");
+            assertThat(lines[i + 1]).doesNotContain("===");
+        }
+    }
+
+    @Test
+    void reservoir_parallelStream_mergesOneSample() throws Exception {
+        DumpingConsumer<Integer> consumer = StreamDumpBuilder.<Integer>create().using(dumper).reservoir(10).build();
+
+        inPool(() -> IntStream.range(0, 50_000).boxed().parallel().forEach(consumer));
+        consumer.finish();
+
+        assertThat(dumped()).hasSize(10).doesNotHaveDuplicates().allMatch(value -> value < 50_000);
+        assertThat(consumer.getSeenCount()).isEqualTo(50_000);
+    }
+
+    @Test
+    void rateLimit_parallelStream_sharesOneBucket() throws Exception {
+        DumpingConsumer<Integer> consumer = StreamDumpBuilder.<Integer>create()
+                .using(dumper)
+                .rateLimit(5)
+                .clock(() -> 0)
+                .build();
+
+        inPool(() -> IntStream.range(0, 50_000).boxed().parallel().forEach(consumer));
+
+        assertThat(consumer.getDumpedCount()).isEqualTo(5);
+    }
+
+    @Test
+    void parallelStream_droppedConsumer_isCollected() throws Exception {
+        WeakReference<DumpingConsumer<Integer>> consumer = runAndDrop();
+
+        for (int i = 0; i < 50 && consumer.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(consumer.get()).isNull();
+    }
+
+    @Test
+    void withLabel_fileOutput_writesHeaderAndDumpToSegment(@TempDir Path dir) throws Exception {
+        Dumper files = Dumper.builder()
+                .withoutColor()
+                .withoutHeader()
+                .withWriter(new PrintStream(bytes, true, StandardCharsets.UTF_8))
+                .withFileOutput(dir)
+                .build();
+        Path segment = files.getFileOutput().getCurrentSegment();
+
+        StreamDumpBuilder.<Integer>create().using(files).withLabel("plain").build().accept(1);
+        StreamDumpBuilder.<Integer>create().using(files).withLabel("json").asJSON().build().accept(2);
+        StreamDumpBuilder.<Integer>create().using(files).build().accept(3);
+        files.close();
+
+        assertThat(bytes.size()).isZero();
+        assertThat(Files.readString(segment)).isEqualTo(
+                "=== plain ===" + System.lineSeparator() + files.dumpStr(1) + System.lineSeparator()
+                        + "=== json ===" + System.lineSeparator() + files.dumpJSONStr(2) + System.lineSeparator()
+                        + files.dumpStr(3) + System.lineSeparator());
+    }
+
+    @Test
+    void withLabel_asyncOutput_queuesHeaderWithDump() {
+        Dumper async = Dumper.builder()
+                .withoutColor()
+                .withoutHeader()
+                .withWriter(new PrintStream(bytes, true, StandardCharsets.UTF_8))
+                .withAsyncOutput(16, OverflowPolicy.BLOCK)
+                .build();
+
+        StreamDumpBuilder.<Integer>create().using(async).withLabel("item").build().accept(7);
+        async.close();
+
+        assertThat(async.getAsyncOutput().getWrittenCount()).isEqualTo(1);
+        assertThat(bytes.toString(StandardCharsets.UTF_8))
+                .isEqualTo("=== item ===" + System.lineSeparator() + async.dumpStr(7) + System.lineSeparator());
+    }
+
+    @Test
+    void selection_invalidArguments_throw() {
+        StreamDumpBuilder<Object> builder = StreamDumpBuilder.create();
+
+        assertThatThrownBy(() -> builder.every(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.sample(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.sample(1.5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.reservoir(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.rateLimit(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Runs a consumer on the common pool and the calling thread, both of
+     * which outlive it.
+     */
+    private WeakReference<DumpingConsumer<Integer>> runAndDrop() {
+        DumpingConsumer<Integer> consumer = StreamDumpBuilder.<Integer>create()
+                .using(dumper)
+                .when(value -> value % 2 == 0)
+                .map(value -> value * 2)
+                .reservoir(10)
+                .build();
+        IntStream.range(0, 50_000).boxed().parallel().forEach(consumer);
+        consumer.finish();
+        return new WeakReference<>(consumer);
+    }
+
+    private static void inPool(Runnable task) throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            pool.submit(task).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<Integer> dumped() {
+        List<Integer> values = new ArrayList<>();
+        for (String line : bytes.toString(StandardCharsets.UTF_8).split("\\R")) {
+            if (!line.isEmpty()) {
+                values.add(Integer.parseInt(line.replaceAll("\\D", "")));
+            }
+        }
+        return values;
+    }
+}
@@ -247,6 +247,20 @@ class StackTraceUtilTest {
 
     // ==================== findCallSite() Tests ====================
 
+    @Test
+    @DisplayName("findCallSite() returns the cached CallSite for the same caller position")
+    void findCallSite_samePosition_returnsCachedInstance() {
+        List<StackTraceUtil.CallSite> sites = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            sites.add(StackTraceUtil.findCallSite());
+        }
+
+        assertThat(sites).allSatisfy(site -> assertThat(site).isSameAs(sites.get(0)));
+        assertThat(sites.get(0).getLocation())
+                .isSameAs(sites.get(0).getLocation())
+                .isEqualTo(sites.get(0).getFileName() + ":" + sites.get(0).getLineNumber());
+    }
+
     @Test
     @DisplayName("findCallSite() returns CallSite object")
     void findCallSite_returnsCallSiteObject() {
@@ -104,6 +104,17 @@ class StringUtilTest {
             assertThat(result).isEqualTo(expected);
         }
 
+        @Test
+        @DisplayName("needsEscape() agrees with escape()")
+        void needsEscape_agreesWithEscape() {
+            for (String input : new String[] {"plain", "tab\t", "quote\"", "back\\", "\u0085", "héllo", ""}) {
+                assertThat(StringUtil.needsEscape(input))
+                        .as(input)
+                        .isEqualTo(!StringUtil.escape(input).equals(input));
+            }
+            assertThat(StringUtil.needsEscape(null)).isFalse();
+        }
+
         @Test
         @DisplayName("escape() escapes control characters to Unicode")
         void escape_controlCharacters_escapesToUnicode() {
@@ -380,6 +391,13 @@ class StringUtilTest {
             assertThat(result).isEmpty();
         }
 
+        @Test
+        @DisplayName("indent() reuses cached strings and handles deep levels")
+        void indent_cachedAndDeepLevels() {
+            assertThat(StringUtil.indent(3)).isSameAs(StringUtil.indent(3)).isEqualTo("      ");
+            assertThat(StringUtil.indent(40)).hasSize(80).isBlank();
+        }
+
         @Test
         @DisplayName("indent() with zero level returns empty string")
         void indent_zeroLevel_returnsEmptyString() {